@@ -0,0 +1,105 @@
+/*
+ * Copyright 2017 Nokia Solutions and Networks
+ * Licensed under the Apache License, Version 2.0,
+ * see license.txt file for details.
+ */
+package org.robotframework.ide.eclipse.main.plugin.launch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+
+import org.eclipse.core.resources.IFile;
+import org.junit.Rule;
+import org.junit.Test;
+import org.rf.ide.core.testdata.model.RobotFileOutput;
+import org.robotframework.ide.eclipse.main.plugin.model.RobotModel;
+import org.robotframework.ide.eclipse.main.plugin.model.RobotProject;
+import org.robotframework.red.junit.ProjectProvider;
+
+public class DebugSuitesParserTest {
+
+    @Rule
+    public ProjectProvider projectProvider = new ProjectProvider(DebugSuitesParserTest.class);
+
+    @Test
+    public void parsedSuiteIsReused_whenNothingWasChanged() throws Exception {
+        final File suite = createSuite("suite.robot", "res.robot");
+        projectProvider.createFile("res.robot", "*** Keywords ***", "kw", "  Log  1");
+        final RobotProject project = new RobotModel().createProject(projectProvider.getProject());
+        final DebugSuitesParser parser = new DebugSuitesParser();
+
+        final RobotFileOutput output = parser.parse(suite, project);
+
+        assertThat(output.getResourceImportReferences()).hasSize(1);
+        assertThat(parser.parse(suite, project)).isSameAs(output);
+    }
+
+    @Test
+    public void suiteIsParsedAgain_whenItWasChanged() throws Exception {
+        final File suite = createSuite("suite.robot");
+        final RobotProject project = new RobotModel().createProject(projectProvider.getProject());
+        final DebugSuitesParser parser = new DebugSuitesParser();
+
+        final RobotFileOutput output = parser.parse(suite, project);
+        suite.setLastModified(suite.lastModified() - 10_000);
+
+        assertThat(parser.parse(suite, project)).isNotSameAs(output);
+    }
+
+    @Test
+    public void suiteIsParsedAgain_whenImportedResourceWasChanged() throws Exception {
+        final File suite = createSuite("suite.robot", "res.robot");
+        final IFile resource = projectProvider.createFile("res.robot", "*** Keywords ***", "kw", "  Log  1");
+        final RobotProject project = new RobotModel().createProject(projectProvider.getProject());
+        final DebugSuitesParser parser = new DebugSuitesParser();
+
+        final RobotFileOutput output = parser.parse(suite, project);
+        final File resourceFile = resource.getLocation().toFile();
+        resourceFile.setLastModified(resourceFile.lastModified() - 10_000);
+
+        final RobotFileOutput reparsedOutput = parser.parse(suite, project);
+        assertThat(reparsedOutput).isNotSameAs(output);
+        assertThat(reparsedOutput.getResourceImportReferences().get(0).getReference()
+                .getLastModificationEpochTime()).isEqualTo(resourceFile.lastModified());
+    }
+
+    @Test
+    public void suiteIsSharedWithProjectHolder() throws Exception {
+        final File suite = createSuite("suite.robot");
+        final RobotProject project = new RobotModel().createProject(projectProvider.getProject());
+        final DebugSuitesParser parser = new DebugSuitesParser();
+
+        final RobotFileOutput output = project.getEagerRobotParser().parse(suite).get(0);
+
+        assertThat(parser.parse(suite, project)).isSameAs(output);
+        assertThat(project.getRobotProjectHolder().findFileByName(suite)).isSameAs(output);
+    }
+
+    @Test
+    public void suiteIsParsedAgain_whenImportedResourceWasParsedAgainByProject() throws Exception {
+        final File suite = createSuite("suite.robot", "res.robot");
+        final IFile resource = projectProvider.createFile("res.robot", "*** Keywords ***", "kw", "  Log  1");
+        final RobotProject project = new RobotModel().createProject(projectProvider.getProject());
+        final DebugSuitesParser parser = new DebugSuitesParser();
+
+        final RobotFileOutput output = parser.parse(suite, project);
+        final File resourceFile = resource.getLocation().toFile();
+        project.getRobotProjectHolder().removeModelFile(project.getRobotProjectHolder().findFileByName(resourceFile));
+        final RobotFileOutput resourceOutput = project.getEagerRobotParser().parse(resourceFile).get(0);
+
+        final RobotFileOutput reparsedOutput = parser.parse(suite, project);
+        assertThat(reparsedOutput).isNotSameAs(output);
+        assertThat(reparsedOutput.getResourceImportReferences().get(0).getReference()).isSameAs(resourceOutput);
+    }
+
+    private File createSuite(final String name, final String... resources) throws Exception {
+        final StringBuilder settings = new StringBuilder("*** Settings ***\n");
+        for (final String resource : resources) {
+            settings.append("Resource  ").append(resource).append('\n');
+        }
+        final IFile file = projectProvider.createFile(name, settings.toString(), "*** Test Cases ***", "case",
+                "  Log  1");
+        return file.getLocation().toFile();
+    }
+}
@@ -10,17 +10,48 @@ import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 
+import java.io.File;
 import java.util.Collection;
 import java.util.Optional;
 
 import org.eclipse.debug.core.ILaunchConfiguration;
 import org.eclipse.ui.services.IDisposable;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.rf.ide.core.execution.agent.Status;
+import org.rf.ide.core.execution.history.TestsExecutionHistory;
 import org.robotframework.ide.eclipse.main.plugin.launch.RobotTestExecutionService.RobotTestExecutionListener;
 import org.robotframework.ide.eclipse.main.plugin.launch.RobotTestExecutionService.RobotTestsLaunch;
 
 public class RobotTestExecutionServiceTest {
 
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void thereIsNoExecutionHistory_whenHistoryFileIsNotGiven() {
+        final RobotTestExecutionService service = new RobotTestExecutionService();
+
+        assertThat(service.getExecutionHistory().isPresent()).isFalse();
+    }
+
+    @Test
+    public void executionHistoryIsKeptInGivenFile_andIsAvailableForNewService() throws Exception {
+        final File historyFile = new File(folder.getRoot(), "executions.history");
+        final RobotTestExecutionService service = new RobotTestExecutionService(() -> historyFile);
+
+        final TestsExecutionHistory history = service.getExecutionHistory().get();
+        history.testExecuted("/suite.robot", "test", Status.FAIL, 42);
+        assertThat(service.getExecutionHistory().get()).isSameAs(history);
+        service.dispose();
+
+        final RobotTestExecutionService newService = new RobotTestExecutionService(() -> historyFile);
+        assertThat(newService.getExecutionHistory().get().getLastExecution("/suite.robot", "test").get()
+                .getElapsedTime()).isEqualTo(42);
+        newService.dispose();
+    }
+
     @Test
     public void thereIsNoLastLaunch_whenThereWereNoLaunches() {
         final RobotTestExecutionService service = new RobotTestExecutionService();
@@ -12,6 +12,7 @@ import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.when;
 
 import java.io.File;
+import java.util.List;
 
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.Path;
@@ -30,6 +31,7 @@ import org.rf.ide.core.project.RobotProjectConfig.RelativeTo;
 import org.rf.ide.core.project.RobotProjectConfig.RelativityPoint;
 import org.rf.ide.core.project.RobotProjectConfig.SearchPath;
 import org.robotframework.ide.eclipse.main.plugin.RedPreferences;
+import org.robotframework.ide.eclipse.main.plugin.launch.local.ParallelExecutionPlan.WorkerSelection;
 import org.robotframework.ide.eclipse.main.plugin.launch.local.RobotLaunchConfigurationDelegate.ConsoleData;
 import org.robotframework.ide.eclipse.main.plugin.mockmodel.RuntimeEnvironmentsMocks;
 import org.robotframework.ide.eclipse.main.plugin.model.RobotModel;
@@ -478,6 +480,79 @@ public class RobotLaunchConfigurationDelegateTest {
         RobotLaunchConfigurationDelegate.ConsoleData.create(robotConfig, robotProject);
     }
 
+    @Test
+    public void workerCommandLineContainsOnlyTestsOfWorkerAndItsOutputDirectory() throws Exception {
+        final RedPreferences preferences = mock(RedPreferences.class);
+
+        final RobotRuntimeEnvironment environment = RuntimeEnvironmentsMocks.createValidRobotEnvironment("RF 3");
+        final RobotProject robotProject = spy(new RobotModel().createRobotProject(projectProvider.getProject()));
+        when(robotProject.getRuntimeEnvironment()).thenReturn(environment);
+
+        final RobotLaunchConfiguration robotConfig = createRobotLaunchConfiguration(PROJECT_NAME);
+        robotConfig.setSuitePaths(
+                ImmutableMap.of("001__suites_a/s1.robot", newArrayList("001__case1", "001__case2")));
+
+        final List<WorkerSelection> workers = ParallelExecutionPlan.create(robotConfig, new RobotModel())
+                .splitBetween(2);
+        final File outputDirectory = new File("worker_output");
+
+        final RobotLaunchConfigurationDelegate launchDelegate = new RobotLaunchConfigurationDelegate();
+        final RunCommandLine commandLine = launchDelegate.prepareWorkerCommandLine(robotConfig, robotProject, 12345,
+                preferences, workers.get(1), outputDirectory);
+
+        assertThat(workers).hasSize(2);
+        assertThat(commandLine.getCommandLine())
+                .containsSequence("--outputdir", outputDirectory.getAbsolutePath(), "--output", "output.xml", "--log",
+                        "NONE", "--report", "NONE", "--runemptysuite")
+                .containsSequence("-s", PROJECT_NAME + ".Suites_a.S1")
+                .containsSequence("-t", PROJECT_NAME + ".Suites_a.S1.001__case2")
+                .doesNotContain(PROJECT_NAME + ".Suites_a.S1.001__case1");
+    }
+
+    @Test
+    public void combinedOutputsAreWrittenToProjectLocation_whenOutputDirectoryIsNotGivenInRobotArguments()
+            throws Exception {
+        final RobotLaunchConfiguration robotConfig = createRobotLaunchConfiguration(PROJECT_NAME);
+        robotConfig.setRobotArguments("--loglevel DEBUG");
+
+        final File projectLocation = new File("project");
+        final RobotLaunchConfigurationDelegate launchDelegate = new RobotLaunchConfigurationDelegate();
+
+        assertThat(launchDelegate.getOutputDirectory(robotConfig, projectLocation)).isEqualTo(projectLocation);
+    }
+
+    @Test
+    public void combinedOutputsAreWrittenToOutputDirectoryGivenInRobotArguments() throws Exception {
+        final RobotLaunchConfiguration robotConfig = createRobotLaunchConfiguration(PROJECT_NAME);
+        final File projectLocation = new File("project");
+        final File absoluteDirectory = new File("results").getAbsoluteFile();
+        final RobotLaunchConfigurationDelegate launchDelegate = new RobotLaunchConfigurationDelegate();
+
+        robotConfig.setRobotArguments("-d results");
+        assertThat(launchDelegate.getOutputDirectory(robotConfig, projectLocation))
+                .isEqualTo(new File(projectLocation, "results"));
+
+        robotConfig.setRobotArguments("--outputdir=results");
+        assertThat(launchDelegate.getOutputDirectory(robotConfig, projectLocation))
+                .isEqualTo(new File(projectLocation, "results"));
+
+        robotConfig.setRobotArguments("--outputdir \"" + absoluteDirectory.getPath() + "\"");
+        assertThat(launchDelegate.getOutputDirectory(robotConfig, projectLocation)).isEqualTo(absoluteDirectory);
+    }
+
+    @Test
+    public void outputsNamesGivenInRobotArgumentsAreUsedForCombinedOutputs() throws Exception {
+        final RobotLaunchConfiguration robotConfig = createRobotLaunchConfiguration(PROJECT_NAME);
+        final RobotLaunchConfigurationDelegate launchDelegate = new RobotLaunchConfigurationDelegate();
+
+        robotConfig.setRobotArguments("--loglevel DEBUG");
+        assertThat(launchDelegate.getCombinedOutputsArguments(robotConfig)).isEmpty();
+
+        robotConfig.setRobotArguments("-o out.xml --log=my_log.html -r NONE -o other.xml");
+        assertThat(launchDelegate.getCombinedOutputsArguments(robotConfig)).containsExactly("--output", "other.xml",
+                "--log", "my_log.html", "--report", "NONE");
+    }
+
     private RobotLaunchConfiguration createRobotLaunchConfiguration(final String projectName) throws CoreException {
         final ILaunchConfiguration configuration = runConfigurationProvider.create("robot");
         final RobotLaunchConfiguration robotConfig = new RobotLaunchConfiguration(configuration);
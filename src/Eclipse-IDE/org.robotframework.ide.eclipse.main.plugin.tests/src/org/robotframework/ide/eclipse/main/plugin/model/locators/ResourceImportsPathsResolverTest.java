@@ -106,6 +106,20 @@ public class ResourceImportsPathsResolverTest {
                 projectProvider.getFile("a/b/c/res4.robot").getFullPath());
     }
 
+    @Test
+    public void importedFilesPathsAreRetrievedInImportOrder_includingMissingFiles() throws Exception {
+        final String[] importSection = new String[] { "*** Settings ***", "Resource  ../res1.robot",
+                "Variables  vars.py", "Resource  not_existing.robot", "Resource  ${execdir}/a/missing.robot" };
+        final RobotSuiteFile suiteFile = createSuiteFile("a/test.robot", importSection);
+
+        final List<IPath> filesPaths = ResourceImportsPathsResolver.getWorkspaceRelativeImportedFilesPaths(suiteFile);
+
+        assertThat(filesPaths).containsExactly(projectProvider.getFile("res1.robot").getFullPath(),
+                projectProvider.getFile("a/not_existing.robot").getFullPath(),
+                projectProvider.getFile("a/missing.robot").getFullPath(),
+                projectProvider.getFile("a/vars.py").getFullPath());
+    }
+
     private static String[] createResourceImportSection(final String... resourcePaths) {
         final String[] result = new String[resourcePaths.length + 1];
         result[0] = "*** Settings ***";
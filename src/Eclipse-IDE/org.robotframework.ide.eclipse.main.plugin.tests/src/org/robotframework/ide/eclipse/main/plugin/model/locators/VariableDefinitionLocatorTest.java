@@ -23,8 +23,10 @@ import org.rf.ide.core.testdata.imported.ScalarRobotInternalVariable;
 import org.rf.ide.core.testdata.importer.VariablesFileImportReference;
 import org.rf.ide.core.testdata.model.RobotFileOutput;
 import org.rf.ide.core.testdata.model.RobotProjectHolder;
+import org.rf.ide.core.testdata.model.table.RobotExecutableRow;
 import org.rf.ide.core.testdata.model.table.setting.VariablesImport;
 import org.rf.ide.core.testdata.text.read.recognizer.RobotToken;
+import org.robotframework.ide.eclipse.main.plugin.model.RobotCase;
 import org.robotframework.ide.eclipse.main.plugin.model.RobotCasesSection;
 import org.robotframework.ide.eclipse.main.plugin.model.RobotFileInternalElement;
 import org.robotframework.ide.eclipse.main.plugin.model.RobotKeywordsSection;
@@ -155,6 +157,33 @@ public class VariableDefinitionLocatorTest {
         assertThat(visitedVars).containsOnly("${x}", "${y}");
     }
 
+    @Test
+    public void variablesDefinedInPreviousCallsAreLocatedByElement_afterPreviousCallIsChanged() throws Exception {
+        final IFile file = projectProvider.createFile("resource.robot", createTestCasesSection());
+
+        final RobotModel model = new RobotModel();
+        final RobotCase testCase = model.createSuiteFile(file)
+                .findSection(RobotCasesSection.class)
+                .get()
+                .getChildren()
+                .get(0);
+        final RobotFileInternalElement startingElement = testCase.getChildren().get(3); // fourth call in case
+
+        final VariableDefinitionLocator locator = new VariableDefinitionLocator(file, model);
+        final Set<String> visitedVarsBefore = new HashSet<>();
+        locator.locateVariableDefinitionWithLocalScope(localVariableDetector(visitedVarsBefore), startingElement);
+
+        final RobotExecutableRow<?> thirdRow = (RobotExecutableRow<?>) testCase.getChildren()
+                .get(2)
+                .getLinkedElement();
+        thirdRow.getAction().setText("${z}=");
+        final Set<String> visitedVarsAfter = new HashSet<>();
+        locator.locateVariableDefinitionWithLocalScope(localVariableDetector(visitedVarsAfter), startingElement);
+
+        assertThat(visitedVarsBefore).containsOnly("${x}", "${y}");
+        assertThat(visitedVarsAfter).containsOnly("${x}", "${z}");
+    }
+
     @Test
     public void variablesDefinedInPreviousCallsAreLocatedByElement_onlyUntilDetectorWantsToContinue() throws Exception {
         final IFile file = projectProvider.createFile("resource.robot", createTestCasesSection());
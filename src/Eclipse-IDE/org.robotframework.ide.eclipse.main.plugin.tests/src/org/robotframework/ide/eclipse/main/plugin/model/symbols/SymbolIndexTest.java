@@ -0,0 +1,109 @@
+/*
+ * Copyright 2017 Nokia Solutions and Networks
+ * Licensed under the Apache License, Version 2.0,
+ * see license.txt file for details.
+ */
+package org.robotframework.ide.eclipse.main.plugin.model.symbols;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import java.util.List;
+
+import org.eclipse.core.resources.IFile;
+import org.junit.Rule;
+import org.junit.Test;
+import org.robotframework.ide.eclipse.main.plugin.model.RobotModel;
+import org.robotframework.ide.eclipse.main.plugin.model.RobotSuiteFile;
+import org.robotframework.ide.eclipse.main.plugin.model.symbols.Symbol.SymbolKind;
+import org.robotframework.ide.eclipse.main.plugin.model.symbols.Symbol.SymbolRole;
+import org.robotframework.red.junit.ProjectProvider;
+
+public class SymbolIndexTest {
+
+    @Rule
+    public ProjectProvider projectProvider = new ProjectProvider(SymbolIndexTest.class);
+
+    @Test
+    public void definitionsAndUsagesAreCollectedFromFile() throws Exception {
+        final IFile file = projectProvider.createFile("suite.robot",
+                "*** Settings ***",
+                "Suite Setup  setup kw",
+                "*** Variables ***",
+                "${var}  1",
+                "*** Test Cases ***",
+                "case",
+                "  ${x}=  kw  ${var}",
+                "  :FOR  ${i}  IN  1  2",
+                "  \\  Log  ${i}",
+                "*** Keywords ***",
+                "kw",
+                "  [Arguments]  ${a}",
+                "  Log  ${a}");
+        final RobotSuiteFile suiteFile = new RobotModel().createSuiteFile(file);
+
+        final List<Symbol> symbols = new SymbolIndex().getSymbols(suiteFile);
+
+        assertThat(symbols).extracting("kind", "role", "name", "line").containsOnly(
+                tuple(SymbolKind.KEYWORD, SymbolRole.USAGE, "setup kw", 2),
+                tuple(SymbolKind.VARIABLE, SymbolRole.DEFINITION, "${var}", 4),
+                tuple(SymbolKind.TEST_CASE, SymbolRole.DEFINITION, "case", 6),
+                tuple(SymbolKind.VARIABLE, SymbolRole.DEFINITION, "${x}", 7),
+                tuple(SymbolKind.KEYWORD, SymbolRole.USAGE, "kw", 7),
+                tuple(SymbolKind.VARIABLE, SymbolRole.USAGE, "${var}", 7),
+                tuple(SymbolKind.VARIABLE, SymbolRole.DEFINITION, "${i}", 8),
+                tuple(SymbolKind.KEYWORD, SymbolRole.USAGE, "Log", 9),
+                tuple(SymbolKind.VARIABLE, SymbolRole.USAGE, "${i}", 9),
+                tuple(SymbolKind.KEYWORD, SymbolRole.DEFINITION, "kw", 11),
+                tuple(SymbolKind.KEYWORD, SymbolRole.USAGE, "Log", 13),
+                tuple(SymbolKind.VARIABLE, SymbolRole.USAGE, "${a}", 13));
+    }
+
+    @Test
+    public void symbolsAreReused_whenFileWasNotChanged() throws Exception {
+        final IFile file = projectProvider.createFile("suite.robot",
+                "*** Test Cases ***",
+                "case",
+                "  Log  1");
+        final RobotSuiteFile suiteFile = new RobotModel().createSuiteFile(file);
+        final SymbolIndex index = new SymbolIndex();
+
+        final List<Symbol> symbols = index.getSymbols(suiteFile);
+
+        assertThat(index.isIndexed(file)).isTrue();
+        assertThat(index.getSymbols(suiteFile)).isSameAs(symbols);
+    }
+
+    @Test
+    public void symbolsAreCollectedAgain_whenFileWasChanged() throws Exception {
+        final IFile file = projectProvider.createFile("suite.robot",
+                "*** Test Cases ***",
+                "case",
+                "  Log  1");
+        final SymbolIndex index = new SymbolIndex();
+        index.getSymbols(new RobotModel().createSuiteFile(file));
+
+        projectProvider.createFile("suite.robot",
+                "*** Test Cases ***",
+                "changed case",
+                "  Log  1");
+
+        assertThat(index.isIndexed(file)).isFalse();
+        assertThat(index.getSymbols(new RobotModel().createSuiteFile(file))).extracting("name")
+                .containsOnly("changed case", "Log");
+    }
+
+    @Test
+    public void indexIsEmpty_afterClearing() throws Exception {
+        final IFile file = projectProvider.createFile("suite.robot",
+                "*** Test Cases ***",
+                "case",
+                "  Log  1");
+        final SymbolIndex index = new SymbolIndex();
+        index.getSymbols(new RobotModel().createSuiteFile(file));
+
+        index.clear();
+
+        assertThat(index.isIndexed(file)).isFalse();
+    }
+}
@@ -59,17 +59,29 @@ public class AbstractAutoDiscovererTest {
         createDiscoverer(robotProject, resources, sourcesCollector, targetsCollector).startDiscovering(null);
     }
 
-    private AbstractAutoDiscoverer createDiscoverer(final RobotProject robotProject, final List<IResource> resources,
-            final LibrariesSourcesCollector sourcesCollector, final IDryRunTargetsCollector targetsCollector) {
-        return new AbstractAutoDiscoverer(robotProject, resources, sourcesCollector, targetsCollector) {
+    private AbstractAutoDiscoverer<Object> createDiscoverer(final RobotProject robotProject,
+            final List<IResource> resources, final LibrariesSourcesCollector sourcesCollector,
+            final IDryRunTargetsCollector targetsCollector) {
+        return new AbstractAutoDiscoverer<Object>(robotProject, resources, sourcesCollector, targetsCollector) {
 
             @Override
-            RobotDefaultAgentEventListener createDryRunEventListener(final Consumer<String> startSuiteHandler) {
+            Object createDryRunCollector() {
+                return new Object();
+            }
+
+            @Override
+            RobotDefaultAgentEventListener createDryRunEventListener(final Object dryRunCollector,
+                    final Consumer<String> startSuiteHandler) {
                 return new RobotDefaultAgentEventListener() {
                     // nothing to implement
                 };
             }
 
+            @Override
+            void mergeDryRunResults(final Object dryRunCollector) {
+                // nothing to merge
+            }
+
             @Override
             Job start(final Shell parent) {
                 return new WorkspaceJob("Discovering") {
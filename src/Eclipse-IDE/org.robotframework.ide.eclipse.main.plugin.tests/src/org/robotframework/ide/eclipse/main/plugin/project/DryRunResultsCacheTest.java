@@ -0,0 +1,86 @@
+/*
+ * Copyright 2017 Nokia Solutions and Networks
+ * Licensed under the Apache License, Version 2.0,
+ * see license.txt file for details.
+ */
+package org.robotframework.ide.eclipse.main.plugin.project;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hasher;
+
+public class DryRunResultsCacheTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void resultsAreReturned_onlyForTheSameHash() throws Exception {
+        final DryRunResultsCache<String> cache = new DryRunResultsCache<>(results -> true);
+
+        cache.put("key", HashCode.fromInt(1), "results");
+
+        assertThat(cache.get("key", HashCode.fromInt(1)).get()).isEqualTo("results");
+        assertThat(cache.get("key", HashCode.fromInt(2)).isPresent()).isFalse();
+        assertThat(cache.get("other", HashCode.fromInt(1)).isPresent()).isFalse();
+    }
+
+    @Test
+    public void resultsWhichShouldNotBeReusedAreNotStored_andPreviousResultsAreDropped() throws Exception {
+        final DryRunResultsCache<String> cache = new DryRunResultsCache<>(results -> !results.contains("failure"));
+
+        cache.put("key", HashCode.fromInt(1), "results");
+        cache.put("key", HashCode.fromInt(2), "failure");
+
+        assertThat(cache.size()).isZero();
+        assertThat(cache.get("key", HashCode.fromInt(1)).isPresent()).isFalse();
+    }
+
+    @Test
+    public void leastRecentlyUsedResultsAreDropped_whenLimitIsExceeded() throws Exception {
+        final DryRunResultsCache<String> cache = new DryRunResultsCache<>(results -> true, 2);
+
+        cache.put("key1", HashCode.fromInt(1), "results1");
+        cache.put("key2", HashCode.fromInt(1), "results2");
+        cache.get("key1", HashCode.fromInt(1));
+        cache.put("key3", HashCode.fromInt(1), "results3");
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.get("key1", HashCode.fromInt(1)).get()).isEqualTo("results1");
+        assertThat(cache.get("key2", HashCode.fromInt(1)).isPresent()).isFalse();
+    }
+
+    @Test
+    public void contentsHashChanges_whenAnyFileInsideDirectoryIsChanged() throws Exception {
+        final File dir = folder.newFolder("suites");
+        final File suite = new File(dir, "suite.robot");
+        write(suite, "*** Test Cases ***");
+        write(new File(dir, "lib.pyc"), "compiled");
+
+        final HashCode hash = hashContents(dir);
+        write(new File(dir, "lib.pyc"), "compiled again");
+        assertThat(hashContents(dir)).isEqualTo(hash);
+
+        write(suite, "*** Test Cases ***\ncase");
+        assertThat(hashContents(dir)).isNotEqualTo(hash);
+    }
+
+    private static HashCode hashContents(final File file) throws Exception {
+        final Hasher hasher = DryRunResultsCache.newHasher();
+        DryRunResultsCache.putContents(hasher, file);
+        return hasher.hash();
+    }
+
+    private static void write(final File file, final String content) throws Exception {
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -6,6 +6,7 @@
 package org.robotframework.ide.eclipse.main.plugin.project;
 
 import static com.google.common.collect.Lists.newArrayList;
+import static com.google.common.collect.Sets.newHashSet;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
@@ -17,8 +18,10 @@ import static org.mockito.Mockito.when;
 import java.io.File;
 import java.io.IOException;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.runtime.IProgressMonitor;
@@ -90,12 +93,10 @@ public class LibrariesWatchHandlerTest {
 
         librariesWatchHandler.registerLibrary(referencedLibrary, libSpec);
 
-        final Map<String, String> registeredPaths = librariesWatchHandler.getRegisteredPaths();
-        assertFalse(registeredPaths.isEmpty());
-        assertEquals(pythonLibraryFile.getParentFile().getPath(), registeredPaths.get(PYTHON_LIBRARY_FILE_NAME));
+        assertEquals(newHashSet(pythonLibraryFile.toPath()), librariesWatchHandler.getRegisteredPaths());
         assertEquals(new Path(pythonLibraryFile.getPath()).toPortableString(),
                 librariesWatchHandler.getRegisteredRefLibraries().get(referencedLibrary));
-        assertEquals(newArrayList(pythonLibraryFile.getName()),
+        assertEquals(newArrayList(pythonLibraryFile.toPath()),
                 librariesWatchHandler.getLibrarySpecifications().get(libSpec));
     }
 
@@ -108,12 +109,10 @@ public class LibrariesWatchHandlerTest {
 
         librariesWatchHandler.registerLibrary(referencedLibrary, libSpec);
 
-        final Map<String, String> registeredPaths = librariesWatchHandler.getRegisteredPaths();
-        assertFalse(registeredPaths.isEmpty());
-        assertEquals(pythonLibraryFile.getParentFile().getPath(), registeredPaths.get(PYTHON_LIBRARY_FILE_NAME));
+        assertEquals(newHashSet(pythonLibraryFile.toPath()), librariesWatchHandler.getRegisteredPaths());
         assertEquals(new Path(pythonLibraryFile.getPath()).toPortableString(),
                 librariesWatchHandler.getRegisteredRefLibraries().get(referencedLibrary));
-        assertEquals(newArrayList(pythonLibraryFile.getName()),
+        assertEquals(newArrayList(pythonLibraryFile.toPath()),
                 librariesWatchHandler.getLibrarySpecifications().get(libSpec));
     }
 
@@ -134,20 +133,18 @@ public class LibrariesWatchHandlerTest {
         librariesWatchHandler.registerLibrary(referencedLibrary2, libSpec2);
         librariesWatchHandler.registerLibrary(referencedLibrary3, libSpec3);
 
-        final Map<String, String> registeredPaths = librariesWatchHandler.getRegisteredPaths();
-        assertFalse(registeredPaths.isEmpty());
-        assertEquals(pythonLibraryFile.getParentFile().getPath(), registeredPaths.get(PYTHON_LIBRARY_FILE_NAME));
+        assertEquals(newHashSet(pythonLibraryFile.toPath()), librariesWatchHandler.getRegisteredPaths());
         assertEquals(new Path(pythonLibraryFile.getPath()).toPortableString(),
                 librariesWatchHandler.getRegisteredRefLibraries().get(referencedLibrary1));
         assertEquals(new Path(pythonLibraryFile.getPath()).toPortableString(),
                 librariesWatchHandler.getRegisteredRefLibraries().get(referencedLibrary2));
         assertEquals(new Path(pythonLibraryFile.getPath()).toPortableString(),
                 librariesWatchHandler.getRegisteredRefLibraries().get(referencedLibrary3));
-        assertEquals(newArrayList(pythonLibraryFile.getName()),
+        assertEquals(newArrayList(pythonLibraryFile.toPath()),
                 librariesWatchHandler.getLibrarySpecifications().get(libSpec1));
-        assertEquals(newArrayList(pythonLibraryFile.getName()),
+        assertEquals(newArrayList(pythonLibraryFile.toPath()),
                 librariesWatchHandler.getLibrarySpecifications().get(libSpec2));
-        assertEquals(newArrayList(pythonLibraryFile.getName()),
+        assertEquals(newArrayList(pythonLibraryFile.toPath()),
                 librariesWatchHandler.getLibrarySpecifications().get(libSpec3));
     }
 
@@ -160,16 +157,11 @@ public class LibrariesWatchHandlerTest {
 
         librariesWatchHandler.registerLibrary(referencedLibrary, libSpec);
 
-        final Map<String, String> registeredPaths = librariesWatchHandler.getRegisteredPaths();
-        assertTrue(registeredPaths.size() == 2);
-        assertEquals(pythonModuleLibraryFolder.getPath(), registeredPaths.get(PYTHON_MODULE_LIBRARY_INIT_FILE_NAME));
-        assertEquals(pythonModuleLibraryFolder.getPath(), registeredPaths.get(PYTHON_MODULE_LIBRARY_FILE_NAME));
+        assertEquals(newHashSet(pythonModuleLibraryFolder.toPath()), librariesWatchHandler.getRegisteredPaths());
         assertEquals(new Path(pythonModuleLibraryInitFile.getPath()).toPortableString(),
                 librariesWatchHandler.getRegisteredRefLibraries().get(referencedLibrary));
-        final List<String> moduleFilesNames = librariesWatchHandler.getLibrarySpecifications().get(libSpec);
-        assertTrue(moduleFilesNames.size() == 2);
-        assertTrue(moduleFilesNames.contains(pythonModuleLibraryFile.getName()));
-        assertTrue(moduleFilesNames.contains(pythonModuleLibraryInitFile.getName()));
+        assertEquals(newArrayList(pythonModuleLibraryFolder.toPath()),
+                librariesWatchHandler.getLibrarySpecifications().get(libSpec));
     }
 
     @Test
@@ -181,12 +173,10 @@ public class LibrariesWatchHandlerTest {
 
         librariesWatchHandler.registerLibrary(referencedLibrary, libSpec);
 
-        final Map<String, String> registeredPaths = librariesWatchHandler.getRegisteredPaths();
-        assertFalse(registeredPaths.isEmpty());
-        assertEquals(javaLibraryFile.getParentFile().getPath(), registeredPaths.get(JAVA_LIBRARY_FILE_NAME));
+        assertEquals(newHashSet(javaLibraryFile.toPath()), librariesWatchHandler.getRegisteredPaths());
         assertEquals(new Path(javaLibraryFile.getPath()).toPortableString(),
                 librariesWatchHandler.getRegisteredRefLibraries().get(referencedLibrary));
-        assertEquals(newArrayList(javaLibraryFile.getName()),
+        assertEquals(newArrayList(javaLibraryFile.toPath()),
                 librariesWatchHandler.getLibrarySpecifications().get(libSpec));
     }
 
@@ -232,17 +222,15 @@ public class LibrariesWatchHandlerTest {
 
         librariesWatchHandler.registerLibrary(referencedLibrary, libSpec);
 
-        final Map<String, String> registeredPaths = librariesWatchHandler.getRegisteredPaths();
-        assertFalse(registeredPaths.isEmpty());
-        assertEquals(pythonLibraryFile.getParentFile().getPath(), registeredPaths.get(PYTHON_LIBRARY_FILE_NAME));
+        assertEquals(newHashSet(pythonLibraryFile.toPath()), librariesWatchHandler.getRegisteredPaths());
         final Map<ReferencedLibrary, String> registeredRefLibraries = librariesWatchHandler.getRegisteredRefLibraries();
         assertTrue(registeredRefLibraries.size() == 1);
         assertEquals(new Path(pythonLibraryFile.getPath()).toPortableString(),
                 registeredRefLibraries.get(referencedLibrary));
-        final ListMultimap<LibrarySpecification, String> librarySpecifications = librariesWatchHandler
+        final ListMultimap<LibrarySpecification, java.nio.file.Path> librarySpecifications = librariesWatchHandler
                 .getLibrarySpecifications();
         assertTrue(librarySpecifications.size() == 1);
-        assertEquals(newArrayList(pythonLibraryFile.getName()), librarySpecifications.get(libSpec));
+        assertEquals(newArrayList(pythonLibraryFile.toPath()), librarySpecifications.get(libSpec));
         assertEquals(kwSpec, librarySpecifications.keySet().iterator().next().getKeywords().get(0));
     }
 
@@ -260,10 +248,8 @@ public class LibrariesWatchHandlerTest {
 
         librariesWatchHandler.unregisterLibraries(newArrayList(referencedLibrary1, referencedLibrary2));
 
-        final List<String> unregisteredFiles = librariesWatchHandler.getUnregisteredFiles();
-        assertTrue(unregisteredFiles.size() == 2);
-        assertEquals(pythonLibraryFile.getName(), unregisteredFiles.get(0));
-        assertEquals(pythonLibraryFile.getName(), unregisteredFiles.get(1));
+        assertEquals(newArrayList(pythonLibraryFile.toPath(), pythonLibraryFile.toPath()),
+                librariesWatchHandler.getUnregisteredPaths());
         assertTrue(librariesWatchHandler.getRegisteredRefLibraries().isEmpty());
         assertTrue(librariesWatchHandler.getLibrarySpecifications().isEmpty());
     }
@@ -278,10 +264,7 @@ public class LibrariesWatchHandlerTest {
 
         librariesWatchHandler.unregisterLibraries(newArrayList(referencedLibrary));
 
-        final List<String> unregisteredFiles = librariesWatchHandler.getUnregisteredFiles();
-        assertTrue(unregisteredFiles.size() == 2);
-        assertTrue(unregisteredFiles.contains(pythonModuleLibraryFile.getName()));
-        assertTrue(unregisteredFiles.contains(pythonModuleLibraryInitFile.getName()));
+        assertEquals(newArrayList(pythonModuleLibraryFolder.toPath()), librariesWatchHandler.getUnregisteredPaths());
         assertTrue(librariesWatchHandler.getRegisteredRefLibraries().isEmpty());
         assertTrue(librariesWatchHandler.getLibrarySpecifications().isEmpty());
     }
@@ -301,7 +284,7 @@ public class LibrariesWatchHandlerTest {
         librariesWatchHandler.registerLibrary(referencedLibrary2, libSpec2);
 
         librariesWatchHandler.setRebuildTasksQueueSizeBeforeBuilderInvoke(1);
-        librariesWatchHandler.handleModifyEvent(PYTHON_LIBRARY_FILE_NAME);
+        librariesWatchHandler.handleModifyEvents(newHashSet(pythonLibraryFile.toPath()));
 
         librariesWatchHandler.execAllAwaitingMessages();
         assertTrue(librariesWatchHandler.getSpecificationsToRebuild().size() == 2);
@@ -321,7 +304,7 @@ public class LibrariesWatchHandlerTest {
         librariesWatchHandler.registerLibrary(referencedLibrary, libSpec);
         librariesWatchHandler.setRebuildTasksQueueSizeBeforeBuilderInvoke(1);
 
-        librariesWatchHandler.handleModifyEvent(PYTHON_MODULE_LIBRARY_INIT_FILE_NAME);
+        librariesWatchHandler.handleModifyEvents(newHashSet(pythonModuleLibraryInitFile.toPath()));
 
         librariesWatchHandler.execAllAwaitingMessages();
         assertTrue(librariesWatchHandler.getSpecificationsToRebuild().size() == 1);
@@ -331,7 +314,7 @@ public class LibrariesWatchHandlerTest {
 
         librariesWatchHandler.getSpecificationsToRebuild().clear();
 
-        librariesWatchHandler.handleModifyEvent(PYTHON_MODULE_LIBRARY_FILE_NAME);
+        librariesWatchHandler.handleModifyEvents(newHashSet(pythonModuleLibraryFile.toPath()));
 
         librariesWatchHandler.execAllAwaitingMessages();
         assertTrue(librariesWatchHandler.getSpecificationsToRebuild().size() == 1);
@@ -355,9 +338,9 @@ public class LibrariesWatchHandlerTest {
         librariesWatchHandler.registerLibrary(referencedLibrary2, libSpec2);
 
         librariesWatchHandler.setRebuildTasksQueueSizeBeforeBuilderInvoke(8);
-        librariesWatchHandler.handleModifyEvent(PYTHON_MODULE_LIBRARY_FILE_NAME);
+        librariesWatchHandler.handleModifyEvents(newHashSet(pythonModuleLibraryFile.toPath()));
         for (int i = 1; i <= 7; i++) {
-            librariesWatchHandler.handleModifyEvent(PYTHON_LIBRARY_FILE_NAME);
+            librariesWatchHandler.handleModifyEvents(newHashSet(pythonLibraryFile.toPath()));
         }
 
         librariesWatchHandler.execAllAwaitingMessages();
@@ -385,7 +368,7 @@ public class LibrariesWatchHandlerTest {
         librariesWatchHandler.registerLibrary(referencedLibrary1, libSpec1);
         librariesWatchHandler.registerLibrary(referencedLibrary2, libSpec2);
 
-        librariesWatchHandler.handleModifyEvent(PYTHON_LIBRARY_FILE_NAME);
+        librariesWatchHandler.handleModifyEvents(newHashSet(pythonLibraryFile.toPath()));
 
         librariesWatchHandler.execAllAwaitingMessages();
         assertTrue(librariesWatchHandler.isLibSpecDirty(libSpec1));
@@ -412,7 +395,7 @@ public class LibrariesWatchHandlerTest {
         librariesWatchHandler.registerLibrary(referencedLibrary2, libSpec2);
 
         for (int i = 1; i <= 5; i++) {
-            librariesWatchHandler.handleModifyEvent(PYTHON_LIBRARY_FILE_NAME);
+            librariesWatchHandler.handleModifyEvents(newHashSet(pythonLibraryFile.toPath()));
         }
 
         librariesWatchHandler.execAllAwaitingMessages();
@@ -435,8 +418,8 @@ public class LibrariesWatchHandlerTest {
         final DummyLibrariesWatchHandler librariesWatchHandler = new DummyLibrariesWatchHandler(robotProject);
         librariesWatchHandler.registerLibrary(referencedLibrary, libSpec);
 
-        librariesWatchHandler.handleModifyEvent(PYTHON_MODULE_LIBRARY_INIT_FILE_NAME);
-        librariesWatchHandler.handleModifyEvent(PYTHON_MODULE_LIBRARY_FILE_NAME);
+        librariesWatchHandler.handleModifyEvents(newHashSet(pythonModuleLibraryInitFile.toPath()));
+        librariesWatchHandler.handleModifyEvents(newHashSet(pythonModuleLibraryFile.toPath()));
 
         librariesWatchHandler.execAllAwaitingMessages();
         assertTrue(librariesWatchHandler.isLibSpecDirty(libSpec));
@@ -455,7 +438,7 @@ public class LibrariesWatchHandlerTest {
         final RobotProject robotProject = createNewRobotProjectMock(project, false, refLibs);
         final DummyLibrariesWatchHandler librariesWatchHandler = new DummyLibrariesWatchHandler(robotProject);
         librariesWatchHandler.registerLibrary(referencedLibrary, libSpec);
-        librariesWatchHandler.handleModifyEvent(PYTHON_MODULE_LIBRARY_INIT_FILE_NAME);
+        librariesWatchHandler.handleModifyEvents(newHashSet(pythonModuleLibraryInitFile.toPath()));
         librariesWatchHandler.execAllAwaitingMessages();
 
         assertTrue(librariesWatchHandler.isLibSpecDirty(libSpec));
@@ -466,6 +449,52 @@ public class LibrariesWatchHandlerTest {
         assertFalse(librariesWatchHandler.isLibSpecDirty(libSpec));
     }
 
+    @Test
+    public void testHandleModifyEvents_whenChangesOfManyLibrariesAreReportedInSingleBatch() {
+        final IProject project = createNewProjectMock(true);
+        final RobotProject robotProject = createNewRobotProjectMock(project, true);
+        final DummyLibrariesWatchHandler librariesWatchHandler = new DummyLibrariesWatchHandler(robotProject);
+        final ReferencedLibrary referencedLibrary1 = createNewReferencedLibrary(PYTHON_LIBRARY_NAME,
+                pythonLibraryFile.getParentFile().getPath(), LibraryType.PYTHON);
+        final LibrarySpecification libSpec1 = createNewLibSpec(referencedLibrary1);
+        librariesWatchHandler.registerLibrary(referencedLibrary1, libSpec1);
+        final ReferencedLibrary referencedLibrary2 = createNewReferencedLibrary(PYTHON_MODULE_LIBRARY_NAME,
+                pythonModuleLibraryFolder.getParentFile().getPath(), LibraryType.PYTHON);
+        final LibrarySpecification libSpec2 = createNewLibSpec(referencedLibrary2);
+        librariesWatchHandler.registerLibrary(referencedLibrary2, libSpec2);
+        librariesWatchHandler.setRebuildTasksQueueSizeBeforeBuilderInvoke(1);
+
+        librariesWatchHandler.handleModifyEvents(newHashSet(pythonLibraryFile.toPath(),
+                pythonModuleLibraryInitFile.toPath(), pythonModuleLibraryFile.toPath()));
+
+        librariesWatchHandler.execAllAwaitingMessages();
+        assertTrue(librariesWatchHandler.getSpecificationsToRebuild().size() == 2);
+        assertTrue(librariesWatchHandler.getSpecificationsToRebuild().get(project).contains(libSpec1));
+        assertTrue(librariesWatchHandler.getSpecificationsToRebuild().get(project).contains(libSpec2));
+        assertTrue(librariesWatchHandler.getRebuildTasksQueueSizeAfterEachBuilderInvoke().equals(newArrayList(1)));
+    }
+
+    @Test
+    public void testHandleModifyEvents_whenFileWithSameNameOrNonPythonFileInModuleIsChanged() throws IOException {
+        final IProject project = createNewProjectMock(true);
+        final RobotProject robotProject = createNewRobotProjectMock(project, true);
+        final DummyLibrariesWatchHandler librariesWatchHandler = new DummyLibrariesWatchHandler(robotProject);
+        final ReferencedLibrary referencedLibrary1 = createNewReferencedLibrary(PYTHON_LIBRARY_NAME,
+                pythonLibraryFile.getParentFile().getPath(), LibraryType.PYTHON);
+        librariesWatchHandler.registerLibrary(referencedLibrary1, createNewLibSpec(referencedLibrary1));
+        final ReferencedLibrary referencedLibrary2 = createNewReferencedLibrary(PYTHON_MODULE_LIBRARY_NAME,
+                pythonModuleLibraryFolder.getParentFile().getPath(), LibraryType.PYTHON);
+        librariesWatchHandler.registerLibrary(referencedLibrary2, createNewLibSpec(referencedLibrary2));
+
+        final File otherDir = testFolder.newFolder("otherDir");
+        librariesWatchHandler.handleModifyEvents(newHashSet(new File(otherDir, PYTHON_LIBRARY_FILE_NAME).toPath(),
+                new File(pythonModuleLibraryFolder, "moduleClass.pyc").toPath()));
+
+        librariesWatchHandler.execAllAwaitingMessages();
+        assertTrue(librariesWatchHandler.getSpecificationsToRebuild().isEmpty());
+        assertTrue(librariesWatchHandler.getRebuildTasksQueueSize() == 0);
+    }
+
     @Test
     public void testHandleModifyEvent_whenProjectNotExists() {
         final IProject project = createNewProjectMock(false);
@@ -477,7 +506,7 @@ public class LibrariesWatchHandlerTest {
         final LibrarySpecification libSpec = createNewLibSpec(referencedLibrary);
         librariesWatchHandler.registerLibrary(referencedLibrary, libSpec);
 
-        librariesWatchHandler.handleModifyEvent(PYTHON_LIBRARY_FILE_NAME);
+        librariesWatchHandler.handleModifyEvents(newHashSet(pythonLibraryFile.toPath()));
 
         assertTrue(librariesWatchHandler.getSpecificationsToRebuild().isEmpty());
         assertTrue(librariesWatchHandler.getLibrarySpecifications().isEmpty());
@@ -535,9 +564,9 @@ public class LibrariesWatchHandlerTest {
 
     static class DummyLibrariesWatchHandler extends LibrariesWatchHandler {
 
-        private final Map<String, String> registeredPaths = new HashMap<>();
+        private final Set<java.nio.file.Path> registeredPaths = new HashSet<>();
 
-        private final List<String> unregisteredFiles = newArrayList();
+        private final List<java.nio.file.Path> unregisteredPaths = newArrayList();
 
         private final Multimap<IProject, LibrarySpecification> specificationsToRebuild = LinkedHashMultimap.create();
 
@@ -550,13 +579,13 @@ public class LibrariesWatchHandlerTest {
         }
 
         @Override
-        public void registerPath(final java.nio.file.Path dir, final String fileName, final IWatchEventHandler handler) {
-            registeredPaths.put(fileName, dir.toString());
+        public void registerPath(final java.nio.file.Path path, final IWatchEventHandler handler) {
+            registeredPaths.add(path);
         }
 
         @Override
-        public void unregisterFile(final String fileName, final IWatchEventHandler handler) {
-            unregisteredFiles.add(fileName);
+        public void unregisterPath(final java.nio.file.Path path, final IWatchEventHandler handler) {
+            unregisteredPaths.add(path);
         }
 
         @Override
@@ -572,12 +601,12 @@ public class LibrariesWatchHandlerTest {
             rebuildTasksQueueSizeAfterEachBuilderInvoke.add(getRebuildTasksQueueSize());
         }
 
-        public Map<String, String> getRegisteredPaths() {
+        public Set<java.nio.file.Path> getRegisteredPaths() {
             return registeredPaths;
         }
 
-        public List<String> getUnregisteredFiles() {
-            return unregisteredFiles;
+        public List<java.nio.file.Path> getUnregisteredPaths() {
+            return unregisteredPaths;
         }
 
         public Multimap<IProject, LibrarySpecification> getSpecificationsToRebuild() {
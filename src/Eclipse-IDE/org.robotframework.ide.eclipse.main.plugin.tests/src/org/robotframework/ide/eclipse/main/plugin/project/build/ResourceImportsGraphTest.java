@@ -0,0 +1,138 @@
+/*
+ * Copyright 2017 Nokia Solutions and Networks
+ * Licensed under the Apache License, Version 2.0,
+ * see license.txt file for details.
+ */
+package org.robotframework.ide.eclipse.main.plugin.project.build;
+
+import static com.google.common.collect.Lists.newArrayList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.eclipse.core.resources.IFile;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.robotframework.ide.eclipse.main.plugin.model.RobotModel;
+import org.robotframework.red.junit.ProjectProvider;
+
+public class ResourceImportsGraphTest {
+
+    @Rule
+    public ProjectProvider projectProvider = new ProjectProvider(ResourceImportsGraphTest.class);
+
+    private IFile suite;
+
+    private IFile res1;
+
+    private IFile res2;
+
+    @Before
+    public void beforeTest() throws Exception {
+        res2 = projectProvider.createFile("res2.robot",
+                "*** Keywords ***",
+                "kw2",
+                "  Log  2");
+        res1 = projectProvider.createFile("res1.robot",
+                "*** Settings ***",
+                "Resource  res2.robot",
+                "*** Keywords ***",
+                "kw1",
+                "  kw2");
+        suite = projectProvider.createFile("suite.robot",
+                "*** Settings ***",
+                "Resource  res1.robot",
+                "*** Test Cases ***",
+                "case",
+                "  kw1");
+    }
+
+    @Test
+    public void directAndTransitiveImportersAreFound() {
+        final ResourceImportsGraph graph = createGraph(new RobotModel());
+
+        assertThat(graph.getTransitiveImporters(newArrayList(res2.getFullPath())))
+                .containsOnly(res1.getFullPath(), suite.getFullPath());
+        assertThat(graph.getTransitiveImporters(newArrayList(res1.getFullPath())))
+                .containsOnly(suite.getFullPath());
+        assertThat(graph.getTransitiveImporters(newArrayList(suite.getFullPath()))).isEmpty();
+    }
+
+    @Test
+    public void importersAreNoLongerFound_whenImportingFileWasRemoved() {
+        final ResourceImportsGraph graph = createGraph(new RobotModel());
+
+        graph.remove(res1.getFullPath());
+
+        assertThat(graph.contains(res1.getFullPath())).isFalse();
+        assertThat(graph.getTransitiveImporters(newArrayList(res2.getFullPath()))).isEmpty();
+    }
+
+    @Test
+    public void signatureIsNotChanged_whenOnlyKeywordBodyIsChanged() throws Exception {
+        final ResourceImportsGraph graph = createGraph(new RobotModel());
+
+        projectProvider.createFile("res2.robot",
+                "*** Keywords ***",
+                "kw2",
+                "  Log  changed");
+
+        assertThat(graph.update(new RobotModel().createSuiteFile(res2))).isFalse();
+    }
+
+    @Test
+    public void signatureIsChanged_whenKeywordIsAdded() throws Exception {
+        final ResourceImportsGraph graph = createGraph(new RobotModel());
+
+        projectProvider.createFile("res2.robot",
+                "*** Keywords ***",
+                "kw2",
+                "  Log  2",
+                "kw3",
+                "  Log  3");
+
+        assertThat(graph.update(new RobotModel().createSuiteFile(res2))).isTrue();
+    }
+
+    @Test
+    public void signatureIsChanged_whenVariableIsRenamed() throws Exception {
+        projectProvider.createFile("res2.robot",
+                "*** Variables ***",
+                "${var}  1");
+        final ResourceImportsGraph graph = createGraph(new RobotModel());
+
+        projectProvider.createFile("res2.robot",
+                "*** Variables ***",
+                "${other}  1");
+
+        assertThat(graph.update(new RobotModel().createSuiteFile(res2))).isTrue();
+    }
+
+    @Test
+    public void signatureIsChanged_whenFileIsNotKnown() {
+        final ResourceImportsGraph graph = new ResourceImportsGraph();
+
+        assertThat(graph.update(new RobotModel().createSuiteFile(res2))).isTrue();
+        assertThat(graph.contains(res2.getFullPath())).isTrue();
+    }
+
+    @Test
+    public void graphIsComplete_onlyAfterBeingMarkedUntilCleared() {
+        final ResourceImportsGraph graph = createGraph(new RobotModel());
+        assertThat(graph.isComplete()).isFalse();
+
+        graph.markComplete();
+        assertThat(graph.isComplete()).isTrue();
+
+        graph.clear();
+        assertThat(graph.isComplete()).isFalse();
+        assertThat(graph.contains(suite.getFullPath())).isFalse();
+    }
+
+    private ResourceImportsGraph createGraph(final RobotModel model) {
+        final ResourceImportsGraph graph = new ResourceImportsGraph();
+        graph.update(model.createSuiteFile(suite));
+        graph.update(model.createSuiteFile(res1));
+        graph.update(model.createSuiteFile(res2));
+        return graph;
+    }
+}
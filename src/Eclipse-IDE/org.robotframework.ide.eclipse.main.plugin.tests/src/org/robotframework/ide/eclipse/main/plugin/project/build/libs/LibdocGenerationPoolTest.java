@@ -0,0 +1,252 @@
+/*
+ * Copyright 2017 Nokia Solutions and Networks
+ * Licensed under the Apache License, Version 2.0,
+ * see license.txt file for details.
+ */
+package org.robotframework.ide.eclipse.main.plugin.project.build.libs;
+
+import static com.google.common.collect.Lists.newArrayList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.SubMonitor;
+import org.junit.Before;
+import org.junit.Test;
+import org.rf.ide.core.executor.EnvironmentSearchPaths;
+import org.rf.ide.core.executor.RobotRuntimeEnvironment;
+import org.rf.ide.core.executor.RobotRuntimeEnvironment.RobotEnvironmentException;
+import org.robotframework.ide.eclipse.main.plugin.project.build.BuildLogger;
+import org.robotframework.ide.eclipse.main.plugin.project.build.libs.LibdocGenerationPool.LibdocGeneration;
+
+public class LibdocGenerationPoolTest {
+
+    private RobotRuntimeEnvironment environment;
+
+    @Before
+    public void beforeTest() {
+        environment = mock(RobotRuntimeEnvironment.class);
+        when(environment.withReservedSession()).thenReturn(environment);
+    }
+
+    @Test
+    public void allLibdocsAreGenerated_evenWhenSomeOfThemFail() {
+        final ILibdocGenerator generator1 = new TestGenerator("lib1");
+        final ILibdocGenerator generator2 = new TestGenerator("lib2") {
+
+            @Override
+            public void generateLibdoc(final RobotRuntimeEnvironment runtimeEnvironment,
+                    final EnvironmentSearchPaths additionalPaths) {
+                throw new RobotEnvironmentException("failed");
+            }
+        };
+        final ILibdocGenerator generator3 = new TestGenerator("lib3");
+        final List<LibdocGeneration> generations = generations(generator1, generator2, generator3);
+
+        final Map<LibdocGeneration, RobotEnvironmentException> problems = new LibdocGenerationPool(new BuildLogger(),
+                2, 0).generate(generations, SubMonitor.convert(new NullProgressMonitor()));
+
+        assertThat(problems).containsOnlyKeys(generations.get(1));
+        assertThat(problems.get(generations.get(1))).hasMessage("failed");
+        assertThat(((TestGenerator) generator1).generated).isTrue();
+        assertThat(((TestGenerator) generator3).generated).isTrue();
+    }
+
+    @Test
+    public void libdocsAreGeneratedInParallel_whenThereAreManySessions() {
+        final CountDownLatch bothStarted = new CountDownLatch(2);
+        final List<LibdocGeneration> generations = generations(new WaitingGenerator("lib1", bothStarted),
+                new WaitingGenerator("lib2", bothStarted));
+
+        final Map<LibdocGeneration, RobotEnvironmentException> problems = new LibdocGenerationPool(new BuildLogger(),
+                2, 0).generate(generations, SubMonitor.convert(new NullProgressMonitor()));
+
+        assertThat(problems).isEmpty();
+        verify(environment, times(2)).withReservedSession();
+        verify(environment, times(2)).releaseSession();
+    }
+
+    @Test
+    public void generationIsReportedAsProblemAndSessionIsReset_whenItTimesOut() {
+        final CountDownLatch neverReleased = new CountDownLatch(1);
+        final List<LibdocGeneration> generations = generations(new BlockingGenerator("lib", neverReleased));
+
+        final Map<LibdocGeneration, RobotEnvironmentException> problems = new LibdocGenerationPool(new BuildLogger(),
+                1, 1).generate(generations, SubMonitor.convert(new NullProgressMonitor()));
+
+        assertThat(problems).containsOnlyKeys(generations.get(0));
+        assertThat(problems.get(generations.get(0))).hasMessageContaining("has not finished in 1 seconds");
+        verify(environment).resetSessionCommandExecutor();
+        verify(environment).releaseSession();
+    }
+
+    @Test
+    public void workersAreStoppedBeforeReturning_whenMonitorIsCancelledDuringGeneration() throws Exception {
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch released = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            released.countDown();
+            return null;
+        }).when(environment).resetSessionCommandExecutor();
+        final BlockingGenerator generator = new BlockingGenerator("lib", released) {
+
+            @Override
+            public void generateLibdoc(final RobotRuntimeEnvironment runtimeEnvironment,
+                    final EnvironmentSearchPaths additionalPaths) {
+                started.countDown();
+                super.generateLibdoc(runtimeEnvironment, additionalPaths);
+            }
+        };
+        final NullProgressMonitor monitor = new NullProgressMonitor();
+        final Thread canceller = new Thread(() -> {
+            try {
+                started.await();
+            } catch (final InterruptedException e) {
+                // monitor is cancelled anyway
+            }
+            monitor.setCanceled(true);
+        });
+        canceller.start();
+
+        new LibdocGenerationPool(new BuildLogger(), 1, 0).generate(generations(generator),
+                SubMonitor.convert(monitor));
+        canceller.join();
+
+        assertThat(generator.finished).isTrue();
+        verify(environment).resetSessionCommandExecutor();
+        verify(environment).releaseSession();
+    }
+
+    @Test
+    public void errorThrownByGeneratorIsRethrown_afterAllWorkersAreStopped() {
+        final ILibdocGenerator generator1 = new TestGenerator("lib1") {
+
+            @Override
+            public void generateLibdoc(final RobotRuntimeEnvironment runtimeEnvironment,
+                    final EnvironmentSearchPaths additionalPaths) {
+                throw new AssertionError("error");
+            }
+        };
+        final TestGenerator generator2 = new TestGenerator("lib2");
+        final List<LibdocGeneration> generations = generations(generator1, generator2);
+
+        AssertionError thrown = null;
+        try {
+            new LibdocGenerationPool(new BuildLogger(), 1, 0).generate(generations,
+                    SubMonitor.convert(new NullProgressMonitor()));
+        } catch (final AssertionError e) {
+            thrown = e;
+        }
+
+        assertThat(thrown).hasMessage("error");
+        assertThat(generator2.generated).isFalse();
+        verify(environment).releaseSession();
+    }
+
+    @Test
+    public void nothingIsGenerated_whenMonitorIsCancelled() {
+        final TestGenerator generator = new TestGenerator("lib");
+        final NullProgressMonitor monitor = new NullProgressMonitor();
+        monitor.setCanceled(true);
+
+        final Map<LibdocGeneration, RobotEnvironmentException> problems = new LibdocGenerationPool(new BuildLogger(),
+                1, 0).generate(generations(generator), SubMonitor.convert(monitor));
+
+        assertThat(problems).isEmpty();
+        assertThat(generator.generated).isFalse();
+        verify(environment, never()).withReservedSession();
+    }
+
+    private List<LibdocGeneration> generations(final ILibdocGenerator... generators) {
+        final List<LibdocGeneration> generations = newArrayList();
+        for (final ILibdocGenerator generator : generators) {
+            generations.add(new LibdocGeneration(generator, environment, new EnvironmentSearchPaths(), false));
+        }
+        return generations;
+    }
+
+    private static class TestGenerator implements ILibdocGenerator {
+
+        private final String name;
+
+        private volatile boolean generated = false;
+
+        TestGenerator(final String name) {
+            this.name = name;
+        }
+
+        @Override
+        public void generateLibdoc(final RobotRuntimeEnvironment runtimeEnvironment,
+                final EnvironmentSearchPaths additionalPaths) {
+            generated = true;
+        }
+
+        @Override
+        public void generateLibdocForcibly(final RobotRuntimeEnvironment runtimeEnvironment,
+                final EnvironmentSearchPaths additionalPaths) {
+            generated = true;
+        }
+
+        @Override
+        public String getMessage() {
+            return "generating " + name;
+        }
+    }
+
+    private static class WaitingGenerator extends TestGenerator {
+
+        private final CountDownLatch latch;
+
+        WaitingGenerator(final String name, final CountDownLatch latch) {
+            super(name);
+            this.latch = latch;
+        }
+
+        @Override
+        public void generateLibdoc(final RobotRuntimeEnvironment runtimeEnvironment,
+                final EnvironmentSearchPaths additionalPaths) {
+            latch.countDown();
+            try {
+                if (!latch.await(10, TimeUnit.SECONDS)) {
+                    throw new RobotEnvironmentException("generators were not started in parallel");
+                }
+            } catch (final InterruptedException e) {
+                throw new RobotEnvironmentException("interrupted");
+            }
+        }
+    }
+
+    private static class BlockingGenerator extends TestGenerator {
+
+        private final CountDownLatch latch;
+
+        private volatile boolean finished = false;
+
+        BlockingGenerator(final String name, final CountDownLatch latch) {
+            super(name);
+            this.latch = latch;
+        }
+
+        @Override
+        public void generateLibdoc(final RobotRuntimeEnvironment runtimeEnvironment,
+                final EnvironmentSearchPaths additionalPaths) {
+            try {
+                latch.await();
+            } catch (final InterruptedException e) {
+                throw new RobotEnvironmentException("interrupted");
+            } finally {
+                finished = true;
+            }
+        }
+    }
+}
@@ -0,0 +1,165 @@
+/*
+ * Copyright 2017 Nokia Solutions and Networks
+ * Licensed under the Apache License, Version 2.0,
+ * see license.txt file for details.
+ */
+package org.robotframework.ide.eclipse.main.plugin.project.build.libs;
+
+import static com.google.common.collect.Lists.newArrayList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.rf.ide.core.executor.EnvironmentSearchPaths;
+import org.rf.ide.core.executor.RobotRuntimeEnvironment;
+import org.rf.ide.core.executor.SuiteExecutor;
+
+import com.google.common.io.Files;
+
+public class LibspecsCacheTest {
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    private RobotRuntimeEnvironment environment;
+
+    private File cacheDir;
+
+    @Before
+    public void beforeTest() throws Exception {
+        environment = mock(RobotRuntimeEnvironment.class);
+        when(environment.hasRobotInstalled()).thenReturn(true);
+        when(environment.getFile()).thenReturn(new File("/usr/bin/python"));
+        when(environment.getInterpreter()).thenReturn(SuiteExecutor.Python);
+        when(environment.getVersion()).thenReturn("Robot Framework 3.0.2 (Python 2.7.12 on linux2)");
+
+        cacheDir = tempFolder.newFolder("cache");
+    }
+
+    @Test
+    public void keyIsTheSame_whenLibrarySourcesAreOnlyTouched() throws Exception {
+        final File libDir = tempFolder.newFolder("lib");
+        final File module = write(new File(libDir, "module.py"), "def kw(): pass");
+        final LibspecsCache cache = new LibspecsCache(cacheDir, 1024);
+
+        final Optional<String> key = cache.createKey(environment, "lib", Optional.of(libDir),
+                new EnvironmentSearchPaths());
+        module.setLastModified(module.lastModified() + 10_000);
+        write(new File(libDir, "module.pyc"), "compiled");
+
+        assertThat(key.isPresent()).isTrue();
+        assertThat(cache.createKey(environment, "lib", Optional.of(libDir), new EnvironmentSearchPaths()))
+                .isEqualTo(key);
+    }
+
+    @Test
+    public void keyIsDifferent_whenLibrarySourcesOrSearchPathsChange() throws Exception {
+        final File module = write(tempFolder.newFile("module.py"), "def kw(): pass");
+        final LibspecsCache cache = new LibspecsCache(cacheDir, 1024);
+
+        final Optional<String> key = cache.createKey(environment, "module", Optional.of(module),
+                new EnvironmentSearchPaths());
+        final Optional<String> keyWithOtherPaths = cache.createKey(environment, "module", Optional.of(module),
+                new EnvironmentSearchPaths(newArrayList("a.jar"), newArrayList("/other")));
+        write(module, "def kw2(): pass");
+        final Optional<String> keyOfChangedModule = cache.createKey(environment, "module", Optional.of(module),
+                new EnvironmentSearchPaths());
+
+        assertThat(key.isPresent()).isTrue();
+        assertThat(keyWithOtherPaths).isNotEqualTo(key);
+        assertThat(keyOfChangedModule).isNotEqualTo(key);
+    }
+
+    @Test
+    public void keyIsNotCreated_whenRobotIsNotInstalledOrSourcesDoNotExist() throws Exception {
+        final LibspecsCache cache = new LibspecsCache(cacheDir, 1024);
+
+        assertThat(cache.createKey(environment, "lib", Optional.of(new File(tempFolder.getRoot(), "missing.py")),
+                new EnvironmentSearchPaths()).isPresent()).isFalse();
+
+        when(environment.hasRobotInstalled()).thenReturn(false);
+        assertThat(cache.createKey(environment, "BuiltIn", Optional.empty(), new EnvironmentSearchPaths())
+                .isPresent()).isFalse();
+    }
+
+    @Test
+    public void keyIsDifferent_whenAnyPythonModuleUnderSearchPathChanges() throws Exception {
+        final File searchPath = tempFolder.newFolder("libs");
+        write(new File(searchPath, "module.py"), "import helpers.util");
+        final File helpersDir = new File(searchPath, "helpers");
+        helpersDir.mkdir();
+        final File helper = write(new File(helpersDir, "util.py"), "def f(): pass");
+        final File notes = write(new File(helpersDir, "notes.txt"), "notes");
+        final LibspecsCache cache = new LibspecsCache(cacheDir, 1024);
+
+        final Optional<String> key = cache.createKey(environment, "module", Optional.of(searchPath),
+                new EnvironmentSearchPaths());
+        write(notes, "changed notes");
+        final Optional<String> keyOfChangedNotes = cache.createKey(environment, "module", Optional.of(searchPath),
+                new EnvironmentSearchPaths());
+        write(helper, "def g(): pass");
+        final Optional<String> keyOfChangedHelper = cache.createKey(environment, "module", Optional.of(searchPath),
+                new EnvironmentSearchPaths());
+
+        assertThat(key.isPresent()).isTrue();
+        assertThat(keyOfChangedNotes).isEqualTo(key);
+        assertThat(keyOfChangedHelper).isNotEqualTo(key);
+    }
+
+    @Test
+    public void storedLibspecIsRestored() throws Exception {
+        final LibspecsCache cache = new LibspecsCache(cacheDir, 1024);
+        final File generated = write(tempFolder.newFile("generated.xml"), "<keywordspec/>");
+        final File target = new File(tempFolder.newFolder("libspecs"), "lib.xml");
+
+        assertThat(cache.restore("key", target)).isFalse();
+        cache.store("key", generated);
+
+        assertThat(cache.restore("key", target)).isTrue();
+        assertThat(Files.toString(target, StandardCharsets.UTF_8)).isEqualTo("<keywordspec/>");
+    }
+
+    @Test
+    public void leastRecentlyUsedLibspecsAreEvicted_whenCacheIsTooBig() throws Exception {
+        final LibspecsCache cache = new LibspecsCache(cacheDir, 25);
+        final File target = tempFolder.newFile("target.xml");
+
+        cache.store("first", write(tempFolder.newFile("1.xml"), "0123456789"));
+        cache.store("second", write(tempFolder.newFile("2.xml"), "0123456789"));
+        new File(cacheDir, "first.xml").setLastModified(System.currentTimeMillis() - 20_000);
+        new File(cacheDir, "second.xml").setLastModified(System.currentTimeMillis() - 10_000);
+        assertThat(cache.restore("first", target)).isTrue();
+        cache.store("third", write(tempFolder.newFile("3.xml"), "0123456789"));
+
+        assertThat(cache.restore("first", target)).isTrue();
+        assertThat(cache.restore("second", target)).isFalse();
+        assertThat(cache.restore("third", target)).isTrue();
+    }
+
+    @Test
+    public void noLibspecIsRestored_afterCacheIsPurged() throws Exception {
+        final LibspecsCache cache = new LibspecsCache(cacheDir, 1024);
+        final File target = tempFolder.newFile("target.xml");
+        cache.store("first", write(tempFolder.newFile("1.xml"), "<keywordspec/>"));
+        cache.store("second", write(tempFolder.newFile("2.xml"), "<keywordspec/>"));
+
+        cache.purge();
+
+        assertThat(cache.restore("first", target)).isFalse();
+        assertThat(cache.restore("second", target)).isFalse();
+    }
+
+    private static File write(final File file, final String content) throws IOException {
+        Files.write(content, file, StandardCharsets.UTF_8);
+        return file;
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2017 Nokia Solutions and Networks
+ * Licensed under the Apache License, Version 2.0,
+ * see license.txt file for details.
+ */
+package org.robotframework.ide.eclipse.main.plugin.project.build.validation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Collection;
+import java.util.Map;
+
+import org.eclipse.core.resources.IFile;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.robotframework.ide.eclipse.main.plugin.model.RobotModel;
+import org.robotframework.ide.eclipse.main.plugin.model.locators.KeywordEntity;
+import org.robotframework.red.junit.ProjectProvider;
+
+public class AccessibleKeywordsIndexTest {
+
+    @Rule
+    public ProjectProvider projectProvider = new ProjectProvider(AccessibleKeywordsIndexTest.class);
+
+    private IFile suite;
+
+    @Before
+    public void beforeTest() throws Exception {
+        projectProvider.createFile("res2.robot",
+                "*** Keywords ***",
+                "kw2",
+                "  Log  2",
+                "common",
+                "  Log  2");
+        projectProvider.createFile("res1.robot",
+                "*** Settings ***",
+                "Resource  res2.robot",
+                "*** Keywords ***",
+                "kw1",
+                "  kw2",
+                "common",
+                "  Log  1");
+        suite = projectProvider.createFile("suite.robot",
+                "*** Settings ***",
+                "Resource  res1.robot",
+                "*** Test Cases ***",
+                "case",
+                "  kw1",
+                "*** Keywords ***",
+                "local",
+                "  Log  0");
+    }
+
+    @Test
+    public void keywordsFromFileAndTransitivelyImportedResourcesAreAccessible() {
+        final AccessibleKeywordsIndex index = new AccessibleKeywordsIndex(new RobotModel());
+
+        final Map<String, Collection<KeywordEntity>> keywords = index.collectAccessibleKeywords(suite);
+
+        assertThat(keywords).containsOnlyKeys("local", "kw1", "kw2", "common");
+        assertThat(keywords.get("common")).extracting("sourceNameInUse").containsExactly("res2", "res1");
+    }
+
+    @Test
+    public void keywordsAreRecollected_whenResourceFileWasChanged() throws Exception {
+        final RobotModel model = new RobotModel();
+        final AccessibleKeywordsIndex index = new AccessibleKeywordsIndex(model);
+        assertThat(index.collectAccessibleKeywords(suite)).doesNotContainKey("kw3");
+
+        final IFile res2 = projectProvider.createFile("res2.robot",
+                "*** Keywords ***",
+                "kw3",
+                "  Log  3");
+        model.createSuiteFile(res2).reparseEverything("*** Keywords ***\nkw3\n  Log  3");
+
+        assertThat(index.collectAccessibleKeywords(suite)).containsOnlyKeys("local", "kw1", "kw3", "common");
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright 2017 Nokia Solutions and Networks
+ * Licensed under the Apache License, Version 2.0,
+ * see license.txt file for details.
+ */
+package org.robotframework.ide.eclipse.main.plugin.project.library;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+
+import org.eclipse.core.resources.IFile;
+import org.junit.Rule;
+import org.junit.Test;
+import org.robotframework.ide.eclipse.main.plugin.project.library.LibrarySpecificationReader.CannotReadLibrarySpecificationException;
+import org.robotframework.red.junit.ProjectProvider;
+
+public class LibrarySpecificationReaderTest {
+
+    @Rule
+    public ProjectProvider projectProvider = new ProjectProvider(LibrarySpecificationReaderTest.class);
+
+    @Test
+    public void allLibraryPropertiesAreRead() throws Exception {
+        final IFile file = projectProvider.createFile("lib.xml", libspec("first kw doc", "second kw doc"));
+
+        final LibrarySpecification spec = LibrarySpecificationReader.readSpecification(file);
+
+        assertThat(spec.getName()).isEqualTo("lib");
+        assertThat(spec.getFormat()).isEqualTo("ROBOT");
+        assertThat(spec.getVersion()).isEqualTo("1.0");
+        assertThat(spec.getScope()).isEqualTo("global");
+        assertThat(spec.getDocumentation()).isEqualTo("library & doc");
+        assertThat(spec.getSourceFile()).isEqualTo(file);
+        assertThat(spec.getConstructor().getArguments()).containsExactly("a=1");
+        assertThat(spec.getConstructor().getDocumentation()).isEqualTo("init doc");
+        assertThat(spec.getKeywords()).extracting("name").containsExactly("First", "Second", "Third");
+        assertThat(spec.getKeywords().get(0).getArguments()).containsExactly("x", "y=2");
+        assertThat(spec.getKeywords().get(1).getArguments()).isNull();
+        assertThat(spec.getKeywords()).extracting("deprecated").containsExactly(false, true, false);
+        assertThat(spec.getKeywords().get(0).canBeConvertedToHtml()).isTrue();
+    }
+
+    @Test
+    public void keywordsDocumentationIsReadFromFile_whenItIsRequested() throws Exception {
+        final IFile file = projectProvider.createFile("lib.xml", libspec("first kw doc", "second kw doc"));
+        final LibrarySpecification spec = LibrarySpecificationReader.readSpecification(file);
+
+        assertThat(spec.getKeywords().get(1).getDocumentation())
+                .isEqualTo("*DEPRECATED in 2.0* second kw doc\nmore lines");
+        assertThat(spec.getKeywords().get(0).getDocumentation()).isEqualTo("first kw doc");
+        assertThat(spec.getKeywords().get(2).getDocumentation()).isNull();
+    }
+
+    @Test
+    public void keywordsDocumentationIsReadFromFile_whenFileWasTouchedBeforeItIsRequested() throws Exception {
+        final IFile file = projectProvider.createFile("lib.xml", libspec("first kw doc", "second kw doc"));
+        final LibrarySpecification spec = LibrarySpecificationReader.readSpecification(file);
+
+        final File location = file.getLocation().toFile();
+        location.setLastModified(location.lastModified() + 10_000);
+
+        assertThat(spec.getKeywords().get(0).getDocumentation()).isEqualTo("first kw doc");
+        assertThat(spec.getKeywords().get(1).getDocumentation())
+                .isEqualTo("*DEPRECATED in 2.0* second kw doc\nmore lines");
+    }
+
+    @Test
+    public void keywordsDocumentationIsMatchedByName_whenFileOfTheSameVersionWasChangedBeforeItIsRequested()
+            throws Exception {
+        final IFile file = projectProvider.createFile("lib.xml", libspec("first kw doc", "second kw doc"));
+        final LibrarySpecification spec = LibrarySpecificationReader.readSpecification(file);
+
+        projectProvider.createFile("lib.xml",
+                "<?xml version=\"1.0\" encoding=\"UTF-8\"?>",
+                "<keywordspec name=\"lib\" type=\"library\" format=\"ROBOT\">",
+                "<version>1.0</version>",
+                "<kw name=\"Other\"><doc>other doc</doc></kw>",
+                "<kw name=\"First\"><doc>changed first doc</doc></kw>",
+                "</keywordspec>");
+
+        assertThat(spec.getKeywords().get(0).getDocumentation()).isEqualTo("changed first doc");
+        assertThat(spec.getKeywords().get(1).getDocumentation()).isEmpty();
+        assertThat(spec.getKeywords().get(1).isDeprecated()).isTrue();
+    }
+
+    @Test
+    public void keywordsDocumentationIsEmpty_whenFileWasGeneratedForOtherVersionBeforeItIsRequested()
+            throws Exception {
+        final IFile file = projectProvider.createFile("lib.xml", libspec("1.0", "first kw doc", "second kw doc"));
+        final LibrarySpecification spec = LibrarySpecificationReader.readSpecification(file);
+
+        projectProvider.createFile("lib.xml", libspec("2.0", "first kw doc", "second kw doc"));
+
+        assertThat(spec.getKeywords().get(0).getDocumentation()).isEmpty();
+        assertThat(spec.getKeywords().get(1).getDocumentation()).isEmpty();
+    }
+
+    @Test
+    public void keywordsDocumentationIsEmpty_whenFileWasRemovedBeforeItIsRequested() throws Exception {
+        final IFile file = projectProvider.createFile("lib.xml", libspec("first kw doc", "second kw doc"));
+        final LibrarySpecification spec = LibrarySpecificationReader.readSpecification(file);
+
+        file.delete(true, null);
+
+        assertThat(spec.getKeywords().get(0).getDocumentation()).isEmpty();
+        assertThat(spec.getKeywords().get(1).isDeprecated()).isTrue();
+    }
+
+    @Test
+    public void onlyVersionIsRead_whenRequested() throws Exception {
+        final IFile file = projectProvider.createFile("lib.xml", libspec("first kw doc", "second kw doc"));
+
+        assertThat(LibrarySpecification.getVersion(file)).isEqualTo("1.0");
+    }
+
+    @Test(expected = CannotReadLibrarySpecificationException.class)
+    public void exceptionIsThrown_whenFileIsNotLibspec() throws Exception {
+        final IFile file = projectProvider.createFile("other.xml", "<projectDescription></projectDescription>");
+
+        LibrarySpecificationReader.readSpecification(file);
+    }
+
+    private static String[] libspec(final String firstDoc, final String secondDoc) {
+        return libspec("1.0", firstDoc, secondDoc);
+    }
+
+    private static String[] libspec(final String version, final String firstDoc, final String secondDoc) {
+        return new String[] {
+                "<?xml version=\"1.0\" encoding=\"UTF-8\"?>",
+                "<keywordspec name=\"lib\" type=\"library\" format=\"ROBOT\" generated=\"20170101 12:00:00\">",
+                "<version>" + version + "</version>",
+                "<scope>global</scope>",
+                "<namedargs>yes</namedargs>",
+                "<doc>library &amp; doc</doc>",
+                "<init>",
+                "<arguments><arg>a=1</arg></arguments>",
+                "<doc>init doc</doc>",
+                "</init>",
+                "<kw name=\"First\">",
+                "<arguments>",
+                "<arg>x</arg>",
+                "<arg>y=2</arg>",
+                "</arguments>",
+                "<doc>" + firstDoc + "</doc>",
+                "<tags><tag>t</tag></tags>",
+                "</kw>",
+                "<kw name=\"Second\">",
+                "<doc>*DEPRECATED in 2.0* " + secondDoc + "\nmore lines</doc>",
+                "</kw>",
+                "<kw name=\"Third\">",
+                "</kw>",
+                "</keywordspec>" };
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2017 Nokia Solutions and Networks
+ * Licensed under the Apache License, Version 2.0,
+ * see license.txt file for details.
+ */
+package org.robotframework.ide.eclipse.main.plugin.project.library;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures reading of libspec files: reading of whole specifications, for which documentation of
+ * keywords is skipped, and loading of the deferred documentation afterwards. Libspecs are generated
+ * into temporary directory, each with given number of keywords having few paragraphs of
+ * documentation. It is not run together with the tests; run its main method passing optionally
+ * the number of libspecs, the number of keywords in each of them and the number of measured rounds.
+ */
+public class LibrarySpecificationReadingBenchmark {
+
+    public static void main(final String[] args) throws Exception {
+        final int libspecsCount = args.length > 0 ? Integer.parseInt(args[0]) : 50;
+        final int keywordsCount = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+        final int rounds = args.length > 2 ? Integer.parseInt(args[2]) : 5;
+
+        final File directory = Files.createTempDirectory("libspecs").toFile();
+        try {
+            final List<File> libspecs = generateLibspecs(directory, libspecsCount, keywordsCount);
+            long totalLength = 0;
+            for (final File libspec : libspecs) {
+                totalLength += libspec.length();
+            }
+            System.out.println(String.format("Reading %d libspecs with %d keywords each, %d MB", libspecsCount,
+                    keywordsCount, totalLength >> 20));
+
+            // first round warms up
+            for (int round = 0; round <= rounds; round++) {
+                long start = System.nanoTime();
+                final List<LibrarySpecification> specifications = new ArrayList<>();
+                for (final File libspec : libspecs) {
+                    specifications.add(LibrarySpecificationReader.readSpecification(libspec));
+                }
+                final long readingMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+                start = System.nanoTime();
+                long documentationLength = 0;
+                for (final LibrarySpecification specification : specifications) {
+                    for (final KeywordSpecification keyword : specification.getKeywords()) {
+                        documentationLength += keyword.getDocumentation().length();
+                    }
+                }
+                final long documentationMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+                System.out.println(String.format("%s: reading %d ms, documentation %d ms (%d kB)",
+                        round == 0 ? "warm-up" : "round " + round, readingMillis, documentationMillis,
+                        documentationLength >> 10));
+            }
+        } finally {
+            for (final File libspec : directory.listFiles()) {
+                libspec.delete();
+            }
+            directory.delete();
+        }
+    }
+
+    private static List<File> generateLibspecs(final File directory, final int libspecsCount,
+            final int keywordsCount) throws IOException {
+        final List<File> libspecs = new ArrayList<>();
+        for (int i = 0; i < libspecsCount; i++) {
+            final File libspec = new File(directory, "Lib" + i + ".libspec");
+            Files.write(libspec.toPath(), libspec("Lib" + i, keywordsCount), StandardCharsets.UTF_8);
+            libspecs.add(libspec);
+        }
+        return libspecs;
+    }
+
+    private static List<String> libspec(final String name, final int keywordsCount) {
+        final List<String> lines = new ArrayList<>();
+        lines.add("<?xml version=\"1.0\" encoding=\"UTF-8\"?>");
+        lines.add("<keywordspec name=\"" + name + "\" type=\"library\" format=\"ROBOT\">");
+        lines.add("<version>1.0</version>");
+        lines.add("<scope>global</scope>");
+        lines.add("<doc>Documentation of " + name + " library.</doc>");
+        lines.add("<init><arguments><arg>path=None</arg></arguments><doc>Creates the library.</doc></init>");
+        for (int i = 0; i < keywordsCount; i++) {
+            lines.add("<kw name=\"Keyword " + i + "\">");
+            lines.add("<arguments><arg>first</arg><arg>second=2</arg><arg>*rest</arg></arguments>");
+            lines.add("<doc>" + (i % 10 == 0 ? "*DEPRECATED* " : "") + "Keyword " + i + " of " + name + " library.");
+            for (int paragraph = 0; paragraph < 5; paragraph++) {
+                lines.add("");
+                lines.add("Paragraph " + paragraph + " describes ``first`` and ``second`` arguments &amp; "
+                        + "shows the example usage of the keyword with all its arguments given.");
+            }
+            lines.add("</doc>");
+            lines.add("<tags><tag>example</tag></tags>");
+            lines.add("</kw>");
+        }
+        lines.add("</keywordspec>");
+        return lines;
+    }
+}
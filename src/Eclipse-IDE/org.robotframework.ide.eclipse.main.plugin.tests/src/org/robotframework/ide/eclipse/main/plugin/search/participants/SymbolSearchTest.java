@@ -0,0 +1,86 @@
+/*
+ * Copyright 2017 Nokia Solutions and Networks
+ * Licensed under the Apache License, Version 2.0,
+ * see license.txt file for details.
+ */
+package org.robotframework.ide.eclipse.main.plugin.search.participants;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.search.ui.text.Match;
+import org.junit.BeforeClass;
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.robotframework.ide.eclipse.main.plugin.model.RobotModel;
+import org.robotframework.ide.eclipse.main.plugin.search.SearchPattern;
+import org.robotframework.ide.eclipse.main.plugin.search.SearchResult;
+import org.robotframework.ide.eclipse.main.plugin.search.SymbolMatch;
+import org.robotframework.red.junit.ProjectProvider;
+
+public class SymbolSearchTest {
+
+    @ClassRule
+    public static ProjectProvider projectProvider = new ProjectProvider(SymbolSearchTest.class);
+
+    private static IFile file;
+
+    @BeforeClass
+    public static void beforeSuite() throws Exception {
+        file = projectProvider.createFile("suite.robot",
+                "*** Test Cases ***",
+                "first case",
+                "  ${x}=  Given My Keyword  ${x}",
+                "second case",
+                "  Log  ${x}",
+                "*** Keywords ***",
+                "my keyword",
+                "  Log  1");
+    }
+
+    @Test
+    public void keywordDefinitionsAndUsagesAreReported_ignoringCaseAndGherkinPrefixes() {
+        final RobotModel model = new RobotModel();
+        final SearchResult result = new SearchResult(null);
+
+        new KeywordSearch(new SearchPattern("my*"), model, result)
+                .locateMatchesInRobotFile(model.createSuiteFile(file));
+
+        final Match[] matches = result.getMatches(file);
+        assertThat(matches).hasOnlyElementsOfType(SymbolMatch.class);
+        assertThat(matches).extracting("offset").containsOnly(39, 103);
+    }
+
+    @Test
+    public void testCasesAreReported() {
+        final RobotModel model = new RobotModel();
+        final SearchResult result = new SearchResult(null);
+
+        new TestCaseSearch(new SearchPattern("*case"), model, result)
+                .locateMatchesInRobotFile(model.createSuiteFile(file));
+
+        assertThat(result.getMatches(file)).extracting("offset").containsOnly(19, 62);
+    }
+
+    @Test
+    public void variablesAreReported() {
+        final RobotModel model = new RobotModel();
+        final SearchResult result = new SearchResult(null);
+
+        new VariableSearch(new SearchPattern("${x}"), model, result)
+                .locateMatchesInRobotFile(model.createSuiteFile(file));
+
+        assertThat(result.getMatches(file)).extracting("offset").containsOnly(32, 57, 81);
+    }
+
+    @Test
+    public void nothingIsReported_whenPatternDoesNotMatchWholeName() {
+        final RobotModel model = new RobotModel();
+        final SearchResult result = new SearchResult(null);
+
+        new KeywordSearch(new SearchPattern("keyword"), model, result)
+                .locateMatchesInRobotFile(model.createSuiteFile(file));
+
+        assertThat(result.getMatchCount()).isEqualTo(0);
+    }
+}
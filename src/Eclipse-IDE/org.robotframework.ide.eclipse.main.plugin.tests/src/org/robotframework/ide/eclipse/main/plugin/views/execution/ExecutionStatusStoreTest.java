@@ -9,6 +9,7 @@ import static com.google.common.collect.Lists.newArrayList;
 import static java.util.stream.Collectors.toList;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyZeroInteractions;
 
@@ -18,6 +19,7 @@ import java.util.Optional;
 
 import org.junit.Test;
 import org.rf.ide.core.execution.agent.Status;
+import org.robotframework.ide.eclipse.main.plugin.views.execution.ExecutionStatusStore.ExecutionFrameListener;
 import org.robotframework.ide.eclipse.main.plugin.views.execution.ExecutionStatusStore.ExecutionProgressListener;
 import org.robotframework.ide.eclipse.main.plugin.views.execution.ExecutionStatusStore.ExecutionTreeElementListener;
 import org.robotframework.ide.eclipse.main.plugin.views.execution.ExecutionTreeNode.ElementKind;
@@ -92,6 +94,33 @@ public class ExecutionStatusStoreTest {
         verify(listener2).progressChanged(0, 0, 0, 42);
     }
 
+    @Test
+    public void frameListenersAreNotifiedOncePerFrame_andChangedNodesAreCollectedUntilFrameIsFinished()
+            throws Exception {
+        final ExecutionStatusStore store = new ExecutionStatusStore();
+
+        final ExecutionFrameListener listener = mock(ExecutionFrameListener.class);
+        store.addFrameListener(listener);
+
+        store.suiteStarted("suite", new URI("file:///suite"), 2, new ArrayList<>(), newArrayList("t1", "t2"));
+        store.testStarted();
+        store.elementEnded(1000, Status.PASS, "");
+
+        final ExecutionTreeNode root = store.getExecutionTree();
+        final ExecutionTreeNode t1 = root.getChildren().get(0);
+        final ExecutionTreeNode t2 = root.getChildren().get(1);
+        verify(listener).frameStarted(store);
+        assertThat(store.finishFrame()).containsExactly(root, t1);
+
+        store.testStarted();
+        store.elementEnded(1000, Status.FAIL, "");
+        store.elementEnded(2000, Status.FAIL, "");
+
+        verify(listener, times(2)).frameStarted(store);
+        assertThat(store.finishFrame()).containsExactly(t2, root);
+        assertThat(store.finishFrame()).isEmpty();
+    }
+
     @Test
     public void whenSuiteStartsAndStoreHasRootEstablished_childrenAreCreatedInCurrentNode() throws Exception {
         final ExecutionTreeNode root = new ExecutionTreeNode(null, ElementKind.SUITE, "suite");
@@ -528,4 +557,59 @@ public class ExecutionStatusStoreTest {
 
         assertThat(store.getListeners()).containsExactly(l1, l3);
     }
+
+    @Test
+    public void whenSuitesAreStartedByManyClients_treesAreMergedAndTotalTestsAreSummed() throws Exception {
+        final ExecutionStatusStore store = new ExecutionStatusStore();
+
+        store.suiteStarted(1, "suite", new URI("file:///suite"), 2, newArrayList("s1", "s2"), new ArrayList<>());
+        store.suiteStarted(2, "suite", new URI("file:///suite"), 3, newArrayList("s2", "s3"), new ArrayList<>());
+
+        assertThat(store.getTotalTests()).isEqualTo(5);
+
+        final ExecutionTreeNode root = store.getExecutionTree();
+        assertThat(root.getStatus()).isEqualTo(Optional.of(Status.RUNNING));
+        assertThat(root.getChildren().stream().map(ExecutionTreeNode::getName).collect(toList()))
+                .containsExactly("s1", "s2", "s3");
+
+        store.suiteStarted(1, "s1", new URI("file:///suite/s1"), 2, new ArrayList<>(), newArrayList("t1"));
+        store.suiteStarted(2, "s2", new URI("file:///suite/s2"), 3, new ArrayList<>(), newArrayList("t2"));
+
+        assertThat(root.getChildren().get(0).getChildren().get(0).getName()).isEqualTo("t1");
+        assertThat(root.getChildren().get(1).getChildren().get(0).getName()).isEqualTo("t2");
+    }
+
+    @Test
+    public void whenManyClientsExecuteSharedSuite_itEndsWhenLastClientEndsIt_andFailsWhenAnyClientFailed()
+            throws Exception {
+        final ExecutionStatusStore store = new ExecutionStatusStore();
+
+        store.suiteStarted(1, "suite", new URI("file:///suite"), 1, newArrayList("s1"), new ArrayList<>());
+        store.suiteStarted(2, "suite", new URI("file:///suite"), 1, newArrayList("s2"), new ArrayList<>());
+        store.suiteStarted(1, "s1", new URI("file:///suite/s1"), 1, new ArrayList<>(), newArrayList("t1"));
+        store.suiteStarted(2, "s2", new URI("file:///suite/s2"), 1, new ArrayList<>(), newArrayList("t2"));
+        store.testStarted(1);
+        store.testStarted(2);
+        store.elementEnded(2, 10, Status.FAIL, "error");
+        store.elementEnded(1, 20, Status.PASS, "");
+
+        assertThat(store.getCurrentTest()).isEqualTo(2);
+        assertThat(store.getPassedTests()).isEqualTo(1);
+        assertThat(store.getFailedTests()).isEqualTo(1);
+
+        store.elementEnded(2, 10, Status.FAIL, "error");
+        store.elementEnded(2, 30, Status.FAIL, "error");
+
+        final ExecutionTreeNode root = store.getExecutionTree();
+        assertThat(root.getChildren().get(1).getStatus()).isEqualTo(Optional.of(Status.FAIL));
+        assertThat(root.getStatus()).isEqualTo(Optional.of(Status.RUNNING));
+
+        store.elementEnded(1, 20, Status.PASS, "");
+        store.elementEnded(1, 25, Status.PASS, "");
+
+        assertThat(root.getChildren().get(0).getStatus()).isEqualTo(Optional.of(Status.PASS));
+        assertThat(root.getStatus()).isEqualTo(Optional.of(Status.FAIL));
+        assertThat(root.getMessage()).isEqualTo("error");
+        assertThat(root.getElapsedTime()).isEqualTo(30);
+    }
 }
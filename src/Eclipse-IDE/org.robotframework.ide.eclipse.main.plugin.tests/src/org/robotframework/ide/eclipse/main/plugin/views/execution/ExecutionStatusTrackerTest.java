@@ -9,6 +9,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
 
 import java.net.URI;
 import java.util.ArrayList;
@@ -21,6 +22,7 @@ import org.rf.ide.core.execution.agent.event.SuiteEndedEvent;
 import org.rf.ide.core.execution.agent.event.SuiteStartedEvent;
 import org.rf.ide.core.execution.agent.event.TestEndedEvent;
 import org.rf.ide.core.execution.agent.event.TestStartedEvent;
+import org.rf.ide.core.execution.server.AgentClient;
 import org.robotframework.ide.eclipse.main.plugin.launch.RobotTestExecutionService.RobotTestsLaunch;
 
 public class ExecutionStatusTrackerTest {
@@ -70,7 +72,8 @@ public class ExecutionStatusTrackerTest {
         tracker.handleSuiteStarted(new SuiteStartedEvent("suite", new URI("file:///suite.robot"), 2, new ArrayList<>(),
                 new ArrayList<>()));
 
-        verify(store).suiteStarted("suite", new URI("file:///suite.robot"), 2, new ArrayList<>(), new ArrayList<>());
+        verify(store).suiteStarted(0, "suite", new URI("file:///suite.robot"), 2, new ArrayList<>(),
+                new ArrayList<>());
         verifyNoMoreInteractions(store);
     }
 
@@ -84,7 +87,7 @@ public class ExecutionStatusTrackerTest {
         final ExecutionStatusTracker tracker = new ExecutionStatusTracker(context);
         tracker.handleSuiteEnded(new SuiteEndedEvent("suite", 100, Status.PASS, ""));
 
-        verify(store).elementEnded(100, Status.PASS, "");
+        verify(store).elementEnded(0, 100, Status.PASS, "");
         verifyNoMoreInteractions(store);
     }
 
@@ -98,7 +101,7 @@ public class ExecutionStatusTrackerTest {
         final ExecutionStatusTracker tracker = new ExecutionStatusTracker(context);
         tracker.handleTestStarted(new TestStartedEvent("test", "teeeeest"));
 
-        verify(store).testStarted();
+        verify(store).testStarted(0);
         verifyNoMoreInteractions(store);
     }
 
@@ -112,7 +115,26 @@ public class ExecutionStatusTrackerTest {
         final ExecutionStatusTracker tracker = new ExecutionStatusTracker(context);
         tracker.handleTestEnded(new TestEndedEvent("test", "teeeeest", 100, Status.FAIL, "error"));
 
-        verify(store).elementEnded(100, Status.FAIL, "error");
+        verify(store).elementEnded(0, 100, Status.FAIL, "error");
+        verifyNoMoreInteractions(store);
+    }
+
+    @Test
+    public void storeIsNotifiedWithClientId_whenClientIsSet() throws Exception {
+        final ExecutionStatusStore store = mock(ExecutionStatusStore.class);
+        final AgentClient client = mock(AgentClient.class);
+        when(client.getId()).thenReturn(42);
+
+        final RobotTestsLaunch context = new RobotTestsLaunch(null);
+        context.getExecutionData(ExecutionStatusStore.class, () -> store);
+
+        final ExecutionStatusTracker tracker = new ExecutionStatusTracker(context);
+        tracker.setClient(client);
+        tracker.handleTestStarted(new TestStartedEvent("test", "teeeeest"));
+        tracker.handleTestEnded(new TestEndedEvent("test", "teeeeest", 100, Status.PASS, ""));
+
+        verify(store).testStarted(42);
+        verify(store).elementEnded(42, 100, Status.PASS, "");
         verifyNoMoreInteractions(store);
     }
 
@@ -52,7 +52,7 @@ public class ExecutionViewTest {
         final RobotTestExecutionService executionService = new RobotTestExecutionService();
 
         final Shell shell = shellProvider.getShell();
-        final ExecutionView view = new ExecutionView(executionService);
+        final ExecutionView view = new ExecutionView(executionService, 10);
         view.postConstruct(shell, part, menuService);
 
         assertThat(view.getViewer().getInput()).isNull();
@@ -91,7 +91,7 @@ public class ExecutionViewTest {
         executionService.testExecutionEnded(launch2);
 
         final Shell shell = shellProvider.getShell();
-        final ExecutionView view = new ExecutionView(executionService);
+        final ExecutionView view = new ExecutionView(executionService, 10);
         view.postConstruct(shell, part, menuService);
 
         execAllAwaitingMessages();
@@ -7,6 +7,8 @@ package org.robotframework.ide.eclipse.main.plugin.views.message;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.io.StringWriter;
+
 import org.junit.Test;
 import org.robotframework.ide.eclipse.main.plugin.views.message.ExecutionMessagesStore.ExecutionMessagesStoreListener;
 
@@ -29,6 +31,47 @@ public class ExecutionMessagesStoreTest {
         assertThat(store.getMessage()).isEqualTo("msg1msg2msg3");
     }
 
+    @Test
+    public void storeProperlySavesMessages_whenOlderSegmentsAreSpilledToFile() {
+        final ExecutionMessagesStore store = new ExecutionMessagesStore(8, 2);
+        final StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            store.append("message " + i + "\n");
+            expected.append("message " + i + "\n");
+        }
+
+        assertThat(store.getLength()).isEqualTo(expected.length());
+        assertThat(store.getMessage()).isEqualTo(expected.toString());
+    }
+
+    @Test
+    public void partOfMessagesIsReturned_whenRangeIsGiven() {
+        final ExecutionMessagesStore store = new ExecutionMessagesStore(8, 2);
+        for (int i = 0; i < 100; i++) {
+            store.append(String.format("%02d", i));
+        }
+
+        assertThat(store.getMessage(0, 6)).isEqualTo("000102");
+        assertThat(store.getMessage(21, 6)).isEqualTo("011121");
+        assertThat(store.getMessage(194, 10)).isEqualTo("979899");
+        assertThat(store.getMessage(200, 10)).isEmpty();
+    }
+
+    @Test
+    public void wholeContentIsWritten_whenStoreIsWrittenToWriter() throws Exception {
+        final ExecutionMessagesStore store = new ExecutionMessagesStore(8, 2);
+        final StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            store.append("message " + i + "\n");
+            expected.append("message " + i + "\n");
+        }
+
+        final StringWriter writer = new StringWriter();
+        store.writeTo(writer);
+
+        assertThat(writer.toString()).isEqualTo(expected.toString());
+    }
+
     @Test
     public void storeRemovesMessages_whenDisposed() {
         final ExecutionMessagesStore store = new ExecutionMessagesStore();
@@ -95,6 +95,59 @@ public class MessageLogViewTest {
 
     }
 
+    @Test
+    public void onlyMostRecentMessagesAreShown_whenMessagesExceedVisibleLength() {
+        final RobotTestExecutionService executionService = new RobotTestExecutionService();
+        final ExecutionMessagesStore store = startLaunchWithMessages(executionService, 10);
+
+        final MessageLogView view = new MessageLogView(executionService, 40);
+        view.postConstruct(shellProvider.getShell());
+
+        execAllAwaitingMessages();
+
+        assertThat(view.getTextControl().getText()).isEqualTo(messages(6, 9));
+        assertThat(store.getLength()).isEqualTo(100);
+    }
+
+    @Test
+    public void earlierMessagesAreReadFromStore_whenViewIsMovedBackToThem() {
+        final RobotTestExecutionService executionService = new RobotTestExecutionService();
+        startLaunchWithMessages(executionService, 10);
+
+        final MessageLogView view = new MessageLogView(executionService, 40);
+        view.postConstruct(shellProvider.getShell());
+        execAllAwaitingMessages();
+
+        view.showEarlierMessages();
+        assertThat(view.getTextControl().getText()).isEqualTo(messages(5, 8));
+
+        view.showEarlierMessages();
+        assertThat(view.getTextControl().getText()).isEqualTo(messages(4, 7));
+    }
+
+    @Test
+    public void newMessagesAreShownOnlyAfterViewIsMovedBackToTheEnd_whenEarlierMessagesAreShown() {
+        final RobotTestExecutionService executionService = new RobotTestExecutionService();
+        final ExecutionMessagesStore store = startLaunchWithMessages(executionService, 10);
+
+        final MessageLogView view = new MessageLogView(executionService, 40);
+        view.postConstruct(shellProvider.getShell());
+        execAllAwaitingMessages();
+
+        view.showEarlierMessages();
+        store.append("message10\n");
+        execAllAwaitingMessages();
+        assertThat(view.getTextControl().getText()).isEqualTo(messages(5, 8));
+
+        view.showLaterMessages();
+        view.showLaterMessages();
+        assertThat(view.getTextControl().getText()).isEqualTo(messages(7, 10));
+
+        store.append("message11\n");
+        execAllAwaitingMessages();
+        assertThat(view.getTextControl().getText()).isEqualTo(messages(9, 11));
+    }
+
     @Test
     public void messageLogViewDoesNotWrapWords_whenInitialized() {
         final RobotTestExecutionService executionService = new RobotTestExecutionService();
@@ -130,6 +183,23 @@ public class MessageLogViewTest {
         assertThat(view.getTextControl().getWordWrap()).isFalse();
     }
 
+    private static ExecutionMessagesStore startLaunchWithMessages(final RobotTestExecutionService executionService,
+            final int messagesCount) {
+        final RobotTestsLaunch launch = executionService.testExecutionStarting(null);
+        final ExecutionMessagesStore store = new ExecutionMessagesStore();
+        launch.getExecutionData(ExecutionMessagesStore.class, () -> store);
+        store.append(messages(0, messagesCount - 1));
+        return store;
+    }
+
+    private static String messages(final int first, final int last) {
+        final StringBuilder messages = new StringBuilder();
+        for (int i = first; i <= last; i++) {
+            messages.append(String.format("message%02d\n", i));
+        }
+        return messages.toString();
+    }
+
     private void execAllAwaitingMessages() {
         while (Display.getDefault().readAndDispatch()) {
             // nothing to do
@@ -11,8 +11,10 @@ import java.util.List;
 
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IAdaptable;
+import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.jface.resource.ImageDescriptor;
 import org.eclipse.ui.plugin.AbstractUIPlugin;
 import org.osgi.framework.BundleContext;
@@ -63,6 +65,26 @@ public class RedPlugin extends AbstractUIPlugin {
             throw new IllegalStateException("Unable to start RED plugin", e);
         }
         plugin = this;
+        startSessionServers();
+    }
+
+    private void startSessionServers() {
+        // servers are started in background, so that first request for libdocs or variables
+        // does not have to wait for python interpreter
+        final Job job = new Job("Starting python session servers") {
+
+            @Override
+            protected IStatus run(final IProgressMonitor monitor) {
+                final RobotRuntimeEnvironment environment = getActiveRobotInstallation();
+                if (environment != null) {
+                    environment.startSessionServers(RedSystemProperties.getLibdocSessionsCount());
+                }
+                return Status.OK_STATUS;
+            }
+        };
+        job.setSystem(true);
+        job.setPriority(Job.DECORATE);
+        job.schedule();
     }
 
     @Override
@@ -141,14 +163,20 @@ public class RedPlugin extends AbstractUIPlugin {
             private static final RobotTestExecutionServiceManager INSTANCE = new RobotTestExecutionServiceManager();
         }
 
-        private RobotTestExecutionService service = new RobotTestExecutionService();
+        private RobotTestExecutionService service = createService();
 
         private static RobotTestExecutionServiceManager getInstance() {
             return InstanceHolder.INSTANCE;
         }
 
+        private static RobotTestExecutionService createService() {
+            return new RobotTestExecutionService(
+                    () -> getDefault().getStateLocation().append("executions.history").toFile());
+        }
+
         public void dispose() {
-            this.service = new RobotTestExecutionService();
+            this.service.dispose();
+            this.service = createService();
         }
     }
 }
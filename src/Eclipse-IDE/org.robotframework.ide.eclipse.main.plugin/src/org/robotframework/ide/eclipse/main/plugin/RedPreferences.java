@@ -77,6 +77,10 @@ public class RedPreferences {
 
     public static final String LAUNCH_USE_SINGLE_FILE_DATA_SOURCE = "red.launch.useSingleFileDataSource";
 
+    public static final String LAUNCH_RUN_FAILED_AND_SLOWEST_TESTS_FIRST = "red.launch.runFailedAndSlowestTestsFirst";
+
+    public static final String LAUNCH_EXECUTION_VIEW_REFRESHES_PER_SECOND = "red.launch.executionViewRefreshesPerSecond";
+
 
     public String getActiveRuntime() {
         return store.getString(ACTIVE_RUNTIME);
@@ -229,6 +233,14 @@ public class RedPreferences {
         return store.getBoolean(LAUNCH_USE_SINGLE_FILE_DATA_SOURCE);
     }
 
+    public boolean shouldRunFailedAndSlowestTestsFirst() {
+        return store.getBoolean(LAUNCH_RUN_FAILED_AND_SLOWEST_TESTS_FIRST);
+    }
+
+    public int getExecutionViewRefreshesPerSecond() {
+        return store.getInt(LAUNCH_EXECUTION_VIEW_REFRESHES_PER_SECOND);
+    }
+
     public ColoringPreference getSyntaxColoring(final SyntaxHighlightingCategory category) {
         final int fontStyle = store.getInt(SYNTAX_COLORING_PREFIX + category.getId() + ".fontStyle");
         final int red = store.getInt(SYNTAX_COLORING_PREFIX + category.getId() + ".color.r");
@@ -49,6 +49,9 @@ public class RedKeywordProposals {
 
     private final AssistProposalPredicate<LibrarySpecification> libraryPredicate;
 
+    // shared by conflicts checks of all the proposals, so that keywords are collected and indexed once
+    private AccessibleKeywordsEntities allKeywordsEntities;
+
     public RedKeywordProposals(final RobotSuiteFile suiteFile) {
         this(RedPlugin.getModelManager().getModel(), suiteFile, ProposalMatchers.embeddedKeywordsMatcher(),
                 AssistProposalPredicates.reservedLibraryPredicate());
@@ -87,8 +90,7 @@ public class RedKeywordProposals {
     }
 
     public RedKeywordProposal getBestMatchingKeywordProposal(final String keywordName) {
-        final AccessibleKeywordsEntities accessibleKeywordsEntities = getAccessibleKeywordsEntities(suiteFile, "");
-        final ListMultimap<KeywordScope, KeywordEntity> keywords = accessibleKeywordsEntities
+        final ListMultimap<KeywordScope, KeywordEntity> keywords = getAllKeywordsEntities()
                 .getPossibleKeywords(keywordName, false);
 
         for (final KeywordScope scope : KeywordScope.defaultOrder()) {
@@ -99,6 +101,13 @@ public class RedKeywordProposals {
         return null;
     }
 
+    private AccessibleKeywordsEntities getAllKeywordsEntities() {
+        if (allKeywordsEntities == null) {
+            allKeywordsEntities = getAccessibleKeywordsEntities(suiteFile, "");
+        }
+        return allKeywordsEntities;
+    }
+
     private AccessibleKeywordsEntities getAccessibleKeywordsEntities(final RobotSuiteFile suite, final String userContent) {
         final AccessibleKeywordsCollector collector = new ProposalsKeywordCollector(shouldUseQualifiedName(),
                 userContent);
@@ -122,8 +131,7 @@ public class RedKeywordProposals {
     }
 
     private boolean keywordProposalIsConflicting(final RedKeywordProposal keywordEntity) {
-        final AccessibleKeywordsEntities accessibleKeywordsEntities = getAccessibleKeywordsEntities(suiteFile, "");
-        final ListMultimap<KeywordScope, KeywordEntity> keywords = accessibleKeywordsEntities
+        final ListMultimap<KeywordScope, KeywordEntity> keywords = getAllKeywordsEntities()
                 .getPossibleKeywords(keywordEntity.getNameFromDefinition(), false);
 
         for (final KeywordScope scope : KeywordScope.defaultOrder()) {
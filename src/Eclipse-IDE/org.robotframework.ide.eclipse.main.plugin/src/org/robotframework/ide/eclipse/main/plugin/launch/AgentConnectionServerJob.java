@@ -10,6 +10,7 @@ import java.net.UnknownHostException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
@@ -34,11 +35,16 @@ public class AgentConnectionServerJob extends Job {
 
     private final List<RobotAgentEventListener> agentEventListeners;
 
+    private final int numberOfClients;
+
+    private final Supplier<List<RobotAgentEventListener>> clientListenersSupplier;
+
     private AgentConnectionServer agentServer;
 
     private AgentConnectionServerJob(final String host, final int port, final int timeout, final TimeUnit timeoutUnit,
             final List<AgentServerStatusListener> serverStatusListeners,
-            final List<RobotAgentEventListener> agentEventListeners) {
+            final List<RobotAgentEventListener> agentEventListeners, final int numberOfClients,
+            final Supplier<List<RobotAgentEventListener>> clientListenersSupplier) {
         super("Agent connection server");
         setSystem(true);
 
@@ -48,6 +54,8 @@ public class AgentConnectionServerJob extends Job {
         this.timeoutUnit = timeoutUnit;
         this.serverListeners = serverStatusListeners;
         this.agentEventListeners = agentEventListeners;
+        this.numberOfClients = numberOfClients;
+        this.clientListenersSupplier = clientListenersSupplier;
     }
 
     public static AgentConnectionServerJobBuilder setupServerAt(final String host, final int port) {
@@ -61,7 +69,11 @@ public class AgentConnectionServerJob extends Job {
             for (final AgentServerStatusListener serverStatusListener : serverListeners) {
                 agentServer.addStatusListener(serverStatusListener);
             }
-            agentServer.start(agentEventListeners.toArray(new RobotAgentEventListener[0]));
+            if (clientListenersSupplier == null) {
+                agentServer.start(agentEventListeners.toArray(new RobotAgentEventListener[0]));
+            } else {
+                agentServer.start(numberOfClients, clientListenersSupplier);
+            }
             return Status.OK_STATUS;
         } catch (final UnknownHostException e) {
             return new Status(IStatus.ERROR, RedPlugin.PLUGIN_ID,
@@ -104,6 +116,10 @@ public class AgentConnectionServerJob extends Job {
 
         private final List<RobotAgentEventListener> agentEventListeners = new ArrayList<>();
 
+        private int numberOfClients = 1;
+
+        private Supplier<List<RobotAgentEventListener>> clientListenersSupplier;
+
         public AgentConnectionServerJobBuilder(final String host, final int port) {
             this.host = host;
             this.port = port;
@@ -132,8 +148,21 @@ public class AgentConnectionServerJob extends Job {
             return this;
         }
 
+        /**
+         * Server will accept given number of agents connections on single port. Listeners of
+         * agents events are created separately for every connected client, while listeners added
+         * with agentEventsListenedBy methods are not used.
+         */
+        public AgentConnectionServerJobBuilder servingClients(final int numberOfClients,
+                final Supplier<List<RobotAgentEventListener>> clientListenersSupplier) {
+            this.numberOfClients = numberOfClients;
+            this.clientListenersSupplier = clientListenersSupplier;
+            return this;
+        }
+
         public AgentConnectionServerJob createJob() {
-            return new AgentConnectionServerJob(host, port, timeout, timeoutUnit, serverListeners, agentEventListeners);
+            return new AgentConnectionServerJob(host, port, timeout, timeoutUnit, serverListeners, agentEventListeners,
+                    numberOfClients, clientListenersSupplier);
         }
 
         public AgentConnectionServerJob start() {
@@ -38,12 +38,12 @@ import org.rf.ide.core.execution.server.response.ContinueExecution;
 import org.rf.ide.core.execution.server.response.EvaluateCondition;
 import org.rf.ide.core.execution.server.response.ServerResponse.ResponseException;
 import org.rf.ide.core.execution.server.response.StopExecution;
-import org.rf.ide.core.testdata.RobotParser;
+import org.rf.ide.core.testdata.model.RobotFileOutput;
 import org.robotframework.ide.eclipse.main.plugin.RedPlugin;
 import org.robotframework.ide.eclipse.main.plugin.debug.model.RobotDebugTarget;
 import org.robotframework.ide.eclipse.main.plugin.debug.utils.KeywordContext;
 import org.robotframework.ide.eclipse.main.plugin.debug.utils.KeywordExecutionManager;
-import org.robotframework.ide.eclipse.main.plugin.model.RobotSuiteFile;
+import org.robotframework.ide.eclipse.main.plugin.model.RobotProject;
 import org.robotframework.ide.eclipse.main.plugin.tableeditor.RobotFormEditor;
 
 public class DebugExecutionEventsListener extends RobotDefaultAgentEventListener {
@@ -56,6 +56,8 @@ public class DebugExecutionEventsListener extends RobotDefaultAgentEventListener
 
     private final KeywordExecutionManager keywordExecutionManager;
 
+    private final DebugSuitesParser suitesParser;
+
     private boolean isStopping;
 
     private boolean isBreakpointConditionFulfilled;
@@ -64,6 +66,8 @@ public class DebugExecutionEventsListener extends RobotDefaultAgentEventListener
         this.debugTarget = debugTarget;
         this.executionContext = new RobotDebugExecutionContext();
         this.keywordExecutionManager = new KeywordExecutionManager(resourcesUnderDebug);
+        this.suitesParser = new DebugSuitesParser();
+        this.suitesParser.prefetch(resourcesUnderDebug);
     }
 
     @Override
@@ -73,6 +77,7 @@ public class DebugExecutionEventsListener extends RobotDefaultAgentEventListener
     }
 
     public void terminated() {
+        suitesParser.dispose();
         debugTarget.terminated();
     }
 
@@ -87,9 +92,7 @@ public class DebugExecutionEventsListener extends RobotDefaultAgentEventListener
 
         final IFile currentSuiteFile = keywordExecutionManager.extractCurrentSuite(suitePath);
         if (currentSuiteFile != null) {
-            final RobotSuiteFile robotSuiteFile = RedPlugin.getModelManager().createSuiteFile(currentSuiteFile);
-            final RobotParser robotParser = robotSuiteFile.getProject().getEagerRobotParser();
-            executionContext.startSuite(robotParser.parse(currentSuiteFile.getLocation().toFile()).get(0), robotParser);
+            startSuite(currentSuiteFile);
         }
     }
 
@@ -203,9 +206,13 @@ public class DebugExecutionEventsListener extends RobotDefaultAgentEventListener
         keywordExecutionManager.setCurrentSuiteParent(suiteContainer);
         keywordExecutionManager.setCurrentSuiteName(suiteFile.getName());
         keywordExecutionManager.setCurrentSuiteFile(suiteFile);
-        final RobotSuiteFile robotSuiteFile = RedPlugin.getModelManager().createSuiteFile(suiteFile);
-        final RobotParser robotParser = robotSuiteFile.getProject().getEagerRobotParser();
-        executionContext.startSuite(robotParser.parse(suiteFile.getLocation().toFile()).get(0), robotParser);
+        startSuite(suiteFile);
+    }
+
+    private void startSuite(final IFile suiteFile) {
+        final RobotProject robotProject = RedPlugin.getModelManager().createSuiteFile(suiteFile).getProject();
+        final RobotFileOutput parsedSuite = suitesParser.parse(suiteFile.getLocation().toFile(), robotProject);
+        executionContext.startSuite(parsedSuite, robotProject.getEagerRobotParser());
     }
 
     private void showError(final String title, final String message) {
@@ -296,6 +303,7 @@ public class DebugExecutionEventsListener extends RobotDefaultAgentEventListener
 
     @Override
     public void handleClosed() {
+        suitesParser.dispose();
         debugTarget.terminated();
     }
 
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2017 Nokia Solutions and Networks
+ * Licensed under the Apache License, Version 2.0,
+ * see license.txt file for details.
+ */
+package org.robotframework.ide.eclipse.main.plugin.launch;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.eclipse.core.resources.IContainer;
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
+import org.rf.ide.core.testdata.model.RobotFileOutput;
+import org.robotframework.ide.eclipse.main.plugin.RedPlugin;
+import org.robotframework.ide.eclipse.main.plugin.model.RobotProject;
+import org.robotframework.ide.eclipse.main.plugin.project.ASuiteFileDescriber;
+
+/**
+ * Parses suites for debugger through project holder, so the parsed files are shared with the rest
+ * of the project model. Suite kept by the holder is reused unless its file, or any resource file it
+ * imports directly or not, has changed or was parsed again meanwhile. Suites which are going to be
+ * executed can be parsed in advance in background until the debug session ends.
+ */
+class DebugSuitesParser {
+
+    private static final int MAX_PREFETCHED_SUITES = 500;
+
+    private final ExecutorService prefetchExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        final Thread thread = new Thread(runnable, "RED debug suites prefetching");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+        return thread;
+    });
+
+    /**
+     * Returns parsed model of given suite file, parsing it with eager parser of given project if
+     * the model kept by project holder is missing or is outdated.
+     */
+    synchronized RobotFileOutput parse(final File suiteFile, final RobotProject project) {
+        project.getRobotProjectHolder().removeFilesWithOutdatedImports(suiteFile);
+        return project.getEagerRobotParser().parse(suiteFile).get(0);
+    }
+
+    /**
+     * Parses in background the suite files which are given or are contained in given resources.
+     */
+    void prefetch(final List<IResource> resources) {
+        prefetchExecutor.execute(() -> {
+            final List<IFile> suiteFiles = new ArrayList<>();
+            for (final IResource resource : resources) {
+                collectSuiteFiles(resource, suiteFiles);
+            }
+            for (final IFile suiteFile : suiteFiles.subList(0, Math.min(suiteFiles.size(), MAX_PREFETCHED_SUITES))) {
+                final IPath location = suiteFile.getLocation();
+                if (Thread.currentThread().isInterrupted()) {
+                    return;
+                } else if (location != null && suiteFile.exists()) {
+                    final RobotProject project = RedPlugin.getModelManager().createProject(suiteFile.getProject());
+                    try {
+                        parse(location.toFile(), project);
+                    } catch (final RuntimeException e) {
+                        // the suite will be parsed again when started
+                    }
+                }
+            }
+        });
+    }
+
+    private static void collectSuiteFiles(final IResource resource, final List<IFile> suiteFiles) {
+        if (resource instanceof IFile) {
+            final IFile file = (IFile) resource;
+            if (ASuiteFileDescriber.isSuiteFile(file) || ASuiteFileDescriber.isInitializationFile(file)) {
+                suiteFiles.add(file);
+            }
+        } else if (resource instanceof IContainer && resource.isAccessible()) {
+            try {
+                for (final IResource member : ((IContainer) resource).members()) {
+                    collectSuiteFiles(member, suiteFiles);
+                }
+            } catch (final CoreException e) {
+                // nothing to prefetch in such container
+            }
+        }
+    }
+
+    /**
+     * Stops prefetching when debug session has ended.
+     */
+    void dispose() {
+        prefetchExecutor.shutdownNow();
+    }
+}
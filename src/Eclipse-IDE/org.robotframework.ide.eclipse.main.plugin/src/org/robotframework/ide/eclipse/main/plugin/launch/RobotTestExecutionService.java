@@ -5,6 +5,8 @@
  */
 package org.robotframework.ide.eclipse.main.plugin.launch;
 
+import java.io.File;
+import java.io.IOException;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -18,6 +20,8 @@ import java.util.function.Supplier;
 
 import org.eclipse.debug.core.ILaunchConfiguration;
 import org.eclipse.ui.services.IDisposable;
+import org.rf.ide.core.execution.history.TestsExecutionHistory;
+import org.robotframework.ide.eclipse.main.plugin.RedPlugin;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ImmutableList;
@@ -34,6 +38,23 @@ public class RobotTestExecutionService {
 
     private final List<RobotTestExecutionListener> executionListeners = new ArrayList<>();
 
+    private Supplier<File> executionHistoryFile;
+
+    private TestsExecutionHistory executionHistory;
+
+    public RobotTestExecutionService() {
+        this(null);
+    }
+
+    /**
+     * @param executionHistoryFile
+     *            supplies the file in which tests executions are kept between sessions; it is
+     *            called when the history is needed for the first time
+     */
+    public RobotTestExecutionService(final Supplier<File> executionHistoryFile) {
+        this.executionHistoryFile = executionHistoryFile;
+    }
+
     @VisibleForTesting
     Collection<RobotTestsLaunch> getLaunches() {
         return ImmutableList.copyOf(launches);
@@ -55,6 +76,26 @@ public class RobotTestExecutionService {
         return launches.stream().findFirst();
     }
 
+    public synchronized Optional<TestsExecutionHistory> getExecutionHistory() {
+        if (executionHistory == null && executionHistoryFile != null) {
+            try {
+                executionHistory = TestsExecutionHistory.open(executionHistoryFile.get());
+            } catch (final IOException e) {
+                RedPlugin.logWarning("Unable to open tests execution history", e);
+                executionHistoryFile = null;
+            }
+        }
+        return Optional.ofNullable(executionHistory);
+    }
+
+    public synchronized void dispose() {
+        if (executionHistory != null) {
+            executionHistory.close();
+            executionHistory = null;
+        }
+        executionHistoryFile = null;
+    }
+
     public synchronized RobotTestsLaunch testExecutionStarting(final ILaunchConfiguration configuration) {
         final RobotTestsLaunch newLaunch = new RobotTestsLaunch(configuration);
         launches.addFirst(newLaunch);
@@ -0,0 +1,215 @@
+/*
+ * Copyright 2017 Nokia Solutions and Networks
+ * Licensed under the Apache License, Version 2.0,
+ * see license.txt file for details.
+ */
+package org.robotframework.ide.eclipse.main.plugin.launch.local;
+
+import static java.util.stream.Collectors.toList;
+import static org.robotframework.ide.eclipse.main.plugin.RedPlugin.newCoreException;
+
+import java.io.File;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+
+import org.eclipse.core.resources.IContainer;
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.Path;
+import org.rf.ide.core.execution.history.TestsExecutionHistory.TestExecution;
+import org.rf.ide.core.executor.TestsSharding;
+import org.robotframework.ide.eclipse.main.plugin.launch.RobotPathsNaming;
+import org.robotframework.ide.eclipse.main.plugin.model.RobotModel;
+import org.robotframework.ide.eclipse.main.plugin.views.execution.ExecutionTreeNode;
+import org.robotframework.ide.eclipse.main.plugin.views.execution.ExecutionTreeNode.ElementKind;
+
+/**
+ * Splits suites and tests selected in launch configuration between parallel workers. Every selected
+ * suite is a single unit of work, unless particular tests of it are selected, in which case every
+ * such test is a unit. When nothing is selected the top-level suites of the project are the units.
+ * Units are balanced using durations measured in previous execution of the configuration or
+ * recorded in tests execution history, while units which were not executed before are assumed to
+ * take as long as an average known one.
+ */
+class ParallelExecutionPlan {
+
+    private final List<WorkUnit> units;
+
+    private final Map<String, Long> durations = new HashMap<>();
+
+    private ParallelExecutionPlan(final List<WorkUnit> units) {
+        this.units = units;
+    }
+
+    static ParallelExecutionPlan create(final RobotLaunchConfiguration robotConfig, final RobotModel model)
+            throws CoreException {
+        final IProject project = robotConfig.getProject();
+        final List<WorkUnit> units = new ArrayList<>();
+        final Map<String, List<String>> suitePaths = robotConfig.getSuitePaths();
+        if (suitePaths.isEmpty()) {
+            for (final IResource member : project.members()) {
+                if (isSuite(member, model)) {
+                    units.add(new WorkUnit(member, null));
+                }
+            }
+        }
+        for (final Entry<String, List<String>> entry : suitePaths.entrySet()) {
+            final IResource suite = project.findMember(Path.fromPortableString(entry.getKey()));
+            if (suite == null) {
+                throw newCoreException(
+                        "Suite '" + entry.getKey() + "' does not exist in project '" + project.getName() + "'");
+            }
+            if (entry.getValue().isEmpty()) {
+                units.add(new WorkUnit(suite, null));
+            }
+            for (final String testName : entry.getValue()) {
+                units.add(new WorkUnit(suite, testName));
+            }
+        }
+        return new ParallelExecutionPlan(units);
+    }
+
+    private static boolean isSuite(final IResource resource, final RobotModel model) throws CoreException {
+        // the same resources as robot does are skipped when looking for suites in directory
+        if (resource.getName().startsWith(".") || resource.getName().startsWith("_")) {
+            return false;
+        } else if (resource instanceof IFile) {
+            return model.createSuiteFile((IFile) resource).isSuiteFile();
+        } else if (resource instanceof IContainer) {
+            for (final IResource member : ((IContainer) resource).members()) {
+                if (isSuite(member, model)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    int getNumberOfUnits() {
+        return units.size();
+    }
+
+    void useDurationsOf(final ExecutionTreeNode previousExecution) {
+        if (previousExecution != null) {
+            collectDurations(previousExecution);
+        }
+    }
+
+    private void collectDurations(final ExecutionTreeNode node) {
+        final String location = toLocation(node.getPath());
+        if (location != null) {
+            final String key = node.getKind() == ElementKind.TEST ? location + File.pathSeparator + node.getName()
+                    : location;
+            durations.put(key, (long) node.getElapsedTime());
+        }
+        for (final ExecutionTreeNode child : node.getChildren()) {
+            collectDurations(child);
+        }
+    }
+
+    /**
+     * Uses durations of tests recorded in execution history for units which were not executed in
+     * previous execution. Duration of suite is the sum of durations of tests inside it.
+     */
+    void useDurationsOf(final Collection<TestExecution> lastExecutions) {
+        final Map<String, Long> historyDurations = new HashMap<>();
+        for (final TestExecution execution : lastExecutions) {
+            historyDurations.put(execution.getSuitePath() + File.pathSeparator + execution.getTestName(),
+                    (long) execution.getElapsedTime());
+            File suite = new File(execution.getSuitePath());
+            while (suite != null) {
+                historyDurations.merge(suite.getAbsolutePath(), (long) execution.getElapsedTime(), Long::sum);
+                suite = suite.getParentFile();
+            }
+        }
+        historyDurations.forEach(durations::putIfAbsent);
+    }
+
+    private static String toLocation(final URI path) {
+        try {
+            return path == null ? null : new File(path).getAbsolutePath();
+        } catch (final IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    List<WorkerSelection> splitBetween(final int numberOfWorkers) {
+        final Map<WorkUnit, Long> knownDurations = new HashMap<>();
+        for (final WorkUnit unit : units) {
+            final Long duration = durations.get(unit.getDurationKey());
+            if (duration != null) {
+                knownDurations.put(unit, duration);
+            }
+        }
+        final long defaultDuration = Math.max(1, (long) knownDurations.values()
+                .stream()
+                .mapToLong(Long::longValue)
+                .average()
+                .orElse(1));
+
+        return TestsSharding.split(units, unit -> knownDurations.getOrDefault(unit, defaultDuration), numberOfWorkers)
+                .stream()
+                .map(WorkerSelection::new)
+                .collect(toList());
+    }
+
+    private static final class WorkUnit {
+
+        private final IResource suite;
+
+        private final String testName;
+
+        private WorkUnit(final IResource suite, final String testName) {
+            this.suite = suite;
+            this.testName = testName;
+        }
+
+        private String getDurationKey() {
+            final IPath location = suite.getLocation();
+            if (location == null) {
+                return null;
+            }
+            final String path = location.toFile().getAbsolutePath();
+            return testName == null ? path : path + File.pathSeparator + testName;
+        }
+    }
+
+    static final class WorkerSelection {
+
+        private final List<String> suites;
+
+        private final List<String> tests;
+
+        private WorkerSelection(final List<WorkUnit> units) {
+            final Set<String> suiteNames = new LinkedHashSet<>();
+            final List<String> testNames = new ArrayList<>();
+            for (final WorkUnit unit : units) {
+                suiteNames.add(RobotPathsNaming.createSuiteName(unit.suite));
+                if (unit.testName != null) {
+                    testNames.add(RobotPathsNaming.createTestName(unit.suite.getProject(),
+                            unit.suite.getProjectRelativePath(), unit.testName));
+                }
+            }
+            this.suites = new ArrayList<>(suiteNames);
+            this.tests = testNames;
+        }
+
+        List<String> getSuitesToRun() {
+            return suites;
+        }
+
+        List<String> getTestsToRun() {
+            return tests;
+        }
+    }
+}
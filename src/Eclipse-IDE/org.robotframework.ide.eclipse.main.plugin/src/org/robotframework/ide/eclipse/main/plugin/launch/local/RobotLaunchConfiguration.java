@@ -71,6 +71,10 @@ public class RobotLaunchConfiguration extends AbstractRobotLaunchConfiguration {
 
     private static final String EXECUTABLE_FILE_ARGUMENTS_ATTRIBUTE = "Executable file arguments";
 
+    private static final String PARALLEL_WORKERS_ATTRIBUTE = "Parallel workers";
+
+    public static final int MAX_PARALLEL_WORKERS = 64;
+
     public static final String CURRENT_CONFIGURATION_VERSION = "1";
 
     public static String[] getSystemDependentExecutableFileExtensions() {
@@ -370,6 +374,19 @@ public class RobotLaunchConfiguration extends AbstractRobotLaunchConfiguration {
         launchCopy.setAttribute(EXECUTABLE_FILE_ARGUMENTS_ATTRIBUTE, arguments);
     }
 
+    /**
+     * Number of robot processes executing selected suites in parallel in run mode. Value of 1
+     * means that all the suites are executed by single process.
+     */
+    public int getParallelWorkers() throws CoreException {
+        return configuration.getAttribute(PARALLEL_WORKERS_ATTRIBUTE, 1);
+    }
+
+    public void setParallelWorkers(final int workers) throws CoreException {
+        final ILaunchConfigurationWorkingCopy launchCopy = asWorkingCopy();
+        launchCopy.setAttribute(PARALLEL_WORKERS_ATTRIBUTE, workers);
+    }
+
     public String[] getEnvironmentVariables() throws CoreException {
         final Map<String, String> vars = configuration.getAttribute(ILaunchManager.ATTR_ENVIRONMENT_VARIABLES,
                 (Map<String, String>) null);
@@ -5,23 +5,38 @@
  */
 package org.robotframework.ide.eclipse.main.plugin.launch.local;
 
+import static java.util.stream.Collectors.toList;
 import static org.robotframework.ide.eclipse.main.plugin.RedPlugin.newCoreException;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.Path;
 import org.eclipse.debug.core.DebugPlugin;
 import org.eclipse.debug.core.ILaunch;
 import org.eclipse.debug.core.ILaunchConfiguration;
 import org.rf.ide.core.execution.agent.RobotAgentEventListener;
 import org.rf.ide.core.execution.agent.TestsMode;
+import org.rf.ide.core.execution.history.ExecutionHistoryTracker;
+import org.rf.ide.core.execution.history.TestsExecutionHistory;
+import org.rf.ide.core.execution.history.TestsExecutionOrder;
 import org.rf.ide.core.execution.server.AgentServerKeepAlive;
 import org.rf.ide.core.execution.server.AgentServerTestsStarter;
+import org.rf.ide.core.executor.RebotCommandLine;
 import org.rf.ide.core.executor.RobotRuntimeEnvironment;
 import org.rf.ide.core.executor.RobotRuntimeEnvironment.RobotEnvironmentException;
 import org.rf.ide.core.executor.RunCommandLineCallBuilder;
@@ -37,16 +52,22 @@ import org.robotframework.ide.eclipse.main.plugin.launch.DebugExecutionEventsLis
 import org.robotframework.ide.eclipse.main.plugin.launch.IRobotProcess;
 import org.robotframework.ide.eclipse.main.plugin.launch.RobotConsoleFacade;
 import org.robotframework.ide.eclipse.main.plugin.launch.RobotConsolePatternsListener;
+import org.robotframework.ide.eclipse.main.plugin.launch.RobotPathsNaming;
 import org.robotframework.ide.eclipse.main.plugin.launch.RobotTestExecutionService.RobotTestsLaunch;
 import org.robotframework.ide.eclipse.main.plugin.model.RobotModel;
 import org.robotframework.ide.eclipse.main.plugin.model.RobotProject;
+import org.robotframework.ide.eclipse.main.plugin.launch.local.ParallelExecutionPlan.WorkerSelection;
+import org.robotframework.ide.eclipse.main.plugin.views.execution.ExecutionStatusStore;
 import org.robotframework.ide.eclipse.main.plugin.views.execution.ExecutionStatusTracker;
+import org.robotframework.ide.eclipse.main.plugin.views.execution.ExecutionTreeNode;
 import org.robotframework.ide.eclipse.main.plugin.views.message.ExecutionMessagesTracker;
 
 import com.google.common.annotations.VisibleForTesting;
 
 public class RobotLaunchConfigurationDelegate extends AbstractRobotLaunchConfigurationDelegate {
 
+    private static final String WORKER_OUTPUT_FILE = "output.xml";
+
     @Override
     protected LaunchExecution doLaunch(final ILaunchConfiguration configuration, final TestsMode testsMode,
             final ILaunch launch, final RobotTestsLaunch testsLaunchContext) throws CoreException {
@@ -58,6 +79,20 @@ public class RobotLaunchConfigurationDelegate extends AbstractRobotLaunchConfigu
         final int timeout = robotConfig.getAgentConnectionTimeout();
 
         try {
+            if (testsMode == TestsMode.RUN && robotConfig.getParallelWorkers() > 1) {
+                final ParallelExecutionPlan plan = ParallelExecutionPlan.create(robotConfig,
+                        RedPlugin.getModelManager().getModel());
+                if (plan.getNumberOfUnits() > 1) {
+                    plan.useDurationsOf(findPreviousExecution(configuration).orElse(null));
+                    final File projectLocation = robotConfig.getProject().getLocation().toFile();
+                    RedPlugin.getTestExecutionService()
+                            .getExecutionHistory()
+                            .ifPresent(history -> plan.useDurationsOf(history.getLastExecutions(projectLocation)));
+                    return doParallelLaunch(robotConfig, launch, testsLaunchContext, host, port, timeout,
+                            plan.splitBetween(robotConfig.getParallelWorkers()));
+                }
+            }
+
             final AgentServerTestsStarter testsStarter = new AgentServerTestsStarter(testsMode);
             final LaunchExecution launchExecution;
             if (testsMode == TestsMode.RUN) {
@@ -100,6 +135,7 @@ public class RobotLaunchConfigurationDelegate extends AbstractRobotLaunchConfigu
                 .agentEventsListenedBy(additionalListeners)
                 .agentEventsListenedBy(new ExecutionMessagesTracker(testsLaunchContext))
                 .agentEventsListenedBy(new ExecutionStatusTracker(testsLaunchContext))
+                .agentEventsListenedBy(createHistoryTrackers())
                 .agentEventsListenedBy(new AgentServerKeepAlive())
                 .start()
                 .waitForServer();
@@ -125,10 +161,228 @@ public class RobotLaunchConfigurationDelegate extends AbstractRobotLaunchConfigu
         return new LaunchExecution(serverJob, execProcess, robotProcess);
     }
 
+    private static Optional<ExecutionTreeNode> findPreviousExecution(final ILaunchConfiguration configuration) {
+        // launches are ordered from the most recent one
+        final AtomicReference<ExecutionTreeNode> previousExecution = new AtomicReference<>();
+        RedPlugin.getTestExecutionService().forEachLaunch(testsLaunch -> {
+            if (previousExecution.get() == null && testsLaunch.isTerminated()
+                    && testsLaunch.getLaunchConfiguration().getName().equals(configuration.getName())) {
+                testsLaunch.getExecutionData(ExecutionStatusStore.class)
+                        .map(ExecutionStatusStore::getExecutionTree)
+                        .ifPresent(previousExecution::set);
+            }
+        });
+        return Optional.ofNullable(previousExecution.get());
+    }
+
+    private LaunchExecution doParallelLaunch(final RobotLaunchConfiguration robotConfig, final ILaunch launch,
+            final RobotTestsLaunch testsLaunchContext, final String host, final int port, final int timeout,
+            final List<WorkerSelection> workers) throws InterruptedException, CoreException, IOException {
+
+        final RobotModel model = RedPlugin.getModelManager().getModel();
+        final RobotProject robotProject = model.createRobotProject(robotConfig.getProject());
+        final ConsoleData consoleData = ConsoleData.create(robotConfig, robotProject);
+
+        // all the workers report to single server, which keeps separate listeners for each of them
+        final AgentConnectionServerJob serverJob = AgentConnectionServerJob.setupServerAt(host, port)
+                .withConnectionTimeout(timeout, TimeUnit.SECONDS)
+                .serverStatusHandledBy(new ServerProblemsHandler())
+                .servingClients(workers.size(), () -> createWorkerListeners(testsLaunchContext))
+                .start()
+                .waitForServer();
+
+        if (serverJob.getResult() != null && !serverJob.getResult().isOK()) {
+            return new LaunchExecution(serverJob, null, null);
+        }
+
+        final RedPreferences preferences = RedPlugin.getDefault().getPreferences();
+        final File projectLocation = robotProject.getProject().getLocation().toFile();
+        final AtomicInteger runningWorkers = new AtomicInteger(workers.size());
+        final List<Process> workerProcesses = new ArrayList<>();
+        final List<File> workerDirectories = new ArrayList<>();
+        try {
+            for (int i = 0; i < workers.size(); i++) {
+                final File workerDirectory = Files.createTempDirectory("RobotWorker").toFile();
+                workerDirectories.add(workerDirectory);
+
+                final RunCommandLine cmdLine = prepareWorkerCommandLine(robotConfig, robotProject, port,
+                        preferences, workers.get(i), workerDirectory);
+                final Process execProcess = DebugPlugin.exec(cmdLine.getCommandLine(), projectLocation,
+                        robotConfig.getEnvironmentVariables());
+                workerProcesses.add(execProcess);
+                final String processLabel = consoleData.getProcessLabel() + " [worker " + (i + 1) + "]";
+                final IRobotProcess robotProcess = (IRobotProcess) DebugPlugin.newProcess(launch, execProcess,
+                        processLabel);
+
+                robotProcess.onTerminate(() -> {
+                    if (runningWorkers.decrementAndGet() == 0) {
+                        serverJob.stopServer();
+                    }
+                });
+
+                final RobotConsoleFacade redConsole = robotProcess.provideConsoleFacade(processLabel);
+                redConsole.addHyperlinksSupport(new RobotConsolePatternsListener(robotProject));
+                redConsole.writeLine("Command: " + DebugPlugin.renderArguments(cmdLine.getCommandLine(), null));
+                redConsole.writeLine("Suite Executor: " + consoleData.getSuiteExecutorVersion());
+            }
+        } catch (final CoreException | IOException | RuntimeException e) {
+            // server would wait for workers which were never started, so the whole launch is stopped
+            workerProcesses.forEach(Process::destroy);
+            serverJob.stopServer();
+            workerDirectories.forEach(RobotLaunchConfigurationDelegate::deleteWorkerDirectory);
+            throw e;
+        }
+
+        final List<File> workerOutputs = workerDirectories.stream()
+                .map(directory -> new File(directory, WORKER_OUTPUT_FILE))
+                .collect(toList());
+        final OutputsCombiner outputsCombiner = new OutputsCombiner(launch, testsLaunchContext,
+                getPythonExecutable(robotConfig, robotProject),
+                RobotPathsNaming.createSuiteName(robotProject.getProject(), Path.EMPTY),
+                getOutputDirectory(robotConfig, projectLocation), getCombinedOutputsArguments(robotConfig),
+                workerOutputs, projectLocation, robotConfig.getEnvironmentVariables());
+        return new ParallelLaunchExecution(serverJob, workerProcesses, workerDirectories, outputsCombiner);
+    }
+
+    private static void deleteWorkerDirectory(final File workerDirectory) {
+        try {
+            Files.walkFileTree(workerDirectory.toPath(), new SimpleFileVisitor<java.nio.file.Path>() {
+
+                @Override
+                public FileVisitResult visitFile(final java.nio.file.Path file, final BasicFileAttributes attrs)
+                        throws IOException {
+                    Files.delete(file);
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult postVisitDirectory(final java.nio.file.Path dir, final IOException exc)
+                        throws IOException {
+                    Files.delete(dir);
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+        } catch (final IOException e) {
+            // nothing to do, the directory will be removed with other temporary files
+        }
+    }
+
+    private static List<RobotAgentEventListener> createWorkerListeners(final RobotTestsLaunch testsLaunchContext) {
+        // workers are started independently, so each of them may start tests as soon as it connects
+        final AgentServerTestsStarter testsStarter = new AgentServerTestsStarter(TestsMode.RUN);
+        testsStarter.allowClientTestsStart();
+        final List<RobotAgentEventListener> listeners = new ArrayList<>();
+        listeners.add(testsStarter);
+        listeners.add(new ExecutionMessagesTracker(testsLaunchContext));
+        listeners.add(new ExecutionStatusTracker(testsLaunchContext));
+        listeners.addAll(createHistoryTrackers());
+        listeners.add(new AgentServerKeepAlive());
+        return listeners;
+    }
+
+    private static List<RobotAgentEventListener> createHistoryTrackers() {
+        final List<RobotAgentEventListener> trackers = new ArrayList<>();
+        RedPlugin.getTestExecutionService()
+                .getExecutionHistory()
+                .ifPresent(history -> trackers.add(new ExecutionHistoryTracker(history)));
+        return trackers;
+    }
+
+    private static String getPythonExecutable(final RobotLaunchConfiguration robotConfig,
+            final RobotProject robotProject) throws CoreException {
+        if (robotConfig.isUsingInterpreterFromProject()) {
+            final RobotRuntimeEnvironment runtimeEnvironment = robotProject.getRuntimeEnvironment();
+            return runtimeEnvironment != null ? runtimeEnvironment.getPythonExecutablePath()
+                    : SuiteExecutor.Python.executableName();
+        }
+        return robotConfig.getInterpreter().executableName();
+    }
+
+    @VisibleForTesting
+    File getOutputDirectory(final RobotLaunchConfiguration robotConfig, final File projectLocation)
+            throws CoreException {
+        // combined outputs are written where single robot process would write them
+        final Optional<String> outputDirectory = findArgumentValue(
+                parseArguments(robotConfig.getRobotArguments()), "-d", "--outputdir");
+        if (!outputDirectory.isPresent()) {
+            return projectLocation;
+        }
+        final File directory = new File(outputDirectory.get());
+        return directory.isAbsolute() ? directory : new File(projectLocation, outputDirectory.get());
+    }
+
+    @VisibleForTesting
+    List<String> getCombinedOutputsArguments(final RobotLaunchConfiguration robotConfig) throws CoreException {
+        // output, log and report names given by user apply to combined outputs, not to outputs of workers
+        final List<String> robotArguments = parseArguments(robotConfig.getRobotArguments());
+        final List<String> outputsArguments = new ArrayList<>();
+        findArgumentValue(robotArguments, "-o", "--output").ifPresent(value -> {
+            outputsArguments.add("--output");
+            outputsArguments.add(value);
+        });
+        findArgumentValue(robotArguments, "-l", "--log").ifPresent(value -> {
+            outputsArguments.add("--log");
+            outputsArguments.add(value);
+        });
+        findArgumentValue(robotArguments, "-r", "--report").ifPresent(value -> {
+            outputsArguments.add("--report");
+            outputsArguments.add(value);
+        });
+        return outputsArguments;
+    }
+
+    private static Optional<String> findArgumentValue(final List<String> arguments, final String shortName,
+            final String longName) {
+        // the same as robot does, the last given value is used
+        String value = null;
+        for (int i = 0; i < arguments.size(); i++) {
+            final String argument = arguments.get(i);
+            if ((argument.equals(shortName) || argument.equals(longName)) && i + 1 < arguments.size()) {
+                value = arguments.get(++i);
+            } else if (argument.startsWith(longName + "=")) {
+                value = argument.substring(longName.length() + 1);
+            }
+        }
+        return Optional.ofNullable(value);
+    }
+
+    @VisibleForTesting
+    RunCommandLine prepareWorkerCommandLine(final RobotLaunchConfiguration robotConfig,
+            final RobotProject robotProject, final int port, final RedPreferences preferences,
+            final WorkerSelection worker, final File outputDirectory) throws CoreException, IOException {
+
+        final IRunCommandLineBuilder builder = createCommandLineBuilder(robotConfig, robotProject, port, preferences);
+        // given after user arguments, so that outputs of workers do not overwrite each other, while
+        // worker for which all the tests are filtered out by tags does not fail; log and report
+        // are created only from combined outputs
+        builder.addUserArgumentsForRobot(Arrays.asList("--outputdir", outputDirectory.getAbsolutePath(),
+                "--output", WORKER_OUTPUT_FILE, "--log", "NONE", "--report", "NONE", "--runemptysuite"));
+        builder.withProject(robotProject.getProject().getLocation().toFile());
+        builder.suitesToRun(worker.getSuitesToRun());
+        builder.testsToRun(worker.getTestsToRun());
+        return builder.build();
+    }
+
     @VisibleForTesting
     RunCommandLine prepareCommandLine(final RobotLaunchConfiguration robotConfig, final RobotProject robotProject,
             final int port, final RedPreferences preferences) throws CoreException, IOException {
 
+        final IRunCommandLineBuilder builder = createCommandLineBuilder(robotConfig, robotProject, port, preferences);
+        if (shouldUseSingleTestPathInCommandLine(robotConfig, preferences)) {
+            builder.withProject(robotConfig.getSuiteResources().get(0).getLocation().toFile());
+            builder.testsToRun(robotConfig.getSuitePaths().values().iterator().next());
+        } else {
+            builder.withProject(robotProject.getProject().getLocation().toFile());
+            builder.suitesToRun(robotConfig.getSuitesToRun());
+            builder.testsToRun(robotConfig.getTestsToRun());
+        }
+        return builder.build();
+    }
+
+    private IRunCommandLineBuilder createCommandLineBuilder(final RobotLaunchConfiguration robotConfig,
+            final RobotProject robotProject, final int port, final RedPreferences preferences)
+            throws CoreException {
+
         final IRunCommandLineBuilder builder;
         if (robotConfig.isUsingInterpreterFromProject()) {
             final RobotRuntimeEnvironment runtimeEnvironment = robotProject.getRuntimeEnvironment();
@@ -158,22 +412,21 @@ public class RobotLaunchConfigurationDelegate extends AbstractRobotLaunchConfigu
 
         builder.addVariableFiles(robotProject.getVariableFilePaths());
 
-        if (shouldUseSingleTestPathInCommandLine(robotConfig, preferences)) {
-            builder.withProject(robotConfig.getSuiteResources().get(0).getLocation().toFile());
-            builder.testsToRun(robotConfig.getSuitePaths().values().iterator().next());
-        } else {
-            builder.withProject(robotProject.getProject().getLocation().toFile());
-            builder.suitesToRun(robotConfig.getSuitesToRun());
-            builder.testsToRun(robotConfig.getTestsToRun());
+        if (preferences.shouldRunFailedAndSlowestTestsFirst()) {
+            final Optional<TestsExecutionHistory> history = RedPlugin.getTestExecutionService()
+                    .getExecutionHistory();
+            if (history.isPresent()) {
+                builder.testsExecutionOrder(TestsExecutionOrder.failedFirstThenSlowest(
+                        history.get().getLastExecutions(robotProject.getProject().getLocation().toFile())));
+            }
         }
-
         if (robotConfig.isIncludeTagsEnabled()) {
             builder.includeTags(robotConfig.getIncludedTags());
         }
         if (robotConfig.isExcludeTagsEnabled()) {
             builder.excludeTags(robotConfig.getExcludedTags());
         }
-        return builder.build();
+        return builder;
     }
 
     private boolean shouldUseSingleTestPathInCommandLine(final RobotLaunchConfiguration robotConfig,
@@ -187,6 +440,103 @@ public class RobotLaunchConfigurationDelegate extends AbstractRobotLaunchConfigu
         return Arrays.asList(DebugPlugin.parseArguments(arguments));
     }
 
+    /**
+     * Execution of many workers, which is finished when all of them are terminated and their
+     * outputs are combined with rebot.
+     */
+    private static class ParallelLaunchExecution extends LaunchExecution {
+
+        private final List<Process> workerProcesses;
+
+        private final List<File> workerDirectories;
+
+        private final OutputsCombiner outputsCombiner;
+
+        ParallelLaunchExecution(final AgentConnectionServerJob serverJob, final List<Process> workerProcesses,
+                final List<File> workerDirectories, final OutputsCombiner outputsCombiner) {
+            super(serverJob, null, null);
+            this.workerProcesses = workerProcesses;
+            this.workerDirectories = workerDirectories;
+            this.outputsCombiner = outputsCombiner;
+        }
+
+        @Override
+        public void waitFor(final IProgressMonitor monitor) throws CoreException {
+            try {
+                for (final Process workerProcess : workerProcesses) {
+                    workerProcess.waitFor();
+                }
+                outputsCombiner.combine();
+            } catch (final InterruptedException e) {
+                throw newCoreException("Waiting for launch execution was interrupted", e);
+            } finally {
+                workerDirectories.forEach(RobotLaunchConfigurationDelegate::deleteWorkerDirectory);
+            }
+        }
+    }
+
+    private static class OutputsCombiner {
+
+        private final ILaunch launch;
+
+        private final RobotTestsLaunch testsLaunchContext;
+
+        private final String pythonExecutable;
+
+        private final String suiteName;
+
+        private final File outputDirectory;
+
+        private final List<String> outputsArguments;
+
+        private final List<File> workerOutputs;
+
+        private final File workingDirectory;
+
+        private final String[] environment;
+
+        OutputsCombiner(final ILaunch launch, final RobotTestsLaunch testsLaunchContext,
+                final String pythonExecutable, final String suiteName, final File outputDirectory,
+                final List<String> outputsArguments, final List<File> workerOutputs, final File workingDirectory,
+                final String[] environment) {
+            this.launch = launch;
+            this.testsLaunchContext = testsLaunchContext;
+            this.pythonExecutable = pythonExecutable;
+            this.suiteName = suiteName;
+            this.outputDirectory = outputDirectory;
+            this.outputsArguments = outputsArguments;
+            this.workerOutputs = workerOutputs;
+            this.workingDirectory = workingDirectory;
+            this.environment = environment;
+        }
+
+        void combine() throws CoreException, InterruptedException {
+            // workers which were not able to run have no outputs
+            final List<File> outputs = workerOutputs.stream().filter(File::exists).collect(toList());
+            if (outputs.isEmpty()) {
+                return;
+            }
+
+            final RunCommandLine cmdLine = RebotCommandLine.combineOutputs(pythonExecutable, suiteName,
+                    outputDirectory, outputsArguments, outputs);
+            final Process rebotProcess = DebugPlugin.exec(cmdLine.getCommandLine(), workingDirectory, environment);
+            final String processLabel = pythonExecutable + " [rebot]";
+            final IRobotProcess robotProcess = (IRobotProcess) DebugPlugin.newProcess(launch, rebotProcess,
+                    processLabel);
+            robotProcess.provideConsoleFacade(processLabel)
+                    .writeLine("Command: " + DebugPlugin.renderArguments(cmdLine.getCommandLine(), null));
+            rebotProcess.waitFor();
+
+            final String outputName = findArgumentValue(outputsArguments, "-o", "--output").orElse("output.xml");
+            final File outputFile = new File(outputName);
+            final File combinedOutput = outputFile.isAbsolute() ? outputFile : new File(outputDirectory, outputName);
+            if (!outputName.equalsIgnoreCase("NONE") && combinedOutput.exists()) {
+                testsLaunchContext.performOnExecutionData(ExecutionStatusStore.class,
+                        store -> store.setOutputFilePath(combinedOutput.toURI()));
+            }
+        }
+    }
+
     @VisibleForTesting
     static class ConsoleData {
 
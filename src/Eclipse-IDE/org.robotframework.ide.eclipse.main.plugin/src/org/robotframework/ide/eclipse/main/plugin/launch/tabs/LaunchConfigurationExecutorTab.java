@@ -21,6 +21,7 @@ import org.eclipse.swt.graphics.Image;
 import org.eclipse.swt.widgets.Composite;
 import org.eclipse.swt.widgets.Group;
 import org.eclipse.swt.widgets.Label;
+import org.eclipse.swt.widgets.Spinner;
 import org.eclipse.swt.widgets.Text;
 import org.rf.ide.core.executor.SuiteExecutor;
 import org.robotframework.ide.eclipse.main.plugin.RedImages;
@@ -45,6 +46,8 @@ class LaunchConfigurationExecutorTab extends AbstractLaunchConfigurationTab impl
 
     private Text executableFileArgumentsText;
 
+    private Spinner parallelWorkersSpinner;
+
     @Override
     public void setDefaults(final ILaunchConfigurationWorkingCopy configuration) {
         try {
@@ -64,6 +67,7 @@ class LaunchConfigurationExecutorTab extends AbstractLaunchConfigurationTab impl
             interpreterArgumentsText.setText(robotConfig.getInterpreterArguments());
             executableFileComposite.setInput(robotConfig.getExecutableFilePath());
             executableFileArgumentsText.setText(robotConfig.getExecutableFileArguments());
+            parallelWorkersSpinner.setSelection(robotConfig.getParallelWorkers());
         } catch (final CoreException e) {
             setErrorMessage("Invalid launch configuration: " + e.getMessage());
         }
@@ -79,6 +83,7 @@ class LaunchConfigurationExecutorTab extends AbstractLaunchConfigurationTab impl
             robotConfig.setInterpreterArguments(interpreterArgumentsText.getText().trim());
             robotConfig.setExecutableFilePath(executableFileComposite.getSelectedExecutableFilePath());
             robotConfig.setExecutableFileArguments(executableFileArgumentsText.getText().trim());
+            robotConfig.setParallelWorkers(parallelWorkersSpinner.getSelection());
         } catch (final CoreException e) {
             DetailedErrorDialog.openErrorDialog("Problem with Launch Configuration",
                     "RED was unable to load the working copy of Launch Configuration.");
@@ -129,6 +134,7 @@ class LaunchConfigurationExecutorTab extends AbstractLaunchConfigurationTab impl
 
         createInterpreterGroup(composite);
         createExecutableFileGroup(composite);
+        createParallelExecutionGroup(composite);
 
         setControl(composite);
     }
@@ -174,6 +180,31 @@ class LaunchConfigurationExecutorTab extends AbstractLaunchConfigurationTab impl
         executableFileArgumentsText = createLabeledText(group, "Additional executable file arguments:");
     }
 
+    private void createParallelExecutionGroup(final Composite parent) {
+        final Group group = new Group(parent, SWT.NONE);
+        group.setText("Parallel execution");
+        GridDataFactory.fillDefaults().grab(true, false).applyTo(group);
+        GridLayoutFactory.fillDefaults().numColumns(2).spacing(5, 2).margins(0, 3).applyTo(group);
+
+        final Label parallelExecutionDescription = new Label(group, SWT.WRAP);
+        parallelExecutionDescription.setText("Split selected suites between given number of robot processes "
+                + "when running tests. Outputs of all the processes are combined with rebot afterwards");
+        GridDataFactory.fillDefaults().grab(true, false).span(2, 1).applyTo(parallelExecutionDescription);
+
+        final Label lbl = new Label(group, SWT.NONE);
+        lbl.setText("Number of parallel workers:");
+
+        parallelWorkersSpinner = new Spinner(group, SWT.BORDER);
+        parallelWorkersSpinner.setValues(1, 1, RobotLaunchConfiguration.MAX_PARALLEL_WORKERS, 0, 1, 4);
+        parallelWorkersSpinner.addModifyListener(new ModifyListener() {
+
+            @Override
+            public void modifyText(final ModifyEvent e) {
+                updateLaunchConfigurationDialog();
+            }
+        });
+    }
+
     private Text createLabeledText(final Composite parent, final String label) {
         final Label lbl = new Label(parent, SWT.NONE);
         lbl.setText(label);
@@ -106,6 +106,7 @@ public class RobotModel implements RobotElement {
             } else if (isChanged(projectDelta)) {
                 changes.add(RobotElementChange.createAddedElement(element));
                 changes.addAll(project.synchronizeChanges(delta));
+                project.getSymbolIndex().synchronizeChanges(projectDelta);
             }
         }
 
@@ -44,10 +44,12 @@ import org.rf.ide.core.testdata.model.RobotExpressions;
 import org.rf.ide.core.testdata.model.RobotProjectHolder;
 import org.robotframework.ide.eclipse.main.plugin.RedPlugin;
 import org.robotframework.ide.eclipse.main.plugin.RedWorkspace;
+import org.robotframework.ide.eclipse.main.plugin.model.symbols.SymbolIndex;
 import org.robotframework.ide.eclipse.main.plugin.project.LibrariesWatchHandler;
 import org.robotframework.ide.eclipse.main.plugin.project.RedEclipseProjectConfig;
 import org.robotframework.ide.eclipse.main.plugin.project.RedEclipseProjectConfig.PathResolvingException;
 import org.robotframework.ide.eclipse.main.plugin.project.RedEclipseProjectConfigReader;
+import org.robotframework.ide.eclipse.main.plugin.project.build.ResourceImportsGraph;
 import org.robotframework.ide.eclipse.main.plugin.project.editor.RedProjectEditor;
 import org.robotframework.ide.eclipse.main.plugin.project.editor.RedProjectEditorInput;
 import org.robotframework.ide.eclipse.main.plugin.project.library.LibrarySpecification;
@@ -77,6 +79,10 @@ public class RobotProject extends RobotContainer {
 
     private final Map<String, RobotDryRunKeywordSource> kwSources = new ConcurrentHashMap<>();
 
+    private final ResourceImportsGraph resourceImportsGraph = new ResourceImportsGraph();
+
+    private final SymbolIndex symbolIndex = new SymbolIndex();
+
     RobotProject(final RobotModel model, final IProject project) {
         super(model, project);
         librariesWatchHandler = new LibrariesWatchHandler(this);
@@ -306,6 +312,8 @@ public class RobotProject extends RobotContainer {
         projectHolder = null;
         clearConfiguration();
         clearKwSources();
+        resourceImportsGraph.clear();
+        symbolIndex.clear();
     }
 
     public synchronized void clearConfiguration() {
@@ -319,6 +327,14 @@ public class RobotProject extends RobotContainer {
         kwSources.clear();
     }
 
+    public ResourceImportsGraph getResourceImportsGraph() {
+        return resourceImportsGraph;
+    }
+
+    public SymbolIndex getSymbolIndex() {
+        return symbolIndex;
+    }
+
     public synchronized RobotRuntimeEnvironment getRuntimeEnvironment() {
         readProjectConfigurationIfNeeded();
         if (configuration == null || configuration.usesPreferences()) {
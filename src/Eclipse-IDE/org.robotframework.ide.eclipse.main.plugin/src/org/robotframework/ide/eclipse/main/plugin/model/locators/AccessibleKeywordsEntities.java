@@ -14,6 +14,7 @@ import java.util.Map;
 
 import org.eclipse.core.runtime.IPath;
 import org.rf.ide.core.testdata.model.search.keyword.KeywordScope;
+import org.rf.ide.core.testdata.model.search.keyword.KeywordSearchIndex;
 import org.rf.ide.core.testdata.model.search.keyword.KeywordSearcher;
 import org.rf.ide.core.testdata.model.search.keyword.KeywordSearcher.Extractor;
 import org.rf.ide.core.testdata.model.table.keywords.names.QualifiedKeywordName;
@@ -34,6 +35,15 @@ public class AccessibleKeywordsEntities {
 
     private Map<String, Collection<KeywordEntity>> accessibleKeywords;
 
+    // derived from accessible keywords, which are collected only once
+    private Collection<KeywordEntity> accessibleKeywordsDeduplicated;
+
+    private ListMultimap<KeywordScope, KeywordEntity> possibleKeywords;
+
+    private KeywordSearchIndex<KeywordEntity> keywordsIndex;
+
+    private KeywordSearchIndex<KeywordEntity> possibleKeywordsIndex;
+
     public AccessibleKeywordsEntities(final IPath filepath, final AccessibleKeywordsCollector collector) {
         this.filepath = filepath;
         this.collector = collector;
@@ -59,33 +69,40 @@ public class AccessibleKeywordsEntities {
 
     public ListMultimap<String, KeywordEntity> findPossibleKeywords(final String keywordName,
             final boolean stopIfOneWasMatching) {
-        final Collection<KeywordEntity> filterAgainstDuplications = getAccessibleKeywordsDeduplicated();
+        if (keywordsIndex == null) {
+            keywordsIndex = new KeywordSearchIndex<>(getAccessibleKeywordsDeduplicated(), new KeywordEntityExtractor());
+        }
 
         ListMultimap<String, KeywordEntity> foundKeywords = keywordSearcher.findKeywords(getAccessibleKeywords(),
-                filterAgainstDuplications, new KeywordEntityExtractor(), keywordName, stopIfOneWasMatching);
+                keywordsIndex, keywordName, stopIfOneWasMatching);
 
         return foundKeywords;
     }
 
     protected Collection<KeywordEntity> getAccessibleKeywordsDeduplicated() {
-        final List<KeywordEntity> hereKeywords = new ArrayList<>();
-        for (Collection<KeywordEntity> k : getAccessibleKeywords().values()) {
-            hereKeywords.addAll(k);
+        if (accessibleKeywordsDeduplicated == null) {
+            final List<KeywordEntity> hereKeywords = new ArrayList<>();
+            for (Collection<KeywordEntity> k : getAccessibleKeywords().values()) {
+                hereKeywords.addAll(k);
+            }
+            accessibleKeywordsDeduplicated = filterDuplicates(hereKeywords);
         }
-        final Collection<KeywordEntity> filterAgainstDuplications = filterDuplicates(hereKeywords);
-        return filterAgainstDuplications;
+        return accessibleKeywordsDeduplicated;
     }
 
     public ListMultimap<KeywordScope, KeywordEntity> getPossibleKeywords() {
-        final Map<String, Collection<KeywordEntity>> allKeywords = getAccessibleKeywords();
-        final ListMultimap<KeywordScope, KeywordEntity> scopedKeywords = ArrayListMultimap.create();
-
-        for (final Collection<KeywordEntity> entities : allKeywords.values()) {
-            for (final KeywordEntity entity : filterDuplicates(entities)) {
-                scopedKeywords.put(entity.getScope(getFilepath()), entity);
+        if (possibleKeywords == null) {
+            final Map<String, Collection<KeywordEntity>> allKeywords = getAccessibleKeywords();
+            final ListMultimap<KeywordScope, KeywordEntity> scopedKeywords = ArrayListMultimap.create();
+
+            for (final Collection<KeywordEntity> entities : allKeywords.values()) {
+                for (final KeywordEntity entity : filterDuplicates(entities)) {
+                    scopedKeywords.put(entity.getScope(getFilepath()), entity);
+                }
             }
+            possibleKeywords = scopedKeywords;
         }
-        return scopedKeywords;
+        return possibleKeywords;
     }
 
     public ListMultimap<KeywordScope, KeywordEntity> getPossibleKeywords(
@@ -105,11 +122,15 @@ public class AccessibleKeywordsEntities {
     public ListMultimap<KeywordScope, KeywordEntity> getPossibleKeywords(final String keywordName,
             final boolean stopIfOneWasMatching) {
 
-        List<KeywordEntity> hereKeywords = new ArrayList<>();
-        hereKeywords.addAll(getPossibleKeywords().values());
+        if (possibleKeywordsIndex == null) {
+            List<KeywordEntity> hereKeywords = new ArrayList<>();
+            hereKeywords.addAll(getPossibleKeywords().values());
+            possibleKeywordsIndex = new KeywordSearchIndex<>(filterDuplicates(hereKeywords),
+                    new KeywordEntityExtractor());
+        }
 
         ListMultimap<String, KeywordEntity> foundKeywords = keywordSearcher.findKeywords(getAccessibleKeywords(),
-                filterDuplicates(hereKeywords), new KeywordEntityExtractor(), keywordName, stopIfOneWasMatching);
+                possibleKeywordsIndex, keywordName, stopIfOneWasMatching);
 
         return getPossibleKeywords(foundKeywords, keywordName);
     }
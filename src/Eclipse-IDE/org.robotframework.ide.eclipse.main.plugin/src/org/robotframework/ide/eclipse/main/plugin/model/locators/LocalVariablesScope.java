@@ -0,0 +1,346 @@
+/*
+ * Copyright 2017 Nokia Solutions and Networks
+ * Licensed under the Apache License, Version 2.0,
+ * see license.txt file for details.
+ */
+package org.robotframework.ide.eclipse.main.plugin.model.locators;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.rf.ide.core.testdata.model.AModelElement;
+import org.rf.ide.core.testdata.model.table.IExecutableStepsHolder;
+import org.rf.ide.core.testdata.model.table.RobotExecutableRow;
+import org.rf.ide.core.testdata.model.table.exec.descs.IExecutableRowDescriptor;
+import org.rf.ide.core.testdata.model.table.exec.descs.ast.mapping.VariableDeclaration;
+import org.rf.ide.core.testdata.model.table.keywords.KeywordArguments;
+import org.rf.ide.core.testdata.model.table.keywords.names.EmbeddedKeywordNamesSupport;
+import org.rf.ide.core.testdata.text.read.recognizer.RobotToken;
+import org.robotframework.ide.eclipse.main.plugin.model.IRobotCodeHoldingElement;
+import org.robotframework.ide.eclipse.main.plugin.model.RobotDefinitionSetting;
+import org.robotframework.ide.eclipse.main.plugin.model.RobotFileInternalElement;
+import org.robotframework.ide.eclipse.main.plugin.model.RobotKeywordCall;
+import org.robotframework.ide.eclipse.main.plugin.model.RobotKeywordDefinition;
+import org.robotframework.ide.eclipse.main.plugin.model.locators.VariableDefinitionLocator.VariableDetector;
+
+/**
+ * Table of local variables of single test case or keyword body: keyword arguments (declared and
+ * embedded in name) and variables created by the calls (assignments and for loop variables) together
+ * with index of the call creating them. The table is built once and reused as long as the body is not
+ * changed, so variables visible at given call are found with binary search instead of describing all
+ * the previous calls again. The table is kept by the test case or keyword model itself, so it is
+ * dropped together with the model when the file is parsed again.
+ */
+final class LocalVariablesScope {
+
+    private final BodySnapshot snapshot;
+
+    private final List<LocalVariable> variables;
+
+    private LocalVariablesScope(final BodySnapshot snapshot, final List<LocalVariable> variables) {
+        this.snapshot = snapshot;
+        this.variables = variables;
+    }
+
+    static LocalVariablesScope of(final IRobotCodeHoldingElement body) {
+        final IExecutableStepsHolder<?> holder = BodySnapshot.getHolder(body);
+        if (holder == null) {
+            return build(body);
+        }
+        final Object scope = holder.getLocalVariablesScope();
+        if (scope instanceof LocalVariablesScope && ((LocalVariablesScope) scope).snapshot.isValidFor(body)) {
+            return (LocalVariablesScope) scope;
+        }
+        final LocalVariablesScope newScope = build(body);
+        holder.setLocalVariablesScope(newScope);
+        return newScope;
+    }
+
+    private static LocalVariablesScope build(final IRobotCodeHoldingElement body) {
+        final List<LocalVariable> variables = new ArrayList<>();
+        final BodySnapshot snapshot = new BodySnapshot(body);
+
+        if (body instanceof RobotKeywordDefinition) {
+            final RobotKeywordDefinition keywordDef = (RobotKeywordDefinition) body;
+            final RobotDefinitionSetting argumentsSetting = keywordDef.getArgumentsSetting();
+            final AModelElement<?> linkedElement = argumentsSetting == null ? null
+                    : argumentsSetting.getLinkedElement();
+            if (linkedElement instanceof KeywordArguments) {
+                for (final RobotToken token : ((KeywordArguments) linkedElement).getArguments()) {
+                    variables.add(new ArgumentVariable(argumentsSetting, token));
+                }
+            }
+            for (final VariableDeclaration declaration : keywordDef.getEmbeddedArguments()) {
+                variables.add(new EmbeddedArgumentVariable(keywordDef, declaration));
+            }
+        }
+
+        final List<RobotKeywordCall> children = body.getChildren();
+        for (int i = 0; i < children.size(); i++) {
+            final IExecutableRowDescriptor<?> descriptor = snapshot.descriptors[i];
+            if (descriptor != null) {
+                for (final VariableDeclaration declaration : descriptor.getCreatedVariables()) {
+                    variables.add(new CreatedVariable(i, children.get(i), declaration));
+                }
+            }
+        }
+        return new LocalVariablesScope(snapshot, variables);
+    }
+
+    /**
+     * Reports the variables visible at the call with given index to the detector, in the order
+     * of definition. Arguments are visible even when the call is not found in the body (index -1).
+     */
+    ContinueDecision detectVisibleVariables(final VariableDetector detector, final int callIndex) {
+        final int visibleCount = countDefinedBefore(Math.max(callIndex, 0));
+        for (int i = 0; i < visibleCount; i++) {
+            final LocalVariable variable = variables.get(i);
+            final ContinueDecision shouldContinue = detector.localVariableDetected(variable.getElement(),
+                    variable.getToken());
+            if (shouldContinue == ContinueDecision.STOP) {
+                return ContinueDecision.STOP;
+            }
+        }
+        return ContinueDecision.CONTINUE;
+    }
+
+    private int countDefinedBefore(final int callIndex) {
+        int low = 0;
+        int high = variables.size();
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+            if (variables.get(mid).getCallIndex() < callIndex) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static abstract class LocalVariable {
+
+        abstract int getCallIndex();
+
+        abstract RobotFileInternalElement getElement();
+
+        abstract RobotToken getToken();
+    }
+
+    private static final class ArgumentVariable extends LocalVariable {
+
+        private final RobotDefinitionSetting argumentsSetting;
+
+        private final RobotToken token;
+
+        ArgumentVariable(final RobotDefinitionSetting argumentsSetting, final RobotToken token) {
+            this.argumentsSetting = argumentsSetting;
+            this.token = token;
+        }
+
+        @Override
+        int getCallIndex() {
+            return -1;
+        }
+
+        @Override
+        RobotFileInternalElement getElement() {
+            return argumentsSetting;
+        }
+
+        @Override
+        RobotToken getToken() {
+            return token;
+        }
+    }
+
+    private static final class EmbeddedArgumentVariable extends LocalVariable {
+
+        private final RobotKeywordDefinition keywordDef;
+
+        private final VariableDeclaration declaration;
+
+        EmbeddedArgumentVariable(final RobotKeywordDefinition keywordDef, final VariableDeclaration declaration) {
+            this.keywordDef = keywordDef;
+            this.declaration = declaration;
+        }
+
+        @Override
+        int getCallIndex() {
+            return -1;
+        }
+
+        @Override
+        RobotFileInternalElement getElement() {
+            return keywordDef;
+        }
+
+        @Override
+        RobotToken getToken() {
+            final RobotToken variableAsToken = declaration.asToken();
+            variableAsToken.setText(EmbeddedKeywordNamesSupport.removeRegex(variableAsToken.getText()));
+            return variableAsToken;
+        }
+    }
+
+    private static final class CreatedVariable extends LocalVariable {
+
+        private final int callIndex;
+
+        private final RobotKeywordCall call;
+
+        private final VariableDeclaration declaration;
+
+        CreatedVariable(final int callIndex, final RobotKeywordCall call, final VariableDeclaration declaration) {
+            this.callIndex = callIndex;
+            this.call = call;
+            this.declaration = declaration;
+        }
+
+        @Override
+        int getCallIndex() {
+            return callIndex;
+        }
+
+        @Override
+        RobotFileInternalElement getElement() {
+            return call;
+        }
+
+        @Override
+        RobotToken getToken() {
+            return declaration.asToken();
+        }
+    }
+
+    /**
+     * Identities of the body children, their model elements and descriptors, as well as modification
+     * stamps of keyword name and arguments. Descriptors of executable rows are reused by the rows
+     * until their tokens change, so comparing them by identity detects changed calls. As long as
+     * neither the test/keyword nor any observed token is modified the children are not compared at
+     * all.
+     */
+    private static final class BodySnapshot {
+
+        private final IRobotCodeHoldingElement body;
+
+        private final IExecutableStepsHolder<?> holder;
+
+        private volatile int holderStamp;
+
+        private volatile int tokensStamp;
+
+        private final RobotToken name;
+
+        private final int nameStamp;
+
+        private final RobotKeywordCall[] children;
+
+        private final AModelElement<?>[] linkedElements;
+
+        private final IExecutableRowDescriptor<?>[] descriptors;
+
+        private final RobotToken[][] settingTokens;
+
+        private final int[][] settingStamps;
+
+        BodySnapshot(final IRobotCodeHoldingElement body) {
+            this.body = body;
+            this.holder = getHolder(body);
+            this.holderStamp = holder == null ? 0 : holder.getModificationStamp();
+            this.tokensStamp = RobotToken.getObservedModificationsCount();
+            this.name = getDeclaration(body);
+            this.nameStamp = name == null ? 0 : name.getModificationStamp();
+
+            final List<RobotKeywordCall> calls = body.getChildren();
+            this.children = calls.toArray(new RobotKeywordCall[0]);
+            this.linkedElements = new AModelElement<?>[children.length];
+            this.descriptors = new IExecutableRowDescriptor<?>[children.length];
+            this.settingTokens = new RobotToken[children.length][];
+            this.settingStamps = new int[children.length][];
+            for (int i = 0; i < children.length; i++) {
+                final AModelElement<?> linkedElement = children[i].getLinkedElement();
+                linkedElements[i] = linkedElement;
+                if (linkedElement instanceof RobotExecutableRow<?>) {
+                    descriptors[i] = ((RobotExecutableRow<?>) linkedElement).buildLineDescription();
+                } else if (linkedElement != null) {
+                    final List<RobotToken> tokens = linkedElement.getElementTokens();
+                    settingTokens[i] = tokens.toArray(new RobotToken[0]);
+                    settingStamps[i] = new int[tokens.size()];
+                    for (int j = 0; j < tokens.size(); j++) {
+                        settingStamps[i][j] = tokens.get(j).getModificationStamp();
+                    }
+                }
+            }
+        }
+
+        boolean isValidFor(final IRobotCodeHoldingElement body) {
+            final IExecutableStepsHolder<?> currentHolder = getHolder(body);
+            final int currentHolderStamp = currentHolder == null ? 0 : currentHolder.getModificationStamp();
+            final int currentTokensStamp = RobotToken.getObservedModificationsCount();
+            // the same model may be linked with other body, e.g. when editor's model is rebuilt
+            if (body != this.body || currentHolder != holder || body.getChildren().size() != children.length) {
+                return false;
+            } else if (holder != null && currentHolderStamp == holderStamp && currentTokensStamp == tokensStamp) {
+                return true;
+            } else if (!areChildrenUnchanged(body)) {
+                return false;
+            }
+            holderStamp = currentHolderStamp;
+            tokensStamp = currentTokensStamp;
+            return true;
+        }
+
+        private boolean areChildrenUnchanged(final IRobotCodeHoldingElement body) {
+            final RobotToken currentName = getDeclaration(body);
+            if (currentName != name || (name != null && name.getModificationStamp() != nameStamp)) {
+                return false;
+            }
+            final List<RobotKeywordCall> calls = body.getChildren();
+            if (calls.size() != children.length) {
+                return false;
+            }
+            for (int i = 0; i < children.length; i++) {
+                final RobotKeywordCall call = calls.get(i);
+                final AModelElement<?> linkedElement = call.getLinkedElement();
+                if (call != children[i] || linkedElement != linkedElements[i]) {
+                    return false;
+                }
+                if (linkedElement instanceof RobotExecutableRow<?>) {
+                    if (((RobotExecutableRow<?>) linkedElement).buildLineDescription() != descriptors[i]) {
+                        return false;
+                    }
+                } else if (linkedElement != null && !areSettingTokensUnchanged(i, linkedElement)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static IExecutableStepsHolder<?> getHolder(final IRobotCodeHoldingElement body) {
+            final Object linkedElement = body.getLinkedElement();
+            return linkedElement instanceof IExecutableStepsHolder<?> ? (IExecutableStepsHolder<?>) linkedElement
+                    : null;
+        }
+
+        private static RobotToken getDeclaration(final IRobotCodeHoldingElement body) {
+            final Object linkedElement = body.getLinkedElement();
+            return linkedElement instanceof AModelElement<?> ? ((AModelElement<?>) linkedElement).getDeclaration()
+                    : null;
+        }
+
+        private boolean areSettingTokensUnchanged(final int index, final AModelElement<?> setting) {
+            final List<RobotToken> tokens = setting.getElementTokens();
+            if (tokens.size() != settingTokens[index].length) {
+                return false;
+            }
+            for (int j = 0; j < tokens.size(); j++) {
+                final RobotToken token = tokens.get(j);
+                if (token != settingTokens[index][j] || token.getModificationStamp() != settingStamps[index][j]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -11,6 +11,7 @@ import java.net.URI;
 import java.util.List;
 import java.util.Optional;
 
+import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IResource;
 import org.eclipse.core.resources.IWorkspaceRoot;
 import org.eclipse.core.runtime.IPath;
@@ -32,7 +33,26 @@ public class ResourceImportsPathsResolver {
         return getWorkspaceRelativePaths(file.getResourcesPaths(), file);
     }
 
+    public static List<IPath> getWorkspaceRelativeVariablesFilesPaths(final RobotSuiteFile file) {
+        return getWorkspaceRelativePaths(file.getVariablesPaths(), file);
+    }
+
+    /**
+     * Returns paths of resource and variables files imported by given file, also of the files
+     * which do not exist yet. Relative path of missing file is resolved against the importing file.
+     */
+    public static List<IPath> getWorkspaceRelativeImportedFilesPaths(final RobotSuiteFile file) {
+        final List<IPath> resultPaths = getWorkspaceRelativePaths(file.getResourcesPaths(), file, true);
+        resultPaths.addAll(getWorkspaceRelativePaths(file.getVariablesPaths(), file, true));
+        return resultPaths;
+    }
+
     private static List<IPath> getWorkspaceRelativePaths(final List<String> paths, final RobotSuiteFile file) {
+        return getWorkspaceRelativePaths(paths, file, false);
+    }
+
+    private static List<IPath> getWorkspaceRelativePaths(final List<String> paths, final RobotSuiteFile file,
+            final boolean includeMissing) {
         final List<IPath> resultPaths = newArrayList();
 
         final RobotProject project = file.getProject();
@@ -49,10 +69,13 @@ public class ResourceImportsPathsResolver {
             } else {
                 final Optional<URI> markedUri = new ImportSearchPaths(project.createPathsProvider())
                         .findAbsoluteUri(file.getFile().getLocationURI(), resolvedImportPath.get());
-                if (!markedUri.isPresent()) {
+                if (markedUri.isPresent()) {
+                    absolutePath = markedUri.get();
+                } else if (includeMissing) {
+                    absolutePath = resolvedImportPath.get().resolveInRespectTo(file.getFile().getLocationURI());
+                } else {
                     continue;
                 }
-                absolutePath = markedUri.get();
             }
 
             final IWorkspaceRoot workspaceRoot = file.getFile().getWorkspace().getRoot();
@@ -60,6 +83,11 @@ public class ResourceImportsPathsResolver {
             final IResource resource = redWorkspace.forUri(absolutePath);
             if (resource != null) {
                 resultPaths.add(resource.getFullPath());
+            } else if (includeMissing) {
+                final IFile[] missingFiles = workspaceRoot.findFilesForLocationURI(absolutePath);
+                if (missingFiles.length > 0) {
+                    resultPaths.add(missingFiles[0].getFullPath());
+                }
             }
         }
         return resultPaths;
@@ -19,20 +19,13 @@ import org.rf.ide.core.project.RobotProjectConfig.ReferencedVariableFile;
 import org.rf.ide.core.testdata.imported.ARobotInternalVariable;
 import org.rf.ide.core.testdata.importer.AVariableImported;
 import org.rf.ide.core.testdata.importer.VariablesFileImportReference;
-import org.rf.ide.core.testdata.model.AModelElement;
 import org.rf.ide.core.testdata.model.RobotProjectHolder;
-import org.rf.ide.core.testdata.model.table.RobotExecutableRow;
-import org.rf.ide.core.testdata.model.table.exec.descs.ast.mapping.VariableDeclaration;
-import org.rf.ide.core.testdata.model.table.keywords.KeywordArguments;
-import org.rf.ide.core.testdata.model.table.keywords.names.EmbeddedKeywordNamesSupport;
 import org.rf.ide.core.testdata.text.read.recognizer.RobotToken;
 import org.robotframework.ide.eclipse.main.plugin.RedPlugin;
 import org.robotframework.ide.eclipse.main.plugin.model.IRobotCodeHoldingElement;
-import org.robotframework.ide.eclipse.main.plugin.model.RobotDefinitionSetting;
 import org.robotframework.ide.eclipse.main.plugin.model.RobotElement;
 import org.robotframework.ide.eclipse.main.plugin.model.RobotFileInternalElement;
 import org.robotframework.ide.eclipse.main.plugin.model.RobotKeywordCall;
-import org.robotframework.ide.eclipse.main.plugin.model.RobotKeywordDefinition;
 import org.robotframework.ide.eclipse.main.plugin.model.RobotModel;
 import org.robotframework.ide.eclipse.main.plugin.model.RobotSuiteFile;
 import org.robotframework.ide.eclipse.main.plugin.model.RobotVariable;
@@ -136,65 +129,9 @@ public class VariableDefinitionLocator {
         if (startingElement instanceof RobotKeywordCall) {
             final RobotKeywordCall call = (RobotKeywordCall) startingElement;
             final IRobotCodeHoldingElement parent = call.getParent();
+            final int index = parent.getChildren().indexOf(call);
 
-            final ContinueDecision shouldContinue = locateInKeywordArguments(detector, parent);
-            if (shouldContinue == ContinueDecision.STOP) {
-                return ContinueDecision.STOP;
-            }
-            return locateInPreviousCalls(detector, parent, call);
-        }
-        return ContinueDecision.CONTINUE;
-    }
-
-    private ContinueDecision locateInKeywordArguments(final VariableDetector detector,
-            final IRobotCodeHoldingElement parent) {
-        if (parent instanceof RobotKeywordDefinition) {
-            final RobotKeywordDefinition keywordDef = (RobotKeywordDefinition) parent;
-            final RobotDefinitionSetting argumentsSetting = keywordDef.getArgumentsSetting();
-            final AModelElement<?> linkedElement = argumentsSetting == null ? null
-                    : argumentsSetting.getLinkedElement();
-            if (linkedElement instanceof KeywordArguments) {
-                final KeywordArguments args = (KeywordArguments) linkedElement;
-                for (final RobotToken token : args.getArguments()) {
-                    final ContinueDecision shouldContinue = detector.localVariableDetected(argumentsSetting, token);
-                    if (shouldContinue == ContinueDecision.STOP) {
-                        return ContinueDecision.STOP;
-                    }
-                }
-            }
-            final List<VariableDeclaration> embeddedArguments = keywordDef.getEmbeddedArguments();
-            for (final VariableDeclaration declaration : embeddedArguments) {
-                final RobotToken variableAsToken = declaration.asToken();
-                variableAsToken.setText(EmbeddedKeywordNamesSupport.removeRegex(variableAsToken.getText()));
-
-                final ContinueDecision shouldContinue = detector.localVariableDetected(keywordDef, variableAsToken);
-                if (shouldContinue == ContinueDecision.STOP) {
-                    return ContinueDecision.STOP;
-                }
-            }
-        }
-        return ContinueDecision.CONTINUE;
-    }
-
-    private ContinueDecision locateInPreviousCalls(final VariableDetector detector,
-            final IRobotCodeHoldingElement parent, final RobotKeywordCall call) {
-        final List<RobotKeywordCall> children = parent.getChildren();
-        final int index = children.indexOf(call);
-
-        for (int i = 0; i < index; i++) {
-            final AModelElement<?> linkedElement = children.get(i).getLinkedElement();
-            if (linkedElement instanceof RobotExecutableRow<?>) {
-                final RobotExecutableRow<?> executableRow = (RobotExecutableRow<?>) linkedElement;
-
-                for (final VariableDeclaration variableDeclaration : executableRow.buildLineDescription()
-                        .getCreatedVariables()) {
-                    final ContinueDecision shouldContinue = detector.localVariableDetected(children.get(i),
-                            variableDeclaration.asToken());
-                    if (shouldContinue == ContinueDecision.STOP) {
-                        return ContinueDecision.STOP;
-                    }
-                }
-            }
+            return LocalVariablesScope.of(parent).detectVisibleVariables(detector, index);
         }
         return ContinueDecision.CONTINUE;
     }
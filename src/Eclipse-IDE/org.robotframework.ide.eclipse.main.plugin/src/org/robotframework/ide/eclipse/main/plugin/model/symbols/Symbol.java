@@ -0,0 +1,79 @@
+/*
+ * Copyright 2017 Nokia Solutions and Networks
+ * Licensed under the Apache License, Version 2.0,
+ * see license.txt file for details.
+ */
+package org.robotframework.ide.eclipse.main.plugin.model.symbols;
+
+import org.eclipse.core.resources.IFile;
+import org.rf.ide.core.testdata.text.read.recognizer.RobotToken;
+
+/**
+ * Definition or usage of keyword, test case or variable at given position of robot file.
+ */
+public final class Symbol {
+
+    public enum SymbolKind {
+        KEYWORD,
+        TEST_CASE,
+        VARIABLE
+    }
+
+    public enum SymbolRole {
+        DEFINITION,
+        USAGE
+    }
+
+    private final IFile file;
+
+    private final SymbolKind kind;
+
+    private final SymbolRole role;
+
+    private final String name;
+
+    private final int offset;
+
+    private final int line;
+
+    Symbol(final IFile file, final SymbolKind kind, final SymbolRole role, final RobotToken token) {
+        this.file = file;
+        this.kind = kind;
+        this.role = role;
+        this.name = token.getText();
+        this.offset = token.getStartOffset();
+        this.line = token.getLineNumber();
+    }
+
+    public IFile getFile() {
+        return file;
+    }
+
+    public SymbolKind getKind() {
+        return kind;
+    }
+
+    public SymbolRole getRole() {
+        return role;
+    }
+
+    public boolean isDefinition() {
+        return role == SymbolRole.DEFINITION;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getOffset() {
+        return offset;
+    }
+
+    public int getLength() {
+        return name.length();
+    }
+
+    public int getLine() {
+        return line;
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2017 Nokia Solutions and Networks
+ * Licensed under the Apache License, Version 2.0,
+ * see license.txt file for details.
+ */
+package org.robotframework.ide.eclipse.main.plugin.model.symbols;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.core.resources.IResourceDeltaVisitor;
+import org.eclipse.core.runtime.CoreException;
+import org.rf.ide.core.testdata.model.RobotFile;
+import org.robotframework.ide.eclipse.main.plugin.model.RobotSuiteFile;
+
+/**
+ * Definitions and usages of keywords, test cases and variables in robot files of single project.
+ * Symbols of a file are collected when they are requested for the first time and then kept until
+ * the file changes, so repeated searches do not have to parse nor walk the models again. Entries
+ * are dropped when model synchronizes resource changes and are also verified against modification
+ * stamp of the file, so changes missed by the listener are recollected as well.
+ */
+public class SymbolIndex {
+
+    private final Map<IFile, FileSymbols> filesSymbols = new HashMap<>();
+
+    public List<Symbol> getSymbols(final RobotSuiteFile suiteFile) {
+        final IFile file = suiteFile.getFile();
+        final long modificationStamp = file.getModificationStamp();
+        synchronized (this) {
+            final FileSymbols fileSymbols = filesSymbols.get(file);
+            if (fileSymbols != null && fileSymbols.modificationStamp == modificationStamp) {
+                return fileSymbols.symbols;
+            }
+        }
+
+        // parsing is done outside of the lock, so files can be indexed by many threads at once
+        suiteFile.parse();
+        final RobotFile model = suiteFile.getLinkedElement();
+        final List<Symbol> symbols = model == null ? Collections.<Symbol> emptyList()
+                : Collections.unmodifiableList(new SymbolsCollector(file).collect(model));
+        synchronized (this) {
+            filesSymbols.put(file, new FileSymbols(modificationStamp, symbols));
+        }
+        return symbols;
+    }
+
+    public synchronized boolean isIndexed(final IFile file) {
+        final FileSymbols fileSymbols = filesSymbols.get(file);
+        return fileSymbols != null && fileSymbols.modificationStamp == file.getModificationStamp();
+    }
+
+    public synchronized void synchronizeChanges(final IResourceDelta projectDelta) {
+        try {
+            projectDelta.accept(new IResourceDeltaVisitor() {
+
+                @Override
+                public boolean visit(final IResourceDelta delta) {
+                    final IResource resource = delta.getResource();
+                    if (resource.getType() == IResource.FILE && filesSymbols.containsKey(resource)
+                            && isRemovedOrChanged(delta)) {
+                        filesSymbols.remove(resource);
+                    }
+                    return true;
+                }
+            });
+        } catch (final CoreException e) {
+            clear();
+        }
+    }
+
+    private static boolean isRemovedOrChanged(final IResourceDelta delta) {
+        return delta.getKind() == IResourceDelta.REMOVED || delta.getKind() == IResourceDelta.ADDED
+                || (delta.getFlags() & (IResourceDelta.CONTENT | IResourceDelta.REPLACED)) != 0;
+    }
+
+    public synchronized void clear() {
+        filesSymbols.clear();
+    }
+
+    private static final class FileSymbols {
+
+        private final long modificationStamp;
+
+        private final List<Symbol> symbols;
+
+        private FileSymbols(final long modificationStamp, final List<Symbol> symbols) {
+            this.modificationStamp = modificationStamp;
+            this.symbols = new ArrayList<>(symbols);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2017 Nokia Solutions and Networks
+ * Licensed under the Apache License, Version 2.0,
+ * see license.txt file for details.
+ */
+package org.robotframework.ide.eclipse.main.plugin.model.symbols;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import org.eclipse.core.resources.IFile;
+import org.rf.ide.core.testdata.model.RobotFile;
+import org.rf.ide.core.testdata.model.table.RobotExecutableRow;
+import org.rf.ide.core.testdata.model.table.exec.descs.IExecutableRowDescriptor;
+import org.rf.ide.core.testdata.model.table.exec.descs.IExecutableRowDescriptor.ERowType;
+import org.rf.ide.core.testdata.model.table.exec.descs.ast.mapping.VariableDeclaration;
+import org.rf.ide.core.testdata.model.table.exec.descs.impl.ForLoopContinueRowDescriptor;
+import org.rf.ide.core.testdata.model.table.keywords.UserKeyword;
+import org.rf.ide.core.testdata.model.table.testcases.TestCase;
+import org.rf.ide.core.testdata.model.table.variables.AVariable;
+import org.rf.ide.core.testdata.text.read.IRobotLineElement;
+import org.rf.ide.core.testdata.text.read.IRobotTokenType;
+import org.rf.ide.core.testdata.text.read.RobotLine;
+import org.rf.ide.core.testdata.text.read.recognizer.RobotToken;
+import org.rf.ide.core.testdata.text.read.recognizer.RobotTokenType;
+import org.robotframework.ide.eclipse.main.plugin.model.symbols.Symbol.SymbolKind;
+import org.robotframework.ide.eclipse.main.plugin.model.symbols.Symbol.SymbolRole;
+
+/**
+ * Collects symbols from parsed model of single file.
+ */
+class SymbolsCollector {
+
+    private static final Set<RobotTokenType> KEYWORD_NAMES_IN_SETTINGS = EnumSet.of(
+            RobotTokenType.SETTING_SUITE_SETUP_KEYWORD_NAME, RobotTokenType.SETTING_SUITE_TEARDOWN_KEYWORD_NAME,
+            RobotTokenType.SETTING_TEST_SETUP_KEYWORD_NAME, RobotTokenType.SETTING_TEST_TEARDOWN_KEYWORD_NAME,
+            RobotTokenType.SETTING_TEST_TEMPLATE_KEYWORD_NAME, RobotTokenType.TEST_CASE_SETTING_SETUP_KEYWORD_NAME,
+            RobotTokenType.TEST_CASE_SETTING_TEARDOWN_KEYWORD_NAME,
+            RobotTokenType.TEST_CASE_SETTING_TEMPLATE_KEYWORD_NAME,
+            RobotTokenType.KEYWORD_SETTING_TEARDOWN_KEYWORD_NAME);
+
+    private final IFile file;
+
+    private final List<Symbol> symbols = new ArrayList<>();
+
+    SymbolsCollector(final IFile file) {
+        this.file = file;
+    }
+
+    List<Symbol> collect(final RobotFile model) {
+        if (model.getTestCaseTable().isPresent()) {
+            for (final TestCase testCase : model.getTestCaseTable().getTestCases()) {
+                add(SymbolKind.TEST_CASE, SymbolRole.DEFINITION, testCase.getName());
+                collectFromRows(testCase.getExecutionContext());
+            }
+        }
+        if (model.getKeywordTable().isPresent()) {
+            for (final UserKeyword keyword : model.getKeywordTable().getKeywords()) {
+                add(SymbolKind.KEYWORD, SymbolRole.DEFINITION, keyword.getName());
+                collectFromRows(keyword.getExecutionContext());
+            }
+        }
+        if (model.getVariableTable().isPresent()) {
+            for (final AVariable variable : model.getVariableTable().getVariables()) {
+                add(SymbolKind.VARIABLE, SymbolRole.DEFINITION, variable.getDeclaration());
+            }
+        }
+        collectKeywordsUsedInSettings(model);
+        return symbols;
+    }
+
+    private <T> void collectFromRows(final List<RobotExecutableRow<T>> rows) {
+        for (final RobotExecutableRow<T> row : rows) {
+            if (!row.isExecutable()) {
+                continue;
+            }
+            final IExecutableRowDescriptor<T> descriptor = row.buildLineDescription();
+            if (descriptor.getRowType() == ERowType.FOR_CONTINUE) {
+                final ForLoopContinueRowDescriptor<T> loopDescriptor = (ForLoopContinueRowDescriptor<T>) descriptor;
+                add(SymbolKind.KEYWORD, SymbolRole.USAGE, loopDescriptor.getKeywordAction().getToken());
+            } else if (descriptor.getRowType() != ERowType.FOR) {
+                add(SymbolKind.KEYWORD, SymbolRole.USAGE, descriptor.getAction().getToken());
+            }
+            for (final VariableDeclaration variable : descriptor.getCreatedVariables()) {
+                add(SymbolKind.VARIABLE, SymbolRole.DEFINITION, variable.asToken());
+            }
+            for (final VariableDeclaration variable : descriptor.getUsedVariables()) {
+                add(SymbolKind.VARIABLE, SymbolRole.USAGE, variable.asToken());
+            }
+        }
+    }
+
+    private void collectKeywordsUsedInSettings(final RobotFile model) {
+        for (final RobotLine line : model.getFileContent()) {
+            for (final IRobotLineElement element : line.getLineElements()) {
+                if (element instanceof RobotToken && isKeywordNameInSetting(element.getTypes())) {
+                    add(SymbolKind.KEYWORD, SymbolRole.USAGE, (RobotToken) element);
+                }
+            }
+        }
+    }
+
+    private static boolean isKeywordNameInSetting(final List<IRobotTokenType> types) {
+        for (final IRobotTokenType type : types) {
+            if (KEYWORD_NAMES_IN_SETTINGS.contains(type)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void add(final SymbolKind kind, final SymbolRole role, final RobotToken token) {
+        if (token != null && token.getStartOffset() >= 0 && !token.getText().trim().isEmpty()) {
+            symbols.add(new Symbol(file, kind, role, token));
+        }
+    }
+}
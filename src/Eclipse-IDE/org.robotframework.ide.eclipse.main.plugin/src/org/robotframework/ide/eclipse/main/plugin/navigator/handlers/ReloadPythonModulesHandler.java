@@ -25,6 +25,7 @@ import org.robotframework.ide.eclipse.main.plugin.RedPlugin;
 import org.robotframework.ide.eclipse.main.plugin.model.RobotProject;
 import org.robotframework.ide.eclipse.main.plugin.model.RobotSuiteFile;
 import org.robotframework.ide.eclipse.main.plugin.navigator.handlers.ReloadPythonModulesHandler.E4ReloadPythonModulesHandler;
+import org.robotframework.ide.eclipse.main.plugin.project.build.libs.LibspecsCache;
 import org.robotframework.ide.eclipse.main.plugin.tableeditor.RobotFormEditor;
 import org.robotframework.red.commands.DIParameterizedHandler;
 import org.robotframework.red.viewers.Selections;
@@ -54,6 +55,8 @@ public class ReloadPythonModulesHandler extends DIParameterizedHandler<E4ReloadP
             for (final RobotRuntimeEnvironment environment : envsToReset) {
                 environment.resetCommandExecutors();
             }
+            // libspecs of libraries with changed dependencies would be restored from cache otherwise
+            LibspecsCache.getShared().purge();
 
             reparseModelsInOpenedEditors();
         }
@@ -10,6 +10,7 @@ import org.eclipse.jface.layout.GridDataFactory;
 import org.eclipse.jface.layout.GridLayoutFactory;
 import org.eclipse.jface.preference.BooleanFieldEditor;
 import org.eclipse.jface.preference.FieldEditorPreferencePage;
+import org.eclipse.jface.preference.IntegerFieldEditor;
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.events.SelectionAdapter;
 import org.eclipse.swt.events.SelectionEvent;
@@ -44,6 +45,7 @@ public class LaunchingPreferencePage extends FieldEditorPreferencePage implement
         createLink(parent);
         createRobotLaunchingPreferences(parent);
         createExecutableFileLaunchingPreferences(parent);
+        createExecutionViewPreferences(parent);
     }
 
     private void createRobotLaunchingPreferences(final Composite parent) {
@@ -72,6 +74,19 @@ public class LaunchingPreferencePage extends FieldEditorPreferencePage implement
                 .hint(150, SWT.DEFAULT)
                 .grab(true, false)
                 .applyTo(singleFileDataSourceDescription);
+
+        final BooleanFieldEditor testsOrderEditor = new BooleanFieldEditor(
+                RedPreferences.LAUNCH_RUN_FAILED_AND_SLOWEST_TESTS_FIRST, "Run failed and slowest tests first",
+                robotGroup);
+        final Button testsOrderButton = (Button) testsOrderEditor.getDescriptionControl(robotGroup);
+        GridDataFactory.fillDefaults().indent(5, 15).applyTo(testsOrderButton);
+        addField(testsOrderEditor);
+
+        final Label testsOrderDescription = new Label(robotGroup, SWT.WRAP);
+        testsOrderDescription.setText(
+                "Tests which failed in last execution are run first, then tests never run before and then the rest "
+                        + "of tests starting from the slowest one. Requires Robot supporting pre-run modifiers.");
+        GridDataFactory.fillDefaults().hint(150, SWT.DEFAULT).grab(true, false).applyTo(testsOrderDescription);
     }
 
     private void createExecutableFileLaunchingPreferences(final Composite parent) {
@@ -87,6 +102,19 @@ public class LaunchingPreferencePage extends FieldEditorPreferencePage implement
         addField(editor);
     }
 
+    private void createExecutionViewPreferences(final Composite parent) {
+        final Group viewGroup = new Group(parent, SWT.NONE);
+        viewGroup.setText("Execution view");
+        GridDataFactory.fillDefaults().indent(0, 15).grab(true, false).span(2, 1).applyTo(viewGroup);
+        GridLayoutFactory.fillDefaults().numColumns(2).applyTo(viewGroup);
+
+        final IntegerFieldEditor refreshesEditor = new IntegerFieldEditor(
+                RedPreferences.LAUNCH_EXECUTION_VIEW_REFRESHES_PER_SECOND, "Maximal number of refreshes per second",
+                viewGroup);
+        refreshesEditor.setValidRange(1, 100);
+        addField(refreshesEditor);
+    }
+
     private void createLink(final Composite parent) {
         final Link link = new Link(parent, SWT.NONE);
         GridDataFactory.fillDefaults()
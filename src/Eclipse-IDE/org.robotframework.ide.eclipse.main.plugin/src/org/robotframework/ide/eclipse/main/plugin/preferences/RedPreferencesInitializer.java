@@ -127,6 +127,8 @@ public class RedPreferencesInitializer extends AbstractPreferenceInitializer {
         preferences.putBoolean(RedPreferences.LAUNCH_USE_ARGUMENT_FILE, true);
         preferences.putBoolean(RedPreferences.LAUNCH_USE_SINGLE_COMMAND_LINE_ARGUMENT, false);
         preferences.putBoolean(RedPreferences.LAUNCH_USE_SINGLE_FILE_DATA_SOURCE, false);
+        preferences.putBoolean(RedPreferences.LAUNCH_RUN_FAILED_AND_SLOWEST_TESTS_FIRST, false);
+        preferences.putInt(RedPreferences.LAUNCH_EXECUTION_VIEW_REFRESHES_PER_SECOND, 10);
         preferences.put(RedPreferences.LAUNCH_AGENT_CONNECTION_HOST, AgentConnectionServer.DEFAULT_CONNECTION_HOST);
         preferences.putInt(RedPreferences.LAUNCH_AGENT_CONNECTION_PORT, AgentConnectionServer.DEFAULT_CONNECTION_PORT);
         preferences.putInt(RedPreferences.LAUNCH_AGENT_CONNECTION_TIMEOUT,
@@ -8,8 +8,18 @@ package org.robotframework.ide.eclipse.main.plugin.project;
 import static org.robotframework.ide.eclipse.main.plugin.RedPlugin.newCoreException;
 
 import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Consumer;
@@ -30,18 +40,37 @@ import org.rf.ide.core.execution.agent.TestsMode;
 import org.rf.ide.core.execution.server.AgentConnectionServer;
 import org.rf.ide.core.execution.server.AgentServerKeepAlive;
 import org.rf.ide.core.execution.server.AgentServerTestsStarter;
+import org.rf.ide.core.executor.EnvironmentSearchPaths;
+import org.rf.ide.core.executor.RedSystemProperties;
 import org.rf.ide.core.executor.RobotRuntimeEnvironment;
+import org.rf.ide.core.executor.TestsSharding;
 import org.rf.ide.core.testdata.model.table.variables.names.VariableNamesSupport;
 import org.robotframework.ide.eclipse.main.plugin.RedPlugin;
 import org.robotframework.ide.eclipse.main.plugin.launch.AgentConnectionServerJob;
 import org.robotframework.ide.eclipse.main.plugin.model.RobotProject;
 
+import com.google.common.base.Throwables;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hasher;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
 /**
+ * Discovers things by running robot in dry run mode. Dry run targets are split into shards which
+ * are run in parallel, each by separate robot run reporting to its own server, and results of
+ * every shard are merged afterwards. When discoverer provides a cache, results of the shard are
+ * reused as long as files of its targets and the rest of dry run inputs remain unchanged.
+ *
  * @author bembenek
+ * @param <C>
+ *            type of collector holding dry run results
  */
-public abstract class AbstractAutoDiscoverer {
+public abstract class AbstractAutoDiscoverer<C> {
+
+    // dry runs of the same discoverer for the same project would overwrite temporary suite of
+    // each other and add the same results, while other dry runs are free to run at the same time
+    private static final Set<String> RUNNING_DRY_RUNS = ConcurrentHashMap.newKeySet();
 
-    private static final AtomicBoolean IS_DRY_RUN_RUNNING = new AtomicBoolean(false);
+    private static final Object SERVER_PORT_LOCK = new Object();
 
     private static final int VIRTUAL_ENV_SEARCH_DEPTH = 1;
 
@@ -53,7 +82,9 @@ public abstract class AbstractAutoDiscoverer {
 
     private final IDryRunTargetsCollector dryRunTargetsCollector;
 
-    private AgentConnectionServerJob serverJob;
+    private final List<AgentConnectionServerJob> serverJobs = new CopyOnWriteArrayList<>();
+
+    private volatile boolean isStopped;
 
     AbstractAutoDiscoverer(final RobotProject robotProject, final List<? extends IResource> resources,
             final LibrariesSourcesCollector librariesSourcesCollector,
@@ -74,15 +105,20 @@ public abstract class AbstractAutoDiscoverer {
     abstract Job start(Shell parent);
 
     final boolean lockDryRun() {
-        return IS_DRY_RUN_RUNNING.compareAndSet(false, true);
+        return RUNNING_DRY_RUNS.add(getDryRunOwnerName(getClass(), robotProject));
     }
 
     final void unlockDryRun() {
-        IS_DRY_RUN_RUNNING.set(false);
+        RUNNING_DRY_RUNS.remove(getDryRunOwnerName(getClass(), robotProject));
+    }
+
+    static String getDryRunOwnerName(final Class<?> discovererClass, final RobotProject robotProject) {
+        return discovererClass.getSimpleName() + "_" + robotProject.getName();
     }
 
     void stopDiscovering() {
-        if (serverJob != null) {
+        isStopped = true;
+        for (final AgentConnectionServerJob serverJob : serverJobs) {
             serverJob.stopServer();
         }
     }
@@ -107,8 +143,11 @@ public abstract class AbstractAutoDiscoverer {
 
             subMonitor.subTask("Executing Robot dry run...");
             if (!subMonitor.isCanceled()) {
-                executeDryRun(runtimeEnvironment,
-                        suiteName -> subMonitor.subTask("Executing Robot dry run on suite: " + suiteName));
+                executeDryRun(runtimeEnvironment, suiteName -> {
+                    synchronized (subMonitor) {
+                        subMonitor.subTask("Executing Robot dry run on suite: " + suiteName);
+                    }
+                });
             }
             subMonitor.worked(1);
         } finally {
@@ -127,24 +166,106 @@ public abstract class AbstractAutoDiscoverer {
 
     private void executeDryRun(final RobotRuntimeEnvironment runtimeEnvironment,
             final Consumer<String> startSuiteHandler) throws InterruptedException {
+        final List<List<String>> shards = splitIntoShards(dryRunTargetsCollector.getSuiteNames());
+        final Optional<HashCode> commonInputsHash = getDryRunResultsCache().isPresent()
+                ? hashCommonInputs(runtimeEnvironment)
+                : Optional.empty();
+
+        if (shards.size() == 1) {
+            executeDryRunShard(runtimeEnvironment, shards.get(0), commonInputsHash, startSuiteHandler);
+            return;
+        }
+
+        final ExecutorService executor = Executors.newFixedThreadPool(shards.size(),
+                new ThreadFactoryBuilder().setDaemon(true).setNameFormat("RED dry run shard %d").build());
+        try {
+            final List<Future<?>> shardRuns = new ArrayList<>();
+            for (final List<String> shard : shards) {
+                shardRuns.add(executor.submit(() -> {
+                    // robot is run inside of python session, so each shard needs session of its own
+                    final RobotRuntimeEnvironment sessionEnvironment = runtimeEnvironment.withReservedSession();
+                    try {
+                        executeDryRunShard(sessionEnvironment, shard, commonInputsHash, startSuiteHandler);
+                    } finally {
+                        sessionEnvironment.releaseSession();
+                    }
+                    return null;
+                }));
+            }
+            for (final Future<?> shardRun : shardRuns) {
+                shardRun.get();
+            }
+        } catch (final ExecutionException e) {
+            Throwables.throwIfUnchecked(e.getCause());
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static List<List<String>> splitIntoShards(final List<String> suiteNames) {
+        if (suiteNames.isEmpty()) {
+            // whole project is run
+            return Collections.singletonList(suiteNames);
+        }
+        return TestsSharding.split(suiteNames, suiteName -> 1, RedSystemProperties.getDryRunSessionsCount());
+    }
+
+    private void executeDryRunShard(final RobotRuntimeEnvironment runtimeEnvironment, final List<String> suiteNames,
+            final Optional<HashCode> commonInputsHash, final Consumer<String> startSuiteHandler)
+            throws InterruptedException {
+        final String cacheKey = robotProject.getName() + "/" + String.join(";", suiteNames);
+        final Optional<HashCode> shardHash = commonInputsHash.flatMap(hash -> hashShardInputs(hash, suiteNames));
+        final Optional<DryRunResultsCache<C>> cache = getDryRunResultsCache();
+        if (cache.isPresent() && shardHash.isPresent()) {
+            final Optional<C> cachedCollector = cache.get().get(cacheKey, shardHash.get());
+            if (cachedCollector.isPresent()) {
+                mergeDryRunResults(cachedCollector.get());
+                return;
+            }
+        }
+
+        final C collector = createDryRunCollector();
+        final AtomicBoolean anySuiteStarted = new AtomicBoolean(false);
+        final RobotAgentEventListener eventListener = createDryRunEventListener(collector, suiteName -> {
+            anySuiteStarted.set(true);
+            startSuiteHandler.accept(suiteName);
+        });
+
         final String host = AgentConnectionServer.DEFAULT_CONNECTION_HOST;
-        final int port = AgentConnectionServer.findFreePort();
         final int timeout = AgentConnectionServer.DEFAULT_CONNECTION_TIMEOUT;
+        final int port;
+        final AgentConnectionServerJob serverJob;
+        synchronized (SERVER_PORT_LOCK) {
+            // the port is free only until the server of some other shard binds it
+            port = AgentConnectionServer.findFreePort();
+            serverJob = startDryRunServer(host, port, timeout, eventListener);
+            serverJobs.add(serverJob);
+        }
+        if (isStopped) {
+            serverJob.stopServer();
+            return;
+        }
 
-        serverJob = startDryRunServer(host, port, timeout, startSuiteHandler);
-
-        startDryRunClient(runtimeEnvironment, port, timeout);
+        startDryRunClient(runtimeEnvironment, port, timeout, suiteNames);
 
         serverJob.join();
+
+        if (!isStopped) {
+            mergeDryRunResults(collector);
+            if (cache.isPresent() && shardHash.isPresent() && anySuiteStarted.get()) {
+                cache.get().put(cacheKey, shardHash.get(), collector);
+            }
+        }
     }
 
     private AgentConnectionServerJob startDryRunServer(final String host, final int port, final int timeout,
-            final Consumer<String> startSuiteHandler) throws InterruptedException {
+            final RobotAgentEventListener eventListener) throws InterruptedException {
         final AgentServerTestsStarter testsStarter = new AgentServerTestsStarter(TestsMode.RUN);
         final AgentConnectionServerJob serverJob = AgentConnectionServerJob.setupServerAt(host, port)
                 .withConnectionTimeout(timeout, TimeUnit.SECONDS)
                 .agentEventsListenedBy(testsStarter)
-                .agentEventsListenedBy(createDryRunEventListener(startSuiteHandler))
+                .agentEventsListenedBy(eventListener)
                 .agentEventsListenedBy(new AgentServerKeepAlive())
                 .start()
                 .waitForServer();
@@ -154,12 +275,76 @@ public abstract class AbstractAutoDiscoverer {
         return serverJob;
     }
 
-    abstract RobotAgentEventListener createDryRunEventListener(final Consumer<String> startSuiteHandler);
+    /**
+     * @return collector of results of single dry run shard
+     */
+    abstract C createDryRunCollector();
+
+    abstract RobotAgentEventListener createDryRunEventListener(C dryRunCollector,
+            Consumer<String> startSuiteHandler);
+
+    /**
+     * Merges results of single dry run shard into the results of whole discovery. Called
+     * concurrently by parallel shards.
+     */
+    abstract void mergeDryRunResults(C dryRunCollector);
+
+    /**
+     * @return cache of results of dry run shards, if results can be reused by subsequent
+     *         discoveries
+     */
+    Optional<DryRunResultsCache<C>> getDryRunResultsCache() {
+        return Optional.empty();
+    }
 
     private void startDryRunClient(final RobotRuntimeEnvironment runtimeEnvironment, final int port,
-            final int timeout) {
-        runtimeEnvironment.startLibraryAutoDiscovering(port, timeout, dryRunTargetsCollector.getSuiteNames(),
-                getVariableMappings(), getDataSourcePaths(), librariesSourcesCollector.getEnvironmentSearchPaths());
+            final int timeout, final List<String> suiteNames) {
+        runtimeEnvironment.startLibraryAutoDiscovering(port, timeout, suiteNames, getVariableMappings(),
+                getDataSourcePaths(), librariesSourcesCollector.getEnvironmentSearchPaths());
+    }
+
+    private Optional<HashCode> hashCommonInputs(final RobotRuntimeEnvironment runtimeEnvironment) {
+        // suites may import any of the shared files, so their changes are taken into account for
+        // every shard
+        final Optional<Long> sharedFilesStamp = SharedProjectFilesStamps.getInstance()
+                .getStamp(robotProject.getProject());
+        if (runtimeEnvironment.getFile() == null || !sharedFilesStamp.isPresent()) {
+            return Optional.empty();
+        }
+        final Hasher hasher = DryRunResultsCache.newHasher();
+        DryRunResultsCache.putString(hasher, runtimeEnvironment.getFile().getAbsolutePath());
+        DryRunResultsCache.putString(hasher, runtimeEnvironment.getVersion());
+        DryRunResultsCache.putStrings(hasher, getVariableMappings());
+        DryRunResultsCache.putStrings(hasher, getDataSourcePaths());
+        final EnvironmentSearchPaths searchPaths = librariesSourcesCollector.getEnvironmentSearchPaths();
+        DryRunResultsCache.putStrings(hasher, searchPaths.getPythonPaths());
+        DryRunResultsCache.putStrings(hasher, searchPaths.getClassPaths());
+        hasher.putLong(sharedFilesStamp.get());
+        return Optional.of(hasher.hash());
+    }
+
+    private Optional<HashCode> hashShardInputs(final HashCode commonInputsHash, final List<String> suiteNames) {
+        if (suiteNames.isEmpty()) {
+            // whole project is run, so there are no known sources its results depend on
+            return Optional.empty();
+        }
+        try {
+            final Hasher hasher = DryRunResultsCache.newHasher();
+            hasher.putBytes(commonInputsHash.asBytes());
+            for (final String suiteName : suiteNames) {
+                final List<File> suiteSources = dryRunTargetsCollector.getSuiteSources(suiteName);
+                if (suiteSources.isEmpty()) {
+                    return Optional.empty();
+                }
+                DryRunResultsCache.putString(hasher, suiteName);
+                for (final File suiteSource : suiteSources) {
+                    DryRunResultsCache.putContents(hasher, suiteSource);
+                }
+            }
+            return Optional.of(hasher.hash());
+        } catch (final IOException e) {
+            return Optional.empty();
+        }
     }
 
     private List<String> getDataSourcePaths() {
@@ -191,6 +376,12 @@ public abstract class AbstractAutoDiscoverer {
         List<String> getSuiteNames();
 
         List<File> getAdditionalProjectsLocations();
+
+        /**
+         * @return files or directories which contents define given suite; empty list if results
+         *         of the suite dry run should not be reused
+         */
+        List<File> getSuiteSources(String suiteName);
     }
 
     public static class AutoDiscovererException extends RuntimeException {
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2017 Nokia Solutions and Networks
+ * Licensed under the Apache License, Version 2.0,
+ * see license.txt file for details.
+ */
+package org.robotframework.ide.eclipse.main.plugin.project;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.function.Predicate;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.google.common.io.Files;
+
+/**
+ * Results of autodiscovery dry runs kept for the time of workbench session. Results of dry run
+ * executed for some targets are stored under the key naming those targets together with the hash
+ * of their files contents and of everything else the run depends on, so the targets are not run
+ * again as long as the hash does not change. Least recently used results are dropped when the
+ * limit is exceeded.
+ *
+ * @param <C>
+ *            type of collector holding dry run results
+ */
+class DryRunResultsCache<C> {
+
+    private static final int MAX_CACHED_RESULTS = 200;
+
+    private final Predicate<C> isReusable;
+
+    private final Map<String, CachedResults<C>> cachedResults;
+
+    DryRunResultsCache(final Predicate<C> isReusable) {
+        this(isReusable, MAX_CACHED_RESULTS);
+    }
+
+    @VisibleForTesting
+    DryRunResultsCache(final Predicate<C> isReusable, final int maxCachedResults) {
+        this.isReusable = isReusable;
+        this.cachedResults = new LinkedHashMap<String, CachedResults<C>>(16, 0.75f, true) {
+
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<String, CachedResults<C>> eldest) {
+                return size() > maxCachedResults;
+            }
+        };
+    }
+
+    synchronized Optional<C> get(final String key, final HashCode hash) {
+        final CachedResults<C> results = cachedResults.get(key);
+        return results != null && results.hash.equals(hash) ? Optional.of(results.collector) : Optional.empty();
+    }
+
+    /**
+     * Stores given results unless they should not be reused, e.g. because they contain problems
+     * which may be caused by the environment rather than by the targets.
+     */
+    synchronized void put(final String key, final HashCode hash, final C collector) {
+        if (isReusable.test(collector)) {
+            cachedResults.put(key, new CachedResults<>(hash, collector));
+        } else {
+            cachedResults.remove(key);
+        }
+    }
+
+    @VisibleForTesting
+    synchronized int size() {
+        return cachedResults.size();
+    }
+
+    static Hasher newHasher() {
+        return Hashing.sha256().newHasher();
+    }
+
+    static void putString(final Hasher hasher, final String value) {
+        final String nonNullValue = value == null ? "" : value;
+        hasher.putInt(nonNullValue.length()).putString(nonNullValue, StandardCharsets.UTF_8);
+    }
+
+    static void putStrings(final Hasher hasher, final Collection<String> values) {
+        hasher.putInt(values.size());
+        for (final String value : values) {
+            putString(hasher, value);
+        }
+    }
+
+    /**
+     * Puts contents of given file, or of all the files inside given directory tree, into the
+     * hasher. Hidden and compiled files are skipped.
+     */
+    static void putContents(final Hasher hasher, final File file) throws IOException {
+        putString(hasher, file.getAbsolutePath());
+        if (file.isFile()) {
+            hasher.putBytes(Files.asByteSource(file).hash(Hashing.sha256()).asBytes());
+
+        } else if (file.isDirectory()) {
+            final String[] children = file.list();
+            if (children == null) {
+                throw new IOException("Unable to list " + file);
+            }
+            for (final String child : new TreeSet<>(Arrays.asList(children))) {
+                if (!isCompiledOrHidden(child)) {
+                    putContents(hasher, new File(file, child));
+                }
+            }
+        } else {
+            throw new IOException("File " + file + " does not exist");
+        }
+    }
+
+    private static boolean isCompiledOrHidden(final String fileName) {
+        return fileName.startsWith(".") || fileName.equals("__pycache__") || fileName.endsWith(".pyc")
+                || fileName.endsWith(".pyo") || fileName.endsWith(".class");
+    }
+
+    private static final class CachedResults<C> {
+
+        private final HashCode hash;
+
+        private final C collector;
+
+        private CachedResults(final HashCode hash, final C collector) {
+            this.hash = hash;
+            this.collector = collector;
+        }
+    }
+}
@@ -30,7 +30,7 @@ import com.google.common.io.Files;
 /**
  * @author bembenek
  */
-public class KeywordsAutoDiscoverer extends AbstractAutoDiscoverer {
+public class KeywordsAutoDiscoverer extends AbstractAutoDiscoverer<RobotDryRunKeywordSourceCollector> {
 
     private final RobotDryRunKeywordSourceCollector dryRunLKeywordSourceCollector;
 
@@ -41,8 +41,19 @@ public class KeywordsAutoDiscoverer extends AbstractAutoDiscoverer {
     }
 
     @Override
-    RobotDryRunKeywordEventListener createDryRunEventListener(final Consumer<String> startSuiteHandler) {
-        return new RobotDryRunKeywordEventListener(dryRunLKeywordSourceCollector, startSuiteHandler);
+    RobotDryRunKeywordSourceCollector createDryRunCollector() {
+        return new RobotDryRunKeywordSourceCollector();
+    }
+
+    @Override
+    RobotDryRunKeywordEventListener createDryRunEventListener(final RobotDryRunKeywordSourceCollector dryRunCollector,
+            final Consumer<String> startSuiteHandler) {
+        return new RobotDryRunKeywordEventListener(dryRunCollector, startSuiteHandler);
+    }
+
+    @Override
+    void mergeDryRunResults(final RobotDryRunKeywordSourceCollector dryRunCollector) {
+        dryRunLKeywordSourceCollector.merge(dryRunCollector);
     }
 
     @Override
@@ -96,7 +107,8 @@ public class KeywordsAutoDiscoverer extends AbstractAutoDiscoverer {
                 final List<? extends IResource> resources) {
             final List<String> libraryNames = collectLibraryNames(robotProject);
             if (!libraryNames.isEmpty()) {
-                final File tempSuiteFile = RobotDryRunTemporarySuites.createLibraryFile(libraryNames);
+                final File tempSuiteFile = RobotDryRunTemporarySuites.createLibraryFile(
+                        getDryRunOwnerName(KeywordsAutoDiscoverer.class, robotProject), libraryNames);
                 if (tempSuiteFile != null) {
                     suiteNames.add(Files.getNameWithoutExtension(tempSuiteFile.getPath()));
                     additionalProjectsLocations.add(tempSuiteFile.getParentFile());
@@ -122,5 +134,11 @@ public class KeywordsAutoDiscoverer extends AbstractAutoDiscoverer {
         public List<File> getAdditionalProjectsLocations() {
             return additionalProjectsLocations;
         }
+
+        @Override
+        public List<File> getSuiteSources(final String suiteName) {
+            // keywords sources depend on libraries, not on the temporary suite importing them
+            return new ArrayList<>();
+        }
     }
 }
@@ -9,10 +9,13 @@ import java.io.File;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.function.Consumer;
 
+import org.eclipse.core.resources.IContainer;
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IResource;
 import org.eclipse.core.resources.WorkspaceJob;
@@ -54,7 +57,13 @@ import com.google.common.io.Files;
 /**
  * @author mmarzec
  */
-public class LibrariesAutoDiscoverer extends AbstractAutoDiscoverer {
+public class LibrariesAutoDiscoverer extends AbstractAutoDiscoverer<RobotDryRunLibraryImportCollector> {
+
+    // failed imports may be caused by environment, so those are discovered again every time
+    private static final DryRunResultsCache<RobotDryRunLibraryImportCollector> DRY_RUN_RESULTS_CACHE =
+            new DryRunResultsCache<>(collector -> collector.getImportedLibraries()
+                    .stream()
+                    .noneMatch(libraryImport -> libraryImport.getStatus() == DryRunLibraryImportStatus.NOT_ADDED));
 
     private final boolean showSummary;
 
@@ -87,8 +96,24 @@ public class LibrariesAutoDiscoverer extends AbstractAutoDiscoverer {
     }
 
     @Override
-    RobotDryRunLibraryEventListener createDryRunEventListener(final Consumer<String> startSuiteHandler) {
-        return new RobotDryRunLibraryEventListener(dryRunLibraryImportCollector, startSuiteHandler);
+    RobotDryRunLibraryImportCollector createDryRunCollector() {
+        return new RobotDryRunLibraryImportCollector(robotProject.getStandardLibraries().keySet());
+    }
+
+    @Override
+    RobotDryRunLibraryEventListener createDryRunEventListener(final RobotDryRunLibraryImportCollector dryRunCollector,
+            final Consumer<String> startSuiteHandler) {
+        return new RobotDryRunLibraryEventListener(dryRunCollector, startSuiteHandler);
+    }
+
+    @Override
+    void mergeDryRunResults(final RobotDryRunLibraryImportCollector dryRunCollector) {
+        dryRunLibraryImportCollector.merge(dryRunCollector);
+    }
+
+    @Override
+    Optional<DryRunResultsCache<RobotDryRunLibraryImportCollector>> getDryRunResultsCache() {
+        return Optional.of(DRY_RUN_RESULTS_CACHE);
     }
 
     @Override
@@ -176,30 +201,75 @@ public class LibrariesAutoDiscoverer extends AbstractAutoDiscoverer {
 
         private final List<File> additionalProjectsLocations = new ArrayList<>();
 
+        private final Map<String, List<File>> suitesSources = new HashMap<>();
+
         @Override
         public void collectSuiteNamesAndAdditionalProjectsLocations(final RobotProject robotProject,
                 final List<? extends IResource> resources) {
             final List<String> resourcesPaths = new ArrayList<>();
-            for (final IResource resource : resources) {
+            final List<File> resourcesFiles = new ArrayList<>();
+            // whole project is run as its top-level suites, so that it can be split into shards
+            for (final IResource resource : resources.isEmpty() ? collectTopLevelSuites(robotProject) : resources) {
                 if (isResourceFile(resource)) {
                     final IPath resourceFilePath = RedWorkspace.Paths
                             .toWorkspaceRelativeIfPossible(resource.getProjectRelativePath());
                     resourcesPaths.add(resourceFilePath.toString());
+                    addLocation(resource, resourcesFiles);
                 } else if (resource.isLinked()) {
                     collectLinkedSuiteNamesAndProjectsLocations(resource);
                 } else {
-                    suiteNames.add(RobotPathsNaming.createSuiteName(resource));
+                    final String suiteName = RobotPathsNaming.createSuiteName(resource);
+                    suiteNames.add(suiteName);
+                    addLocation(resource, suitesSources.computeIfAbsent(suiteName, name -> new ArrayList<>()));
                 }
             }
             if (!resourcesPaths.isEmpty()) {
-                final File tempSuiteFile = RobotDryRunTemporarySuites.createResourceFile(resourcesPaths);
+                final File tempSuiteFile = RobotDryRunTemporarySuites.createResourceFile(
+                        getDryRunOwnerName(LibrariesAutoDiscoverer.class, robotProject), resourcesPaths);
                 if (tempSuiteFile != null) {
-                    suiteNames.add(Files.getNameWithoutExtension(tempSuiteFile.getPath()));
+                    final String suiteName = Files.getNameWithoutExtension(tempSuiteFile.getPath());
+                    suiteNames.add(suiteName);
                     additionalProjectsLocations.add(tempSuiteFile.getParentFile());
+                    suitesSources.put(suiteName, resourcesFiles);
                 }
             }
         }
 
+        private static List<IResource> collectTopLevelSuites(final RobotProject robotProject) {
+            final List<IResource> topLevelSuites = new ArrayList<>();
+            try {
+                for (final IResource member : robotProject.getProject().members()) {
+                    if (!member.getName().startsWith(".") && containsSuites(member)) {
+                        topLevelSuites.add(member);
+                    }
+                }
+            } catch (final CoreException e) {
+                // whole project will be run at once
+                return new ArrayList<>();
+            }
+            return topLevelSuites;
+        }
+
+        private static boolean containsSuites(final IResource resource) throws CoreException {
+            if (resource.getType() == IResource.FILE) {
+                return ASuiteFileDescriber.isSuiteFile((IFile) resource);
+            } else if (resource instanceof IContainer && resource.isAccessible()) {
+                for (final IResource member : ((IContainer) resource).members()) {
+                    if (containsSuites(member)) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+
+        private static void addLocation(final IResource resource, final List<File> locations) {
+            final IPath location = resource.getLocation();
+            if (location != null) {
+                locations.add(location.toFile());
+            }
+        }
+
         private boolean isResourceFile(final IResource resource) {
             RobotSuiteFile suiteFile = null;
             if (resource.getType() == IResource.FILE) {
@@ -213,7 +283,9 @@ public class LibrariesAutoDiscoverer extends AbstractAutoDiscoverer {
             if (linkedFileLocation != null) {
                 final File linkedFile = linkedFileLocation.toFile();
                 if (linkedFile.exists()) {
-                    suiteNames.add(Files.getNameWithoutExtension(linkedFile.getName()));
+                    final String suiteName = Files.getNameWithoutExtension(linkedFile.getName());
+                    suiteNames.add(suiteName);
+                    suitesSources.computeIfAbsent(suiteName, name -> new ArrayList<>()).add(linkedFile);
                     final File linkedFileParentPath = linkedFile.getParentFile();
                     if (!additionalProjectsLocations.contains(linkedFileParentPath)) {
                         additionalProjectsLocations.add(linkedFileParentPath);
@@ -232,6 +304,11 @@ public class LibrariesAutoDiscoverer extends AbstractAutoDiscoverer {
             return additionalProjectsLocations;
         }
 
+        @Override
+        public List<File> getSuiteSources(final String suiteName) {
+            return suitesSources.getOrDefault(suiteName, new ArrayList<>());
+        }
+
     }
 
     private static class ImportedLibrariesConfigUpdater extends LibrariesConfigUpdater {
@@ -5,8 +5,9 @@
  */
 package org.robotframework.ide.eclipse.main.plugin.project;
 
+import static com.google.common.collect.Lists.newArrayList;
+
 import java.io.File;
-import java.io.FilenameFilter;
 import java.lang.reflect.InvocationTargetException;
 import java.nio.file.Path;
 import java.util.ArrayList;
@@ -64,8 +65,8 @@ public class LibrariesWatchHandler implements IWatchEventHandler {
 
     private IEventBroker eventBroker = null;
 
-    private final ListMultimap<LibrarySpecification, String> registeredLibrarySpecifications = Multimaps
-            .synchronizedListMultimap(ArrayListMultimap.<LibrarySpecification, String> create());
+    private final ListMultimap<LibrarySpecification, Path> registeredLibrarySpecifications = Multimaps
+            .synchronizedListMultimap(ArrayListMultimap.<LibrarySpecification, Path> create());
 
     private final Set<LibrarySpecification> dirtySpecs = Collections.synchronizedSet(new HashSet<LibrarySpecification>());
 
@@ -87,16 +88,9 @@ public class LibrariesWatchHandler implements IWatchEventHandler {
                 final File libFile = new File(absolutePathToLibraryFile);
                 final File libDir = libFile.getParentFile();
                 if (libDir != null && libDir.exists() && libDir.isDirectory()) {
-                    if (isPythonModule(absolutePathToLibraryFile)) {
-                        final String[] moduleFilesList = extractPythonModuleFiles(libDir);
-                        if (moduleFilesList != null) {
-                            for (int i = 0; i < moduleFilesList.length; i++) {
-                                addLibraryToWatch(moduleFilesList[i], libDir.toPath(), spec);
-                            }
-                        }
-                    } else {
-                        addLibraryToWatch(libFile.getName(), libDir.toPath(), spec);
-                    }
+                    // whole module tree is watched, so that its submodules are watched too
+                    final File watchedFile = isPythonModule(absolutePathToLibraryFile) ? libDir : libFile;
+                    addLibraryToWatch(toWatchedPath(watchedFile), spec);
                 }
             }
         }
@@ -109,15 +103,10 @@ public class LibrariesWatchHandler implements IWatchEventHandler {
                 if (path != null) {
                     final File libFile = new File(path);
                     final File libDir = libFile.getParentFile();
-                    if (isPythonModule(path) && libDir != null && libDir.exists()) {
-                        final String[] moduleFilesList = extractPythonModuleFiles(libDir);
-                        if (moduleFilesList != null) {
-                            for (int i = 0; i < moduleFilesList.length; i++) {
-                                removeLibraryToWatch(moduleFilesList[i]);
-                            }
-                        }
+                    if (isPythonModule(path) && libDir != null) {
+                        removeLibraryToWatch(toWatchedPath(libDir));
                     } else {
-                        removeLibraryToWatch(libFile.getName());
+                        removeLibraryToWatch(toWatchedPath(libFile));
                     }
                     registeredRefLibraries.remove(referencedLibrary);
                 }
@@ -129,45 +118,40 @@ public class LibrariesWatchHandler implements IWatchEventHandler {
         return absolutePathToLibraryFile.endsWith("__init__.py");
     }
 
-    private String[] extractPythonModuleFiles(final File fileDir) {
-        return fileDir.list(new FilenameFilter() {
-
-            @Override
-            public boolean accept(final File dir, final String name) {
-                if (name.endsWith(".py")) {
-                    return true;
-                }
-                return false;
-            }
-        });
+    private static Path toWatchedPath(final File file) {
+        return file.toPath().toAbsolutePath().normalize();
+    }
+
+    private static boolean isPythonFile(final Path path) {
+        return path.getFileName() != null && path.getFileName().toString().endsWith(".py");
     }
 
-    private void addLibraryToWatch(final String fileName, final Path dir, final LibrarySpecification spec) {
+    private void addLibraryToWatch(final Path path, final LibrarySpecification spec) {
         final List<LibrarySpecification> specsToReplace = new ArrayList<>();
         synchronized (registeredLibrarySpecifications) {
-            for (final Entry<LibrarySpecification, String> entry : registeredLibrarySpecifications.entries()) {
-                if (entry.getValue().equals(fileName) && entry.getKey().equalsIgnoreKeywords(spec)) {
+            for (final Entry<LibrarySpecification, Path> entry : registeredLibrarySpecifications.entries()) {
+                if (entry.getValue().equals(path) && entry.getKey().equalsIgnoreKeywords(spec)) {
                     specsToReplace.add(entry.getKey());
                 }
             }
             for (final LibrarySpecification specToReplace : specsToReplace) {
                 registeredLibrarySpecifications.removeAll(specToReplace);
             }
-            registeredLibrarySpecifications.put(spec, fileName);
+            registeredLibrarySpecifications.put(spec, path);
         }
-        registerPath(dir, fileName, this);
+        registerPath(path, this);
     }
 
-    private void removeLibraryToWatch(final String fileName) {
-        removeLibrarySpecification(fileName);
-        unregisterFile(fileName, this);
+    private void removeLibraryToWatch(final Path path) {
+        removeLibrarySpecifications(newArrayList(path));
+        unregisterPath(path, this);
     }
 
-    private void removeLibrarySpecification(final String fileName) {
+    private void removeLibrarySpecifications(final Collection<Path> paths) {
         final List<LibrarySpecification> specsToRemove = new ArrayList<>();
         synchronized (registeredLibrarySpecifications) {
-            for (final Entry<LibrarySpecification, String> entry : registeredLibrarySpecifications.entries()) {
-                if (entry.getValue().equals(fileName)) {
+            for (final Entry<LibrarySpecification, Path> entry : registeredLibrarySpecifications.entries()) {
+                if (paths.contains(entry.getValue())) {
                     specsToRemove.add(entry.getKey());
                 }
             }
@@ -187,13 +171,13 @@ public class LibrariesWatchHandler implements IWatchEventHandler {
     }
 
     @Override
-    public void registerPath(final Path dir, final String fileName, final IWatchEventHandler handler) {
-        RedFileWatcher.getInstance().registerPath(dir, fileName, this);
+    public void registerPath(final Path path, final IWatchEventHandler handler) {
+        RedFileWatcher.getInstance().registerPath(path, this);
     }
 
     @Override
-    public void unregisterFile(final String fileName, final IWatchEventHandler handler) {
-        RedFileWatcher.getInstance().unregisterFile(fileName, this);
+    public void unregisterPath(final Path path, final IWatchEventHandler handler) {
+        RedFileWatcher.getInstance().unregisterPath(path, this);
     }
 
     @Override
@@ -203,41 +187,48 @@ public class LibrariesWatchHandler implements IWatchEventHandler {
     }
 
     @Override
-    public void handleModifyEvent(final String modifiedFileName) {
-        if (registeredLibrarySpecifications.containsValue(modifiedFileName)) {
-
-            final IProject project = robotProject.getProject();
-            if (project == null || !project.exists()) {
-                clearHandler(modifiedFileName);
-                return;
+    public void handleModifyEvents(final Set<Path> changedPaths) {
+        final Set<Path> modifiedLibraryPaths = new HashSet<>();
+        final List<LibrarySpecification> libSpecsToRebuild = new ArrayList<>();
+        synchronized (registeredLibrarySpecifications) {
+            for (final Entry<LibrarySpecification, Path> entry : registeredLibrarySpecifications.entries()) {
+                if (isLibraryModified(entry.getValue(), changedPaths)) {
+                    modifiedLibraryPaths.add(entry.getValue());
+                    if (!libSpecsToRebuild.contains(entry.getKey())) {
+                        libSpecsToRebuild.add(entry.getKey());
+                    }
+                }
             }
+        }
+        if (libSpecsToRebuild.isEmpty()) {
+            return;
+        }
 
-            SwtThread.asyncExec(new Runnable() {
+        final IProject project = robotProject.getProject();
+        if (project == null || !project.exists()) {
+            clearHandler(modifiedLibraryPaths);
+            return;
+        }
 
-                @Override
-                public void run() {
-                    final List<LibrarySpecification> libSpecsToRebuild = collectModifiedLibSpecs(modifiedFileName);
-                    if (robotProject.getRobotProjectConfig().isReferencedLibrariesAutoReloadEnabled()) {
-                        rebuildLibSpecs(project, libSpecsToRebuild);
-                    } else {
-                        markLibSpecsAsModified(libSpecsToRebuild);
-                    }
-                    refreshNavigator(project);
-                }
+        // whole burst of changes results in single rebuild of every affected specification
+        SwtThread.asyncExec(() -> {
+            if (robotProject.getRobotProjectConfig().isReferencedLibrariesAutoReloadEnabled()) {
+                rebuildLibSpecs(project, libSpecsToRebuild);
+            } else {
+                markLibSpecsAsModified(libSpecsToRebuild);
+            }
+            refreshNavigator(project);
+        });
+    }
 
-                private List<LibrarySpecification> collectModifiedLibSpecs(final String modifiedFileName) {
-                    final List<LibrarySpecification> specsToRebuild = new ArrayList<>();
-                    synchronized (registeredLibrarySpecifications) {
-                        for (final Entry<LibrarySpecification, String> entry : registeredLibrarySpecifications.entries()) {
-                            if (entry.getValue().equals(modifiedFileName)) {
-                                specsToRebuild.add(entry.getKey());
-                            }
-                        }
-                    }
-                    return specsToRebuild;
-                }
-            });
+    private static boolean isLibraryModified(final Path libraryPath, final Set<Path> changedPaths) {
+        for (final Path changedPath : changedPaths) {
+            // changes of compiled files written inside of module directory do not affect the library
+            if (changedPath.equals(libraryPath) || changedPath.startsWith(libraryPath) && isPythonFile(changedPath)) {
+                return true;
+            }
         }
+        return false;
     }
 
     private void rebuildLibSpecs(final IProject project, final List<LibrarySpecification> specs) {
@@ -386,8 +377,8 @@ public class LibrariesWatchHandler implements IWatchEventHandler {
         return null;
     }
 
-    private void clearHandler(final String modifiedFileName) {
-        removeLibrarySpecification(modifiedFileName);
+    private void clearHandler(final Set<Path> modifiedLibraryPaths) {
+        removeLibrarySpecifications(modifiedLibraryPaths);
         registeredRefLibraries.clear();
     }
 
@@ -409,7 +400,7 @@ public class LibrariesWatchHandler implements IWatchEventHandler {
     /**
      * for testing purposes only
      */
-    protected ListMultimap<LibrarySpecification, String> getLibrarySpecifications() {
+    protected ListMultimap<LibrarySpecification, Path> getLibrarySpecifications() {
         return registeredLibrarySpecifications;
     }
 
@@ -0,0 +1,161 @@
+/*
+ * Copyright 2017 Nokia Solutions and Networks
+ * Licensed under the Apache License, Version 2.0,
+ * see license.txt file for details.
+ */
+package org.robotframework.ide.eclipse.main.plugin.project;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceChangeListener;
+import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.ui.PlatformUI;
+import org.rf.ide.core.project.RobotProjectConfig;
+
+/**
+ * Stamps of the files which every dry run of the project may depend on: python files, resource and
+ * initialization files and red.xml. The files of the project are looked up once, afterwards the
+ * stamp of the project is changed whenever such file is added, removed or its content changes, as
+ * reported by workspace resource deltas, so the files do not have to be visited on every
+ * discovery. Files modified outside of workspace are taken into account once they are refreshed.
+ * Stamps are unique for the workbench session.
+ */
+class SharedProjectFilesStamps {
+
+    private static final AtomicLong STAMPS = new AtomicLong();
+
+    private static final int CONTENT_CHANGES = IResourceDelta.CONTENT | IResourceDelta.REPLACED
+            | IResourceDelta.TYPE;
+
+    private static class InstanceHolder {
+        private static final SharedProjectFilesStamps INSTANCE = new SharedProjectFilesStamps();
+    }
+
+    // guarded by this
+    private final Map<IProject, TrackedFiles> trackedProjects = new HashMap<>();
+
+    private final boolean isTracking;
+
+    private SharedProjectFilesStamps() {
+        isTracking = PlatformUI.isWorkbenchRunning();
+        if (isTracking) {
+            final IResourceChangeListener listener = this::resourceChanged;
+            ResourcesPlugin.getWorkspace().addResourceChangeListener(listener, IResourceChangeEvent.POST_CHANGE);
+        }
+    }
+
+    static SharedProjectFilesStamps getInstance() {
+        return InstanceHolder.INSTANCE;
+    }
+
+    /**
+     * @return stamp which changes whenever file shared by all the suites of given project is
+     *         added, removed or changed; empty if changes of the project are not tracked
+     */
+    synchronized Optional<Long> getStamp(final IProject project) {
+        if (!isTracking || !project.isOpen()) {
+            return Optional.empty();
+        }
+        TrackedFiles trackedFiles = trackedProjects.get(project);
+        if (trackedFiles == null) {
+            try {
+                trackedFiles = new TrackedFiles(collectSharedFiles(project));
+            } catch (final CoreException e) {
+                return Optional.empty();
+            }
+            trackedProjects.put(project, trackedFiles);
+        }
+        return Optional.of(trackedFiles.stamp);
+    }
+
+    private synchronized void resourceChanged(final IResourceChangeEvent event) {
+        if (trackedProjects.isEmpty() || event.getDelta() == null) {
+            return;
+        }
+        for (final IResourceDelta projectDelta : event.getDelta().getAffectedChildren()) {
+            final IResource project = projectDelta.getResource();
+            final TrackedFiles trackedFiles = trackedProjects.get(project);
+            if (trackedFiles == null) {
+                continue;
+            } else if (projectDelta.getKind() == IResourceDelta.REMOVED
+                    || (projectDelta.getFlags() & IResourceDelta.OPEN) != 0) {
+                trackedProjects.remove(project);
+                continue;
+            }
+            try {
+                projectDelta.accept(trackedFiles::update);
+            } catch (final CoreException e) {
+                // the files will be looked up again when the stamp is needed
+                trackedProjects.remove(project);
+            }
+        }
+    }
+
+    private static Set<IPath> collectSharedFiles(final IProject project) throws CoreException {
+        final Set<IPath> sharedFiles = new HashSet<>();
+        project.accept(resource -> {
+            if (resource.getType() == IResource.FILE) {
+                if (isSharedFile((IFile) resource)) {
+                    sharedFiles.add(resource.getFullPath());
+                }
+                return false;
+            }
+            return isVisitedContainer(resource);
+        });
+        return sharedFiles;
+    }
+
+    private static boolean isVisitedContainer(final IResource resource) {
+        return resource.getType() == IResource.PROJECT || !resource.getName().startsWith(".");
+    }
+
+    private static boolean isSharedFile(final IFile file) {
+        return "py".equals(file.getFileExtension()) || RobotProjectConfig.FILENAME.equals(file.getName())
+                || ASuiteFileDescriber.isResourceFile(file) || ASuiteFileDescriber.isInitializationFile(file);
+    }
+
+    private static final class TrackedFiles {
+
+        private final Set<IPath> sharedFiles;
+
+        private long stamp = STAMPS.incrementAndGet();
+
+        private TrackedFiles(final Set<IPath> sharedFiles) {
+            this.sharedFiles = sharedFiles;
+        }
+
+        private boolean update(final IResourceDelta delta) {
+            final IResource resource = delta.getResource();
+            if (resource.getType() != IResource.FILE) {
+                return isVisitedContainer(resource);
+            } else if (delta.getKind() == IResourceDelta.CHANGED && (delta.getFlags() & CONTENT_CHANGES) == 0) {
+                // e.g. only markers of the file has changed
+                return false;
+            }
+            // the file may stop being shared when its content changes, e.g. resource becomes a suite
+            final boolean wasShared = sharedFiles.contains(resource.getFullPath());
+            final boolean isShared = delta.getKind() != IResourceDelta.REMOVED && isSharedFile((IFile) resource);
+            if (isShared) {
+                sharedFiles.add(resource.getFullPath());
+            } else {
+                sharedFiles.remove(resource.getFullPath());
+            }
+            if (wasShared || isShared) {
+                stamp = STAMPS.incrementAndGet();
+            }
+            return false;
+        }
+    }
+}
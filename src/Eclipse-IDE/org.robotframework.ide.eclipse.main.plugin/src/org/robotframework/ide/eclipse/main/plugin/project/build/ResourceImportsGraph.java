@@ -0,0 +1,164 @@
+/*
+ * Copyright 2017 Nokia Solutions and Networks
+ * Licensed under the Apache License, Version 2.0,
+ * see license.txt file for details.
+ */
+package org.robotframework.ide.eclipse.main.plugin.project.build;
+
+import static com.google.common.collect.Lists.newArrayList;
+import static com.google.common.collect.Sets.newHashSet;
+import static com.google.common.collect.Sets.newLinkedHashSet;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import org.eclipse.core.runtime.IPath;
+import org.robotframework.ide.eclipse.main.plugin.model.RobotDefinitionSetting;
+import org.robotframework.ide.eclipse.main.plugin.model.RobotKeywordCall;
+import org.robotframework.ide.eclipse.main.plugin.model.RobotKeywordDefinition;
+import org.robotframework.ide.eclipse.main.plugin.model.RobotSettingsSection;
+import org.robotframework.ide.eclipse.main.plugin.model.RobotSuiteFile;
+import org.robotframework.ide.eclipse.main.plugin.model.RobotVariable;
+import org.robotframework.ide.eclipse.main.plugin.model.RobotVariablesSection;
+import org.robotframework.ide.eclipse.main.plugin.model.locators.ResourceImportsPathsResolver;
+
+/**
+ * Keeps resource and variables files imports of project files, so files which should be
+ * revalidated after imported file was changed can be found. Together with imports, the signature of
+ * elements visible for importing files (keywords, variables and imports) is remembered for each
+ * file, so importers are revalidated only when it really changed.
+ * <p>
+ * The graph is built from the parsed files models, which are not persisted either, so it is kept
+ * in memory only. After workspace startup or full build the graph is completed once with the files
+ * which were not validated yet, afterwards it is updated with the files from build deltas. Files
+ * could be changed while the workspace was closed, so persisted graph would have to be verified
+ * against all the files anyway.
+ */
+public class ResourceImportsGraph {
+
+    private final Map<IPath, Set<IPath>> imports = new HashMap<>();
+
+    private final Map<IPath, Set<IPath>> importers = new HashMap<>();
+
+    private final Map<IPath, List<String>> signatures = new HashMap<>();
+
+    private boolean isComplete;
+
+    public synchronized boolean contains(final IPath path) {
+        return signatures.containsKey(path);
+    }
+
+    /**
+     * @return true if imports of all the project files were recorded, so the graph can be kept up
+     *         to date using changed files only
+     */
+    public synchronized boolean isComplete() {
+        return isComplete;
+    }
+
+    public synchronized void markComplete() {
+        isComplete = true;
+    }
+
+    /**
+     * Records imports of given file.
+     *
+     * @param suiteFile
+     * @return true if elements visible for files importing given one has changed since last update
+     */
+    public boolean update(final RobotSuiteFile suiteFile) {
+        final IPath path = suiteFile.getFile().getFullPath();
+        // files which do not exist yet are also recorded, so importers are found when they are added
+        final Set<IPath> importedPaths = newLinkedHashSet(
+                ResourceImportsPathsResolver.getWorkspaceRelativeImportedFilesPaths(suiteFile));
+        final List<String> signature = createSignature(suiteFile);
+
+        synchronized (this) {
+            removeImports(path);
+            imports.put(path, importedPaths);
+            for (final IPath importedPath : importedPaths) {
+                Set<IPath> fileImporters = importers.get(importedPath);
+                if (fileImporters == null) {
+                    fileImporters = newHashSet();
+                    importers.put(importedPath, fileImporters);
+                }
+                fileImporters.add(path);
+            }
+            final List<String> oldSignature = signatures.put(path, signature);
+            return !signature.equals(oldSignature);
+        }
+    }
+
+    public synchronized void remove(final IPath path) {
+        removeImports(path);
+        signatures.remove(path);
+    }
+
+    private void removeImports(final IPath path) {
+        final Set<IPath> importedPaths = imports.remove(path);
+        if (importedPaths != null) {
+            for (final IPath importedPath : importedPaths) {
+                final Set<IPath> fileImporters = importers.get(importedPath);
+                fileImporters.remove(path);
+                if (fileImporters.isEmpty()) {
+                    importers.remove(importedPath);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns all the files which are importing given files directly or through other resource
+     * files. Given files are not included unless they are importing each other.
+     */
+    public synchronized Set<IPath> getTransitiveImporters(final Collection<IPath> paths) {
+        final Set<IPath> result = newLinkedHashSet();
+        final Deque<IPath> toVisit = new ArrayDeque<>(paths);
+        while (!toVisit.isEmpty()) {
+            final Set<IPath> fileImporters = importers.get(toVisit.poll());
+            if (fileImporters != null) {
+                for (final IPath importer : fileImporters) {
+                    if (result.add(importer)) {
+                        toVisit.add(importer);
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    public synchronized void clear() {
+        imports.clear();
+        importers.clear();
+        signatures.clear();
+        isComplete = false;
+    }
+
+    private static List<String> createSignature(final RobotSuiteFile suiteFile) {
+        final List<String> signature = newArrayList();
+        for (final RobotKeywordDefinition keyword : suiteFile.getUserDefinedKeywords()) {
+            final RobotDefinitionSetting arguments = keyword.getArgumentsSetting();
+            signature.add("kw:" + keyword.getName() + ":" + (arguments == null ? "" : arguments.getArguments())
+                    + ":" + keyword.isDeprecated());
+        }
+        final Optional<RobotVariablesSection> variablesSection = suiteFile.findSection(RobotVariablesSection.class);
+        if (variablesSection.isPresent()) {
+            for (final RobotVariable variable : variablesSection.get().getChildren()) {
+                signature.add("var:" + variable.getType() + ":" + variable.getName());
+            }
+        }
+        final Optional<RobotSettingsSection> settingsSection = suiteFile.findSection(RobotSettingsSection.class);
+        if (settingsSection.isPresent()) {
+            for (final RobotKeywordCall importSetting : settingsSection.get().getImportSettings()) {
+                signature.add("import:" + importSetting.getName() + ":" + importSetting.getArguments());
+            }
+        }
+        return signature;
+    }
+}
@@ -6,11 +6,14 @@
 package org.robotframework.ide.eclipse.main.plugin.project.build;
 
 import static com.google.common.collect.Lists.newArrayList;
+import static com.google.common.collect.Sets.newHashSet;
+import static com.google.common.collect.Sets.newLinkedHashSet;
 
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.Queue;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -277,6 +280,11 @@ public class RobotArtifactsValidator {
 
                 @Override
                 public List<ModelUnitValidator> createValidators(final ValidationContext context) throws CoreException {
+                    final ResourceImportsGraph importsGraph = context.getModel()
+                            .createRobotProject(project)
+                            .getResourceImportsGraph();
+                    importsGraph.clear();
+
                     final List<ModelUnitValidator> validators = newArrayList();
                     project.accept(new IResourceVisitor() {
 
@@ -285,7 +293,8 @@ public class RobotArtifactsValidator {
                             final Optional<? extends ModelUnitValidator> validator = createValidator(context, resource,
                                     reporter, false);
                             if (validator.isPresent()) {
-                                validators.add(validator.get());
+                                validators.add(createImportsRecordingValidator(context, importsGraph,
+                                        (IFile) resource, validator.get()));
                             }
                             return true;
                         }
@@ -302,30 +311,114 @@ public class RobotArtifactsValidator {
 
                 @Override
                 public List<ModelUnitValidator> createValidators(final ValidationContext context) throws CoreException {
-                    final List<ModelUnitValidator> validators = newArrayList();
+                    final Set<IFile> changedFiles = newLinkedHashSet();
+                    final Set<IFile> addedFiles = newLinkedHashSet();
+                    final Set<IPath> removedPaths = newHashSet();
                     delta.accept(new IResourceDeltaVisitor() {
 
                         @Override
                         public boolean visit(final IResourceDelta delta) throws CoreException {
-                            if (delta.getKind() != IResourceDelta.REMOVED
-                                    && (delta.getFlags() & IResourceDelta.CONTENT) != 0) {
+                            final IResource resource = delta.getResource();
+                            if (resource.getType() != IResource.FILE) {
+                                return true;
+                            }
+                            if (delta.getKind() == IResourceDelta.REMOVED) {
+                                removedPaths.add(resource.getFullPath());
+                            } else if (delta.getKind() == IResourceDelta.ADDED) {
+                                addedFiles.add((IFile) resource);
+                            } else if ((delta.getFlags() & IResourceDelta.CONTENT) != 0) {
                                 context.setIsValidatingChangedFiles(true);
-
-                                final IResource resource = delta.getResource();
-                                final Optional<? extends ModelUnitValidator> validator = createValidator(context,
-                                        resource, reporter, false);
-                                if (validator.isPresent()) {
-                                    validators.add(createSynchronizedValidator(resource, validator.get()));
-                                }
+                                changedFiles.add((IFile) resource);
                             }
                             return true;
                         }
                     });
+
+                    final IProject project = delta.getResource().getProject();
+                    final ResourceImportsGraph importsGraph = context.getModel()
+                            .createRobotProject(project)
+                            .getResourceImportsGraph();
+                    final Set<IPath> pathsToRevalidateImporters = newHashSet(removedPaths);
+                    for (final IPath removedPath : removedPaths) {
+                        importsGraph.remove(removedPath);
+                    }
+                    final Set<IFile> filesToUpdateInGraph = newLinkedHashSet(changedFiles);
+                    filesToUpdateInGraph.addAll(addedFiles);
+                    for (final IFile file : filesToUpdateInGraph) {
+                        if (!isRobotFile(file)) {
+                            importsGraph.remove(file.getFullPath());
+                            pathsToRevalidateImporters.add(file.getFullPath());
+                        } else if (isInsideEclipseHiddenDirectory(file)
+                                || importsGraph.update(context.getModel().createSuiteFile(file))) {
+                            pathsToRevalidateImporters.add(file.getFullPath());
+                        }
+                    }
+                    completeImportsGraph(context, project, importsGraph);
+
+                    final Set<IFile> filesToValidate = newLinkedHashSet(changedFiles);
+                    for (final IPath importerPath : importsGraph.getTransitiveImporters(pathsToRevalidateImporters)) {
+                        final IFile importer = project.getWorkspace().getRoot().getFile(importerPath);
+                        if (importer.exists()) {
+                            filesToValidate.add(importer);
+                        }
+                    }
+
+                    final List<ModelUnitValidator> validators = newArrayList();
+                    for (final IFile file : filesToValidate) {
+                        final Optional<? extends ModelUnitValidator> validator = createValidator(context, file,
+                                reporter, false);
+                        if (validator.isPresent()) {
+                            validators.add(createSynchronizedValidator(file, createImportsRecordingValidator(context,
+                                    importsGraph, file, validator.get())));
+                        }
+                    }
                     return validators;
                 }
             };
         }
 
+        private static void completeImportsGraph(final ValidationContext context, final IProject project,
+                final ResourceImportsGraph importsGraph) throws CoreException {
+            // imports are recorded during validation, so after workspace startup or full build there
+            // may be no information about files which were not validated yet; afterwards the graph
+            // is kept up to date with the files from build deltas
+            if (importsGraph.isComplete()) {
+                return;
+            }
+            project.accept(new IResourceVisitor() {
+
+                @Override
+                public boolean visit(final IResource resource) throws CoreException {
+                    if (resource.getType() == IResource.FILE && !isInsideEclipseHiddenDirectory(resource)
+                            && isRobotFile((IFile) resource) && !importsGraph.contains(resource.getFullPath())) {
+                        importsGraph.update(context.getModel().createSuiteFile((IFile) resource));
+                    }
+                    return true;
+                }
+            });
+            importsGraph.markComplete();
+        }
+
+        private static ModelUnitValidator createImportsRecordingValidator(final ValidationContext context,
+                final ResourceImportsGraph importsGraph, final IFile file, final ModelUnitValidator validator) {
+            if (!isRobotFile(file)) {
+                return validator;
+            }
+            return new ModelUnitValidator() {
+
+                @Override
+                public void validate(final IProgressMonitor monitor) throws CoreException {
+                    validator.validate(monitor);
+                    importsGraph.update(context.getModel().createSuiteFile(file));
+                }
+            };
+        }
+
+        private static boolean isRobotFile(final IFile file) {
+            return ASuiteFileDescriber.isSuiteFile(file) || ASuiteFileDescriber.isResourceFile(file)
+                    || ASuiteFileDescriber.isInitializationFile(file);
+        }
+
         private static Optional<? extends ModelUnitValidator> createValidator(final ValidationContext context,
                 final IResource resource, final ProblemsReportingStrategy reporter, final boolean isRevalidating)
                 throws CoreException {
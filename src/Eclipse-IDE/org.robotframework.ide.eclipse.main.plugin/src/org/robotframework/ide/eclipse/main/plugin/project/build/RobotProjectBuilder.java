@@ -102,6 +102,7 @@ public class RobotProjectBuilder extends IncrementalProjectBuilder {
         project.getProject().deleteMarkers(RobotProblem.TYPE_ID, true, IResource.DEPTH_INFINITE);
         project.clearConfiguration();
         project.clearKwSources();
+        project.getResourceImportsGraph().clear();
 
         LibspecsFolder.get(project.getProject()).removeNonSpecResources();
     }
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2017 Nokia Solutions and Networks
+ * Licensed under the Apache License, Version 2.0,
+ * see license.txt file for details.
+ */
+package org.robotframework.ide.eclipse.main.plugin.project.build.libs;
+
+import java.io.File;
+import java.util.Optional;
+
+import org.eclipse.core.resources.IFile;
+import org.rf.ide.core.executor.EnvironmentSearchPaths;
+import org.rf.ide.core.executor.RobotRuntimeEnvironment;
+import org.rf.ide.core.executor.RobotRuntimeEnvironment.RobotEnvironmentException;
+
+/**
+ * Generator which copies libspec from {@link LibspecsCache} if it is there and delegates to
+ * actual generator otherwise, storing generated libspec in the cache afterwards.
+ */
+class CachingLibdocGenerator implements ILibdocGenerator {
+
+    private final ILibdocGenerator generator;
+
+    private final LibspecsCache cache;
+
+    private final String libraryName;
+
+    private final Optional<File> librarySources;
+
+    private final IFile targetSpecFile;
+
+    CachingLibdocGenerator(final ILibdocGenerator generator, final LibspecsCache cache, final String libraryName,
+            final Optional<File> librarySources, final IFile targetSpecFile) {
+        this.generator = generator;
+        this.cache = cache;
+        this.libraryName = libraryName;
+        this.librarySources = librarySources;
+        this.targetSpecFile = targetSpecFile;
+    }
+
+    @Override
+    public void generateLibdoc(final RobotRuntimeEnvironment runtimeEnvironment,
+            final EnvironmentSearchPaths additionalPaths) throws RobotEnvironmentException {
+        generate(runtimeEnvironment, additionalPaths, false);
+    }
+
+    @Override
+    public void generateLibdocForcibly(final RobotRuntimeEnvironment runtimeEnvironment,
+            final EnvironmentSearchPaths additionalPaths) throws RobotEnvironmentException {
+        generate(runtimeEnvironment, additionalPaths, true);
+    }
+
+    private void generate(final RobotRuntimeEnvironment runtimeEnvironment,
+            final EnvironmentSearchPaths additionalPaths, final boolean forcibly) throws RobotEnvironmentException {
+        final File targetFile = targetSpecFile.getLocation().toFile();
+        // the key is created before generation, as generators add library location to search paths
+        final Optional<String> key = cache.createKey(runtimeEnvironment, libraryName, librarySources,
+                additionalPaths);
+        if (key.isPresent() && cache.restore(key.get(), targetFile)) {
+            return;
+        }
+
+        if (forcibly) {
+            generator.generateLibdocForcibly(runtimeEnvironment, additionalPaths);
+        } else {
+            generator.generateLibdoc(runtimeEnvironment, additionalPaths);
+        }
+        if (key.isPresent()) {
+            cache.store(key.get(), targetFile);
+        }
+    }
+
+    @Override
+    public String getMessage() {
+        return generator.getMessage();
+    }
+}
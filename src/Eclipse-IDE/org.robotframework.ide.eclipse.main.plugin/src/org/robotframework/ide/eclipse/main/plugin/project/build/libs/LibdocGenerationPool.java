@@ -0,0 +1,313 @@
+/*
+ * Copyright 2017 Nokia Solutions and Networks
+ * Licensed under the Apache License, Version 2.0,
+ * see license.txt file for details.
+ */
+package org.robotframework.ide.eclipse.main.plugin.project.build.libs;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.core.runtime.SubMonitor;
+import org.rf.ide.core.executor.EnvironmentSearchPaths;
+import org.rf.ide.core.executor.RedSystemProperties;
+import org.rf.ide.core.executor.RobotRuntimeEnvironment;
+import org.rf.ide.core.executor.RobotRuntimeEnvironment.RobotEnvironmentException;
+import org.robotframework.ide.eclipse.main.plugin.project.build.BuildLogger;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+/**
+ * Generates libdocs for many libraries in parallel. Each worker thread reserves its own python
+ * session, so generators are not queued in single session server; sessions are released when the
+ * batch is finished. Generation of each library is limited by timeout and the whole batch can be
+ * cancelled with progress monitor. Problems are collected per library, so single failing library
+ * does not stop generation of the others.
+ */
+class LibdocGenerationPool {
+
+    private static final long POLLING_INTERVAL_MILLIS = 100;
+
+    private final BuildLogger logger;
+
+    private final int sessionsCount;
+
+    private final int timeoutInSeconds;
+
+    LibdocGenerationPool(final BuildLogger logger) {
+        this(logger, RedSystemProperties.getLibdocSessionsCount(), RedSystemProperties.getLibdocGenerationTimeout());
+    }
+
+    @VisibleForTesting
+    LibdocGenerationPool(final BuildLogger logger, final int sessionsCount, final int timeoutInSeconds) {
+        this.logger = logger;
+        this.sessionsCount = sessionsCount;
+        this.timeoutInSeconds = timeoutInSeconds;
+    }
+
+    /**
+     * Runs given generations and waits until all of them are finished, timed out or the monitor
+     * gets cancelled. Worker threads are always stopped before this method returns. Errors thrown
+     * by generators are rethrown after all the workers are stopped.
+     *
+     * @return problems of generations which failed, in order of given generations
+     */
+    Map<LibdocGeneration, RobotEnvironmentException> generate(final List<LibdocGeneration> generations,
+            final SubMonitor monitor) {
+        monitor.setWorkRemaining(generations.size());
+        if (generations.isEmpty() || monitor.isCanceled()) {
+            return new LinkedHashMap<>();
+        }
+
+        final Queue<LibdocGeneration> toGenerate = new ConcurrentLinkedQueue<>(generations);
+        final Set<LibdocGeneration> completed = ConcurrentHashMap.newKeySet();
+        final BlockingQueue<LibdocGeneration> completedByWorkers = new LinkedBlockingQueue<>();
+        final Map<LibdocGeneration, RobotEnvironmentException> problems = new ConcurrentHashMap<>();
+
+        final int workersCount = Math.min(sessionsCount, generations.size());
+        logger.log("BUILDING: " + workersCount + " sessions will be used for generating library docs");
+        final ExecutorService threadPool = Executors.newFixedThreadPool(workersCount,
+                new ThreadFactoryBuilder().setNameFormat("Libdoc generation %d").setDaemon(true).build());
+        final Worker[] workers = new Worker[workersCount];
+        final List<Future<?>> results = new ArrayList<>(workersCount);
+        for (int i = 0; i < workersCount; i++) {
+            workers[i] = new Worker(toGenerate, completed, completedByWorkers, problems);
+            results.add(threadPool.submit(workers[i]));
+        }
+        threadPool.shutdown();
+
+        // progress monitor is not thread-safe, so it is only used from the calling thread
+        try {
+            int reportedCount = 0;
+            String currentMessage = null;
+            while (reportedCount < generations.size() && !areAllDone(results) && !monitor.isCanceled()) {
+                completedByWorkers.poll(POLLING_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+
+                for (final Worker worker : workers) {
+                    final LibdocGeneration generation = worker.current;
+                    if (generation == null) {
+                        continue;
+                    } else if (worker.isTimedOut(generation, timeoutInSeconds) && completed.add(generation)) {
+                        problems.put(generation, new RobotEnvironmentException("Libdoc generation has not finished in "
+                                + timeoutInSeconds + " seconds (" + generation.getMessage() + ")"));
+                        // the session server is killed, so the blocked generation fails immediately
+                        worker.resetSession(generation);
+                    } else if (!generation.getMessage().equals(currentMessage)) {
+                        currentMessage = generation.getMessage();
+                        monitor.subTask(currentMessage);
+                    }
+                }
+
+                final int completedCount = completed.size();
+                monitor.worked(completedCount - reportedCount);
+                reportedCount = completedCount;
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            toGenerate.clear();
+            stopWorkers(threadPool, workers);
+        }
+        rethrowFailure(results);
+
+        final Map<LibdocGeneration, RobotEnvironmentException> orderedProblems = new LinkedHashMap<>();
+        for (final LibdocGeneration generation : generations) {
+            if (problems.containsKey(generation)) {
+                orderedProblems.put(generation, problems.get(generation));
+            }
+        }
+        return orderedProblems;
+    }
+
+    private static boolean areAllDone(final List<Future<?>> results) {
+        for (final Future<?> result : results) {
+            if (!result.isDone()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void stopWorkers(final ExecutorService threadPool, final Worker[] workers) {
+        if (!threadPool.isTerminated()) {
+            // workers blocked on session servers do not react on interruption, so servers are killed
+            for (final Worker worker : workers) {
+                worker.resetSession();
+            }
+            threadPool.shutdownNow();
+        }
+        boolean interrupted = false;
+        while (true) {
+            try {
+                if (threadPool.awaitTermination(POLLING_INTERVAL_MILLIS, TimeUnit.MILLISECONDS)) {
+                    break;
+                }
+            } catch (final InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void rethrowFailure(final List<Future<?>> results) {
+        for (final Future<?> result : results) {
+            try {
+                result.get();
+            } catch (final ExecutionException e) {
+                final Throwable cause = e.getCause();
+                if (cause instanceof Error) {
+                    throw (Error) cause;
+                }
+                throw new IllegalStateException("Libdoc generation worker failed", cause);
+            } catch (final CancellationException | InterruptedException e) {
+                // workers are already terminated, so it is not possible
+            }
+        }
+    }
+
+    private final class Worker implements Runnable {
+
+        private final Queue<LibdocGeneration> toGenerate;
+
+        private final Set<LibdocGeneration> completed;
+
+        private final BlockingQueue<LibdocGeneration> completedByWorkers;
+
+        private final Map<LibdocGeneration, RobotEnvironmentException> problems;
+
+        // environments of reserved sessions by environments of generations
+        private final Map<RobotRuntimeEnvironment, RobotRuntimeEnvironment> sessions = new HashMap<>();
+
+        // generation being run, its session and start time are guarded by this
+        private volatile LibdocGeneration current;
+
+        private RobotRuntimeEnvironment currentSession;
+
+        private long startTime;
+
+        private Worker(final Queue<LibdocGeneration> toGenerate, final Set<LibdocGeneration> completed,
+                final BlockingQueue<LibdocGeneration> completedByWorkers,
+                final Map<LibdocGeneration, RobotEnvironmentException> problems) {
+            this.toGenerate = toGenerate;
+            this.completed = completed;
+            this.completedByWorkers = completedByWorkers;
+            this.problems = problems;
+        }
+
+        private synchronized void started(final LibdocGeneration generation, final RobotRuntimeEnvironment session) {
+            current = generation;
+            currentSession = session;
+            startTime = System.nanoTime();
+        }
+
+        private synchronized void finished() {
+            current = null;
+            currentSession = null;
+        }
+
+        private synchronized boolean isTimedOut(final LibdocGeneration generation, final int timeoutInSeconds) {
+            return timeoutInSeconds > 0 && current == generation
+                    && System.nanoTime() - startTime > TimeUnit.SECONDS.toNanos(timeoutInSeconds);
+        }
+
+        private synchronized void resetSession(final LibdocGeneration generation) {
+            // the worker may have already moved on to the next generation, which should not be killed
+            if (current == generation) {
+                resetSession();
+            }
+        }
+
+        private synchronized void resetSession() {
+            if (currentSession != null) {
+                currentSession.resetSessionCommandExecutor();
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                generateAll();
+            } finally {
+                for (final RobotRuntimeEnvironment session : sessions.values()) {
+                    session.releaseSession();
+                }
+            }
+        }
+
+        private void generateAll() {
+            LibdocGeneration generation = toGenerate.poll();
+            while (generation != null && !Thread.currentThread().isInterrupted()) {
+                logger.log("BUILDING: " + generation.getMessage());
+                RobotEnvironmentException problem = null;
+                try {
+                    final RobotRuntimeEnvironment session = sessions.computeIfAbsent(generation.environment,
+                            RobotRuntimeEnvironment::withReservedSession);
+                    started(generation, session);
+                    generation.generate(session);
+                } catch (final RobotEnvironmentException e) {
+                    problem = e;
+                } catch (final RuntimeException e) {
+                    problem = new RobotEnvironmentException(e.getMessage(), e);
+                } finally {
+                    finished();
+                }
+                if (completed.add(generation)) {
+                    if (problem != null) {
+                        problems.put(generation, problem);
+                    }
+                    completedByWorkers.add(generation);
+                }
+                generation = toGenerate.poll();
+            }
+        }
+    }
+
+    static final class LibdocGeneration {
+
+        private final ILibdocGenerator generator;
+
+        private final RobotRuntimeEnvironment environment;
+
+        private final EnvironmentSearchPaths additionalPaths;
+
+        private final boolean forcibly;
+
+        LibdocGeneration(final ILibdocGenerator generator, final RobotRuntimeEnvironment environment,
+                final EnvironmentSearchPaths additionalPaths, final boolean forcibly) {
+            this.generator = generator;
+            this.environment = environment;
+            this.additionalPaths = additionalPaths;
+            this.forcibly = forcibly;
+        }
+
+        String getMessage() {
+            return generator.getMessage();
+        }
+
+        private void generate(final RobotRuntimeEnvironment sessionEnvironment) throws RobotEnvironmentException {
+            if (forcibly) {
+                generator.generateLibdocForcibly(sessionEnvironment, additionalPaths);
+            } else {
+                generator.generateLibdoc(sessionEnvironment, additionalPaths);
+            }
+        }
+    }
+}
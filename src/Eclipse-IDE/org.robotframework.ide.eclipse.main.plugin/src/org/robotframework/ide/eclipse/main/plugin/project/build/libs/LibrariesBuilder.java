@@ -6,9 +6,13 @@
 package org.robotframework.ide.eclipse.main.plugin.project.build.libs;
 
 import static com.google.common.collect.Lists.newArrayList;
+import static com.google.common.collect.Maps.newHashMap;
 
+import java.io.File;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IProject;
@@ -32,6 +36,7 @@ import org.robotframework.ide.eclipse.main.plugin.project.build.BuildLogger;
 import org.robotframework.ide.eclipse.main.plugin.project.build.ProblemsReportingStrategy;
 import org.robotframework.ide.eclipse.main.plugin.project.build.RobotProblem;
 import org.robotframework.ide.eclipse.main.plugin.project.build.causes.ProjectConfigurationProblem;
+import org.robotframework.ide.eclipse.main.plugin.project.build.libs.LibdocGenerationPool.LibdocGeneration;
 import org.robotframework.ide.eclipse.main.plugin.project.library.LibrarySpecification;
 
 import com.google.common.base.Objects;
@@ -42,8 +47,11 @@ public class LibrariesBuilder {
 
     private final BuildLogger logger;
 
+    private final LibspecsCache cache;
+
     public LibrariesBuilder(final BuildLogger logger) {
         this.logger = logger;
+        this.cache = LibspecsCache.getShared();
     }
 
     public void forceLibrariesRebuild(final Multimap<IProject, LibrarySpecification> groupedSpecifications,
@@ -58,37 +66,46 @@ public class LibrariesBuilder {
             }
         }
         
-        monitor.setWorkRemaining(groupedGenerators.size());
+        final List<LibdocGeneration> generations = newArrayList();
+        final Map<LibdocGeneration, GeneratorWithSource> generatorsSources = newHashMap();
         for (final IProject project : groupedGenerators.keySet()) {
+            if (!project.exists()) {
+                continue;
+            }
             final RobotProject robotProject = RedPlugin.getModelManager().createProject(project);
             final RobotRuntimeEnvironment runtimeEnvironment = robotProject.getRuntimeEnvironment();
 
             for (final GeneratorWithSource generatorWithSource : groupedGenerators.get(project)) {
-                monitor.subTask(generatorWithSource.generator.getMessage());
-                try {
-                    if (project.exists()) {
-                        generatorWithSource.generator.generateLibdocForcibly(runtimeEnvironment,
-                                new RedEclipseProjectConfig(robotProject.getRobotProjectConfig())
-                                        .createEnvironmentSearchPaths(project));
-                    }
-                } catch (final RobotEnvironmentException e) {
-                    final IPath libspecFileLocation = generatorWithSource.sourceLibdocFile.getLocation();
-                    if (libspecFileLocation != null) {
-                        libspecFileLocation.toFile().delete();
-                    }
-                    throw e;
-                }
-                monitor.worked(1);
+                final LibdocGeneration generation = new LibdocGeneration(generatorWithSource.generator,
+                        runtimeEnvironment, new RedEclipseProjectConfig(robotProject.getRobotProjectConfig())
+                                .createEnvironmentSearchPaths(project),
+                        true);
+                generations.add(generation);
+                generatorsSources.put(generation, generatorWithSource);
+            }
+        }
+
+        final Map<LibdocGeneration, RobotEnvironmentException> problems = new LibdocGenerationPool(logger)
+                .generate(generations, monitor);
+        for (final LibdocGeneration generation : problems.keySet()) {
+            final IPath libspecFileLocation = generatorsSources.get(generation).sourceLibdocFile.getLocation();
+            if (libspecFileLocation != null) {
+                libspecFileLocation.toFile().delete();
             }
         }
         monitor.done();
+        if (!problems.isEmpty()) {
+            // all the libraries were generated, but the first problem is still reported to the caller
+            throw problems.values().iterator().next();
+        }
     }
 
     private ILibdocGenerator provideGenerator(final LibrarySpecification specification) {
         final IFile libspecSourceFile = specification.getSourceFile();
 
         if (!specification.isReferenced() && !specification.isRemote()) {
-            return new StandardLibraryLibdocGenerator(libspecSourceFile);
+            return cached(new StandardLibraryLibdocGenerator(libspecSourceFile), specification.getName(),
+                    Optional.empty(), libspecSourceFile);
         } else if (!specification.isReferenced()) {
             return new RemoteLibraryLibdocGenerator(specification.getRemoteLocation().getUriAddress(),
                     libspecSourceFile);
@@ -103,16 +120,25 @@ public class LibrariesBuilder {
                 final String libPath = RedWorkspace.Paths
                         .toAbsoluteFromWorkspaceRelativeIfPossible(Path.fromPortableString(refLib.getPath()))
                         .toOSString();
-                return new PythonLibraryLibdocGenerator(refLib.getName(), libPath, libspecSourceFile);
+                final PythonLibraryLibdocGenerator generator = new PythonLibraryLibdocGenerator(refLib.getName(),
+                        libPath, libspecSourceFile);
+                return cached(generator, refLib.getName(), Optional.of(new File(generator.getPythonPath())),
+                        libspecSourceFile);
             } else if (type == LibraryType.JAVA) {
                 final String libPath = RedWorkspace.Paths
                         .toAbsoluteFromWorkspaceRelativeIfPossible(Path.fromPortableString(path)).toOSString();
-                return new JavaLibraryLibdocGenerator(specification.getName(), libPath, libspecSourceFile);
+                return cached(new JavaLibraryLibdocGenerator(specification.getName(), libPath, libspecSourceFile),
+                        specification.getName(), Optional.of(new File(libPath)), libspecSourceFile);
             }
             throw new IllegalStateException("Unknown library type: " + type);
         }
     }
 
+    private ILibdocGenerator cached(final ILibdocGenerator generator, final String libraryName,
+            final Optional<File> librarySources, final IFile targetSpecFile) {
+        return new CachingLibdocGenerator(generator, cache, libraryName, librarySources, targetSpecFile);
+    }
+
     public void buildLibraries(final RobotProject robotProject, final RobotRuntimeEnvironment runtimeEnvironment,
             final RobotProjectConfig configuration, final SubMonitor monitor,
             final ProblemsReportingStrategy reporter) {
@@ -130,25 +156,20 @@ public class LibrariesBuilder {
         }
         libdocGenerators.addAll(getRemoteLibrariesToRecreate(configuration, libspecsFolder));
 
-        monitor.setWorkRemaining(libdocGenerators.size());
-        
+        final List<LibdocGeneration> generations = newArrayList();
         for (final ILibdocGenerator generator : libdocGenerators) {
-            if (monitor.isCanceled()) {
-                return;
-            }
-
-            logger.log("BUILDING: " + generator.getMessage());
-            monitor.subTask(generator.getMessage());
-            try {
-                generator.generateLibdoc(runtimeEnvironment, new RedEclipseProjectConfig(configuration)
-                        .createEnvironmentSearchPaths(robotProject.getProject()));
-            } catch (final RobotEnvironmentException e) {
-                final RobotProblem problem = RobotProblem.causedBy(
-                        ProjectConfigurationProblem.LIBRARY_SPEC_CANNOT_BE_GENERATED).formatMessageWith(e.getMessage());
-                reporter.handleProblem(problem, robotProject.getFile(".project"), 1);
-            }
-            monitor.worked(1);
-        }
+            generations.add(new LibdocGeneration(generator, runtimeEnvironment,
+                    new RedEclipseProjectConfig(configuration).createEnvironmentSearchPaths(robotProject.getProject()),
+                    false));
+        }
+
+        final Map<LibdocGeneration, RobotEnvironmentException> problems = new LibdocGenerationPool(logger)
+                .generate(generations, monitor);
+        for (final RobotEnvironmentException e : problems.values()) {
+            final RobotProblem problem = RobotProblem.causedBy(
+                    ProjectConfigurationProblem.LIBRARY_SPEC_CANNOT_BE_GENERATED).formatMessageWith(e.getMessage());
+            reporter.handleProblem(problem, robotProject.getFile(".project"), 1);
+        }
 
         monitor.done();
     }
@@ -161,7 +182,9 @@ public class LibrariesBuilder {
             final List<IFile> toRecr = libspecsFolder.collectSpecsWithDifferentVersion(stdLibs,
                     runtimeEnvironment.getVersion());
             for (final IFile specToRecreate : toRecr) {
-                generators.add(new StandardLibraryLibdocGenerator(specToRecreate));
+                generators.add(cached(new StandardLibraryLibdocGenerator(specToRecreate),
+                        specToRecreate.getFullPath().removeFileExtension().lastSegment(), Optional.empty(),
+                        specToRecreate));
             }
         } catch (final CoreException e) {
             // FIXME : handle this
@@ -201,7 +224,8 @@ public class LibrariesBuilder {
                     final String libPath = RedWorkspace.Paths
                             .toAbsoluteFromWorkspaceRelativeIfPossible(Path.fromPortableString(lib.getPath()))
                             .toOSString();
-                    generators.add(new PythonLibraryLibdocGenerator(libName, libPath, specFile));
+                    generators.add(cachedPython(new PythonLibraryLibdocGenerator(libName, libPath, specFile),
+                            libName, libPath, specFile));
                 }
             }
         }
@@ -220,7 +244,8 @@ public class LibrariesBuilder {
                     final String jarPath = RedWorkspace.Paths
                             .toAbsoluteFromWorkspaceRelativeIfPossible(Path.fromPortableString(lib.getPath()))
                             .toOSString();
-                    generators.add(new JavaLibraryLibdocGenerator(libName, jarPath, specFile));
+                    generators.add(cached(new JavaLibraryLibdocGenerator(libName, jarPath, specFile), libName,
+                            Optional.of(new File(jarPath)), specFile));
                 }
             }
         }
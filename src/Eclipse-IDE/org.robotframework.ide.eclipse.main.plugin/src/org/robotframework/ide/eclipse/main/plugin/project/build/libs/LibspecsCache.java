@@ -0,0 +1,205 @@
+/*
+ * Copyright 2017 Nokia Solutions and Networks
+ * Licensed under the Apache License, Version 2.0,
+ * see license.txt file for details.
+ */
+package org.robotframework.ide.eclipse.main.plugin.project.build.libs;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.TreeSet;
+
+import org.rf.ide.core.executor.EnvironmentSearchPaths;
+import org.rf.ide.core.executor.RedSystemProperties;
+import org.rf.ide.core.executor.RobotRuntimeEnvironment;
+import org.robotframework.ide.eclipse.main.plugin.RedPlugin;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.google.common.io.Files;
+
+/**
+ * Workspace-wide cache of generated libspecs. Each libspec is kept under the key built from
+ * interpreter, robot version, library name, hash of library source files and search paths, so
+ * it is reused by any project whenever the library would be generated in the same way, no
+ * matter if the libspec was removed by clean build or the library files were only touched.
+ * Least recently used libspecs are evicted when size of the cache exceeds the limit. The cache
+ * is purged when robot environment is reset by the user.
+ */
+public class LibspecsCache {
+
+    private static final String LIBSPEC_EXTENSION = ".xml";
+
+    private static LibspecsCache sharedCache;
+
+    private final File directory;
+
+    private final long maxSizeInBytes;
+
+    public static synchronized LibspecsCache getShared() {
+        if (sharedCache == null) {
+            final File directory = RedPlugin.getDefault().getStateLocation().append("libspecs").toFile();
+            sharedCache = new LibspecsCache(directory, RedSystemProperties.getLibspecsCacheSize());
+        }
+        return sharedCache;
+    }
+
+    @VisibleForTesting
+    LibspecsCache(final File directory, final long maxSizeInBytes) {
+        this.directory = directory;
+        this.maxSizeInBytes = maxSizeInBytes;
+    }
+
+    /**
+     * Creates the key for library generated by given environment.
+     *
+     * @param librarySources
+     *            python search path of the library, its module file or jar; empty for standard
+     *            libraries
+     * @return key or empty optional if the library should not be cached
+     */
+    Optional<String> createKey(final RobotRuntimeEnvironment environment, final String libraryName,
+            final Optional<File> librarySources, final EnvironmentSearchPaths additionalPaths) {
+        if (maxSizeInBytes <= 0 || environment == null || !environment.hasRobotInstalled()
+                || environment.getFile() == null) {
+            return Optional.empty();
+        }
+        try {
+            final Hasher hasher = Hashing.sha256().newHasher();
+            putString(hasher, environment.getFile().getAbsolutePath());
+            putString(hasher, String.valueOf(environment.getInterpreter()));
+            putString(hasher, environment.getVersion());
+            putString(hasher, libraryName);
+            if (librarySources.isPresent()) {
+                if (!librarySources.get().exists()) {
+                    return Optional.empty();
+                }
+                hashSources(hasher, librarySources.get(), "");
+            }
+            putStrings(hasher, additionalPaths.getClassPaths());
+            putStrings(hasher, additionalPaths.getPythonPaths());
+            return Optional.of(hasher.hash().toString());
+        } catch (final IOException e) {
+            return Optional.empty();
+        }
+    }
+
+    private static void putString(final Hasher hasher, final String value) {
+        final String nonNullValue = value == null ? "" : value;
+        hasher.putInt(nonNullValue.length()).putString(nonNullValue, StandardCharsets.UTF_8);
+    }
+
+    private static void putStrings(final Hasher hasher, final Collection<String> values) {
+        hasher.putInt(values.size());
+        for (final String value : values) {
+            putString(hasher, value);
+        }
+    }
+
+    // the library may import any module reachable from its search path, so all of them are hashed
+    private static void hashSources(final Hasher hasher, final File file, final String relativePath)
+            throws IOException {
+        if (file.isFile()) {
+            if (relativePath.isEmpty() || relativePath.endsWith(".py")) {
+                putString(hasher, relativePath);
+                hasher.putBytes(Files.asByteSource(file).hash(Hashing.sha256()).asBytes());
+            }
+
+        } else if (file.isDirectory()) {
+            final String[] children = file.list();
+            if (children == null) {
+                throw new IOException("Unable to list " + file);
+            }
+            for (final String child : new TreeSet<>(Arrays.asList(children))) {
+                if (!child.startsWith(".") && !child.equals("__pycache__")) {
+                    hashSources(hasher, new File(file, child), relativePath + "/" + child);
+                }
+            }
+        }
+    }
+
+    /**
+     * Copies cached libspec into given file.
+     *
+     * @return true if libspec for given key was cached and was copied
+     */
+    synchronized boolean restore(final String key, final File targetSpecFile) {
+        final File cachedSpecFile = new File(directory, key + LIBSPEC_EXTENSION);
+        if (!cachedSpecFile.isFile()) {
+            return false;
+        }
+        try {
+            targetSpecFile.getParentFile().mkdirs();
+            Files.copy(cachedSpecFile, targetSpecFile);
+            cachedSpecFile.setLastModified(System.currentTimeMillis());
+            return true;
+        } catch (final IOException e) {
+            targetSpecFile.delete();
+            return false;
+        }
+    }
+
+    /**
+     * Removes all the cached libspecs.
+     */
+    public synchronized void purge() {
+        final File[] cachedFiles = directory.listFiles((dir, name) -> name.endsWith(LIBSPEC_EXTENSION));
+        if (cachedFiles != null) {
+            for (final File file : cachedFiles) {
+                file.delete();
+            }
+        }
+    }
+
+    /**
+     * Puts generated libspec into the cache and evicts least recently used libspecs if needed.
+     */
+    synchronized void store(final String key, final File generatedSpecFile) {
+        if (!generatedSpecFile.isFile() || generatedSpecFile.length() > maxSizeInBytes) {
+            return;
+        }
+        final File cachedSpecFile = new File(directory, key + LIBSPEC_EXTENSION);
+        try {
+            directory.mkdirs();
+            Files.copy(generatedSpecFile, cachedSpecFile);
+        } catch (final IOException e) {
+            cachedSpecFile.delete();
+            return;
+        }
+        evictLeastRecentlyUsed();
+    }
+
+    private void evictLeastRecentlyUsed() {
+        final File[] cachedFiles = directory.listFiles((dir, name) -> name.endsWith(LIBSPEC_EXTENSION));
+        if (cachedFiles == null) {
+            return;
+        }
+        long size = 0;
+        for (final File file : cachedFiles) {
+            size += file.length();
+        }
+        if (size <= maxSizeInBytes) {
+            return;
+        }
+
+        final List<File> files = new ArrayList<>(Arrays.asList(cachedFiles));
+        files.sort(Comparator.comparingLong(File::lastModified));
+        for (final File file : files) {
+            if (size <= maxSizeInBytes) {
+                break;
+            }
+            final long length = file.length();
+            if (file.delete()) {
+                size -= length;
+            }
+        }
+    }
+}
@@ -28,8 +28,7 @@ public class PythonLibraryLibdocGenerator implements ILibdocGenerator {
     @Override
     public void generateLibdoc(final RobotRuntimeEnvironment runtimeEnvironment,
             final EnvironmentSearchPaths additionalPaths) throws RobotEnvironmentException {
-        final File libFile = new File(libPath);
-        final String additionalLocation = libFile.isFile() ? libFile.getParent() : extractLibParent();
+        final String additionalLocation = getPythonPath();
         additionalPaths.addPythonPath(additionalLocation);
         runtimeEnvironment.createLibdocForThirdPartyLibrary(libName, additionalLocation, additionalPaths,
                 targetSpecFile.getLocation().toFile());
@@ -39,8 +38,7 @@ public class PythonLibraryLibdocGenerator implements ILibdocGenerator {
     public void generateLibdocForcibly(final RobotRuntimeEnvironment runtimeEnvironment,
             final EnvironmentSearchPaths additionalPaths)
             throws RobotEnvironmentException {
-        final File libFile = new File(libPath);
-        final String additionalLocation = libFile.isFile() ? libFile.getParent() : extractLibParent();
+        final String additionalLocation = getPythonPath();
         additionalPaths.addPythonPath(additionalLocation);
         runtimeEnvironment.createLibdocForThirdPartyLibraryForcibly(libName, additionalLocation, additionalPaths,
                 targetSpecFile.getLocation().toFile());
@@ -50,6 +48,14 @@ public class PythonLibraryLibdocGenerator implements ILibdocGenerator {
     public String getMessage() {
         return "generating libdoc for " + libName + " library contained in " + libPath;
     }
+
+    /**
+     * @return path which is added to python path in order to import the library
+     */
+    String getPythonPath() {
+        final File libFile = new File(libPath);
+        return libFile.isFile() ? libFile.getParent() : extractLibParent();
+    }
     
     private String extractLibParent() { //e.g. libPath=Project1/Plib/ca libName=Plib.ca.ab => parent=Project1
         String parent = libPath;
@@ -0,0 +1,202 @@
+/*
+ * Copyright 2017 Nokia Solutions and Networks
+ * Licensed under the Apache License, Version 2.0,
+ * see license.txt file for details.
+ */
+package org.robotframework.ide.eclipse.main.plugin.project.build.validation;
+
+import static com.google.common.collect.Maps.newHashMap;
+import static com.google.common.collect.Sets.newHashSet;
+import static com.google.common.collect.Sets.newLinkedHashSet;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IWorkspaceRoot;
+import org.eclipse.core.runtime.IPath;
+import org.rf.ide.core.testdata.model.search.keyword.KeywordScope;
+import org.rf.ide.core.testdata.model.table.keywords.names.QualifiedKeywordName;
+import org.robotframework.ide.eclipse.main.plugin.model.RobotKeywordDefinition;
+import org.robotframework.ide.eclipse.main.plugin.model.RobotKeywordsSection;
+import org.robotframework.ide.eclipse.main.plugin.model.RobotModel;
+import org.robotframework.ide.eclipse.main.plugin.model.RobotSuiteFile;
+import org.robotframework.ide.eclipse.main.plugin.model.locators.KeywordEntity;
+import org.robotframework.ide.eclipse.main.plugin.model.locators.ResourceImportsPathsResolver;
+import org.robotframework.ide.eclipse.main.plugin.project.build.validation.FileValidationContext.ValidationKeywordEntity;
+import org.robotframework.ide.eclipse.main.plugin.project.library.ArgumentsDescriptor;
+import org.robotframework.ide.eclipse.main.plugin.project.library.KeywordSpecification;
+import org.robotframework.ide.eclipse.main.plugin.project.library.LibrarySpecification;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableListMultimap;
+import com.google.common.collect.ListMultimap;
+import com.google.common.collect.MapMaker;
+import com.google.common.collect.SetMultimap;
+import com.google.common.io.Files;
+
+/**
+ * Index of keywords accessible from project files shared by all the files validated with single
+ * {@link ValidationContext}. Keywords exposed by each file (defined in it or coming from libraries
+ * imported by it) as well as keywords of each library are collected only once and then accessible
+ * keywords of a file are composed from them, in the same order as
+ * {@link org.robotframework.ide.eclipse.main.plugin.model.locators.KeywordDefinitionLocator} would
+ * detect them.
+ */
+class AccessibleKeywordsIndex {
+
+    private final RobotModel model;
+
+    private final Map<IFile, ExposedKeywords> filesKeywords = new ConcurrentHashMap<>();
+
+    // specifications are compared by identity, as hashing all the keywords would be expensive
+    private final Map<LibrarySpecification, List<LibraryKeyword>> librariesKeywords = new MapMaker().weakKeys()
+            .makeMap();
+
+    AccessibleKeywordsIndex(final RobotModel model) {
+        this.model = model;
+    }
+
+    Map<String, Collection<KeywordEntity>> collectAccessibleKeywords(final IFile file) {
+        final Map<String, Collection<KeywordEntity>> accessibleKeywords = newHashMap();
+
+        final ExposedKeywords startingFileKeywords = getExposedKeywords(file);
+        addAll(accessibleKeywords, startingFileKeywords.definedKeywords);
+        addFromResources(accessibleKeywords, file.getWorkspace().getRoot(), startingFileKeywords.resources,
+                newHashSet(file));
+        addAll(accessibleKeywords, startingFileKeywords.librariesKeywords);
+        return accessibleKeywords;
+    }
+
+    private void addFromResources(final Map<String, Collection<KeywordEntity>> accessibleKeywords,
+            final IWorkspaceRoot root, final List<IPath> resources, final Set<IFile> alreadyVisited) {
+        for (final IPath path : resources) {
+            final IResource resourceFile = root.findMember(path);
+            if (resourceFile == null || !resourceFile.exists() || resourceFile.getType() != IResource.FILE
+                    || alreadyVisited.contains(resourceFile)) {
+                continue;
+            }
+            alreadyVisited.add((IFile) resourceFile);
+
+            final ExposedKeywords resourceKeywords = getExposedKeywords((IFile) resourceFile);
+            addFromResources(accessibleKeywords, root, resourceKeywords.resources, alreadyVisited);
+            addAll(accessibleKeywords, resourceKeywords.librariesKeywords);
+            addAll(accessibleKeywords, resourceKeywords.definedKeywords);
+        }
+    }
+
+    private static void addAll(final Map<String, Collection<KeywordEntity>> accessibleKeywords,
+            final ListMultimap<String, ValidationKeywordEntity> keywords) {
+        for (final Entry<String, ValidationKeywordEntity> entry : keywords.entries()) {
+            Collection<KeywordEntity> sameNameKeywords = accessibleKeywords.get(entry.getKey());
+            if (sameNameKeywords == null) {
+                sameNameKeywords = newLinkedHashSet();
+                accessibleKeywords.put(entry.getKey(), sameNameKeywords);
+            }
+            sameNameKeywords.add(entry.getValue());
+        }
+    }
+
+    private ExposedKeywords getExposedKeywords(final IFile file) {
+        final long stamp = file.getModificationStamp();
+        final ExposedKeywords cached = filesKeywords.get(file);
+        if (cached != null && cached.stamp == stamp) {
+            return cached;
+        }
+        final ExposedKeywords keywords = collectExposedKeywords(model.createSuiteFile(file), stamp);
+        filesKeywords.put(file, keywords);
+        return keywords;
+    }
+
+    private ExposedKeywords collectExposedKeywords(final RobotSuiteFile suiteFile, final long stamp) {
+        final IPath path = suiteFile.getFile().getFullPath();
+
+        final ImmutableListMultimap.Builder<String, ValidationKeywordEntity> definedKeywords = ImmutableListMultimap
+                .builder();
+        final Optional<RobotKeywordsSection> section = suiteFile.findSection(RobotKeywordsSection.class);
+        if (section.isPresent()) {
+            for (final RobotKeywordDefinition kwDefinition : section.get().getChildren()) {
+                final ValidationKeywordEntity keyword = new ValidationKeywordEntity(null,
+                        Files.getNameWithoutExtension(suiteFile.getName()), kwDefinition.getName(), "",
+                        kwDefinition.isDeprecated(), path, kwDefinition.getDefinitionPosition().getOffset(),
+                        kwDefinition.createArgumentsDescriptor());
+                definedKeywords.put(QualifiedKeywordName.unifyDefinition(kwDefinition.getName()), keyword);
+            }
+        }
+
+        final ImmutableListMultimap.Builder<String, ValidationKeywordEntity> librariesKeywords = ImmutableListMultimap
+                .builder();
+        final SetMultimap<LibrarySpecification, String> libraries = suiteFile.getImportedLibraries();
+        for (final LibrarySpecification libSpec : libraries.keySet()) {
+            final KeywordScope scope = libSpec.isReferenced() ? KeywordScope.REF_LIBRARY : KeywordScope.STD_LIBRARY;
+            for (final LibraryKeyword libKeyword : getLibraryKeywords(libSpec)) {
+                for (final String libraryAlias : libraries.get(libSpec)) {
+                    final ValidationKeywordEntity keyword = new ValidationKeywordEntity(scope, libSpec.getName(),
+                            libKeyword.name, libraryAlias, libKeyword.isDeprecated, path, 0,
+                            libKeyword.argumentsDescriptor);
+                    librariesKeywords.put(libKeyword.unifiedName, keyword);
+                }
+            }
+        }
+
+        final List<IPath> resources = ResourceImportsPathsResolver.getWorkspaceRelativeResourceFilesPaths(suiteFile);
+        return new ExposedKeywords(stamp, definedKeywords.build(), librariesKeywords.build(),
+                ImmutableList.copyOf(resources));
+    }
+
+    private List<LibraryKeyword> getLibraryKeywords(final LibrarySpecification libSpec) {
+        List<LibraryKeyword> keywords = librariesKeywords.get(libSpec);
+        if (keywords == null) {
+            final ImmutableList.Builder<LibraryKeyword> builder = ImmutableList.builder();
+            for (final KeywordSpecification kwSpec : libSpec.getKeywords()) {
+                builder.add(new LibraryKeyword(kwSpec));
+            }
+            keywords = builder.build();
+            librariesKeywords.put(libSpec, keywords);
+        }
+        return keywords;
+    }
+
+    private static final class ExposedKeywords {
+
+        private final long stamp;
+
+        private final ListMultimap<String, ValidationKeywordEntity> definedKeywords;
+
+        private final ListMultimap<String, ValidationKeywordEntity> librariesKeywords;
+
+        private final List<IPath> resources;
+
+        private ExposedKeywords(final long stamp, final ListMultimap<String, ValidationKeywordEntity> definedKeywords,
+                final ListMultimap<String, ValidationKeywordEntity> librariesKeywords, final List<IPath> resources) {
+            this.stamp = stamp;
+            this.definedKeywords = definedKeywords;
+            this.librariesKeywords = librariesKeywords;
+            this.resources = resources;
+        }
+    }
+
+    private static final class LibraryKeyword {
+
+        private final String name;
+
+        private final String unifiedName;
+
+        private final boolean isDeprecated;
+
+        private final ArgumentsDescriptor argumentsDescriptor;
+
+        private LibraryKeyword(final KeywordSpecification kwSpec) {
+            this.name = kwSpec.getName();
+            this.unifiedName = QualifiedKeywordName.unifyDefinition(kwSpec.getName());
+            this.isDeprecated = kwSpec.isDeprecated();
+            this.argumentsDescriptor = kwSpec.createArgumentsDescriptor();
+        }
+    }
+}
@@ -43,10 +43,6 @@ public class FileValidationContext extends AccessibleKeywordsEntities {
 
     private final Map<String, ListMultimap<KeywordScope, KeywordEntity>> possibleKeywords = new HashMap<>();
 
-    private ListMultimap<KeywordScope, KeywordEntity> allPossibleKeywords;
-
-    private Collection<KeywordEntity> hereKeywords;
-
     public FileValidationContext(final ValidationContext context, final IFile file) {
         this(context, file, new ValidationKeywordCollector(file, context), null);
     }
@@ -111,24 +107,6 @@ public class FileValidationContext extends AccessibleKeywordsEntities {
         return pos;
     }
 
-    @Override
-    public ListMultimap<KeywordScope, KeywordEntity> getPossibleKeywords() {
-        if (allPossibleKeywords == null) {
-            allPossibleKeywords = super.getPossibleKeywords();
-        }
-
-        return allPossibleKeywords;
-    }
-
-    @Override
-    protected Collection<KeywordEntity> getAccessibleKeywordsDeduplicated() {
-        if (hereKeywords == null) {
-            hereKeywords = super.getAccessibleKeywordsDeduplicated();
-        }
-
-        return hereKeywords;
-    }
-
     public boolean isValidatingChangedFiles() {
         return context.isValidatingChangedFiles();
     }
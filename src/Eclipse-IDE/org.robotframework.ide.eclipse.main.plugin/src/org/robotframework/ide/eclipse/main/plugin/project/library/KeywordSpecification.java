@@ -6,6 +6,7 @@
 package org.robotframework.ide.eclipse.main.plugin.project.library;
 
 import java.util.List;
+import java.util.function.Supplier;
 import java.util.regex.Pattern;
 
 import javax.xml.bind.annotation.XmlAttribute;
@@ -20,7 +21,11 @@ public class KeywordSpecification {
 
     private String name;
     private String format;
-    private String documentation;
+
+    // read and cleared by different threads when documentation is requested
+    private volatile String documentation;
+
+    private volatile Supplier<String> documentationSupplier;
 
     private List<String> arguments;
 
@@ -40,12 +45,26 @@ public class KeywordSpecification {
     }
 
     public String getDocumentation() {
+        final Supplier<String> supplier = documentationSupplier;
+        if (supplier != null) {
+            documentation = supplier.get();
+            documentationSupplier = null;
+        }
         return documentation;
     }
 
     @XmlElement(name = "doc")
     public void setDocumentation(final String documentation) {
         this.documentation = documentation;
+        this.documentationSupplier = null;
+    }
+
+    void setDocumentationSupplier(final Supplier<String> documentationSupplier) {
+        this.documentationSupplier = documentationSupplier;
+    }
+
+    boolean hasDeferredDocumentation() {
+        return documentationSupplier != null;
     }
 
     public List<String> getArguments() {
@@ -64,7 +83,7 @@ public class KeywordSpecification {
 
     public String getDocumentationAsHtml() {
         if ("ROBOT".equals(format)) {
-            return new RobotToHtmlConverter().convert(documentation);
+            return new RobotToHtmlConverter().convert(getDocumentation());
         }
         throw new IllegalArgumentException("Only ROBOT format can be converted to HTML");
     }
@@ -75,12 +94,17 @@ public class KeywordSpecification {
 
     public boolean isDeprecated() {
         if (isDeprecated == null) {
-            isDeprecated = Boolean.valueOf(documentation != null
-                    && Pattern.compile("^\\*deprecated[^\\n\\r]*\\*.*").matcher(documentation.toLowerCase()).find());
+            final String doc = getDocumentation();
+            isDeprecated = Boolean.valueOf(
+                    doc != null && Pattern.compile("^\\*deprecated[^\\n\\r]*\\*.*").matcher(doc.toLowerCase()).find());
         }
         return isDeprecated.booleanValue();
     }
 
+    void setDeprecated(final boolean isDeprecated) {
+        this.isDeprecated = Boolean.valueOf(isDeprecated);
+    }
+
     @Override
     public boolean equals(final Object obj) {
         if (obj == null) {
@@ -24,7 +24,7 @@ import com.google.common.base.Objects;
 public class LibrarySpecification {
 
     public static String getVersion(final IFile libspecFile) {
-        return LibrarySpecificationReader.readSpecification(libspecFile).getVersion();
+        return LibrarySpecificationReader.readVersion(libspecFile);
     }
 
     @XmlTransient
@@ -5,31 +5,251 @@
  */
 package org.robotframework.ide.eclipse.main.plugin.project.library;
 
+import java.io.BufferedInputStream;
 import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
 
-import javax.xml.bind.JAXBContext;
-import javax.xml.bind.JAXBException;
-import javax.xml.bind.Unmarshaller;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 
 import org.eclipse.core.resources.IFile;
 import org.rf.ide.core.project.RobotProjectConfig.ReferencedLibrary;
 import org.rf.ide.core.project.RobotProjectConfig.RemoteLocation;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Objects;
 
+/**
+ * Reads libspec files with streaming StAX parser. Documentation of keywords is not kept in
+ * memory after reading, it is read again from the file for all the keywords of library once
+ * documentation of any of them is requested.
+ */
 public class LibrarySpecificationReader {
 
+    private static final Pattern DEPRECATED_DOCUMENTATION_HEAD = Pattern.compile("^\\*deprecated[^\\n\\r]*\\*");
+
+    private static final XMLInputFactory XML_FACTORY = createXmlFactory();
+
+    private static XMLInputFactory createXmlFactory() {
+        final XMLInputFactory factory = XMLInputFactory.newFactory();
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, Boolean.FALSE);
+        return factory;
+    }
+
     static LibrarySpecification readSpecification(final IFile libraryFile) {
-        try {
-            final JAXBContext jaxbContext = JAXBContext.newInstance(LibrarySpecification.class);
-            final Unmarshaller jaxbUnmarshaller = jaxbContext.createUnmarshaller();
-            final LibrarySpecification specification = (LibrarySpecification) jaxbUnmarshaller.unmarshal(new File(libraryFile.getLocationURI()));
-            specification.propagateFormat();
-            specification.setSourceFile(libraryFile);
-
-            return specification;
+        final LibrarySpecification specification = readSpecification(new File(libraryFile.getLocationURI()));
+        specification.setSourceFile(libraryFile);
+        return specification;
+    }
+
+    @VisibleForTesting
+    static LibrarySpecification readSpecification(final File file) {
+        try (InputStream stream = new BufferedInputStream(new FileInputStream(file))) {
+            final XMLStreamReader reader = XML_FACTORY.createXMLStreamReader(stream);
+            try {
+                final LibrarySpecification specification = readLibrary(reader, file);
+                specification.propagateFormat();
+
+                return specification;
+            } finally {
+                reader.close();
+            }
+
+        } catch (final IOException | XMLStreamException e) {
+            throw new CannotReadLibrarySpecificationException("Unable to read library specification file", e);
+        }
+    }
+
+    static String readVersion(final IFile libraryFile) {
+        final File file = new File(libraryFile.getLocationURI());
+        try (InputStream stream = new BufferedInputStream(new FileInputStream(file))) {
+            final XMLStreamReader reader = XML_FACTORY.createXMLStreamReader(stream);
+            try {
+                moveToRootElement(reader);
+                while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+                    if ("version".equals(reader.getLocalName())) {
+                        return reader.getElementText();
+                    }
+                    skipElement(reader);
+                }
+                return null;
+            } finally {
+                reader.close();
+            }
 
-        } catch (final JAXBException e) {
+        } catch (final IOException | XMLStreamException e) {
             throw new CannotReadLibrarySpecificationException("Unable to read library specification file", e);
         }
+    }
+
+    private static void moveToRootElement(final XMLStreamReader reader) throws XMLStreamException {
+        reader.nextTag();
+        if (!"keywordspec".equals(reader.getLocalName())) {
+            throw new XMLStreamException("Unexpected element: " + reader.getLocalName(), reader.getLocation());
+        }
+    }
+
+    private static LibrarySpecification readLibrary(final XMLStreamReader reader, final File file)
+            throws XMLStreamException {
+        moveToRootElement(reader);
+
+        final LibrarySpecification specification = new LibrarySpecification();
+        specification.setName(reader.getAttributeValue(null, "name"));
+        specification.setFormat(reader.getAttributeValue(null, "format"));
+
+        final List<KeywordSpecification> keywords = new ArrayList<>();
+        final DeferredDocumentation deferredDocumentation = new DeferredDocumentation(file, keywords);
+        while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+            switch (reader.getLocalName()) {
+                case "version":
+                    specification.setVersion(reader.getElementText());
+                    deferredDocumentation.bindToVersion(specification.getVersion());
+                    break;
+                case "scope":
+                    specification.setScope(reader.getElementText());
+                    break;
+                case "doc":
+                    specification.setDocumentation(reader.getElementText());
+                    break;
+                case "init":
+                    specification.setConstructor(readConstructor(reader));
+                    break;
+                case "kw":
+                    keywords.add(readKeyword(reader, keywords.size(), deferredDocumentation));
+                    break;
+                default:
+                    skipElement(reader);
+                    break;
+            }
+        }
+        specification.setKeywords(keywords);
+        return specification;
+    }
+
+    private static LibraryConstructor readConstructor(final XMLStreamReader reader) throws XMLStreamException {
+        final LibraryConstructor constructor = new LibraryConstructor();
+        while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+            if ("arguments".equals(reader.getLocalName())) {
+                constructor.setArguments(readArguments(reader));
+            } else if ("doc".equals(reader.getLocalName())) {
+                constructor.setDocumentation(reader.getElementText());
+            } else {
+                skipElement(reader);
+            }
+        }
+        return constructor;
+    }
+
+    private static KeywordSpecification readKeyword(final XMLStreamReader reader, final int index,
+            final DeferredDocumentation deferredDocumentation) throws XMLStreamException {
+        final KeywordSpecification keyword = new KeywordSpecification();
+        keyword.setName(reader.getAttributeValue(null, "name"));
+        while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+            if ("arguments".equals(reader.getLocalName())) {
+                keyword.setArguments(readArguments(reader));
+            } else if ("doc".equals(reader.getLocalName())) {
+                // only the first line is needed to find out if keyword is deprecated
+                final String documentationHead = readFirstLine(reader);
+                keyword.setDeprecated(DEPRECATED_DOCUMENTATION_HEAD.matcher(documentationHead.toLowerCase()).find());
+                keyword.setDocumentationSupplier(() -> deferredDocumentation.load(index));
+            } else {
+                skipElement(reader);
+            }
+        }
+        return keyword;
+    }
+
+    private static List<String> readArguments(final XMLStreamReader reader) throws XMLStreamException {
+        final List<String> arguments = new ArrayList<>();
+        while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+            if ("arg".equals(reader.getLocalName())) {
+                arguments.add(reader.getElementText());
+            } else {
+                skipElement(reader);
+            }
+        }
+        return arguments;
+    }
+
+    private static String readFirstLine(final XMLStreamReader reader) throws XMLStreamException {
+        final StringBuilder line = new StringBuilder();
+        boolean lineEnded = false;
+        while (reader.next() != XMLStreamConstants.END_ELEMENT) {
+            if (!lineEnded && reader.isCharacters()) {
+                final String text = reader.getText();
+                final int lineEnd = indexOfLineEnd(text);
+                lineEnded = lineEnd != -1;
+                line.append(lineEnded ? text.substring(0, lineEnd) : text);
+            }
+        }
+        return line.toString();
+    }
+
+    private static int indexOfLineEnd(final String text) {
+        for (int i = 0; i < text.length(); i++) {
+            final char ch = text.charAt(i);
+            if (ch == '\n' || ch == '\r') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static void skipElement(final XMLStreamReader reader) throws XMLStreamException {
+        int depth = 1;
+        while (depth > 0) {
+            final int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                depth++;
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            }
+        }
+    }
+
+    private static Map<String, String> readKeywordsDocumentation(final File file, final String expectedVersion)
+            throws IOException, XMLStreamException {
+        try (InputStream stream = new BufferedInputStream(new FileInputStream(file))) {
+            final XMLStreamReader reader = XML_FACTORY.createXMLStreamReader(stream);
+            try {
+                moveToRootElement(reader);
+
+                final Map<String, String> documentations = new HashMap<>();
+                while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+                    if ("version".equals(reader.getLocalName())) {
+                        if (!Objects.equal(expectedVersion, reader.getElementText())) {
+                            // libspec was generated again for other version of the library
+                            return new HashMap<>();
+                        }
+                    } else if ("kw".equals(reader.getLocalName())) {
+                        final String name = reader.getAttributeValue(null, "name");
+                        String documentation = null;
+                        while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+                            if ("doc".equals(reader.getLocalName())) {
+                                documentation = reader.getElementText();
+                            } else {
+                                skipElement(reader);
+                            }
+                        }
+                        documentations.putIfAbsent(name, documentation);
+                    } else {
+                        skipElement(reader);
+                    }
+                }
+                return documentations;
+            } finally {
+                reader.close();
+            }
+        }
     }
 
     public static LibrarySpecification readStandardLibrarySpecification(final IFile libraryFile,
@@ -53,6 +273,53 @@ public class LibrarySpecificationReader {
         return spec;
     }
 
+    /**
+     * Documentation of keywords read from libspec file once it is requested for the first time.
+     * The documentation is then set to all the keywords, so this object is no longer referenced.
+     * Documentation is matched with keywords by their names and it is bound to the library version
+     * which the keywords were read for: when the file was removed or generated for other library
+     * version in the meantime, the documentation is empty. The file may be touched or rewritten
+     * with the same content, e.g. when libspecs are restored from cache.
+     */
+    private static final class DeferredDocumentation {
+
+        private final File file;
+
+        private final List<KeywordSpecification> keywords;
+
+        private String version;
+
+        private DeferredDocumentation(final File file, final List<KeywordSpecification> keywords) {
+            this.file = file;
+            this.keywords = keywords;
+        }
+
+        private synchronized void bindToVersion(final String version) {
+            this.version = version;
+        }
+
+        private synchronized String load(final int index) {
+            Map<String, String> documentations;
+            try {
+                documentations = readKeywordsDocumentation(file, version);
+            } catch (final IOException | XMLStreamException e) {
+                documentations = new HashMap<>();
+            }
+
+            String requestedDocumentation = "";
+            for (int i = 0; i < keywords.size(); i++) {
+                final KeywordSpecification keyword = keywords.get(i);
+                final String documentation = documentations.getOrDefault(keyword.getName(), "");
+                if (i == index) {
+                    requestedDocumentation = documentation;
+                } else if (keyword.hasDeferredDocumentation()) {
+                    keyword.setDocumentation(documentation);
+                }
+            }
+            return requestedDocumentation;
+        }
+    }
+
     public static class CannotReadLibrarySpecificationException extends RuntimeException {
 
         public CannotReadLibrarySpecificationException(final String message, final Throwable cause) {
@@ -38,6 +38,8 @@ class SearchResultLabelProvider extends RedCommonLabelProvider {
             return ((KeywordWithParent) element).getLabel();
         } else if (element instanceof DocumentationMatch) {
             return ((DocumentationMatch) element).getStyledLabel();
+        } else if (element instanceof SymbolMatch) {
+            return ((SymbolMatch) element).getStyledLabel();
         }
         return new StyledString();
     }
@@ -5,10 +5,16 @@
  */
 package org.robotframework.ide.eclipse.main.plugin.search;
 
+import org.eclipse.core.resources.IFile;
+import org.eclipse.jface.text.Region;
 import org.eclipse.jface.viewers.DelegatingStyledCellLabelProvider;
 import org.eclipse.jface.viewers.TableViewer;
 import org.eclipse.jface.viewers.TreeViewer;
 import org.eclipse.search.ui.text.AbstractTextSearchViewPage;
+import org.eclipse.search.ui.text.Match;
+import org.robotframework.ide.eclipse.main.plugin.RedPlugin;
+import org.robotframework.ide.eclipse.main.plugin.hyperlink.SuiteFileSourceRegionHyperlink;
+import org.robotframework.ide.eclipse.main.plugin.model.RobotSuiteFile;
 
 
 /**
@@ -39,6 +45,15 @@ public class SearchResultPage extends AbstractTextSearchViewPage {
         viewer.setLabelProvider(new DelegatingStyledCellLabelProvider(new SearchResultLabelProvider()));
     }
 
+    @Override
+    protected void showMatch(final Match match, final int currentOffset, final int currentLength,
+            final boolean activate) {
+        if (match instanceof SymbolMatch) {
+            final RobotSuiteFile suiteFile = RedPlugin.getModelManager().createSuiteFile((IFile) match.getElement());
+            new SuiteFileSourceRegionHyperlink(null, suiteFile, new Region(currentOffset, currentLength)).open();
+        }
+    }
+
     @Override
     protected void configureTableViewer(final TableViewer viewer) {
         throw new IllegalStateException(
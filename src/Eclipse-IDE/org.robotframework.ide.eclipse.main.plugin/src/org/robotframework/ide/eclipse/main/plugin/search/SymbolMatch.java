@@ -0,0 +1,35 @@
+/*
+ * Copyright 2017 Nokia Solutions and Networks
+ * Licensed under the Apache License, Version 2.0,
+ * see license.txt file for details.
+ */
+package org.robotframework.ide.eclipse.main.plugin.search;
+
+import org.eclipse.jface.viewers.StyledString;
+import org.eclipse.jface.viewers.Stylers;
+import org.eclipse.search.ui.text.Match;
+import org.robotframework.ide.eclipse.main.plugin.model.symbols.Symbol;
+
+public class SymbolMatch extends Match {
+
+    private final Symbol symbol;
+
+    public SymbolMatch(final Symbol symbol) {
+        super(symbol.getFile(), UNIT_CHARACTER, symbol.getOffset(), symbol.getLength());
+        this.symbol = symbol;
+    }
+
+    public Symbol getSymbol() {
+        return symbol;
+    }
+
+    StyledString getStyledLabel() {
+        final StyledString label = new StyledString();
+        label.append(symbol.getLine() + ": ", StyledString.COUNTER_STYLER);
+        label.append(symbol.getName(), Stylers.Common.ECLIPSE_SEARCH_MATCH_STYLER);
+        if (symbol.isDefinition()) {
+            label.append(" (definition)", StyledString.DECORATIONS_STYLER);
+        }
+        return label;
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2017 Nokia Solutions and Networks
+ * Licensed under the Apache License, Version 2.0,
+ * see license.txt file for details.
+ */
+package org.robotframework.ide.eclipse.main.plugin.search.participants;
+
+import java.util.regex.Pattern;
+
+import org.eclipse.core.resources.IProject;
+import org.rf.ide.core.testdata.model.table.keywords.names.GherkinStyleSupport;
+import org.robotframework.ide.eclipse.main.plugin.model.RobotModel;
+import org.robotframework.ide.eclipse.main.plugin.model.RobotSuiteFile;
+import org.robotframework.ide.eclipse.main.plugin.model.symbols.Symbol;
+import org.robotframework.ide.eclipse.main.plugin.model.symbols.Symbol.SymbolKind;
+import org.robotframework.ide.eclipse.main.plugin.project.library.KeywordSpecification;
+import org.robotframework.ide.eclipse.main.plugin.project.library.LibrarySpecification;
+import org.robotframework.ide.eclipse.main.plugin.search.SearchPattern;
+import org.robotframework.ide.eclipse.main.plugin.search.SearchResult;
+import org.robotframework.ide.eclipse.main.plugin.search.SymbolMatch;
+
+/**
+ * Search for definitions and usages of symbols of given kind in robot files. The symbols are taken
+ * from project symbol index, so files which were not changed since previous search are not parsed
+ * again.
+ */
+abstract class SymbolSearch extends TargetedSearch {
+
+    private final SymbolKind kind;
+
+    private Pattern pattern;
+
+    SymbolSearch(final SymbolKind kind, final SearchPattern searchPattern, final RobotModel model,
+            final SearchResult result) {
+        super(searchPattern, model, result);
+        this.kind = kind;
+    }
+
+    @Override
+    protected void locateMatchesInLibrarySpecification(final IProject project,
+            final LibrarySpecification librarySpecification) {
+        // symbols are searched in robot files only
+    }
+
+    @Override
+    protected void locateMatchesInKeywordSpecification(final IProject project,
+            final LibrarySpecification librarySpecification, final KeywordSpecification keywordSpecification) {
+        // symbols are searched in robot files only
+    }
+
+    @Override
+    protected void locateMatchesInRobotFile(final RobotSuiteFile robotSuiteFile) {
+        for (final Symbol symbol : robotSuiteFile.getProject().getSymbolIndex().getSymbols(robotSuiteFile)) {
+            if (symbol.getKind() == kind && matches(symbol.getName())) {
+                result.addMatch(new SymbolMatch(symbol));
+            }
+        }
+    }
+
+    private boolean matches(final String name) {
+        if (pattern == null) {
+            pattern = Pattern.compile(searchPattern.buildPattern().pattern(),
+                    Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE);
+        }
+        if (pattern.matcher(name).matches()) {
+            return true;
+        }
+        return kind == SymbolKind.KEYWORD
+                && pattern.matcher(GherkinStyleSupport.getTextAfterGherkinPrefixesIfExists(name)).matches();
+    }
+}
@@ -5,11 +5,8 @@
  */
 package org.robotframework.ide.eclipse.main.plugin.search.participants;
 
-import org.eclipse.core.resources.IProject;
 import org.robotframework.ide.eclipse.main.plugin.model.RobotModel;
-import org.robotframework.ide.eclipse.main.plugin.model.RobotSuiteFile;
-import org.robotframework.ide.eclipse.main.plugin.project.library.KeywordSpecification;
-import org.robotframework.ide.eclipse.main.plugin.project.library.LibrarySpecification;
+import org.robotframework.ide.eclipse.main.plugin.model.symbols.Symbol.SymbolKind;
 import org.robotframework.ide.eclipse.main.plugin.search.SearchPattern;
 import org.robotframework.ide.eclipse.main.plugin.search.SearchResult;
 
@@ -17,26 +14,9 @@ import org.robotframework.ide.eclipse.main.plugin.search.SearchResult;
  * @author Michal Anglart
  *
  */
-public class TestCaseSearch extends TargetedSearch {
+public class TestCaseSearch extends SymbolSearch {
 
     public TestCaseSearch(final SearchPattern searchPattern, final RobotModel model, final SearchResult result) {
-        super(searchPattern, model, result);
-    }
-
-    @Override
-    protected void locateMatchesInLibrarySpecification(final IProject project,
-            final LibrarySpecification librarySpecification) {
-        // TODO : implement
-    }
-
-    @Override
-    protected void locateMatchesInKeywordSpecification(final IProject project,
-            final LibrarySpecification librarySpecification, final KeywordSpecification keywordSpecification) {
-        // TODO : implement
-    }
-
-    @Override
-    protected void locateMatchesInRobotFile(final RobotSuiteFile robotSuiteFile) {
-        // TODO : implement
+        super(SymbolKind.TEST_CASE, searchPattern, model, result);
     }
 }
@@ -18,6 +18,7 @@ import org.eclipse.core.resources.IResourceChangeEvent;
 import org.eclipse.core.resources.IStorage;
 import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.content.IContentDescriber;
 import org.eclipse.debug.ui.actions.IToggleBreakpointsTarget;
@@ -377,6 +378,7 @@ public class RobotFormEditor extends FormEditor {
         getSite().getService(ICommandService.class).removeExecutionListener(saveLibDiscoveryTrigger);
 
         clipboard.dispose();
+        unpinParsedFile(suiteModel);
         suiteModel.dispose();
 
         final IEventBroker eventBroker = PlatformUI.getWorkbench().getService(IEventBroker.class);
@@ -406,6 +408,7 @@ public class RobotFormEditor extends FormEditor {
         }
         if (getEditorInput() instanceof FileEditorInput) {
             suiteModel = RedPlugin.getModelManager().createSuiteFile(((FileEditorInput) getEditorInput()).getFile());
+            pinParsedFile(suiteModel);
             checkRuntimeEnvironment(suiteModel);
         } else {
             final IStorage storage = getEditorInput().getAdapter(IStorage.class);
@@ -419,6 +422,20 @@ public class RobotFormEditor extends FormEditor {
         return suiteModel;
     }
 
+    private static void pinParsedFile(final RobotSuiteFile suiteModel) {
+        final IPath location = suiteModel.getFile().getLocation();
+        if (location != null) {
+            suiteModel.getProject().getRobotProjectHolder().markFileAsOpened(location.toFile());
+        }
+    }
+
+    private static void unpinParsedFile(final RobotSuiteFile suiteModel) {
+        final IFile file = suiteModel.getFile();
+        if (file != null && file.getLocation() != null) {
+            suiteModel.getProject().getRobotProjectHolder().markFileAsClosed(file.getLocation().toFile());
+        }
+    }
+
     public SuiteSourceEditor getSourceEditor() {
         for (int i = 0; i < getPageCount(); i++) {
             final IEditorPart editorPart = getEditor(i);
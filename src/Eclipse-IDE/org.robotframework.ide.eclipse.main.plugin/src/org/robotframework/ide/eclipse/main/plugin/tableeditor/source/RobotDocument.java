@@ -45,6 +45,9 @@ public class RobotDocument extends Document {
 
     private RobotFileOutput output;
 
+    private final List<DocumentEvent> pendingChanges = new ArrayList<>();
+    private String pendingContent;
+
     private final List<IRobotDocumentParsingListener> parseListeners = new ArrayList<>();
     private ScheduledFuture<?> scheduledOperation;
 
@@ -118,6 +121,7 @@ public class RobotDocument extends Document {
 
     @Override
     protected void fireDocumentChanged(final DocumentEvent event) {
+        registerChange(event);
         if (reparseInSameThread) {
             // short documents can be reparsed in the same thread as this does not
             // affect performance too much
@@ -128,8 +132,36 @@ public class RobotDocument extends Document {
         super.fireDocumentChanged(event);
     }
 
+    private void registerChange(final DocumentEvent event) {
+        final String content = get();
+        synchronized (pendingChanges) {
+            pendingChanges.add(event);
+            pendingContent = content;
+        }
+    }
+
     private synchronized void reparse() {
-        output = parser.parseEditorContent(get(), file);
+        final List<DocumentEvent> changes;
+        final String content;
+        synchronized (pendingChanges) {
+            changes = new ArrayList<>(pendingChanges);
+            content = pendingContent;
+            pendingChanges.clear();
+            pendingContent = null;
+        }
+        if (output == null) {
+            output = parser.parseEditorContent(get(), file);
+        } else if (changes.size() == 1) {
+            // single edit is usually placed inside one test case or keyword, so only it can be
+            // parsed again; the output is updated in place, since keeping a separate copy of it
+            // would require parsing whole content anyway
+            final DocumentEvent change = changes.get(0);
+            final String text = change.getText() == null ? "" : change.getText();
+            output = parser.reparseEditorContent(output, content, file, change.getOffset(), change.getLength(),
+                    text);
+        } else if (!changes.isEmpty()) {
+            output = parser.parseEditorContent(content, file);
+        }
         for (final IRobotDocumentParsingListener listener : parseListeners) {
             listener.reparsingFinished(output);
         }
@@ -6,11 +6,16 @@
 package org.robotframework.ide.eclipse.main.plugin.views.execution;
 
 import static com.google.common.base.Predicates.instanceOf;
-import static java.util.stream.Collectors.toList;
 
 import java.net.URI;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 
 import org.eclipse.ui.services.IDisposable;
 import org.rf.ide.core.execution.agent.Status;
@@ -20,10 +25,33 @@ import com.google.common.annotations.VisibleForTesting;
 
 public class ExecutionStatusStore implements IDisposable {
 
+    private static final int DEFAULT_CLIENT_ID = 0;
+
     private boolean isDisposed;
 
     private ExecutionTreeNode root;
-    private ExecutionTreeNode current;
+
+    // many agents may report progress of single launch (e.g. workers executing parts of suites
+    // tree in parallel), so position in tree is tracked separately for every agent client
+    private final Map<Integer, ClientProgress> clientsProgress = new HashMap<>();
+
+    // number of clients currently executing given suite; suites are shared between clients when
+    // their trees are merged
+    private final Map<ExecutionTreeNode, Integer> suiteRunners = new HashMap<>();
+
+    private final Set<ExecutionTreeNode> failedSharedSuites = new HashSet<>();
+
+    // nodes indexed by their parent, kind, name and occurrence of the name, so that children of
+    // suites started again by other clients are found without going through children lists
+    private final Map<NodeKey, ExecutionTreeNode> nodesIndex = new HashMap<>();
+
+    private final Set<ExecutionTreeNode> indexedSuites = new HashSet<>();
+
+    // nodes changed since the last frame was finished; changes are collected only when there are
+    // frame listeners, which are notified once per frame
+    private final Set<ExecutionTreeNode> changedNodes = new LinkedHashSet<>();
+
+    private boolean frameStarted;
 
     private int currentTest;
     private int passedTests;
@@ -45,19 +73,23 @@ public class ExecutionStatusStore implements IDisposable {
 
     @VisibleForTesting
     void setCurrent(final ExecutionTreeNode current) {
-        this.current = current;
+        getProgress(DEFAULT_CLIENT_ID).current = current;
     }
 
     @VisibleForTesting
     ExecutionTreeNode getCurrent() {
-        return current;
+        return getProgress(DEFAULT_CLIENT_ID).current;
+    }
+
+    private ClientProgress getProgress(final int clientId) {
+        return clientsProgress.computeIfAbsent(clientId, id -> new ClientProgress());
     }
 
     public URI getOutputFilePath() {
         return outputFile;
     }
 
-    protected void setOutputFilePath(final URI outputFilepath) {
+    public void setOutputFilePath(final URI outputFilepath) {
         this.outputFile = outputFilepath;
     }
 
@@ -86,7 +118,15 @@ public class ExecutionStatusStore implements IDisposable {
         failedTests = 0;
 
         root = null;
-        current = null;
+        clientsProgress.clear();
+        suiteRunners.clear();
+        failedSharedSuites.clear();
+        nodesIndex.clear();
+        indexedSuites.clear();
+        synchronized (changedNodes) {
+            changedNodes.clear();
+            frameStarted = false;
+        }
 
         storeListeners.clear();
         isDisposed = true;
@@ -96,46 +136,123 @@ public class ExecutionStatusStore implements IDisposable {
         return isDisposed;
     }
 
-    protected void suiteStarted(final String suiteName, final URI suiteFilePath, final int totalTests,
+    @VisibleForTesting
+    void suiteStarted(final String suiteName, final URI suiteFilePath, final int totalTests,
             final List<String> childSuites, final List<String> childTests) {
+        suiteStarted(DEFAULT_CLIENT_ID, suiteName, suiteFilePath, totalTests, childSuites, childTests);
+    }
+
+    protected void suiteStarted(final int clientId, final String suiteName, final URI suiteFilePath,
+            final int totalTests, final List<String> childSuites, final List<String> childTests) {
+        final ClientProgress progress = getProgress(clientId);
 
         boolean notifyAboutProgress = false;
-        if (root == null) {
-            this.totalTests = totalTests;
-            root = new ExecutionTreeNode(null, ElementKind.SUITE, suiteName);
-            current = root;
+        if (progress.current == null) {
+            // top-level suites of all the clients are merged into single tree
+            if (root == null) {
+                root = new ExecutionTreeNode(null, ElementKind.SUITE, suiteName);
+            }
+            this.totalTests += totalTests;
+            progress.current = root;
             notifyAboutProgress = true;
         }
 
-        current.setStatus(Status.RUNNING);
-        current.setPath(suiteFilePath);
-        current.addChildren(childSuites.stream()
-                .map(childSuite -> new ExecutionTreeNode(current, ElementKind.SUITE, childSuite))
-                .collect(toList()));
-        current.addChildren(childTests.stream()
-                .map(childTest -> new ExecutionTreeNode(current, ElementKind.TEST, childTest, suiteFilePath))
-                .collect(toList()));
-
-        final ExecutionTreeNode previous = current;
-        current = current.getChildren().isEmpty() ? current : current.getChildren().get(0);
-
-        notifyTreeChanges(previous);
+        final ExecutionTreeNode suite = progress.current;
+        suite.setStatus(Status.RUNNING);
+        suite.setPath(suiteFilePath);
+        suiteRunners.merge(suite, 1, Integer::sum);
+
+        final List<ExecutionTreeNode> children = new ArrayList<>();
+        children.addAll(findOrCreateChildren(suite, ElementKind.SUITE, childSuites, null));
+        children.addAll(findOrCreateChildren(suite, ElementKind.TEST, childTests, suiteFilePath));
+        progress.ownChildren.put(suite, children);
+        for (int i = 0; i < children.size(); i++) {
+            progress.positions.put(children.get(i), i);
+        }
+        progress.current = children.isEmpty() ? suite : children.get(0);
+
+        notifyTreeChanges(suite);
         if (notifyAboutProgress) {
             notifyProgress();
         }
     }
 
-    protected void testStarted() {
+    private List<ExecutionTreeNode> findOrCreateChildren(final ExecutionTreeNode suite, final ElementKind kind,
+            final List<String> names, final URI path) {
+        if (indexedSuites.add(suite)) {
+            // the tree could have been built outside of the store
+            indexChildren(suite);
+        }
+
+        final List<ExecutionTreeNode> children = new ArrayList<>();
+        final List<ExecutionTreeNode> createdChildren = new ArrayList<>();
+        final Map<String, Integer> occurrences = new HashMap<>();
+        for (final String name : names) {
+            final NodeKey key = new NodeKey(suite, kind, name, occurrences.merge(name, 1, Integer::sum));
+            final ExecutionTreeNode existingChild = nodesIndex.get(key);
+            if (existingChild == null) {
+                final ExecutionTreeNode child = new ExecutionTreeNode(suite, kind, name, path);
+                nodesIndex.put(key, child);
+                children.add(child);
+                createdChildren.add(child);
+            } else {
+                children.add(existingChild);
+            }
+        }
+        suite.addChildren(createdChildren);
+        return children;
+    }
+
+    private void indexChildren(final ExecutionTreeNode suite) {
+        final Map<NodeKey, Integer> occurrences = new HashMap<>();
+        for (final ExecutionTreeNode child : suite.getChildren()) {
+            final NodeKey nameKey = new NodeKey(suite, child.getKind(), child.getName(), 0);
+            final int occurrence = occurrences.merge(nameKey, 1, Integer::sum);
+            nodesIndex.putIfAbsent(new NodeKey(suite, child.getKind(), child.getName(), occurrence), child);
+        }
+    }
+
+    @VisibleForTesting
+    void testStarted() {
+        testStarted(DEFAULT_CLIENT_ID);
+    }
+
+    protected void testStarted(final int clientId) {
+        final ExecutionTreeNode current = getProgress(clientId).current;
         current.setStatus(Status.RUNNING);
         currentTest++;
         notifyTreeChanges(current);
         notifyProgress();
     }
 
-    protected void elementEnded(final int elapsedTime, final Status status, final String errorMessage) {
-        current.setElapsedTime(elapsedTime);
-        current.setStatus(status);
-        current.setMessage(errorMessage);
+    @VisibleForTesting
+    void elementEnded(final int elapsedTime, final Status status, final String errorMessage) {
+        elementEnded(DEFAULT_CLIENT_ID, elapsedTime, status, errorMessage);
+    }
+
+    protected void elementEnded(final int clientId, final int elapsedTime, final Status status,
+            final String errorMessage) {
+        final ClientProgress progress = getProgress(clientId);
+        final ExecutionTreeNode current = progress.current;
+
+        final int otherRunners = suiteRunners.getOrDefault(current, 1) - 1;
+        current.setElapsedTime(Math.max(current.getElapsedTime(), elapsedTime));
+        if (otherRunners > 0) {
+            // suite is still executed by other clients, so only failure is remembered
+            suiteRunners.put(current, otherRunners);
+            if (status != Status.PASS) {
+                current.setMessage(errorMessage);
+                failedSharedSuites.add(current);
+            }
+        } else {
+            suiteRunners.remove(current);
+            if (failedSharedSuites.remove(current) && status == Status.PASS) {
+                current.setStatus(Status.FAIL);
+            } else {
+                current.setStatus(status);
+                current.setMessage(errorMessage);
+            }
+        }
 
         boolean notifyAboutProgress = false;
         if (current.getKind() == ElementKind.TEST) {
@@ -147,20 +264,23 @@ public class ExecutionStatusStore implements IDisposable {
             notifyAboutProgress = true;
         }
 
-        final ExecutionTreeNode previous = current;
         final ExecutionTreeNode parent = current.getParent();
+        progress.ownChildren.remove(current);
+        final Integer position = progress.positions.remove(current);
         if (parent == null) {
-            current = null;
+            progress.current = null;
         } else {
-            final int index = parent.getChildren().indexOf(current);
-            if (index + 1 >= parent.getChildren().size()) {
-                current = parent;
+            final List<ExecutionTreeNode> siblings = progress.ownChildren.getOrDefault(parent,
+                    parent.getChildren());
+            final int index = position != null ? position : siblings.indexOf(current);
+            if (index + 1 >= siblings.size()) {
+                progress.current = parent;
             } else {
-                current = parent.getChildren().get(index + 1);
+                progress.current = siblings.get(index + 1);
             }
         }
 
-        notifyTreeChanges(previous);
+        notifyTreeChanges(current);
         if (notifyAboutProgress) {
             notifyProgress();
         }
@@ -174,6 +294,23 @@ public class ExecutionStatusStore implements IDisposable {
         storeListeners.add(storeListener);
     }
 
+    void addFrameListener(final ExecutionFrameListener storeListener) {
+        storeListeners.add(storeListener);
+    }
+
+    /**
+     * Returns nodes changed since the previous frame was finished. Frame listeners are notified
+     * again when next change occurs.
+     */
+    Set<ExecutionTreeNode> finishFrame() {
+        synchronized (changedNodes) {
+            final Set<ExecutionTreeNode> nodes = new LinkedHashSet<>(changedNodes);
+            changedNodes.clear();
+            frameStarted = false;
+            return nodes;
+        }
+    }
+
     @VisibleForTesting
     List<ExecutionStatusStoreListener> getListeners() {
         return storeListeners;
@@ -184,6 +321,7 @@ public class ExecutionStatusStore implements IDisposable {
                 .filter(instanceOf(ExecutionTreeElementListener.class))
                 .map(ExecutionTreeElementListener.class::cast)
                 .forEach(l -> l.nodeChanged(this, node));
+        notifyFrameChanges(node);
     }
 
     private void notifyProgress() {
@@ -191,6 +329,27 @@ public class ExecutionStatusStore implements IDisposable {
                 .filter(instanceOf(ExecutionProgressListener.class))
                 .map(ExecutionProgressListener.class::cast)
                 .forEach(l -> l.progressChanged(currentTest, passedTests, failedTests, totalTests));
+        notifyFrameChanges(null);
+    }
+
+    private void notifyFrameChanges(final ExecutionTreeNode node) {
+        if (storeListeners.stream().noneMatch(instanceOf(ExecutionFrameListener.class))) {
+            return;
+        }
+        final boolean isNewFrame;
+        synchronized (changedNodes) {
+            if (node != null) {
+                changedNodes.add(node);
+            }
+            isNewFrame = !frameStarted;
+            frameStarted = true;
+        }
+        if (isNewFrame) {
+            storeListeners.stream()
+                    .filter(instanceOf(ExecutionFrameListener.class))
+                    .map(ExecutionFrameListener.class::cast)
+                    .forEach(l -> l.frameStarted(this));
+        }
     }
 
     void removeStoreListener(final ExecutionStatusStoreListener... storeListeners) {
@@ -199,6 +358,52 @@ public class ExecutionStatusStore implements IDisposable {
         }
     }
 
+    private static final class ClientProgress {
+
+        private ExecutionTreeNode current;
+
+        // children of suites which are executed by this client; when trees of many clients are
+        // merged single suite node may contain children executed by other clients too
+        private final Map<ExecutionTreeNode, List<ExecutionTreeNode>> ownChildren = new HashMap<>();
+
+        // positions of nodes in own children lists of their parents
+        private final Map<ExecutionTreeNode, Integer> positions = new HashMap<>();
+    }
+
+    private static final class NodeKey {
+
+        private final ExecutionTreeNode parent;
+
+        private final ElementKind kind;
+
+        private final String name;
+
+        private final int occurrence;
+
+        private NodeKey(final ExecutionTreeNode parent, final ElementKind kind, final String name,
+                final int occurrence) {
+            this.parent = parent;
+            this.kind = kind;
+            this.name = name;
+            this.occurrence = occurrence;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (obj != null && obj.getClass() == getClass()) {
+                final NodeKey that = (NodeKey) obj;
+                return this.parent == that.parent && this.kind == that.kind && this.name.equals(that.name)
+                        && this.occurrence == that.occurrence;
+            }
+            return false;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(parent, kind, name, occurrence);
+        }
+    }
+
     protected static interface ExecutionStatusStoreListener {
         // just a common interface to store lambdas on single list
     }
@@ -214,4 +419,10 @@ public class ExecutionStatusStore implements IDisposable {
 
         void progressChanged(int currentTest, int passedSoFar, int failedSoFar, int totalTests);
     }
+
+    @FunctionalInterface
+    protected static interface ExecutionFrameListener extends ExecutionStatusStoreListener {
+
+        void frameStarted(ExecutionStatusStore store);
+    }
 }
@@ -11,6 +11,7 @@ import org.rf.ide.core.execution.agent.event.SuiteEndedEvent;
 import org.rf.ide.core.execution.agent.event.SuiteStartedEvent;
 import org.rf.ide.core.execution.agent.event.TestEndedEvent;
 import org.rf.ide.core.execution.agent.event.TestStartedEvent;
+import org.rf.ide.core.execution.server.AgentClient;
 import org.robotframework.ide.eclipse.main.plugin.launch.RobotTestExecutionService.RobotTestsLaunch;
 
 
@@ -18,10 +19,17 @@ public class ExecutionStatusTracker extends RobotDefaultAgentEventListener {
 
     private final RobotTestsLaunch testsLaunchContext;
 
+    private int clientId;
+
     public ExecutionStatusTracker(final RobotTestsLaunch testsLaunchContext) {
         this.testsLaunchContext = testsLaunchContext;
     }
 
+    @Override
+    public void setClient(final AgentClient client) {
+        this.clientId = client == null ? 0 : client.getId();
+    }
+
     @Override
     public void handleAgentInitializing() {
         testsLaunchContext.getExecutionData(ExecutionStatusStore.class, ExecutionStatusStore::new);
@@ -30,26 +38,28 @@ public class ExecutionStatusTracker extends RobotDefaultAgentEventListener {
     @Override
     public void handleSuiteStarted(final SuiteStartedEvent event) {
         testsLaunchContext.performOnExecutionData(ExecutionStatusStore.class,
-                store -> store.suiteStarted(event.getName(), event.getPath(), event.getNumberOfTests(),
+                store -> store.suiteStarted(clientId, event.getName(), event.getPath(), event.getNumberOfTests(),
                         event.getChildrenSuites(), event.getChildrenTests()));
     }
 
     @Override
     public void handleSuiteEnded(final SuiteEndedEvent event) {
         testsLaunchContext.performOnExecutionData(ExecutionStatusStore.class,
-                store -> store.elementEnded(event.getElapsedTime(), event.getStatus(), event.getErrorMessage()));
+                store -> store.elementEnded(clientId, event.getElapsedTime(), event.getStatus(),
+                        event.getErrorMessage()));
     }
 
     @Override
     public void handleTestStarted(final TestStartedEvent event) {
         testsLaunchContext.performOnExecutionData(ExecutionStatusStore.class, 
-                store -> store.testStarted());
+                store -> store.testStarted(clientId));
     }
 
     @Override
     public void handleTestEnded(final TestEndedEvent event) {
         testsLaunchContext.performOnExecutionData(ExecutionStatusStore.class,
-                store -> store.elementEnded(event.getElapsedTime(), event.getStatus(), event.getErrorMessage()));
+                store -> store.elementEnded(clientId, event.getElapsedTime(), event.getStatus(),
+                        event.getErrorMessage()));
     }
 
     @Override
@@ -94,7 +94,7 @@ public class ExecutionTreeNode {
         this.elapsedTime = elapsedTime;
     }
 
-    int getElapsedTime() {
+    public int getElapsedTime() {
         return elapsedTime;
     }
 
@@ -10,6 +10,7 @@ import static com.google.common.collect.Lists.newArrayList;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
@@ -42,8 +43,7 @@ import org.robotframework.ide.eclipse.main.plugin.RedPlugin;
 import org.robotframework.ide.eclipse.main.plugin.launch.RobotTestExecutionService;
 import org.robotframework.ide.eclipse.main.plugin.launch.RobotTestExecutionService.RobotTestExecutionListener;
 import org.robotframework.ide.eclipse.main.plugin.launch.RobotTestExecutionService.RobotTestsLaunch;
-import org.robotframework.ide.eclipse.main.plugin.views.execution.ExecutionStatusStore.ExecutionProgressListener;
-import org.robotframework.ide.eclipse.main.plugin.views.execution.ExecutionStatusStore.ExecutionTreeElementListener;
+import org.robotframework.ide.eclipse.main.plugin.views.execution.ExecutionStatusStore.ExecutionFrameListener;
 import org.robotframework.ide.eclipse.main.plugin.views.execution.handler.ExecutionViewPropertyTester;
 import org.robotframework.ide.eclipse.main.plugin.views.execution.handler.GoToFileHandler.E4GoToFileHandler;
 import org.robotframework.ide.eclipse.main.plugin.views.execution.handler.ShowFailedOnlyHandler;
@@ -70,8 +70,11 @@ public class ExecutionView {
     private final RobotTestExecutionService executionService;
     private RobotTestsLaunch launch;
     private RobotTestExecutionListener executionListener;
-    private final ExecutionTreeElementListener storeListener = this::refreshChangedNode;
-    private final ExecutionProgressListener progressListener = this::refreshProgress;
+    private final ExecutionFrameListener frameListener = this::scheduleFrame;
+
+    // changes are shown in frames, so that the UI thread is not flooded when there are many short tests
+    private final int minimalFrameInterval;
+    private long lastFrameTime;
 
     private Composite parent;
 
@@ -88,12 +91,14 @@ public class ExecutionView {
     private IActionBars actionBars;
 
     public ExecutionView() {
-        this(RedPlugin.getTestExecutionService());
+        this(RedPlugin.getTestExecutionService(),
+                RedPlugin.getDefault().getPreferences().getExecutionViewRefreshesPerSecond());
     }
 
     @VisibleForTesting
-    ExecutionView(final RobotTestExecutionService executionService) {
+    ExecutionView(final RobotTestExecutionService executionService, final int maxRefreshesPerSecond) {
         this.executionService = executionService;
+        this.minimalFrameInterval = 1000 / Math.max(1, maxRefreshesPerSecond);
     }
 
     public TreeViewer getViewer() {
@@ -195,10 +200,11 @@ public class ExecutionView {
                 synchronized (launch) {
                     final ExecutionStatusStore elementsStore = launch.getExecutionData(ExecutionStatusStore.class,
                             ExecutionStatusStore::new);
-                    elementsStore.addTreeListener(storeListener);
-                    elementsStore.addProgressListener(progressListener);
+                    elementsStore.addFrameListener(frameListener);
 
                     SwtThread.asyncExec(() -> {
+                        // whole tree is shown, so changes collected so far are not needed
+                        elementsStore.finishFrame();
                         final ExecutionTreeNode root = elementsStore.getExecutionTree();
                         executionViewer.setInput(root == null ? null : newArrayList(root));
                         refreshProgress(elementsStore.getCurrentTest(), elementsStore.getPassedTests(),
@@ -271,37 +277,48 @@ public class ExecutionView {
         synchronized (executionService) {
             executionService.removeExecutionListener(executionListener);
             executionService.forEachLaunch(launch -> launch.getExecutionData(ExecutionStatusStore.class)
-                    .ifPresent(store -> store.removeStoreListener(storeListener, progressListener)));
+                    .ifPresent(store -> store.removeStoreListener(frameListener)));
         }
     }
 
-    private void refreshChangedNode(final ExecutionStatusStore store, final ExecutionTreeNode node) {
+    private void scheduleFrame(final ExecutionStatusStore store) {
         SwtThread.asyncExec(() -> {
             // it could have been queued earlier in main thread...
             if (parent == null || parent.isDisposed()) {
                 return;
             }
+            final long delay = Math.max(0, lastFrameTime + minimalFrameInterval - System.currentTimeMillis());
+            parent.getDisplay().timerExec((int) delay, () -> refreshFrame(store));
+        });
+    }
 
-            if (executionViewer.getInput() == null) {
-                executionViewer.setInput(newArrayList(store.getExecutionTree()));
-            }
-            executionViewer.refresh(node);
+    private void refreshFrame(final ExecutionStatusStore store) {
+        if (parent == null || parent.isDisposed() || store.isDisposed()) {
+            return;
+        }
+        lastFrameTime = System.currentTimeMillis();
 
-            final List<ExecutionTreeNode> p = new ArrayList<>();
-            ExecutionTreeNode e = node;
-            while (e != null) {
-                p.add(0, e);
-                e = e.getParent();
-            }
+        final Set<ExecutionTreeNode> changedNodes = store.finishFrame();
+        if (executionViewer.getInput() == null && store.getExecutionTree() != null) {
+            executionViewer.setInput(newArrayList(store.getExecutionTree()));
+        }
+        final ExecutionViewContentProvider provider = (ExecutionViewContentProvider) executionViewer
+                .getContentProvider();
+        provider.refreshChangedNodes(executionViewer, changedNodes);
 
-            final TreePath path = new TreePath(p.toArray());
+        for (final ExecutionTreeNode node : changedNodes) {
+            final List<ExecutionTreeNode> nodePath = getPath(node);
+            final TreePath path = new TreePath(nodePath.toArray());
             final Status status = node.getStatus().orElse(null);
             if (status == Status.RUNNING || status == Status.FAIL) {
                 executionViewer.expandToLevel(path, 0);
             } else {
-                executionViewer.collapseToLevel(path, p.size());
+                executionViewer.collapseToLevel(path, nodePath.size());
             }
-        });
+        }
+
+        refreshProgress(store.getCurrentTest(), store.getPassedTests(), store.getFailedTests(),
+                store.getTotalTests());
     }
 
     private void refreshProgress(final int currentTest, final int passedSoFar, final int failedSoFar,
@@ -358,8 +375,7 @@ public class ExecutionView {
             synchronized (ExecutionView.this.launch) {
                 final ExecutionStatusStore elementsStore = launch.getExecutionData(ExecutionStatusStore.class,
                         ExecutionStatusStore::new);
-                elementsStore.addTreeListener(storeListener);
-                elementsStore.addProgressListener(progressListener);
+                elementsStore.addFrameListener(frameListener);
 
                 SwtThread.asyncExec(() -> {
                     refreshProgress(elementsStore.getCurrentTest(), elementsStore.getPassedTests(),
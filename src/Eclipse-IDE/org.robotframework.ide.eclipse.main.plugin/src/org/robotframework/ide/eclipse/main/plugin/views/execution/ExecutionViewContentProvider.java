@@ -5,10 +5,16 @@
  */
 package org.robotframework.ide.eclipse.main.plugin.views.execution;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
+import org.eclipse.jface.viewers.TreeViewer;
 import org.rf.ide.core.execution.agent.Status;
+import org.robotframework.ide.eclipse.main.plugin.views.execution.ExecutionTreeNode.ElementKind;
 import org.robotframework.red.viewers.TreeContentProvider;
 
 public class ExecutionViewContentProvider extends TreeContentProvider {
@@ -19,6 +25,34 @@ public class ExecutionViewContentProvider extends TreeContentProvider {
         this.isFailedFilterEnabled = isEnabled;
     }
 
+    /**
+     * Updates given viewer with nodes changed in single frame. Suites are refreshed, as their
+     * children could have been added, while for tests only labels are updated. When failed tests
+     * are filtered the parents of changed tests are refreshed, since their status decides if they
+     * are shown.
+     */
+    void refreshChangedNodes(final TreeViewer viewer, final Collection<ExecutionTreeNode> changedNodes) {
+        final Set<ExecutionTreeNode> suitesToRefresh = new LinkedHashSet<>();
+        final List<ExecutionTreeNode> testsToUpdate = new ArrayList<>();
+        for (final ExecutionTreeNode node : changedNodes) {
+            if (node.getKind() == ElementKind.SUITE) {
+                suitesToRefresh.add(node);
+            } else if (isFailedFilterEnabled && node.getParent() != null) {
+                suitesToRefresh.add(node.getParent());
+            } else {
+                testsToUpdate.add(node);
+            }
+        }
+        testsToUpdate.removeIf(test -> suitesToRefresh.contains(test.getParent()));
+
+        if (!testsToUpdate.isEmpty()) {
+            viewer.update(testsToUpdate.toArray(), null);
+        }
+        for (final ExecutionTreeNode suite : suitesToRefresh) {
+            viewer.refresh(suite);
+        }
+    }
+
     @Override
     public Object[] getElements(final Object inputElement) {
         return ((List<?>) inputElement).toArray(new Object[0]);
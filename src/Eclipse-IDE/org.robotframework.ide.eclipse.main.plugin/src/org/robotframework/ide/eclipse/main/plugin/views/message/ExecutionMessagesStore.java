@@ -5,17 +5,67 @@
  */
 package org.robotframework.ide.eclipse.main.plugin.views.message;
 
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.List;
 
 import org.eclipse.ui.services.IDisposable;
 
+import com.google.common.annotations.VisibleForTesting;
+
+/**
+ * Messages of single launch. Messages are kept in segments of limited size; only the most recent
+ * segments are kept in memory, while the older ones are spilled to temporary file, so that long
+ * executions with verbose logging do not fill the heap. The content is accessed by ranges or
+ * written out segment by segment, so it does not have to be materialized as a whole.
+ */
 class ExecutionMessagesStore implements IDisposable {
 
-    private final StringBuilder message = new StringBuilder();
+    private static final int SEGMENT_LENGTH = 64 * 1024;
+
+    private static final int MAX_SEGMENTS_IN_MEMORY = 16;
+
+    private final int segmentLength;
+
+    private final int maxSegmentsInMemory;
+
+    private final StringBuilder currentSegment = new StringBuilder();
+
+    private final Deque<String> recentSegments = new ArrayDeque<>();
+
+    private final List<SpilledSegment> spilledSegments = new ArrayList<>();
+
+    private long length;
+
+    private long spilledLength;
+
+    private Path spillFile;
+
+    private FileChannel spillChannel;
 
     private final List<ExecutionMessagesStoreListener> listeners = new ArrayList<>();
 
+    ExecutionMessagesStore() {
+        this(SEGMENT_LENGTH, MAX_SEGMENTS_IN_MEMORY);
+    }
+
+    @VisibleForTesting
+    ExecutionMessagesStore(final int segmentLength, final int maxSegmentsInMemory) {
+        this.segmentLength = segmentLength;
+        this.maxSegmentsInMemory = maxSegmentsInMemory;
+    }
+
     void addStoreListener(final ExecutionMessagesStoreListener listener) {
         listeners.add(listener);
     }
@@ -26,23 +76,184 @@ class ExecutionMessagesStore implements IDisposable {
 
     @Override
     public void dispose() {
-        message.setLength(0);
+        synchronized (this) {
+            currentSegment.setLength(0);
+            recentSegments.clear();
+            spilledSegments.clear();
+            length = 0;
+            spilledLength = 0;
+            closeSpillFile();
+        }
         listeners.clear();
     }
 
+    private void closeSpillFile() {
+        try {
+            if (spillChannel != null) {
+                spillChannel.close();
+            }
+            if (spillFile != null) {
+                Files.deleteIfExists(spillFile);
+            }
+        } catch (final IOException e) {
+            // nothing to do, the file is deleted on exit anyway
+        } finally {
+            spillChannel = null;
+            spillFile = null;
+        }
+    }
+
     void append(final String msg) {
-        message.append(msg);
+        synchronized (this) {
+            currentSegment.append(msg);
+            length += msg.length();
+            if (currentSegment.length() >= segmentLength) {
+                recentSegments.addLast(currentSegment.toString());
+                currentSegment.setLength(0);
+                if (recentSegments.size() > maxSegmentsInMemory) {
+                    spill(recentSegments.removeFirst());
+                }
+            }
+        }
         listeners.forEach(listener -> listener.storeAppended(msg));
     }
 
+    private void spill(final String segment) {
+        try {
+            if (spillChannel == null) {
+                spillFile = Files.createTempFile("red_messages", ".log");
+                spillFile.toFile().deleteOnExit();
+                spillChannel = FileChannel.open(spillFile, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            }
+            final ByteBuffer bytes = StandardCharsets.UTF_8.encode(segment);
+            final long position = spillChannel.size();
+            final int bytesLength = bytes.remaining();
+            while (bytes.hasRemaining()) {
+                spillChannel.write(bytes, position + bytesLength - bytes.remaining());
+            }
+            spilledSegments.add(new SpilledSegment(spilledLength, position, bytesLength, segment.length()));
+            spilledLength += segment.length();
+        } catch (final IOException e) {
+            // messages are not lost, they are just kept in memory
+            recentSegments.addFirst(segment);
+        }
+    }
+
+    synchronized long getLength() {
+        return length;
+    }
+
+    @VisibleForTesting
     String getMessage() {
+        synchronized (this) {
+            return getMessage(0, (int) Math.min(length, Integer.MAX_VALUE));
+        }
+    }
+
+    /**
+     * Returns part of the messages starting at given offset and having given length at most.
+     */
+    synchronized String getMessage(final long offset, final int maxLength) {
+        final StringBuilder message = new StringBuilder();
+        forEachSegment(offset, offset + Math.min(maxLength, length - offset), message::append);
         return message.toString();
     }
 
+    void writeTo(final Writer writer) throws IOException {
+        long offset = 0;
+        while (true) {
+            // the store is not locked while writing, so it may grow in the meantime; each part
+            // is found directly by its offset, so the segments are written in single pass
+            final String part = getMessage(offset, segmentLength);
+            if (part.isEmpty()) {
+                return;
+            }
+            writer.write(part);
+            offset += part.length();
+        }
+    }
+
+    private void forEachSegment(final long start, final long end, final SegmentConsumer consumer) {
+        for (int i = findFirstSpilledSegmentEndingAfter(start); i < spilledSegments.size(); i++) {
+            final SpilledSegment segment = spilledSegments.get(i);
+            if (segment.start >= end) {
+                return;
+            }
+            consumer.accept(readSpilled(segment), (int) Math.max(0, start - segment.start),
+                    (int) Math.min(segment.length, end - segment.start));
+        }
+        long segmentStart = spilledLength;
+        for (final String segment : recentSegments) {
+            if (segmentStart + segment.length() > start && segmentStart < end) {
+                consumer.accept(segment, (int) Math.max(0, start - segmentStart),
+                        (int) Math.min(segment.length(), end - segmentStart));
+            }
+            segmentStart += segment.length();
+        }
+        if (segmentStart + currentSegment.length() > start && segmentStart < end) {
+            consumer.accept(currentSegment, (int) Math.max(0, start - segmentStart),
+                    (int) Math.min(currentSegment.length(), end - segmentStart));
+        }
+    }
+
+    private int findFirstSpilledSegmentEndingAfter(final long offset) {
+        int low = 0;
+        int high = spilledSegments.size();
+        while (low < high) {
+            final int middle = (low + high) >>> 1;
+            final SpilledSegment segment = spilledSegments.get(middle);
+            if (segment.start + segment.length <= offset) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private String readSpilled(final SpilledSegment segment) {
+        try {
+            final ByteBuffer bytes = ByteBuffer.allocate(segment.bytesLength);
+            while (bytes.hasRemaining()) {
+                if (spillChannel.read(bytes, segment.position + bytes.position()) < 0) {
+                    throw new EOFException("Messages file is shorter than expected");
+                }
+            }
+            bytes.flip();
+            return StandardCharsets.UTF_8.decode(bytes).toString();
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @FunctionalInterface
+    private static interface SegmentConsumer {
+
+        void accept(CharSequence segment, int start, int end);
+    }
+
+    private static final class SpilledSegment {
+
+        private final long start;
+
+        private final long position;
+
+        private final int bytesLength;
+
+        private final int length;
+
+        private SpilledSegment(final long start, final long position, final int bytesLength, final int length) {
+            this.start = start;
+            this.position = position;
+            this.bytesLength = bytesLength;
+            this.length = length;
+        }
+    }
+
     @FunctionalInterface
     static interface ExecutionMessagesStoreListener {
 
         void storeAppended(String appendedMsg);
     }
 
-}
\ No newline at end of file
+}
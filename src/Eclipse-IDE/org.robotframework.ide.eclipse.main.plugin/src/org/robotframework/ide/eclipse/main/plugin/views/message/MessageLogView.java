@@ -16,6 +16,7 @@ import org.eclipse.swt.SWT;
 import org.eclipse.swt.custom.StyledText;
 import org.eclipse.swt.layout.FillLayout;
 import org.eclipse.swt.widgets.Composite;
+import org.eclipse.swt.widgets.Listener;
 import org.robotframework.ide.eclipse.main.plugin.RedPlugin;
 import org.robotframework.ide.eclipse.main.plugin.launch.RobotTestExecutionService;
 import org.robotframework.ide.eclipse.main.plugin.launch.RobotTestExecutionService.RobotTestExecutionListener;
@@ -32,14 +33,28 @@ import com.google.common.annotations.VisibleForTesting;
 public class MessageLogView {
     
     public static final String ID = "org.robotframework.ide.MessageLogView";
+
+    // the text control shows a window of the messages store: the most recent messages are shown
+    // and followed, while earlier ones are read from the store when the view is scrolled to the top
+    private static final int MAX_VISIBLE_LENGTH = 1_000_000;
     
     private final RobotTestExecutionService executionService;
 
+    private final int maxVisibleLength;
+
     private StyledText styledText;
 
+    private ExecutionMessagesStore messagesStore;
+
+    // offset in the store of the first character shown; accessed in UI thread only
+    private long visibleStart;
+
+    // whether the window ends with the last message, so that newly appended ones are shown
+    private boolean isShowingLatest = true;
+
     private RobotTestExecutionListener executionListener;
 
-    private final ExecutionMessagesStoreListener storeListener = this::append;
+    private final ExecutionMessagesStoreListener storeListener = msg -> SwtThread.asyncExec(this::showNewMessages);
     
     public MessageLogView() {
         this(RedPlugin.getTestExecutionService());
@@ -47,13 +62,23 @@ public class MessageLogView {
 
     @VisibleForTesting
     MessageLogView(final RobotTestExecutionService executionService) {
+        this(executionService, MAX_VISIBLE_LENGTH);
+    }
+
+    @VisibleForTesting
+    MessageLogView(final RobotTestExecutionService executionService, final int maxVisibleLength) {
         this.executionService = executionService;
+        this.maxVisibleLength = maxVisibleLength;
     }
 
     @VisibleForTesting
     StyledText getTextControl() {
         return styledText;
     }
+
+    Optional<ExecutionMessagesStore> getMessagesStore() {
+        return Optional.ofNullable(messagesStore);
+    }
 
     @PostConstruct
     public void postConstruct(final Composite parent) {
@@ -66,6 +91,13 @@ public class MessageLogView {
         styledText.setFont(JFaceResources.getTextFont());
         styledText.setEditable(false);
 
+        // scrolling by keyboard does not notify the scroll bar listeners, while mouse wheel
+        // notifies before the text is scrolled, so the window is moved afterwards
+        final Listener scrollListener = event -> SwtThread.asyncExec(this::showMessagesAroundVisibleArea);
+        styledText.getVerticalBar().addListener(SWT.Selection, scrollListener);
+        styledText.addListener(SWT.KeyUp, scrollListener);
+        styledText.addListener(SWT.MouseVerticalWheel, scrollListener);
+
         setInput();
     }
 
@@ -87,22 +119,99 @@ public class MessageLogView {
                     final ExecutionMessagesStore messagesStore = launch.getExecutionData(ExecutionMessagesStore.class,
                             ExecutionMessagesStore::new);
                     messagesStore.addStoreListener(storeListener);
+                    this.messagesStore = messagesStore;
 
-                    append(messagesStore.getMessage());
+                    visibleStart = Math.max(0, messagesStore.getLength() - maxVisibleLength);
+                    styledText.setText(messagesStore.getMessage(visibleStart, maxVisibleLength));
+                    styledText.setTopIndex(styledText.getLineCount() - 1);
                 }
             }
         }
     }
 
-    private void append(final String msg) {
-        SwtThread.asyncExec(() -> {
-            // it could have been queued earlier in main thread...
-            if (styledText == null || styledText.isDisposed()) {
-                return;
-            }
-            styledText.append(msg);
-            styledText.setTopIndex(styledText.getLineCount() - 1);
-        });
+    private void showNewMessages() {
+        // it could have been queued earlier in main thread...
+        if (styledText == null || styledText.isDisposed() || messagesStore == null || !isShowingLatest) {
+            return;
+        }
+        // messages are read from the store by offset, so each one is shown once even if the
+        // notifications about them were queued before the window was moved
+        final long length = messagesStore.getLength();
+        final long visibleEnd = visibleStart + styledText.getCharCount();
+        if (length - visibleEnd > maxVisibleLength) {
+            visibleStart = length - maxVisibleLength;
+            styledText.setText(messagesStore.getMessage(visibleStart, maxVisibleLength));
+        } else {
+            styledText.append(messagesStore.getMessage(visibleEnd, maxVisibleLength));
+            removeExceedingEarliestLines();
+        }
+        styledText.setTopIndex(styledText.getLineCount() - 1);
+    }
+
+    private void showMessagesAroundVisibleArea() {
+        if (styledText == null || styledText.isDisposed() || messagesStore == null) {
+            return;
+        }
+        if (styledText.getTopIndex() == 0) {
+            showEarlierMessages();
+        } else if (isLastLineVisible()) {
+            showLaterMessages();
+        }
+    }
+
+    private boolean isLastLineVisible() {
+        final int lastLineBottom = styledText.getLinePixel(styledText.getLineCount() - 1)
+                + styledText.getLineHeight();
+        return lastLineBottom <= styledText.getClientArea().height;
+    }
+
+    @VisibleForTesting
+    void showEarlierMessages() {
+        if (visibleStart == 0) {
+            return;
+        }
+        final String earlierMessages = messagesStore.getMessage(
+                Math.max(0, visibleStart - maxVisibleLength / 4), (int) Math.min(visibleStart, maxVisibleLength / 4));
+        final int linesCount = styledText.getLineCount();
+        styledText.replaceTextRange(0, 0, earlierMessages);
+        visibleStart -= earlierMessages.length();
+        styledText.setTopIndex(styledText.getLineCount() - linesCount);
+
+        if (styledText.getCharCount() > maxVisibleLength) {
+            final int firstRemovedLine = Math.max(styledText.getLineAtOffset(maxVisibleLength), 1);
+            final int removedStart = styledText.getOffsetAtLine(firstRemovedLine);
+            styledText.replaceTextRange(removedStart, styledText.getCharCount() - removedStart, "");
+            isShowingLatest = false;
+        }
+    }
+
+    @VisibleForTesting
+    void showLaterMessages() {
+        if (isShowingLatest) {
+            return;
+        }
+        final long visibleEnd = visibleStart + styledText.getCharCount();
+        final String laterMessages = messagesStore.getMessage(visibleEnd, maxVisibleLength / 4);
+        final int topIndex = styledText.getTopIndex();
+        styledText.append(laterMessages);
+        final int removedLines = removeExceedingEarliestLines();
+        styledText.setTopIndex(Math.max(topIndex - removedLines, 0));
+
+        // messages appended later are notified afterwards, so they are shown as new ones
+        isShowingLatest = visibleEnd + laterMessages.length() >= messagesStore.getLength();
+    }
+
+    private int removeExceedingEarliestLines() {
+        if (styledText.getCharCount() <= maxVisibleLength) {
+            return 0;
+        }
+        // a quarter is removed at once, so that the text is not shifted on every message
+        final int removedLines = Math.min(styledText.getLineAtOffset(maxVisibleLength / 4) + 1,
+                styledText.getLineCount() - 1);
+        final int removedLength = styledText.getOffsetAtLine(removedLines);
+        styledText.replaceTextRange(0, removedLength, "");
+        visibleStart += removedLength;
+        return removedLines;
     }
 
     @Focus
@@ -133,10 +242,15 @@ public class MessageLogView {
 
         @Override
         public void executionStarting(final RobotTestsLaunch launch) {
-            SwtThread.asyncExec(() -> styledText.setText(""));
-
-            launch.getExecutionData(ExecutionMessagesStore.class, ExecutionMessagesStore::new)
-                    .addStoreListener(storeListener);
+            final ExecutionMessagesStore store = launch.getExecutionData(ExecutionMessagesStore.class,
+                    ExecutionMessagesStore::new);
+            SwtThread.asyncExec(() -> {
+                messagesStore = store;
+                visibleStart = 0;
+                isShowingLatest = true;
+                styledText.setText("");
+            });
+            store.addStoreListener(storeListener);
         }
 
         @Override
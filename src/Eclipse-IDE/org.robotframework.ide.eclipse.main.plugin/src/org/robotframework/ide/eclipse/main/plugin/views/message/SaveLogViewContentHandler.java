@@ -7,6 +7,8 @@ package org.robotframework.ide.eclipse.main.plugin.views.message;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.Writer;
+import java.util.Optional;
 
 import javax.inject.Named;
 
@@ -49,9 +51,14 @@ public class SaveLogViewContentHandler extends DIParameterizedHandler<E4SaveLogV
                 return;
             }
 
-            try {
-                final String content = control.getText();
-                Files.write(content, new File(path), Charsets.UTF_8);
+            // whole content is streamed from the store, as the view shows only the most recent messages
+            final Optional<ExecutionMessagesStore> messagesStore = msgLogView.getMessagesStore();
+            try (Writer writer = Files.newWriter(new File(path), Charsets.UTF_8)) {
+                if (messagesStore.isPresent()) {
+                    messagesStore.get().writeTo(writer);
+                } else {
+                    writer.write(control.getText());
+                }
             } catch (final IOException e) {
                 ErrorDialog.openError(control.getShell(), "Error saving file",
                         "Unable to save Message Log view content to " + path + " file",
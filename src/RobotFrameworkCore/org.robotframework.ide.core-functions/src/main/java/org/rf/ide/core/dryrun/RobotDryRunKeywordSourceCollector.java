@@ -37,7 +37,15 @@ public class RobotDryRunKeywordSourceCollector {
         }
     }
 
-    public List<RobotDryRunKeywordSource> getKeywordSources() {
+    /**
+     * Adds keyword sources collected by other collector, e.g. by the one which was used for
+     * another part of dry run executed in parallel.
+     */
+    public synchronized void merge(final RobotDryRunKeywordSourceCollector otherCollector) {
+        keywordSources.addAll(otherCollector.getKeywordSources());
+    }
+
+    public synchronized List<RobotDryRunKeywordSource> getKeywordSources() {
         return keywordSources;
     }
 }
@@ -157,7 +157,34 @@ public class RobotDryRunLibraryImportCollector {
         currentLibraryImportWithFail = null;
     }
 
-    public List<RobotDryRunLibraryImport> getImportedLibraries() {
+    /**
+     * Adds library imports collected by other collector, e.g. by the one which was used for
+     * another part of dry run executed in parallel. Imports of the same library are joined and
+     * the import fails if it failed in any part. Imports are copied, so this collector may
+     * change them independently of the other one.
+     */
+    public synchronized void merge(final RobotDryRunLibraryImportCollector otherCollector) {
+        for (final RobotDryRunLibraryImport libraryImport : otherCollector.getImportedLibraries()) {
+            final int index = importedLibraries.indexOf(libraryImport);
+            if (index < 0) {
+                final RobotDryRunLibraryImport copy = new RobotDryRunLibraryImport(libraryImport.getName(),
+                        libraryImport.getSourcePath(), null, libraryImport.getArgs());
+                libraryImport.getImportersPaths().forEach(copy::addImporterPath);
+                copy.setStatus(libraryImport.getStatus());
+                copy.setAdditionalInfo(libraryImport.getAdditionalInfo());
+                importedLibraries.add(copy);
+            } else {
+                final RobotDryRunLibraryImport existingImport = importedLibraries.get(index);
+                libraryImport.getImportersPaths().forEach(existingImport::addImporterPath);
+                if (libraryImport.getStatus() == DryRunLibraryImportStatus.NOT_ADDED) {
+                    existingImport.setStatus(DryRunLibraryImportStatus.NOT_ADDED);
+                    existingImport.setAdditionalInfo(libraryImport.getAdditionalInfo());
+                }
+            }
+        }
+    }
+
+    public synchronized List<RobotDryRunLibraryImport> getImportedLibraries() {
         return importedLibraries;
     }
 
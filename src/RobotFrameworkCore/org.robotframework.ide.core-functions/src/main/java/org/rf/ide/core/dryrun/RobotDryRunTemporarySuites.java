@@ -18,19 +18,39 @@ import org.rf.ide.core.executor.RobotRuntimeEnvironment;
  */
 public class RobotDryRunTemporarySuites {
 
+    private static final String SUITE_FILE_NAME = "DryRunTempSuite.robot";
+
     public static File createResourceFile(final List<String> resourcesPaths) {
-        return createFile(resourcesPaths, new ArrayList<String>());
+        return createFile(null, resourcesPaths, new ArrayList<String>());
     }
 
     public static File createLibraryFile(final List<String> libraryNames) {
-        return createFile(new ArrayList<String>(), libraryNames);
+        return createFile(null, new ArrayList<String>(), libraryNames);
+    }
+
+    /**
+     * Creates suite importing given resources in its own subdirectory of temporary directory, so
+     * that dry runs of different owners do not overwrite the suite of each other.
+     */
+    public static File createResourceFile(final String ownerName, final List<String> resourcesPaths) {
+        return createFile(ownerName, resourcesPaths, new ArrayList<String>());
+    }
+
+    /**
+     * Creates suite importing given libraries in its own subdirectory of temporary directory, so
+     * that dry runs of different owners do not overwrite the suite of each other.
+     */
+    public static File createLibraryFile(final String ownerName, final List<String> libraryNames) {
+        return createFile(ownerName, new ArrayList<String>(), libraryNames);
     }
 
-    private static File createFile(final List<String> resourcesPaths, final List<String> libraryNames) {
+    private static File createFile(final String ownerName, final List<String> resourcesPaths,
+            final List<String> libraryNames) {
         File file = null;
         PrintWriter printWriter = null;
         try {
-            file = RobotRuntimeEnvironment.createTemporaryFile("DryRunTempSuite.robot");
+            file = ownerName == null ? RobotRuntimeEnvironment.createTemporaryFile(SUITE_FILE_NAME)
+                    : RobotRuntimeEnvironment.createTemporaryFile(ownerName, SUITE_FILE_NAME);
             printWriter = new PrintWriter(file);
             printWriter.println("*** Test Cases ***");
             printWriter.println("T1");
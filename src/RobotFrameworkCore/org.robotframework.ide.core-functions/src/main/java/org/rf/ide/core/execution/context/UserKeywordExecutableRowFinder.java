@@ -18,6 +18,7 @@ import org.rf.ide.core.testdata.importer.ResourceImportReference;
 import org.rf.ide.core.testdata.model.RobotFileOutput;
 import org.rf.ide.core.testdata.model.RobotFileOutput.RobotFileType;
 import org.rf.ide.core.testdata.model.search.keyword.KeywordScope;
+import org.rf.ide.core.testdata.model.search.keyword.KeywordSearchIndex;
 import org.rf.ide.core.testdata.model.search.keyword.KeywordSearcher;
 import org.rf.ide.core.testdata.model.search.keyword.KeywordSearcher.Extractor;
 import org.rf.ide.core.testdata.model.table.RobotExecutableRow;
@@ -39,6 +40,8 @@ public class UserKeywordExecutableRowFinder implements IRobotExecutableRowFinder
 
     private final KeywordSearcher keywordSearcher = new KeywordSearcher();
 
+    private KeywordSearchIndex<UserKeyword> keywordsIndex;
+
     private final UserKeywordExtractor userKeywordExtractor = new UserKeywordExtractor();
 
     public UserKeywordExecutableRowFinder(final RobotParser robotParser, final List<UserKeyword> userKeywords,
@@ -56,8 +59,11 @@ public class UserKeywordExecutableRowFinder implements IRobotExecutableRowFinder
 
         if (newUserKeyword == null) {
             final String keywordName = extractIfNameIsFromVariableDeclaration(parentKeywordContext.getName());
-            final ListMultimap<String, UserKeyword> foundKeywords = keywordSearcher.findKeywords(
-                    accessibleKeywords.asMap(), accessibleKeywords.values(), userKeywordExtractor, keywordName, true);
+            if (keywordsIndex == null) {
+                keywordsIndex = new KeywordSearchIndex<>(accessibleKeywords.values(), userKeywordExtractor);
+            }
+            final ListMultimap<String, UserKeyword> foundKeywords = keywordSearcher
+                    .findKeywords(accessibleKeywords.asMap(), keywordsIndex, keywordName, true);
             final List<UserKeyword> bestMatchingKeywords = keywordSearcher.getBestMatchingKeyword(foundKeywords,
                     userKeywordExtractor, keywordName);
 
@@ -166,6 +172,7 @@ public class UserKeywordExecutableRowFinder implements IRobotExecutableRowFinder
     public void updateAccessibleKeywords(final List<UserKeyword> userKeywords) {
         addKeywordsFromTestSuite(userKeywords);
         addKeywordsFromReferences();
+        keywordsIndex = null;
     }
 
     private void addKeywordsFromTestSuite(final List<UserKeyword> userKeywords) {
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2017 Nokia Solutions and Networks
+ * Licensed under the Apache License, Version 2.0,
+ * see license.txt file for details.
+ */
+package org.rf.ide.core.execution.history;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Optional;
+
+import org.rf.ide.core.execution.agent.RobotDefaultAgentEventListener;
+import org.rf.ide.core.execution.agent.Status;
+import org.rf.ide.core.execution.agent.event.SuiteEndedEvent;
+import org.rf.ide.core.execution.agent.event.SuiteStartedEvent;
+import org.rf.ide.core.execution.agent.event.TestEndedEvent;
+
+/**
+ * Writes status and elapsed time of every finished test into execution history. One tracker
+ * should be used for every connected agent, since it follows the suites started by the agent.
+ */
+public class ExecutionHistoryTracker extends RobotDefaultAgentEventListener {
+
+    private final TestsExecutionHistory history;
+
+    private final Deque<Optional<String>> suitePaths = new ArrayDeque<>();
+
+    private boolean isWritable = true;
+
+    public ExecutionHistoryTracker(final TestsExecutionHistory history) {
+        this.history = history;
+    }
+
+    @Override
+    public void handleSuiteStarted(final SuiteStartedEvent event) {
+        suitePaths.push(toPath(event.getPath()));
+    }
+
+    private static Optional<String> toPath(final URI uri) {
+        try {
+            return uri == null ? Optional.empty() : Optional.of(new File(uri).getAbsolutePath());
+        } catch (final IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public void handleSuiteEnded(final SuiteEndedEvent event) {
+        suitePaths.poll();
+    }
+
+    @Override
+    public void handleTestEnded(final TestEndedEvent event) {
+        final Optional<String> suitePath = suitePaths.peek();
+        if (isWritable && suitePath != null && suitePath.isPresent() && event.getStatus() != Status.RUNNING) {
+            try {
+                history.testExecuted(suitePath.get(), event.getName(), event.getStatus(), event.getElapsedTime());
+            } catch (final IOException e) {
+                // history is not essential for the execution, so it is no longer written
+                isWritable = false;
+            }
+        }
+    }
+}
@@ -0,0 +1,274 @@
+/*
+ * Copyright 2017 Nokia Solutions and Networks
+ * Licensed under the Apache License, Version 2.0,
+ * see license.txt file for details.
+ */
+package org.rf.ide.core.execution.history;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Optional;
+
+import org.rf.ide.core.execution.agent.Status;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.io.CountingInputStream;
+
+/**
+ * Statuses and elapsed times of executed tests kept in append-only file, so that they survive
+ * restarts. Every test is identified by absolute path of its suite and by its name and only its
+ * last execution is remembered. Paths of suites are written once and then referenced by numbers,
+ * while all the executions are indexed in memory when the file is opened. The file is compacted
+ * when it contains much more outdated records than current ones; incomplete record left by
+ * interrupted write is dropped.
+ */
+public class TestsExecutionHistory {
+
+    private static final int MAGIC = 0x52454448;
+
+    private static final int VERSION = 1;
+
+    private static final byte SUITE_RECORD = 1;
+
+    private static final byte TEST_RECORD = 2;
+
+    private static final int MIN_RECORDS_TO_COMPACT = 1000;
+
+    private static final int OUTDATED_RECORDS_RATIO_TO_COMPACT = 4;
+
+    private final File file;
+
+    private final List<String> suitePaths = new ArrayList<>();
+
+    private final Map<String, Integer> suiteIds = new HashMap<>();
+
+    private final Map<String, Map<String, TestExecution>> executions = new LinkedHashMap<>();
+
+    private int numberOfRecords;
+
+    private DataOutputStream output;
+
+    public static TestsExecutionHistory open(final File file) throws IOException {
+        final TestsExecutionHistory history = new TestsExecutionHistory(file);
+        history.load();
+        return history;
+    }
+
+    private TestsExecutionHistory(final File file) {
+        this.file = file;
+    }
+
+    private void load() throws IOException {
+        long validLength = 0;
+        if (file.isFile()) {
+            try (CountingInputStream counter = new CountingInputStream(
+                    new BufferedInputStream(new FileInputStream(file)));
+                    DataInputStream input = new DataInputStream(counter)) {
+                if (input.readInt() == MAGIC && input.readInt() == VERSION) {
+                    validLength = counter.getCount();
+                    while (readRecord(input)) {
+                        validLength = counter.getCount();
+                    }
+                }
+            } catch (final EOFException e) {
+                // incomplete record at the end of file
+            }
+        }
+
+        if (validLength == 0 || numberOfRecords >= MIN_RECORDS_TO_COMPACT
+                && numberOfRecords > OUTDATED_RECORDS_RATIO_TO_COMPACT * (suitePaths.size() + countExecutions())) {
+            rewrite();
+        } else if (validLength < file.length()) {
+            try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+                raf.setLength(validLength);
+            }
+        }
+    }
+
+    private boolean readRecord(final DataInputStream input) throws IOException {
+        final int recordType = input.read();
+        if (recordType == SUITE_RECORD) {
+            final int id = input.readInt();
+            final String suitePath = input.readUTF();
+            if (id != suitePaths.size()) {
+                return false;
+            }
+            suitePaths.add(suitePath);
+            suiteIds.put(suitePath, id);
+
+        } else if (recordType == TEST_RECORD) {
+            final int suiteId = input.readInt();
+            final String testName = input.readUTF();
+            final int statusOrdinal = input.readByte();
+            final int elapsedTime = input.readInt();
+            if (suiteId < 0 || suiteId >= suitePaths.size() || statusOrdinal < 0
+                    || statusOrdinal >= Status.values().length) {
+                return false;
+            }
+            putExecution(new TestExecution(suitePaths.get(suiteId), testName, Status.values()[statusOrdinal],
+                    elapsedTime));
+        } else {
+            return false;
+        }
+        numberOfRecords++;
+        return true;
+    }
+
+    private void rewrite() throws IOException {
+        final List<TestExecution> currentExecutions = new ArrayList<>();
+        for (final Map<String, TestExecution> suiteExecutions : executions.values()) {
+            currentExecutions.addAll(suiteExecutions.values());
+        }
+        suitePaths.clear();
+        suiteIds.clear();
+        numberOfRecords = 0;
+
+        file.getAbsoluteFile().getParentFile().mkdirs();
+        final File tmpFile = new File(file.getPath() + ".tmp");
+        try (DataOutputStream tmpOutput = new DataOutputStream(
+                new BufferedOutputStream(new FileOutputStream(tmpFile)))) {
+            tmpOutput.writeInt(MAGIC);
+            tmpOutput.writeInt(VERSION);
+            for (final TestExecution execution : currentExecutions) {
+                writeRecords(tmpOutput, execution);
+            }
+        }
+        Files.move(tmpFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private void writeRecords(final DataOutputStream out, final TestExecution execution) throws IOException {
+        Integer suiteId = suiteIds.get(execution.getSuitePath());
+        if (suiteId == null) {
+            suiteId = suitePaths.size();
+            out.writeByte(SUITE_RECORD);
+            out.writeInt(suiteId);
+            out.writeUTF(execution.getSuitePath());
+            suitePaths.add(execution.getSuitePath());
+            suiteIds.put(execution.getSuitePath(), suiteId);
+            numberOfRecords++;
+        }
+        out.writeByte(TEST_RECORD);
+        out.writeInt(suiteId);
+        out.writeUTF(execution.getTestName());
+        out.writeByte(execution.getStatus().ordinal());
+        out.writeInt(execution.getElapsedTime());
+        numberOfRecords++;
+    }
+
+    private void putExecution(final TestExecution execution) {
+        Map<String, TestExecution> suiteExecutions = executions.get(execution.getSuitePath());
+        if (suiteExecutions == null) {
+            suiteExecutions = new LinkedHashMap<>();
+            executions.put(execution.getSuitePath(), suiteExecutions);
+        }
+        suiteExecutions.put(execution.getTestName(), execution);
+    }
+
+    private int countExecutions() {
+        int count = 0;
+        for (final Map<String, TestExecution> suiteExecutions : executions.values()) {
+            count += suiteExecutions.size();
+        }
+        return count;
+    }
+
+    public synchronized void testExecuted(final String suitePath, final String testName, final Status status,
+            final int elapsedTime) throws IOException {
+        final TestExecution execution = new TestExecution(suitePath, testName, status, elapsedTime);
+        putExecution(execution);
+
+        if (output == null) {
+            output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file, true)));
+        }
+        writeRecords(output, execution);
+        output.flush();
+    }
+
+    public synchronized Optional<TestExecution> getLastExecution(final String suitePath, final String testName) {
+        final Map<String, TestExecution> suiteExecutions = executions.get(suitePath);
+        return Optional.ofNullable(suiteExecutions == null ? null : suiteExecutions.get(testName));
+    }
+
+    /**
+     * Returns last executions of tests from suites placed in given file or directory.
+     */
+    public synchronized List<TestExecution> getLastExecutions(final File suitesLocation) {
+        final String location = suitesLocation.getAbsolutePath();
+        final List<TestExecution> lastExecutions = new ArrayList<>();
+        for (final Entry<String, Map<String, TestExecution>> entry : executions.entrySet()) {
+            final String suitePath = entry.getKey();
+            if (suitePath.equals(location) || suitePath.startsWith(location)
+                    && suitePath.startsWith(File.separator, location.length())) {
+                lastExecutions.addAll(entry.getValue().values());
+            }
+        }
+        return lastExecutions;
+    }
+
+    public synchronized void close() {
+        if (output != null) {
+            try {
+                output.close();
+            } catch (final IOException e) {
+                // nothing to do
+            }
+            output = null;
+        }
+    }
+
+    @VisibleForTesting
+    synchronized int getNumberOfRecords() {
+        return numberOfRecords;
+    }
+
+    public static final class TestExecution {
+
+        private final String suitePath;
+
+        private final String testName;
+
+        private final Status status;
+
+        private final int elapsedTime;
+
+        public TestExecution(final String suitePath, final String testName, final Status status,
+                final int elapsedTime) {
+            this.suitePath = suitePath;
+            this.testName = testName;
+            this.status = status;
+            this.elapsedTime = elapsedTime;
+        }
+
+        public String getSuitePath() {
+            return suitePath;
+        }
+
+        public String getTestName() {
+            return testName;
+        }
+
+        public Status getStatus() {
+            return status;
+        }
+
+        public int getElapsedTime() {
+            return elapsedTime;
+        }
+    }
+}
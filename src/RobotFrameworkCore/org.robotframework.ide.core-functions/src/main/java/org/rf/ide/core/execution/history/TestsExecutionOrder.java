@@ -0,0 +1,77 @@
+/*
+ * Copyright 2017 Nokia Solutions and Networks
+ * Licensed under the Apache License, Version 2.0,
+ * see license.txt file for details.
+ */
+package org.rf.ide.core.execution.history;
+
+import static java.util.stream.Collectors.toList;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+import org.rf.ide.core.execution.agent.Status;
+import org.rf.ide.core.execution.history.TestsExecutionHistory.TestExecution;
+
+/**
+ * Order in which tests should be executed: tests which failed last time go first, then tests
+ * never executed before and finally the rest of tests starting from the slowest one. Robot does
+ * not run tests in order of --suite and --test options, so the order is applied by pre-run
+ * modifier script reading the file written by this class.
+ */
+public class TestsExecutionOrder {
+
+    static final String UNKNOWN_TESTS_MARKER = "*";
+
+    private final List<TestExecution> testsBeforeUnknown;
+
+    private final List<TestExecution> testsAfterUnknown;
+
+    public static TestsExecutionOrder failedFirstThenSlowest(final Collection<TestExecution> lastExecutions) {
+        final Comparator<TestExecution> slowestFirst = Comparator.comparingInt(TestExecution::getElapsedTime)
+                .reversed();
+        final List<TestExecution> failed = lastExecutions.stream()
+                .filter(execution -> execution.getStatus() == Status.FAIL)
+                .sorted(slowestFirst)
+                .collect(toList());
+        final List<TestExecution> passed = lastExecutions.stream()
+                .filter(execution -> execution.getStatus() != Status.FAIL)
+                .sorted(slowestFirst)
+                .collect(toList());
+        return new TestsExecutionOrder(failed, passed);
+    }
+
+    private TestsExecutionOrder(final List<TestExecution> testsBeforeUnknown,
+            final List<TestExecution> testsAfterUnknown) {
+        this.testsBeforeUnknown = testsBeforeUnknown;
+        this.testsAfterUnknown = testsAfterUnknown;
+    }
+
+    public boolean isEmpty() {
+        return testsBeforeUnknown.isEmpty() && testsAfterUnknown.isEmpty();
+    }
+
+    List<String> generateLines() {
+        final List<String> lines = new ArrayList<>();
+        for (final TestExecution execution : testsBeforeUnknown) {
+            lines.add(execution.getSuitePath() + "\t" + execution.getTestName());
+        }
+        lines.add(UNKNOWN_TESTS_MARKER);
+        for (final TestExecution execution : testsAfterUnknown) {
+            lines.add(execution.getSuitePath() + "\t" + execution.getTestName());
+        }
+        return lines;
+    }
+
+    public File writeTo(final File directory) throws IOException {
+        final File file = File.createTempFile("tests_order_", ".txt", directory);
+        Files.write(file.toPath(), generateLines(), StandardCharsets.UTF_8);
+        return file;
+    }
+}
@@ -0,0 +1,490 @@
+/*
+ * Copyright 2017 Nokia Solutions and Networks
+ * Licensed under the Apache License, Version 2.0,
+ * see license.txt file for details.
+ */
+package org.rf.ide.core.execution.server;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintWriter;
+import java.net.SocketTimeoutException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.Charset;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.rf.ide.core.execution.agent.RobotAgentEventListener;
+import org.rf.ide.core.execution.agent.RobotAgentEventListener.RobotAgentEventsListenerException;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+/**
+ * Serves many agent connections accepted on single server channel. All the connections are read
+ * by single selector thread which splits incoming bytes into events and queues them per client.
+ * Queued events are dispatched by small pool of threads, however events of single client are
+ * always dispatched sequentially, in order in which they were sent, to listeners created for this
+ * client only. When client queues too many events, which were not yet handled, its connection is
+ * no longer read until the listeners catch up, so the agent is blocked on socket write.
+ */
+class AgentClientsMultiplexer {
+
+    static final int MAX_PENDING_EVENTS = 1_000;
+
+    private final ServerSocketChannel serverChannel;
+
+    private final Selector selector;
+
+    private final int numberOfClients;
+
+    private final int timeoutInMillis;
+
+    private final Supplier<List<RobotAgentEventListener>> eventsListenersSupplier;
+
+    private final List<AgentServerStatusListener> statusListeners;
+
+    private final ExecutorService dispatchingExecutor;
+
+    private final ByteBuffer readBuffer = ByteBuffer.allocate(64 * 1024);
+
+    private final Queue<ClientConnection> connectionsToResume = new ConcurrentLinkedQueue<>();
+
+    private final Queue<ClientConnection> connectionsToClose = new ConcurrentLinkedQueue<>();
+
+    private final AtomicInteger clientIds = new AtomicInteger();
+
+    private volatile boolean stopped;
+
+    private int acceptedClients;
+
+    private int openConnections;
+
+    AgentClientsMultiplexer(final ServerSocketChannel serverChannel, final int numberOfClients,
+            final int timeoutInMillis, final Supplier<List<RobotAgentEventListener>> eventsListenersSupplier,
+            final List<AgentServerStatusListener> statusListeners) throws IOException {
+        this.serverChannel = serverChannel;
+        this.selector = Selector.open();
+        this.numberOfClients = numberOfClients;
+        this.timeoutInMillis = timeoutInMillis;
+        this.eventsListenersSupplier = eventsListenersSupplier;
+        this.statusListeners = statusListeners;
+        this.dispatchingExecutor = Executors.newFixedThreadPool(
+                Math.max(1, Math.min(numberOfClients, Runtime.getRuntime().availableProcessors())),
+                new ThreadFactoryBuilder().setDaemon(true).setNameFormat("RED agent events dispatcher %d").build());
+    }
+
+    /**
+     * Serves connections until all expected clients were accepted and closed, no new client
+     * connected within timeout or multiplexer was stopped.
+     */
+    void run() throws IOException {
+        try {
+            serverChannel.configureBlocking(false);
+            final SelectionKey acceptKey = serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+
+            long acceptDeadline = System.currentTimeMillis() + timeoutInMillis;
+            while (!stopped && (acceptKey.isValid() || openConnections > 0)) {
+                if (acceptKey.isValid()) {
+                    selector.select(Math.max(1, acceptDeadline - System.currentTimeMillis()));
+                } else {
+                    selector.select();
+                }
+                closeFinishedConnections();
+                resumeConnections();
+
+                final Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    final SelectionKey key = keys.next();
+                    keys.remove();
+                    if (key.isValid() && key.isAcceptable()) {
+                        accept();
+                        acceptDeadline = System.currentTimeMillis() + timeoutInMillis;
+                    } else if (key.isValid() && key.isReadable()) {
+                        read((ClientConnection) key.attachment());
+                    }
+                }
+
+                if (acceptKey.isValid() && acceptedClients >= numberOfClients) {
+                    acceptKey.cancel();
+                } else if (acceptKey.isValid() && System.currentTimeMillis() >= acceptDeadline) {
+                    acceptKey.cancel();
+                    final SocketTimeoutException e = new SocketTimeoutException("Accept timed out");
+                    statusListeners.forEach(listener -> listener.clientConnectionTimedOut(e));
+                }
+            }
+        } finally {
+            for (final SelectionKey key : selector.keys()) {
+                if (key.attachment() instanceof ClientConnection) {
+                    key.channel().close();
+                }
+            }
+            selector.close();
+            dispatchingExecutor.shutdownNow();
+        }
+    }
+
+    void stop() {
+        stopped = true;
+        selector.wakeup();
+    }
+
+    private void accept() throws IOException {
+        final SocketChannel channel = serverChannel.accept();
+        if (channel == null) {
+            return;
+        }
+        channel.configureBlocking(false);
+        acceptedClients++;
+        openConnections++;
+
+        final int clientId = clientIds.incrementAndGet();
+        final ChannelOutputStream output = new ChannelOutputStream(channel);
+        final AgentClient client = new AgentClient(clientId, new PrintWriter(output));
+        final RobotAgentEventDispatcher dispatcher = new RobotAgentEventDispatcher(client,
+                eventsListenersSupplier.get().toArray(new RobotAgentEventListener[0]));
+        final ClientConnection connection = new ClientConnection(clientId, dispatcher, output);
+        connection.key = channel.register(selector, SelectionKey.OP_READ, connection);
+
+        statusListeners.forEach(listener -> listener.clientConnected(clientId));
+    }
+
+    private void read(final ClientConnection connection) {
+        final SocketChannel channel = (SocketChannel) connection.key.channel();
+        try {
+            readBuffer.clear();
+            final int bytesRead = channel.read(readBuffer);
+            if (bytesRead < 0) {
+                connection.key.interestOps(0);
+                final String lastEvent = connection.takeUnterminatedEvent();
+                if (lastEvent != null) {
+                    enqueue(connection, lastEvent);
+                }
+                if (connection.endInput()) {
+                    finish(connection, true);
+                }
+                return;
+            }
+            readBuffer.flip();
+            for (final String event : connection.splitEvents(readBuffer)) {
+                enqueue(connection, event);
+            }
+            if (connection.suspendIfOverloaded()) {
+                connection.key.interestOps(0);
+            }
+        } catch (final IOException e) {
+            statusListeners.forEach(listener -> listener.clientConnectionError(e));
+            connection.key.interestOps(0);
+            connection.discardEvents();
+            finish(connection, false);
+        }
+    }
+
+    private void enqueue(final ClientConnection connection, final String event) {
+        if (connection.enqueue(event)) {
+            dispatchingExecutor.execute(() -> dispatchPendingEvents(connection));
+        }
+    }
+
+    private void dispatchPendingEvents(final ClientConnection connection) {
+        try {
+            DispatchingState state = connection.stopDispatchingIfIdle();
+            while (state == DispatchingState.PENDING_EVENTS) {
+                if (!connection.dispatcher.anyListenerIsHandlingEvents()) {
+                    connection.discardEvents();
+                    finish(connection, true);
+                    return;
+                }
+                final String event = connection.nextEvent();
+                if (event != null) {
+                    connection.dispatcher.dispatchEvent(event);
+                }
+                if (connection.resumeIfCaughtUp()) {
+                    connectionsToResume.add(connection);
+                    selector.wakeup();
+                }
+                state = connection.stopDispatchingIfIdle();
+            }
+            if (state == DispatchingState.INPUT_ENDED) {
+                finish(connection, true);
+            }
+        } catch (final RobotAgentEventsListenerException e) {
+            statusListeners.forEach(listener -> listener.clientEventHandlingError(e));
+            connection.discardEvents();
+            finish(connection, false);
+        } catch (final IOException e) {
+            statusListeners.forEach(listener -> listener.clientConnectionError(e));
+            connection.discardEvents();
+            finish(connection, false);
+        } catch (final RuntimeException e) {
+            final RobotAgentEventsListenerException handlingException = new RobotAgentEventsListenerException(
+                    "Unable to handle agent event", e);
+            statusListeners.forEach(listener -> listener.clientEventHandlingError(handlingException));
+            connection.discardEvents();
+            finish(connection, false);
+        }
+    }
+
+    /**
+     * Connection is closed by selector thread; listeners are notified about closing only when
+     * the connection ended without errors, the same way as for single client server.
+     */
+    private void finish(final ClientConnection connection, final boolean endedNormally) {
+        if (connection.markFinished(endedNormally)) {
+            connectionsToClose.add(connection);
+            selector.wakeup();
+        }
+    }
+
+    private void closeFinishedConnections() throws IOException {
+        ClientConnection connection = connectionsToClose.poll();
+        while (connection != null) {
+            connection.key.cancel();
+            connection.key.channel().close();
+            connection.output.close();
+            openConnections--;
+
+            if (connection.endedNormally) {
+                final int clientId = connection.clientId;
+                statusListeners.forEach(listener -> listener.clientConnectionClosed(clientId));
+            }
+            connection = connectionsToClose.poll();
+        }
+    }
+
+    private void resumeConnections() {
+        ClientConnection connection = connectionsToResume.poll();
+        while (connection != null) {
+            if (connection.key.isValid() && !connection.isInputEnded()) {
+                connection.key.interestOps(SelectionKey.OP_READ);
+            }
+            connection = connectionsToResume.poll();
+        }
+    }
+
+    static final class ClientConnection {
+
+        private final int clientId;
+
+        private final RobotAgentEventDispatcher dispatcher;
+
+        private final ChannelOutputStream output;
+
+        private final ByteArrayOutputStream currentLine = new ByteArrayOutputStream();
+
+        private final Deque<String> pendingEvents = new ArrayDeque<>();
+
+        private SelectionKey key;
+
+        private boolean isDispatching;
+
+        private boolean isSuspended;
+
+        private boolean isInputEnded;
+
+        private boolean isFinished;
+
+        private volatile boolean endedNormally;
+
+        ClientConnection(final int clientId, final RobotAgentEventDispatcher dispatcher,
+                final ChannelOutputStream output) {
+            this.clientId = clientId;
+            this.dispatcher = dispatcher;
+            this.output = output;
+        }
+
+        List<String> splitEvents(final ByteBuffer buffer) throws IOException {
+            final List<String> events = new ArrayList<>();
+            final byte[] bytes = buffer.array();
+            int lineStart = buffer.position();
+            for (int i = buffer.position(); i < buffer.limit(); i++) {
+                if (bytes[i] == '\n') {
+                    currentLine.write(bytes, lineStart, i - lineStart);
+                    events.add(takeLine());
+                    lineStart = i + 1;
+                }
+            }
+            currentLine.write(bytes, lineStart, buffer.limit() - lineStart);
+            return events;
+        }
+
+        String takeUnterminatedEvent() throws IOException {
+            return currentLine.size() > 0 ? takeLine() : null;
+        }
+
+        private String takeLine() throws IOException {
+            String line = currentLine.toString(Charset.defaultCharset().name());
+            currentLine.reset();
+            if (line.endsWith("\r")) {
+                line = line.substring(0, line.length() - 1);
+            }
+            return line;
+        }
+
+        /**
+         * @return true when there is no dispatching in progress for this connection, so it
+         *         has to be scheduled
+         */
+        synchronized boolean enqueue(final String event) {
+            if (isFinished) {
+                return false;
+            }
+            pendingEvents.add(event);
+            if (isDispatching) {
+                return false;
+            }
+            isDispatching = true;
+            return true;
+        }
+
+        synchronized String nextEvent() {
+            return pendingEvents.poll();
+        }
+
+        /**
+         * Stops dispatching when there are no pending events. The input end is checked together
+         * with the stop, so that the connection is finished either by dispatching thread or by
+         * selector thread, but never before the last event was dispatched.
+         */
+        synchronized DispatchingState stopDispatchingIfIdle() {
+            if (!pendingEvents.isEmpty()) {
+                return DispatchingState.PENDING_EVENTS;
+            }
+            isDispatching = false;
+            return isInputEnded ? DispatchingState.INPUT_ENDED : DispatchingState.IDLE;
+        }
+
+        synchronized void discardEvents() {
+            pendingEvents.clear();
+            isDispatching = false;
+        }
+
+        synchronized boolean suspendIfOverloaded() {
+            if (!isSuspended && pendingEvents.size() >= MAX_PENDING_EVENTS) {
+                isSuspended = true;
+            }
+            return isSuspended;
+        }
+
+        synchronized boolean resumeIfCaughtUp() {
+            if (isSuspended && pendingEvents.size() <= MAX_PENDING_EVENTS / 2) {
+                isSuspended = false;
+                return true;
+            }
+            return false;
+        }
+
+        /**
+         * @return true when all the events were already dispatched, so the connection can be
+         *         finished immediately
+         */
+        synchronized boolean endInput() {
+            isInputEnded = true;
+            return !isDispatching;
+        }
+
+        synchronized boolean isInputEnded() {
+            return isInputEnded;
+        }
+
+        synchronized boolean markFinished(final boolean endedNormally) {
+            if (isFinished) {
+                return false;
+            }
+            this.isFinished = true;
+            this.endedNormally = endedNormally;
+            return true;
+        }
+    }
+
+    private enum DispatchingState {
+        PENDING_EVENTS,
+        IDLE,
+        INPUT_ENDED
+    }
+
+    /**
+     * Writes to non-blocking channel. When the channel cannot accept more bytes the writing
+     * thread waits until it becomes writable using its own selector, as the channel stays
+     * registered for reading in selector of the multiplexer.
+     */
+    private static final class ChannelOutputStream extends OutputStream {
+
+        private final SocketChannel channel;
+
+        private Selector writeSelector;
+
+        private boolean isClosed;
+
+        private ChannelOutputStream(final SocketChannel channel) {
+            this.channel = channel;
+        }
+
+        @Override
+        public void write(final int b) throws IOException {
+            write(new byte[] { (byte) b }, 0, 1);
+        }
+
+        @Override
+        public void write(final byte[] bytes, final int offset, final int length) throws IOException {
+            final ByteBuffer buffer = ByteBuffer.wrap(bytes, offset, length);
+            while (buffer.hasRemaining()) {
+                if (channel.write(buffer) == 0) {
+                    waitUntilWritable();
+                }
+            }
+        }
+
+        private void waitUntilWritable() throws IOException {
+            final Selector selector = getWriteSelector();
+            try {
+                selector.select();
+                selector.selectedKeys().clear();
+            } catch (final ClosedSelectorException e) {
+                throw new ClosedChannelException();
+            }
+        }
+
+        private synchronized Selector getWriteSelector() throws IOException {
+            if (isClosed) {
+                throw new ClosedChannelException();
+            }
+            if (writeSelector == null) {
+                writeSelector = Selector.open();
+                channel.register(writeSelector, SelectionKey.OP_WRITE);
+            }
+            return writeSelector;
+        }
+
+        /**
+         * Closes the selector used for writing, which also wakes up the thread waiting for the
+         * channel; the channel itself is closed by the multiplexer.
+         */
+        @Override
+        public void close() throws IOException {
+            final Selector selector;
+            synchronized (this) {
+                isClosed = true;
+                selector = writeSelector;
+            }
+            if (selector != null) {
+                selector.close();
+            }
+        }
+    }
+}
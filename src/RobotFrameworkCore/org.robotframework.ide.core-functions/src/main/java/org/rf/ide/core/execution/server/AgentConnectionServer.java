@@ -10,13 +10,16 @@ import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.PrintWriter;
 import java.net.InetAddress;
+import java.net.InetSocketAddress;
 import java.net.ServerSocket;
 import java.net.Socket;
 import java.net.SocketTimeoutException;
+import java.nio.channels.ServerSocketChannel;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 import org.rf.ide.core.execution.agent.RobotAgentEventListener;
 import org.rf.ide.core.execution.agent.RobotAgentEventListener.RobotAgentEventsListenerException;
@@ -59,6 +62,8 @@ public class AgentConnectionServer {
 
     private ServerSocket serverSocket;
 
+    private volatile AgentClientsMultiplexer multiplexer;
+
     public AgentConnectionServer(final String host, final int port) {
         this(host, port, DEFAULT_CONNECTION_TIMEOUT, TimeUnit.SECONDS);
     }
@@ -113,11 +118,39 @@ public class AgentConnectionServer {
         }
     }
 
+    /**
+     * Starts server which accepts given number of agent connections on single port, so that many
+     * robot processes, e.g. workers of parallel run, can be tracked at once. All the connections
+     * are served by single thread; listeners are supplied separately for every accepted client and
+     * receive events of this client only.
+     */
+    public void start(final int numberOfClients,
+            final Supplier<List<RobotAgentEventListener>> eventsListenersSupplier) throws IOException {
+        try {
+            serverSetupSemaphore.release();
+
+            final ServerSocketChannel serverChannel = ServerSocketChannel.open();
+            serverSocket = serverChannel.socket();
+            serverSocket.setReuseAddress(true);
+            serverSocket.bind(new InetSocketAddress(InetAddress.getByName(host), port), 50);
+
+            multiplexer = new AgentClientsMultiplexer(serverChannel, numberOfClients, timeoutInMillis,
+                    eventsListenersSupplier, listeners);
+            listeners.forEach(listener -> listener.serverEstablished(host, port));
+            multiplexer.run();
+        } finally {
+            stop();
+        }
+    }
+
     public void waitForServerToSetup() throws InterruptedException {
         serverSetupSemaphore.acquire();
     }
 
     public void stop() throws IOException {
+        if (multiplexer != null) {
+            multiplexer.stop();
+        }
         if (serverSocket != null) {
             serverSocket.close();
         }
@@ -0,0 +1,231 @@
+/*
+ * Copyright 2017 Nokia Solutions and Networks
+ * Licensed under the Apache License, Version 2.0,
+ * see license.txt file for details.
+ */
+package org.rf.ide.core.execution.server;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.codehaus.jackson.JsonParseException;
+import org.codehaus.jackson.JsonParser;
+import org.codehaus.jackson.JsonToken;
+import org.codehaus.jackson.map.ObjectMapper;
+import org.rf.ide.core.execution.agent.LogLevel;
+import org.rf.ide.core.execution.agent.Status;
+import org.rf.ide.core.execution.agent.event.KeywordEndedEvent;
+import org.rf.ide.core.execution.agent.event.KeywordStartedEvent;
+import org.rf.ide.core.execution.agent.event.TestEndedEvent;
+import org.rf.ide.core.execution.agent.event.TestStartedEvent;
+
+/**
+ * Decodes events sent by agent. Every event is a json object with single field named as the event
+ * and holding the event arguments. Events which are sent for every test and keyword are decoded
+ * directly from the json tokens into event objects, while remaining events are bound to maps,
+ * as they are rare. Names and other strings repeated in many events are pooled, so that the
+ * events kept by listeners do not hold separate copies of them.
+ */
+class AgentEventsDecoder {
+
+    private static final int MAX_POOLED_STRINGS = 10_000;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    private final Map<String, String> pooledStrings = new HashMap<>();
+
+    JsonParser createParser(final String event) throws IOException {
+        return mapper.getJsonFactory().createJsonParser(event);
+    }
+
+    /**
+     * Reads name of the event and moves the parser to the first token of event arguments.
+     *
+     * @return name of the event or null if given json is not an event
+     */
+    String readEventType(final JsonParser parser) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT || parser.nextToken() != JsonToken.FIELD_NAME) {
+            return null;
+        }
+        final String eventType = parser.getCurrentName();
+        parser.nextToken();
+        return eventType;
+    }
+
+    Map<String, Object> readEventMap(final String eventType, final JsonParser parser) throws IOException {
+        return Collections.singletonMap(eventType, mapper.readValue(parser, Object.class));
+    }
+
+    KeywordStartedEvent readKeywordStarted(final JsonParser parser) throws IOException {
+        final String name = readNameArgument(parser);
+        String keywordType = null;
+        String libraryName = null;
+        while (nextAttribute(parser)) {
+            switch (parser.getCurrentName()) {
+                case "type":
+                    keywordType = readPooledText(parser);
+                    break;
+                case "libname":
+                    libraryName = readPooledText(parser);
+                    break;
+                default:
+                    parser.skipChildren();
+                    break;
+            }
+        }
+        skipRemainingArguments(parser);
+        return new KeywordStartedEvent(name, keywordType, libraryName);
+    }
+
+    KeywordEndedEvent readKeywordEnded(final JsonParser parser) throws IOException {
+        final String name = readNameArgument(parser);
+        String keywordType = null;
+        while (nextAttribute(parser)) {
+            if (parser.getCurrentName().equals("type")) {
+                keywordType = readPooledText(parser);
+            } else {
+                parser.skipChildren();
+            }
+        }
+        skipRemainingArguments(parser);
+        return new KeywordEndedEvent(name, keywordType);
+    }
+
+    TestStartedEvent readTestStarted(final JsonParser parser) throws IOException {
+        final String name = readNameArgument(parser);
+        String longName = null;
+        while (nextAttribute(parser)) {
+            if (parser.getCurrentName().equals("longname")) {
+                longName = readText(parser);
+            } else {
+                parser.skipChildren();
+            }
+        }
+        skipRemainingArguments(parser);
+        return new TestStartedEvent(name, longName);
+    }
+
+    TestEndedEvent readTestEnded(final JsonParser parser) throws IOException {
+        final String name = readNameArgument(parser);
+        String longName = null;
+        int elapsedTime = 0;
+        String errorMessage = null;
+        Status status = null;
+        while (nextAttribute(parser)) {
+            switch (parser.getCurrentName()) {
+                case "longname":
+                    longName = readText(parser);
+                    break;
+                case "elapsedtime":
+                    elapsedTime = parser.getIntValue();
+                    break;
+                case "message":
+                    errorMessage = readPooledText(parser);
+                    break;
+                case "status":
+                    status = Status.valueOf(parser.getText());
+                    break;
+                default:
+                    parser.skipChildren();
+                    break;
+            }
+        }
+        skipRemainingArguments(parser);
+        return new TestEndedEvent(name, longName, elapsedTime, status, errorMessage);
+    }
+
+    LogMessage readLogMessage(final JsonParser parser) throws IOException {
+        expect(parser, parser.getCurrentToken(), JsonToken.START_ARRAY);
+        expect(parser, parser.nextToken(), JsonToken.START_OBJECT);
+        String message = null;
+        String timestamp = null;
+        LogLevel level = null;
+        while (nextAttribute(parser)) {
+            switch (parser.getCurrentName()) {
+                case "message":
+                    message = readText(parser);
+                    break;
+                case "timestamp":
+                    timestamp = readText(parser);
+                    break;
+                case "level":
+                    level = LogLevel.valueOf(parser.getText().toUpperCase());
+                    break;
+                default:
+                    parser.skipChildren();
+                    break;
+            }
+        }
+        skipRemainingArguments(parser);
+        return new LogMessage(message, level, timestamp);
+    }
+
+    private String readNameArgument(final JsonParser parser) throws IOException {
+        expect(parser, parser.getCurrentToken(), JsonToken.START_ARRAY);
+        parser.nextToken();
+        final String name = readPooledText(parser);
+        expect(parser, parser.nextToken(), JsonToken.START_OBJECT);
+        return name;
+    }
+
+    private static boolean nextAttribute(final JsonParser parser) throws IOException {
+        if (parser.nextToken() == JsonToken.FIELD_NAME) {
+            parser.nextToken();
+            return true;
+        }
+        return false;
+    }
+
+    private static void skipRemainingArguments(final JsonParser parser) throws IOException {
+        JsonToken token = parser.nextToken();
+        while (token != null && token != JsonToken.END_ARRAY) {
+            parser.skipChildren();
+            token = parser.nextToken();
+        }
+    }
+
+    private static String readText(final JsonParser parser) throws IOException {
+        return parser.getCurrentToken() == JsonToken.VALUE_NULL ? null : parser.getText();
+    }
+
+    private String readPooledText(final JsonParser parser) throws IOException {
+        final String text = readText(parser);
+        if (text == null) {
+            return null;
+        }
+        final String pooled = pooledStrings.get(text);
+        if (pooled != null) {
+            return pooled;
+        }
+        if (pooledStrings.size() >= MAX_POOLED_STRINGS) {
+            pooledStrings.clear();
+        }
+        pooledStrings.put(text, text);
+        return text;
+    }
+
+    private static void expect(final JsonParser parser, final JsonToken actual, final JsonToken expected)
+            throws JsonParseException {
+        if (actual != expected) {
+            throw new JsonParseException("Expected " + expected + " but found " + actual,
+                    parser.getCurrentLocation());
+        }
+    }
+
+    static final class LogMessage {
+
+        final String message;
+
+        final LogLevel level;
+
+        final String timestamp;
+
+        private LogMessage(final String message, final LogLevel level, final String timestamp) {
+            this.message = message;
+            this.level = level;
+            this.timestamp = timestamp;
+        }
+    }
+}
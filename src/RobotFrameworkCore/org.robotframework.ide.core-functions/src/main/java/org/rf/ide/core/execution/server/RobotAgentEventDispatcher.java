@@ -14,8 +14,7 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
-import org.codehaus.jackson.map.ObjectMapper;
-import org.codehaus.jackson.type.TypeReference;
+import org.codehaus.jackson.JsonParser;
 import org.rf.ide.core.execution.agent.LogLevel;
 import org.rf.ide.core.execution.agent.RobotAgentEventListener;
 import org.rf.ide.core.execution.agent.RobotAgentEventListener.RobotAgentEventsListenerException;
@@ -28,13 +27,14 @@ import org.rf.ide.core.execution.agent.event.SuiteEndedEvent;
 import org.rf.ide.core.execution.agent.event.SuiteStartedEvent;
 import org.rf.ide.core.execution.agent.event.TestEndedEvent;
 import org.rf.ide.core.execution.agent.event.TestStartedEvent;
-
-import com.google.common.collect.Iterables;
+import org.rf.ide.core.execution.server.AgentEventsDecoder.LogMessage;
 
 class RobotAgentEventDispatcher {
 
     private final List<RobotAgentEventListener> eventsListeners;
 
+    private final AgentEventsDecoder decoder = new AgentEventsDecoder();
+
     RobotAgentEventDispatcher(final AgentClient client, final RobotAgentEventListener... eventsListeners) {
         final List<RobotAgentEventListener> listeners = newArrayList(eventsListeners);
         listeners.add(0, new AgentServerProtocolVersionChecker());
@@ -55,89 +55,100 @@ class RobotAgentEventDispatcher {
 
     void runEventsLoop(final BufferedReader eventReader) throws IOException, RobotAgentEventsListenerException {
         String event = eventReader.readLine();
-        final ObjectMapper mapper = new ObjectMapper();
         while (event != null && anyListenerIsHandlingEvents()) {
+            dispatchEvent(event);
+            event = eventReader.readLine();
+        }
+    }
 
-            final TypeReference<Map<String, Object>> stringToObjectMapType = new TypeReference<Map<String, Object>>() {
-            };
-            final Map<String, Object> eventMap = mapper.readValue(event, stringToObjectMapType);
-            final String eventType = getEventType(eventMap);
-            if (eventType == null) {
-                continue;
+    void dispatchEvent(final String event) throws IOException, RobotAgentEventsListenerException {
+        try (JsonParser parser = decoder.createParser(event)) {
+            final String eventType = decoder.readEventType(parser);
+            if (eventType != null) {
+                dispatchEvent(eventType, parser);
             }
+        }
+    }
 
-            switch (eventType) {
-                case "ready_to_start":
-                    handleReadyToStart();
-                    break;
-                case "agent_initializing":
-                    handleAgentInitializing();
-                    break;
-                case "version":
-                    handleVersion(eventMap);
-                    break;
-                case "resource_import":
-                    handleResourceImport(eventMap);
-                    break;
-                case "start_suite":
-                    handleStartSuite(eventMap);
-                    break;
-                case "end_suite":
-                    handleEndSuite(eventMap);
-                    break;
-                case "start_test":
-                    handleStartTest(eventMap);
-                    break;
-                case "end_test":
-                    handleEndTest(eventMap);
-                    break;
-                case "start_keyword":
-                    handleStartKeyword(eventMap);
-                    break;
-                case "end_keyword":
-                    handleEndKeyword(eventMap);
-                    break;
-                case "vars":
-                    handleVariables(eventMap);
-                    break;
-                case "global_vars":
-                    handleGlobalVariables(eventMap);
-                    break;
-                case "check_condition":
-                    handleCheckCondition();
-                    break;
-                case "condition_result":
-                    handleConditionResult(eventMap);
-                    break;
-                case "condition_error":
-                    handleConditionError(eventMap);
-                    break;
-                case "condition_checked":
-                    handleConditionChecked();
-                    break;
-                case "paused":
-                    handlePause();
-                    break;
-                case "close":
-                    handleClose();
-                    break;
-                case "log_message":
-                    handleLogMessage(eventMap);
-                    break;
-                case "output_file":
-                    handleOutputFile(eventMap);
-                    break;
-                case "library_import":
-                    handleLibraryImport(eventMap);
-                    break;
-                case "message":
-                    handleMessage(eventMap);
-                    break;
-                default:
-                    break;
-            }
+    private void dispatchEvent(final String eventType, final JsonParser parser) throws IOException {
+        switch (eventType) {
+            case "start_test":
+                handleStartTest(decoder.readTestStarted(parser));
+                break;
+            case "end_test":
+                handleEndTest(decoder.readTestEnded(parser));
+                break;
+            case "start_keyword":
+                handleStartKeyword(decoder.readKeywordStarted(parser));
+                break;
+            case "end_keyword":
+                handleEndKeyword(decoder.readKeywordEnded(parser));
+                break;
+            case "log_message":
+                handleLogMessage(decoder.readLogMessage(parser));
+                break;
+            default:
+                dispatchEvent(decoder.readEventMap(eventType, parser));
+                break;
+        }
+    }
 
-            event = eventReader.readLine();
+    private void dispatchEvent(final Map<String, Object> eventMap) {
+        final String eventType = eventMap.keySet().iterator().next();
+        switch (eventType) {
+            case "ready_to_start":
+                handleReadyToStart();
+                break;
+            case "agent_initializing":
+                handleAgentInitializing();
+                break;
+            case "version":
+                handleVersion(eventMap);
+                break;
+            case "resource_import":
+                handleResourceImport(eventMap);
+                break;
+            case "start_suite":
+                handleStartSuite(eventMap);
+                break;
+            case "end_suite":
+                handleEndSuite(eventMap);
+                break;
+            case "vars":
+                handleVariables(eventMap);
+                break;
+            case "global_vars":
+                handleGlobalVariables(eventMap);
+                break;
+            case "check_condition":
+                handleCheckCondition();
+                break;
+            case "condition_result":
+                handleConditionResult(eventMap);
+                break;
+            case "condition_error":
+                handleConditionError(eventMap);
+                break;
+            case "condition_checked":
+                handleConditionChecked();
+                break;
+            case "paused":
+                handlePause();
+                break;
+            case "close":
+                handleClose();
+                break;
+            case "output_file":
+                handleOutputFile(eventMap);
+                break;
+            case "library_import":
+                handleLibraryImport(eventMap);
+                break;
+            case "message":
+                handleMessage(eventMap);
+                break;
+            default:
+                break;
         }
     }
 
@@ -186,29 +197,25 @@ class RobotAgentEventDispatcher {
         }
     }
 
-    private void handleStartTest(final Map<String, Object> eventMap) {
-        final TestStartedEvent event = TestStartedEvent.from(eventMap);
+    private void handleStartTest(final TestStartedEvent event) {
         for (final RobotAgentEventListener listener : eventsListeners) {
             listener.handleTestStarted(event);
         }
     }
 
-    private void handleEndTest(final Map<String, Object> eventMap) {
-        final TestEndedEvent event = TestEndedEvent.from(eventMap);
+    private void handleEndTest(final TestEndedEvent event) {
         for (final RobotAgentEventListener listener : eventsListeners) {
             listener.handleTestEnded(event);
         }
     }
 
-    private void handleStartKeyword(final Map<String, Object> eventMap) {
-        final KeywordStartedEvent event = KeywordStartedEvent.from(eventMap);
+    private void handleStartKeyword(final KeywordStartedEvent event) {
         for (final RobotAgentEventListener listener : eventsListeners) {
             listener.handleKeywordStarted(event);
         }
     }
 
-    private void handleEndKeyword(final Map<String, Object> eventMap) {
-        final KeywordEndedEvent event = KeywordEndedEvent.from(eventMap);
+    private void handleEndKeyword(final KeywordEndedEvent event) {
         for (final RobotAgentEventListener listener : eventsListeners) {
             listener.handleKeywordEnded(event);
         }
@@ -274,15 +281,9 @@ class RobotAgentEventDispatcher {
         }
     }
 
-    private void handleLogMessage(final Map<String, Object> eventMap) {
-        final List<?> arguments = (List<?>) eventMap.get("log_message");
-        final Map<?, ?> message = (Map<?, ?>) arguments.get(0);
-        final String msg = (String) message.get("message");
-        final String timestamp = (String) message.get("timestamp");
-        final LogLevel level = LogLevel.valueOf(((String) message.get("level")).toUpperCase());
-
+    private void handleLogMessage(final LogMessage message) {
         for (final RobotAgentEventListener listener : eventsListeners) {
-            listener.handleLogMessage(msg, level, timestamp);
+            listener.handleLogMessage(message.message, message.level, message.timestamp);
         }
     }
 
@@ -311,14 +312,7 @@ class RobotAgentEventDispatcher {
         }
     }
 
-    private String getEventType(final Map<String, ?> eventMap) {
-        if (eventMap == null) {
-            return null;
-        }
-        return Iterables.getFirst(eventMap.keySet(), null);
-    }
-
-    private boolean anyListenerIsHandlingEvents() {
+    boolean anyListenerIsHandlingEvents() {
         for (final RobotAgentEventListener listener : eventsListeners) {
             if (listener.isHandlingEvents()) {
                 return true;
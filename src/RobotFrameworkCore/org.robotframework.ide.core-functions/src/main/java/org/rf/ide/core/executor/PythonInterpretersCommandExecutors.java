@@ -9,12 +9,24 @@ import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 import org.rf.ide.core.executor.RobotCommandRpcExecutor.RobotCommandExecutorException;
 import org.rf.ide.core.executor.RobotRuntimeEnvironment.PythonInstallationDirectory;
 
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
 /**
  * @author Michal Anglart
  */
@@ -29,10 +41,29 @@ class PythonInterpretersCommandExecutors {
         return InstanceHolder.INSTANCE;
     }
 
+    private static final String SESSION_SEPARATOR = "#";
+
+    private static final int MAINTENANCE_PERIOD_IN_SECONDS = 30;
+
     private final Map<String, RobotCommandRpcExecutor> executors = new HashMap<>();
 
+    private final Map<String, Object> executorsLocks = new ConcurrentHashMap<>();
+
+    private final Map<String, PooledSession> pooledSessions = new ConcurrentHashMap<>();
+
+    // sessions used exclusively by single client; guarded by this
+    private final Set<String> reservedSessions = new HashSet<>();
+
+    // reserved sessions which should be reset when released; guarded by this
+    private final Set<String> sessionsToReset = new HashSet<>();
+
     private final List<PythonProcessListener> processListeners = new ArrayList<>(0);
 
+    private final ExecutorService startingService = Executors.newCachedThreadPool(
+            new ThreadFactoryBuilder().setDaemon(true).setNameFormat("RED session server starter %d").build());
+
+    private ScheduledExecutorService maintenanceService;
+
     private File xmlRpcServerScriptFile;
 
     private PythonInterpretersCommandExecutors() {
@@ -52,6 +83,11 @@ class PythonInterpretersCommandExecutors {
         }
     }
 
+    @VisibleForTesting
+    PythonInterpretersCommandExecutors(final File xmlRpcServerScriptFile) {
+        this.xmlRpcServerScriptFile = xmlRpcServerScriptFile;
+    }
+
     List<PythonProcessListener> getListeners() {
         return processListeners;
     }
@@ -64,51 +100,296 @@ class PythonInterpretersCommandExecutors {
         processListeners.remove(listener);
     }
 
-    synchronized void resetExecutorFor(final PythonInstallationDirectory interpreterPath) {
-        final String pathAsName = interpreterPath.toPath()
-                .resolve(interpreterPath.getInterpreter().executableName())
-                .toAbsolutePath()
-                .toString();
-        final RobotCommandRpcExecutor executor = executors.remove(pathAsName);
-        if (executor != null) {
+    /**
+     * Starts servers of default session 0 and of given count of sessions to be reserved in
+     * background and keeps them in the pool: servers which died are started again and servers of
+     * sessions other than 0 are stopped after being idle for longer than idle timeout.
+     */
+    void startExecutorsInBackground(final PythonInstallationDirectory interpreterPath,
+            final int reservedSessionsCount) {
+        if (!canUseRpcExecutors() || RedSystemProperties.shouldConnectToRunningServer()) {
+            return;
+        }
+        final String pathAsName = getPathAsName(interpreterPath);
+        for (int sessionIndex = 0; sessionIndex <= reservedSessionsCount; sessionIndex++) {
+            final PooledSession session = new PooledSession(interpreterPath, sessionIndex);
+            pooledSessions.put(createExecutorKey(pathAsName, sessionIndex), session);
+            startInBackground(session);
+        }
+        scheduleMaintenance();
+    }
+
+    private void startInBackground(final PooledSession session) {
+        startingService.execute(() -> getRobotCommandExecutor(session.interpreterPath, session.sessionIndex));
+    }
+
+    private synchronized void scheduleMaintenance() {
+        if (maintenanceService == null) {
+            maintenanceService = Executors.newSingleThreadScheduledExecutor(
+                    new ThreadFactoryBuilder().setDaemon(true).setNameFormat("RED session servers keeper").build());
+            maintenanceService.scheduleWithFixedDelay(this::maintainExecutors, MAINTENANCE_PERIOD_IN_SECONDS,
+                    MAINTENANCE_PERIOD_IN_SECONDS, TimeUnit.SECONDS);
+        }
+    }
+
+    @VisibleForTesting
+    void maintainExecutors() {
+        final long idleTimeout = TimeUnit.SECONDS.toMillis(RedSystemProperties.getSessionIdleTimeout());
+        final List<RobotCommandRpcExecutor> toKill = new ArrayList<>();
+        final List<PooledSession> toRestart = new ArrayList<>();
+
+        synchronized (this) {
+            final Iterator<Entry<String, RobotCommandRpcExecutor>> iterator = executors.entrySet().iterator();
+            while (iterator.hasNext()) {
+                final Entry<String, RobotCommandRpcExecutor> entry = iterator.next();
+                final RobotCommandRpcExecutor executor = entry.getValue();
+                final PooledSession session = pooledSessions.get(entry.getKey());
+
+                if (executor.isExternal()) {
+                    continue;
+                } else if (!executor.isAlive()) {
+                    iterator.remove();
+                    if (session != null) {
+                        toRestart.add(session);
+                    }
+                } else if (isSessionKey(entry.getKey()) && !reservedSessions.contains(entry.getKey())
+                        && idleTimeout > 0 && executor.getActiveCalls() == 0 && executor.getIdleTime() > idleTimeout) {
+                    iterator.remove();
+                    pooledSessions.remove(entry.getKey());
+                    toKill.add(executor);
+                }
+            }
+        }
+        for (final RobotCommandRpcExecutor executor : toKill) {
             executor.kill();
         }
+        for (final PooledSession session : toRestart) {
+            startInBackground(session);
+        }
     }
 
-    synchronized RobotCommandExecutor getRobotCommandExecutor(final PythonInstallationDirectory interpreterPath) {
-        final SuiteExecutor interpreter = interpreterPath.getInterpreter();
-        final String pathAsName = interpreterPath.toPath()
-                .resolve(interpreter.executableName())
-                .toAbsolutePath()
-                .toString();
+    /**
+     * Kills servers of all the sessions started for given interpreter. Servers of reserved sessions
+     * are killed when released, so that calls of their clients are not broken. Servers of pooled
+     * sessions are started again in background.
+     */
+    void resetExecutorFor(final PythonInstallationDirectory interpreterPath) {
+        final String pathAsName = getPathAsName(interpreterPath);
+        final List<RobotCommandRpcExecutor> toKill = new ArrayList<>();
+        synchronized (this) {
+            final Iterator<Entry<String, RobotCommandRpcExecutor>> iterator = executors.entrySet().iterator();
+            while (iterator.hasNext()) {
+                final Entry<String, RobotCommandRpcExecutor> entry = iterator.next();
+                if (!isKeyOf(entry.getKey(), pathAsName)) {
+                    continue;
+                } else if (reservedSessions.contains(entry.getKey())) {
+                    sessionsToReset.add(entry.getKey());
+                } else {
+                    iterator.remove();
+                    toKill.add(entry.getValue());
+                }
+            }
+        }
+        for (final RobotCommandRpcExecutor executor : toKill) {
+            executor.kill();
+        }
+        for (final Entry<String, PooledSession> entry : pooledSessions.entrySet()) {
+            if (isKeyOf(entry.getKey(), pathAsName) && !isReserved(entry.getKey())) {
+                startInBackground(entry.getValue());
+            }
+        }
+    }
+
+    /**
+     * Reserves session of given interpreter for exclusive use of single client until it is
+     * released. Commands which are not bound to any session are never sent to reserved sessions,
+     * so calls of the client do not wait for them. Session 0 is never reserved. Idle servers which
+     * are already started are preferred, otherwise the session with lowest free index is reserved.
+     *
+     * @return index of reserved session
+     */
+    synchronized int reserveSession(final PythonInstallationDirectory interpreterPath) {
+        // servers of released sessions are stopped by the keeper after being idle
+        scheduleMaintenance();
+
+        final String pathAsName = getPathAsName(interpreterPath);
+        final int maxIndex = executors.size() + reservedSessions.size() + 1;
+        int notStarted = -1;
+        for (int sessionIndex = 1; sessionIndex <= maxIndex; sessionIndex++) {
+            final String executorKey = createExecutorKey(pathAsName, sessionIndex);
+            final RobotCommandRpcExecutor executor = executors.get(executorKey);
+            if (reservedSessions.contains(executorKey)) {
+                continue;
+            } else if (executor == null || !executor.isAlive()) {
+                notStarted = notStarted == -1 ? sessionIndex : notStarted;
+            } else if (executor.getActiveCalls() == 0) {
+                reservedSessions.add(executorKey);
+                return sessionIndex;
+            }
+        }
+        reservedSessions.add(createExecutorKey(pathAsName, notStarted));
+        return notStarted;
+    }
 
-        if (!RedSystemProperties.shouldUseDirectExecutor() && xmlRpcServerScriptFile != null) {
-            RobotCommandRpcExecutor executor = executors.get(pathAsName);
-            if (executor != null && (executor.isAlive() || executor.isExternal())) {
+    /**
+     * Releases session reserved with {@link #reserveSession(PythonInstallationDirectory)}. Server of
+     * the session is reset if it was requested while the session was reserved.
+     */
+    void releaseSession(final PythonInstallationDirectory interpreterPath, final int sessionIndex) {
+        final String executorKey = createExecutorKey(getPathAsName(interpreterPath), sessionIndex);
+        final boolean shouldReset;
+        synchronized (this) {
+            reservedSessions.remove(executorKey);
+            shouldReset = sessionsToReset.remove(executorKey);
+        }
+        if (shouldReset) {
+            resetExecutorFor(interpreterPath, sessionIndex);
+        }
+    }
+
+    private synchronized boolean isReserved(final String executorKey) {
+        return reservedSessions.contains(executorKey);
+    }
+
+    void resetExecutorFor(final PythonInstallationDirectory interpreterPath, final int sessionIndex) {
+        final String executorKey = createExecutorKey(getPathAsName(interpreterPath), sessionIndex);
+        final RobotCommandRpcExecutor executor;
+        synchronized (this) {
+            executor = executors.remove(executorKey);
+            sessionsToReset.remove(executorKey);
+        }
+        if (executor != null) {
+            executor.kill();
+        }
+        final PooledSession session = pooledSessions.get(executorKey);
+        if (session != null) {
+            startInBackground(session);
+        }
+    }
+
+    /**
+     * Provides executor for commands which are not bound to any particular session. Such commands
+     * are sent to the running server of not reserved session which executes the smallest number of
+     * calls at the moment, so they are not queued behind each other when several sessions are
+     * started. Server of session 0 is started if there is no running server yet.
+     */
+    RobotCommandExecutor getRobotCommandExecutor(final PythonInstallationDirectory interpreterPath) {
+        if (canUseRpcExecutors()) {
+            final RobotCommandRpcExecutor executor = findLeastBusyExecutor(getPathAsName(interpreterPath));
+            if (executor != null) {
                 return executor;
-            } else if (executor != null) {
-                executors.remove(pathAsName);
             }
-            try {
-                executor = new RobotCommandRpcExecutor(pathAsName, interpreter, xmlRpcServerScriptFile);
-                executor.waitForEstablishedConnection();
-                if (executor.isAlive() || executor.isExternal()) {
-                    executors.put(pathAsName, executor);
+        }
+        return getRobotCommandExecutor(interpreterPath, 0);
+    }
+
+    private synchronized RobotCommandRpcExecutor findLeastBusyExecutor(final String pathAsName) {
+        RobotCommandRpcExecutor leastBusy = executors.get(pathAsName);
+        if (leastBusy != null && !leastBusy.isAlive()) {
+            leastBusy = null;
+        }
+        for (final Entry<String, RobotCommandRpcExecutor> entry : executors.entrySet()) {
+            final RobotCommandRpcExecutor executor = entry.getValue();
+            if (isKeyOf(entry.getKey(), pathAsName) && !reservedSessions.contains(entry.getKey())
+                    && executor.isAlive()
+                    && (leastBusy == null || executor.getActiveCalls() < leastBusy.getActiveCalls())) {
+                leastBusy = executor;
+            }
+        }
+        return leastBusy;
+    }
+
+    /**
+     * Provides executor of given session. Each session has its own server process, so commands
+     * sent to different sessions are executed in parallel. Session 0 is the default one used for
+     * all commands which are not bound to any particular session.
+     */
+    RobotCommandExecutor getRobotCommandExecutor(final PythonInstallationDirectory interpreterPath,
+            final int sessionIndex) {
+        final SuiteExecutor interpreter = interpreterPath.getInterpreter();
+        final String pathAsName = getPathAsName(interpreterPath);
+
+        if (canUseRpcExecutors()) {
+            final String executorKey = createExecutorKey(pathAsName, sessionIndex);
+
+            // servers of different sessions may be started concurrently
+            synchronized (executorsLocks.computeIfAbsent(executorKey, key -> new Object())) {
+                RobotCommandRpcExecutor executor = getExecutor(executorKey);
+                if (executor != null && (executor.isAlive() || executor.isExternal())) {
                     return executor;
+                } else if (executor != null) {
+                    removeExecutor(executorKey, executor);
+                }
+                try {
+                    executor = new RobotCommandRpcExecutor(pathAsName, interpreter, xmlRpcServerScriptFile);
+                    executor.waitForEstablishedConnection();
+                    if (executor.isAlive() || executor.isExternal()) {
+                        putExecutor(executorKey, executor);
+                        return executor;
+                    }
+                } catch (final RobotCommandExecutorException e) {
+                    // direct executor will be returned
                 }
-            } catch (final RobotCommandExecutorException e) {
-                // direct executor will be returned
             }
         }
 
         return new RobotCommandDirectExecutor(pathAsName, interpreter);
     }
 
-    RobotCommandExecutor getDirectRobotCommandExecutor(final PythonInstallationDirectory interpreterPath) {
-        final String pathAsName = interpreterPath.toPath()
+    private boolean canUseRpcExecutors() {
+        return !RedSystemProperties.shouldUseDirectExecutor() && xmlRpcServerScriptFile != null;
+    }
+
+    private static String getPathAsName(final PythonInstallationDirectory interpreterPath) {
+        return interpreterPath.toPath()
                 .resolve(interpreterPath.getInterpreter().executableName())
                 .toAbsolutePath()
                 .toString();
-        return new RobotCommandDirectExecutor(pathAsName, interpreterPath.getInterpreter());
+    }
+
+    private static String createExecutorKey(final String pathAsName, final int sessionIndex) {
+        return sessionIndex == 0 ? pathAsName : pathAsName + SESSION_SEPARATOR + sessionIndex;
+    }
+
+    private static boolean isKeyOf(final String executorKey, final String pathAsName) {
+        return executorKey.equals(pathAsName) || executorKey.startsWith(pathAsName + SESSION_SEPARATOR);
+    }
+
+    private static boolean isSessionKey(final String executorKey) {
+        return executorKey.contains(SESSION_SEPARATOR);
+    }
+
+    private synchronized RobotCommandRpcExecutor getExecutor(final String executorKey) {
+        return executors.get(executorKey);
+    }
+
+    private synchronized void putExecutor(final String executorKey, final RobotCommandRpcExecutor executor) {
+        executors.put(executorKey, executor);
+    }
+
+    @VisibleForTesting
+    void putExecutor(final PythonInstallationDirectory interpreterPath, final int sessionIndex,
+            final RobotCommandRpcExecutor executor) {
+        putExecutor(createExecutorKey(getPathAsName(interpreterPath), sessionIndex), executor);
+    }
+
+    private synchronized void removeExecutor(final String executorKey, final RobotCommandRpcExecutor executor) {
+        executors.remove(executorKey, executor);
+    }
+
+    RobotCommandExecutor getDirectRobotCommandExecutor(final PythonInstallationDirectory interpreterPath) {
+        return new RobotCommandDirectExecutor(getPathAsName(interpreterPath), interpreterPath.getInterpreter());
+    }
+
+    private static final class PooledSession {
+
+        private final PythonInstallationDirectory interpreterPath;
+
+        private final int sessionIndex;
+
+        private PooledSession(final PythonInstallationDirectory interpreterPath, final int sessionIndex) {
+            this.interpreterPath = interpreterPath;
+            this.sessionIndex = sessionIndex;
+        }
     }
 }
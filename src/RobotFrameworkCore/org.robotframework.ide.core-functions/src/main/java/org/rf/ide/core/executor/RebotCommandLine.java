@@ -0,0 +1,43 @@
+/*
+ * Copyright 2017 Nokia Solutions and Networks
+ * Licensed under the Apache License, Version 2.0,
+ * see license.txt file for details.
+ */
+package org.rf.ide.core.executor;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.rf.ide.core.executor.RunCommandLineCallBuilder.RunCommandLine;
+
+/**
+ * Command line of rebot tool which combines outputs of many robot runs, e.g. of parallel
+ * workers, into single output with log and report.
+ */
+public class RebotCommandLine {
+
+    /**
+     * @param outputsArguments
+     *            arguments naming combined output, log or report; when not given default names
+     *            are used
+     */
+    public static RunCommandLine combineOutputs(final String executorPath, final String name,
+            final File outputDirectory, final List<String> outputsArguments, final List<File> outputs) {
+        final List<String> cmdLine = new ArrayList<>();
+        cmdLine.add(executorPath);
+        cmdLine.add("-m");
+        cmdLine.add("robot.rebot");
+        cmdLine.add("--name");
+        cmdLine.add(name);
+        cmdLine.add("--outputdir");
+        cmdLine.add(outputDirectory.getAbsolutePath());
+        cmdLine.add("--output");
+        cmdLine.add("output.xml");
+        cmdLine.addAll(outputsArguments);
+        for (final File output : outputs) {
+            cmdLine.add(output.getAbsolutePath());
+        }
+        return new RunCommandLine(cmdLine, null);
+    }
+}
@@ -23,6 +23,22 @@ public class RedSystemProperties {
 
     public static final String RED_USE_DIRECT_SCANNER = "red.useDirectScanner";
 
+    public static final String RED_LIBDOC_SESSIONS = "red.libdocSessions";
+
+    public static final String RED_LIBDOC_TIMEOUT = "red.libdocTimeout";
+
+    public static final String RED_DRY_RUN_SESSIONS = "red.dryRunSessions";
+
+    public static final String RED_LIBSPECS_CACHE_SIZE = "red.libspecsCacheSize";
+
+    public static final String RED_SESSION_IDLE_TIMEOUT = "red.sessionIdleTimeout";
+
+    private static final int DEFAULT_LIBDOC_TIMEOUT = 180;
+
+    private static final int DEFAULT_LIBSPECS_CACHE_SIZE_IN_MB = 100;
+
+    private static final int DEFAULT_SESSION_IDLE_TIMEOUT = 600;
+
     public static boolean shouldConnectToRunningServer() {
         return System.getProperty(RED_CONNECT_TO_SERVER_AT) != null;
     }
@@ -47,6 +63,56 @@ public class RedSystemProperties {
         return Boolean.valueOf(System.getProperty(RED_USE_DIRECT_SCANNER));
     }
 
+    /**
+     * @return number of python sessions which may be used in parallel for generating libdocs
+     */
+    public static int getLibdocSessionsCount() {
+        final int defaultCount = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() / 2));
+        return Math.max(1, getInteger(RED_LIBDOC_SESSIONS, defaultCount));
+    }
+
+    /**
+     * @return number of python sessions which may run dry run of libraries autodiscovery in
+     *         parallel
+     */
+    public static int getDryRunSessionsCount() {
+        final int defaultCount = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() / 2));
+        return Math.max(1, getInteger(RED_DRY_RUN_SESSIONS, defaultCount));
+    }
+
+    /**
+     * @return time in seconds after which generation of single libdoc is interrupted, or 0 if it
+     *         should not be interrupted at all
+     */
+    public static int getLibdocGenerationTimeout() {
+        return Math.max(0, getInteger(RED_LIBDOC_TIMEOUT, DEFAULT_LIBDOC_TIMEOUT));
+    }
+
+    /**
+     * @return maximal size in bytes of generated libspecs kept in workspace cache, or 0 if
+     *         libspecs should not be cached at all
+     */
+    public static long getLibspecsCacheSize() {
+        return Math.max(0, getInteger(RED_LIBSPECS_CACHE_SIZE, DEFAULT_LIBSPECS_CACHE_SIZE_IN_MB)) * 1024L * 1024L;
+    }
+
+    /**
+     * @return time in seconds after which idle servers of additional python sessions are stopped,
+     *         or 0 if they should be kept running
+     */
+    public static int getSessionIdleTimeout() {
+        return Math.max(0, getInteger(RED_SESSION_IDLE_TIMEOUT, DEFAULT_SESSION_IDLE_TIMEOUT));
+    }
+
+    private static int getInteger(final String name, final int defaultValue) {
+        try {
+            final String value = System.getProperty(name);
+            return value == null ? defaultValue : Integer.parseInt(value.trim());
+        } catch (final NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
     public static boolean isWindowsPlatform() {
         return System.getProperty("os.name").toLowerCase().contains("win");
     }
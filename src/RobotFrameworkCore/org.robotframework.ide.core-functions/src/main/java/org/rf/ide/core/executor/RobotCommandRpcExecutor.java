@@ -24,6 +24,7 @@ import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.ws.commons.util.NamespaceContextImpl;
 import org.apache.xmlrpc.XmlRpcException;
@@ -68,6 +69,10 @@ class RobotCommandRpcExecutor implements RobotCommandExecutor {
 
     private XmlRpcClient client;
 
+    private final AtomicInteger activeCalls = new AtomicInteger(0);
+
+    private volatile long lastCallTime = System.nanoTime();
+
     RobotCommandRpcExecutor(final String interpreterPath, final SuiteExecutor interpreterType, final File scriptFile) {
         this.interpreterPath = interpreterPath;
         this.interpreterType = interpreterType;
@@ -211,6 +216,21 @@ class RobotCommandRpcExecutor implements RobotCommandExecutor {
         return isExternal;
     }
 
+    /**
+     * @return number of calls which are currently being executed by the server
+     */
+    int getActiveCalls() {
+        return activeCalls.get();
+    }
+
+    /**
+     * @return time in milliseconds which passed since the last call was finished or since the
+     *         executor was created if it was not called yet
+     */
+    long getIdleTime() {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - lastCallTime);
+    }
+
     void kill() {
         if (isAlive()) {
             try {
@@ -391,8 +411,14 @@ class RobotCommandRpcExecutor implements RobotCommandExecutor {
     }
 
     private Object callRpcFunction(final String functionName, final Object... arguments) throws XmlRpcException {
-        final Object rpcResult = client.execute(functionName, arguments);
-        return resultOrException(rpcResult);
+        activeCalls.incrementAndGet();
+        try {
+            final Object rpcResult = client.execute(functionName, arguments);
+            return resultOrException(rpcResult);
+        } finally {
+            lastCallTime = System.nanoTime();
+            activeCalls.decrementAndGet();
+        }
     }
 
     private static Object resultOrException(final Object rpcCallResult) {
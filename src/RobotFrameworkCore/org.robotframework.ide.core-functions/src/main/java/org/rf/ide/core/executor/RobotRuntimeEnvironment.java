@@ -37,6 +37,8 @@ public class RobotRuntimeEnvironment {
 
     private final String version;
 
+    private final int sessionIndex;
+
     public static void addProcessListener(final PythonProcessListener listener) {
         PythonInterpretersCommandExecutors.getInstance().addProcessListener(listener);
     }
@@ -207,6 +209,14 @@ public class RobotRuntimeEnvironment {
         return tempFile;
     }
 
+    public static File createTemporaryFile(final String directoryName, final String filename) throws IOException {
+        final Path tempDir = Files.createDirectories(createTemporaryDirectory().resolve(directoryName));
+        final File tempFile = tempDir.resolve(filename).toFile();
+        tempFile.delete();
+        tempFile.createNewFile();
+        return tempFile;
+    }
+
     public static File copyScriptFile(final String filename) throws IOException {
         final Path tempDir = createTemporaryDirectory();
         final File scriptFile = new File(tempDir.toString() + File.separator + filename);
@@ -262,8 +272,13 @@ public class RobotRuntimeEnvironment {
     }
 
     private RobotRuntimeEnvironment(final File location, final String version) {
+        this(location, version, 0);
+    }
+
+    private RobotRuntimeEnvironment(final File location, final String version, final int sessionIndex) {
         this.location = location;
         this.version = version;
+        this.sessionIndex = sessionIndex;
     }
 
     public static RobotRuntimeEnvironment create(final String pathToPython) {
@@ -333,17 +348,66 @@ public class RobotRuntimeEnvironment {
         return location;
     }
 
+    /**
+     * Creates environment which uses python session reserved exclusively for it, so that its
+     * commands are neither queued behind nor reset together with commands of other clients. The
+     * session has to be released with {@link #releaseSession()} when no longer needed.
+     */
+    public RobotRuntimeEnvironment withReservedSession() {
+        if (hasRobotInstalled()) {
+            final int sessionIndex = PythonInterpretersCommandExecutors.getInstance()
+                    .reserveSession((PythonInstallationDirectory) location);
+            return new RobotRuntimeEnvironment(location, version, sessionIndex);
+        }
+        return this;
+    }
+
+    /**
+     * Releases python session reserved by {@link #withReservedSession()}.
+     */
+    public void releaseSession() {
+        if (hasRobotInstalled() && sessionIndex != 0) {
+            PythonInterpretersCommandExecutors.getInstance()
+                    .releaseSession((PythonInstallationDirectory) location, sessionIndex);
+        }
+    }
+
+    /**
+     * Starts servers of the default python session and of given number of sessions to be reserved
+     * in background, so that the first requests sent to this environment do not have to wait
+     * until interpreter is started and robot is imported. Started servers are restarted when their
+     * process dies, while servers of sessions other than the default one are stopped after being
+     * idle for a while.
+     */
+    public void startSessionServers(final int reservedSessionsCount) {
+        if (hasRobotInstalled()) {
+            PythonInterpretersCommandExecutors.getInstance()
+                    .startExecutorsInBackground((PythonInstallationDirectory) location, reservedSessionsCount);
+        }
+    }
+
     public void resetCommandExecutors() {
         if (hasRobotInstalled()) {
             PythonInterpretersCommandExecutors.getInstance().resetExecutorFor((PythonInstallationDirectory) location);
         }
     }
 
+    /**
+     * Kills the server of python session used by this environment; it will be started again on
+     * next request.
+     */
+    public void resetSessionCommandExecutor() {
+        if (hasRobotInstalled()) {
+            PythonInterpretersCommandExecutors.getInstance().resetExecutorFor((PythonInstallationDirectory) location,
+                    sessionIndex);
+        }
+    }
+
     public void createLibdocForStdLibrary(final String libName, final File outputFile)
             throws RobotEnvironmentException {
         if (hasRobotInstalled()) {
             final RobotCommandExecutor executor = PythonInterpretersCommandExecutors.getInstance()
-                    .getRobotCommandExecutor((PythonInstallationDirectory) location);
+                    .getRobotCommandExecutor((PythonInstallationDirectory) location, sessionIndex);
             executor.createLibdocForStdLibrary(outputFile.getAbsolutePath(), libName, "");
         }
     }
@@ -361,7 +425,7 @@ public class RobotRuntimeEnvironment {
             final EnvironmentSearchPaths additionalPaths, final File outputFile) throws RobotEnvironmentException {
         if (hasRobotInstalled()) {
             final RobotCommandExecutor executor = PythonInterpretersCommandExecutors.getInstance()
-                    .getRobotCommandExecutor((PythonInstallationDirectory) location);
+                    .getRobotCommandExecutor((PythonInstallationDirectory) location, sessionIndex);
             executor.createLibdocForThirdPartyLibrary(outputFile.getAbsolutePath(), libName, libPath, additionalPaths);
         }
     }
@@ -484,8 +548,11 @@ public class RobotRuntimeEnvironment {
             final List<String> variableMappings, final List<String> dataSourcePaths,
             final EnvironmentSearchPaths additionalPaths) throws RobotEnvironmentException {
         if (hasRobotInstalled()) {
-            final RobotCommandExecutor executor = PythonInterpretersCommandExecutors.getInstance()
-                    .getRobotCommandExecutor((PythonInstallationDirectory) location);
+            // robot is run inside of the session server, so parallel runs need separate sessions
+            final PythonInterpretersCommandExecutors executors = PythonInterpretersCommandExecutors.getInstance();
+            final RobotCommandExecutor executor = sessionIndex == 0
+                    ? executors.getRobotCommandExecutor((PythonInstallationDirectory) location)
+                    : executors.getRobotCommandExecutor((PythonInstallationDirectory) location, sessionIndex);
             return executor.startLibraryAutoDiscovering(port, timeout, suiteNames, variableMappings, dataSourcePaths,
                     additionalPaths);
         }
@@ -494,7 +561,7 @@ public class RobotRuntimeEnvironment {
 
     @Override
     public int hashCode() {
-        return Objects.hash(location, version);
+        return Objects.hash(location, version, sessionIndex);
     }
 
     @Override
@@ -509,7 +576,9 @@ public class RobotRuntimeEnvironment {
             return false;
         }
         final RobotRuntimeEnvironment other = (RobotRuntimeEnvironment) obj;
-        return Objects.equals(location, other.location) && Objects.equals(version, other.version);
+        // environments with different sessions send their commands to different servers
+        return Objects.equals(location, other.location) && Objects.equals(version, other.version)
+                && sessionIndex == other.sessionIndex;
     }
 
     @SuppressWarnings("serial")
@@ -18,6 +18,7 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+import org.rf.ide.core.execution.history.TestsExecutionOrder;
 import org.rf.ide.core.executor.RobotRuntimeEnvironment.PythonInstallationDirectory;
 
 import com.google.common.base.Strings;
@@ -49,6 +50,8 @@ public class RunCommandLineCallBuilder {
 
         IRunCommandLineBuilder testsToRun(final Collection<String> tests);
 
+        IRunCommandLineBuilder testsExecutionOrder(final TestsExecutionOrder order);
+
         IRunCommandLineBuilder includeTags(final Collection<String> tags);
 
         IRunCommandLineBuilder excludeTags(final Collection<String> tags);
@@ -82,6 +85,8 @@ public class RunCommandLineCallBuilder {
 
         private final List<String> testsToRun = new ArrayList<>();
 
+        private TestsExecutionOrder testsExecutionOrder = null;
+
         private final List<String> tagsToInclude = new ArrayList<>();
 
         private final List<String> tagsToExclude = new ArrayList<>();
@@ -166,6 +171,12 @@ public class RunCommandLineCallBuilder {
             return this;
         }
 
+        @Override
+        public IRunCommandLineBuilder testsExecutionOrder(final TestsExecutionOrder order) {
+            this.testsExecutionOrder = order;
+            return this;
+        }
+
         @Override
         public IRunCommandLineBuilder includeTags(final Collection<String> tags) {
             tagsToInclude.addAll(tags);
@@ -287,6 +298,10 @@ public class RunCommandLineCallBuilder {
                 robotArgs.add("-t");
                 robotArgs.add(test);
             }
+            if (shouldOrderTests()) {
+                robotArgs.add("--prerunmodifier");
+                robotArgs.add(testsExecutionOrderModifier());
+            }
             robotArgs.addAll(robotUserArgs);
             return robotArgs;
         }
@@ -312,6 +327,9 @@ public class RunCommandLineCallBuilder {
             for (final String testToRun : testsToRun) {
                 argumentsFile.addLine("--test", testToRun);
             }
+            if (shouldOrderTests()) {
+                argumentsFile.addLine("--prerunmodifier", testsExecutionOrderModifier());
+            }
             if (!robotUserArgs.isEmpty()) {
                 addUserArguments(argumentsFile);
             }
@@ -334,6 +352,18 @@ public class RunCommandLineCallBuilder {
             }
         }
 
+        private boolean shouldOrderTests() {
+            return testsExecutionOrder != null && !testsExecutionOrder.isEmpty();
+        }
+
+        private String testsExecutionOrderModifier() throws IOException {
+            final File script = RobotRuntimeEnvironment.copyScriptFile("TestsExecutionOrder.py");
+            final File orderFile = testsExecutionOrder
+                    .writeTo(RobotRuntimeEnvironment.createTemporaryDirectory().toFile());
+            // semicolon separates the argument also when paths contain windows drive letters
+            return script.getAbsolutePath() + ";" + orderFile.getAbsolutePath();
+        }
+
         private String classPath() {
             final List<String> fullClasspath = new ArrayList<>();
             fullClasspath.addAll(RedSystemProperties.getClassPaths());
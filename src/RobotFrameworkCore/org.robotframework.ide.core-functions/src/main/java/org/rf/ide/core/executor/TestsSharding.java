@@ -0,0 +1,59 @@
+/*
+ * Copyright 2017 Nokia Solutions and Networks
+ * Licensed under the Apache License, Version 2.0,
+ * see license.txt file for details.
+ */
+package org.rf.ide.core.executor;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.ToLongFunction;
+
+/**
+ * Splits tests or suites into shards executed by parallel robot processes. Items are assigned
+ * longest first, each one to the shard with the lowest total duration so far, so that all the
+ * workers finish at similar time.
+ */
+public class TestsSharding {
+
+    public static <T> List<List<T>> split(final List<T> items, final ToLongFunction<T> expectedDuration,
+            final int numberOfShards) {
+        if (numberOfShards < 1) {
+            throw new IllegalArgumentException("Number of shards has to be positive, but was " + numberOfShards);
+        }
+        final List<T> sortedItems = new ArrayList<>(items);
+        sortedItems.sort(Comparator.comparingLong(expectedDuration).reversed());
+
+        final PriorityQueue<Shard<T>> shards = new PriorityQueue<>(
+                Comparator.<Shard<T>> comparingLong(shard -> shard.duration).thenComparingInt(shard -> shard.index));
+        for (int i = 0; i < Math.min(numberOfShards, items.size()); i++) {
+            shards.add(new Shard<>(i));
+        }
+        for (final T item : sortedItems) {
+            final Shard<T> shard = shards.poll();
+            shard.items.add(item);
+            shard.duration += Math.max(0, expectedDuration.applyAsLong(item));
+            shards.add(shard);
+        }
+
+        final List<List<T>> result = new ArrayList<>();
+        shards.stream().sorted(Comparator.comparingInt(shard -> shard.index)).forEach(
+                shard -> result.add(shard.items));
+        return result;
+    }
+
+    private static final class Shard<T> {
+
+        private final int index;
+
+        private final List<T> items = new ArrayList<>();
+
+        private long duration;
+
+        private Shard(final int index) {
+            this.index = index;
+        }
+    }
+}
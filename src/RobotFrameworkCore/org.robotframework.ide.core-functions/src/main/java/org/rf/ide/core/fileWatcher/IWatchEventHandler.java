@@ -6,6 +6,7 @@
 package org.rf.ide.core.fileWatcher;
 
 import java.nio.file.Path;
+import java.util.Set;
 
 /**
  * @author mmarzec
@@ -13,11 +14,15 @@ import java.nio.file.Path;
  */
 public interface IWatchEventHandler {
     
-    void registerPath(final Path dir, final String fileName, final IWatchEventHandler handler);
+    void registerPath(final Path path, final IWatchEventHandler handler);
     
-    void unregisterFile(final String fileName, final IWatchEventHandler handler);
+    void unregisterPath(final Path path, final IWatchEventHandler handler);
     
     void watchServiceInterrupted();
 
-    void handleModifyEvent(final String fileName);
+    /**
+     * Called once per burst of changes with all the created, deleted or modified paths
+     * which are registered files or are located inside of registered directories.
+     */
+    void handleModifyEvents(final Set<Path> changedPaths);
 }
@@ -10,68 +10,101 @@ import static com.google.common.collect.Lists.newArrayList;
 import java.io.IOException;
 import java.nio.file.ClosedWatchServiceException;
 import java.nio.file.FileSystems;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
 import java.nio.file.StandardWatchEventKinds;
 import java.nio.file.WatchEvent;
 import java.nio.file.WatchKey;
 import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Collections;
-import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.LinkedBlockingQueue;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.BiMap;
+import com.google.common.collect.HashBiMap;
+
 /**
+ * Watches files and directory trees registered by absolute paths. Directories are watched
+ * recursively, so directories created inside of registered tree are watched as well. Changes are
+ * not reported one by one: all the created, deleted or modified paths are collected until no more
+ * changes come for a while and then every handler receives single batch of paths it is interested
+ * in. When some events were lost by the system, all registered paths inside of affected directory
+ * are reported as changed.
+ *
  * @author mmarzec
  */
 public class RedFileWatcher {
 
+    private static final long QUIET_PERIOD_MILLIS = 400;
+
+    private static final long MAX_BATCH_DELAY_MILLIS = 2000;
+
     private static class InstanceHolder {
 
-        private static final RedFileWatcher INSTANCE = new RedFileWatcher();
+        private static final RedFileWatcher INSTANCE = new RedFileWatcher(QUIET_PERIOD_MILLIS,
+                MAX_BATCH_DELAY_MILLIS);
     }
 
     public static RedFileWatcher getInstance() {
         return InstanceHolder.INSTANCE;
     }
 
+    private final long quietPeriodMillis;
+
+    private final long maxBatchDelayMillis;
+
     private WatchService watcher;
 
-    private final List<String> registeredDirs = new ArrayList<>();
+    private final BiMap<WatchKey, Path> watchedDirs = HashBiMap.create();
 
-    private final Map<String, Collection<IWatchEventHandler>> registeredFiles = Collections
-            .synchronizedMap(new HashMap<String, Collection<IWatchEventHandler>>());
+    private final Map<Path, Collection<IWatchEventHandler>> registeredPaths = new LinkedHashMap<>();
 
-    private final LinkedBlockingQueue<String> modifiedFilesQueue = new LinkedBlockingQueue<>(100);
+    private final Map<IWatchEventHandler, Set<Path>> pendingChanges = new LinkedHashMap<>();
 
-    private final AtomicBoolean isEventProducerThreadStarted = new AtomicBoolean(false);
+    private long batchStartTime;
 
-    private final AtomicBoolean isEventConsumerThreadStarted = new AtomicBoolean(false);
+    private long lastChangeTime;
 
-    private RedFileWatcher() {}
+    private final AtomicBoolean isEventsThreadStarted = new AtomicBoolean(false);
 
-    public synchronized void registerPath(final Path fileDir, final String fileName,
-            final IWatchEventHandler watchEventHandler) {
+    @VisibleForTesting
+    RedFileWatcher(final long quietPeriodMillis, final long maxBatchDelayMillis) {
+        this.quietPeriodMillis = quietPeriodMillis;
+        this.maxBatchDelayMillis = maxBatchDelayMillis;
+    }
 
+    /**
+     * Starts watching given file or directory tree. Given handler will be notified about changes
+     * of the file or of any file inside of the tree.
+     */
+    public synchronized void registerPath(final Path path, final IWatchEventHandler watchEventHandler) {
         setupWatcher();
 
-        if (watcher != null && fileDir != null && fileName != null) {
+        if (watcher != null && path != null) {
+            final Path absolutePath = path.toAbsolutePath().normalize();
             try {
-                if (!registeredDirs.contains(fileDir.toString()) && isEventProducerThreadStarted.get()
-                        && isEventConsumerThreadStarted.get()) {
-                    fileDir.register(watcher, StandardWatchEventKinds.ENTRY_MODIFY);
-                    registeredDirs.add(fileDir.toString());
+                if (Files.isDirectory(absolutePath)) {
+                    registerTree(absolutePath);
+                } else if (absolutePath.getParent() != null) {
+                    registerDirectory(absolutePath.getParent());
                 }
-                final Collection<IWatchEventHandler> handlers = registeredFiles.get(fileName);
+                final Collection<IWatchEventHandler> handlers = registeredPaths.get(absolutePath);
                 if (handlers == null) {
-                    registeredFiles.put(fileName, newArrayList(watchEventHandler));
-                } else {
-                    if (!handlers.contains(watchEventHandler)) {
-                        handlers.add(watchEventHandler);
-                    }
+                    registeredPaths.put(absolutePath, newArrayList(watchEventHandler));
+                } else if (!handlers.contains(watchEventHandler)) {
+                    handlers.add(watchEventHandler);
                 }
             } catch (final IOException e) {
                 e.printStackTrace();
@@ -79,19 +112,20 @@ public class RedFileWatcher {
         }
     }
 
-    public synchronized void unregisterFile(final String fileName, final IWatchEventHandler watchEventHandler) {
-        if (fileName != null) {
-            final Collection<IWatchEventHandler> handlers = registeredFiles.get(fileName);
-            if (handlers != null && !handlers.isEmpty()) {
-                if (handlers.size() == 1 && handlers.contains(watchEventHandler)) {
-                    registeredFiles.remove(fileName);
-                } else {
-                    handlers.remove(watchEventHandler);
+    public synchronized void unregisterPath(final Path path, final IWatchEventHandler watchEventHandler) {
+        if (path != null) {
+            final Path absolutePath = path.toAbsolutePath().normalize();
+            final Collection<IWatchEventHandler> handlers = registeredPaths.get(absolutePath);
+            if (handlers != null) {
+                handlers.remove(watchEventHandler);
+                if (handlers.isEmpty()) {
+                    registeredPaths.remove(absolutePath);
+                    cancelUnusedDirectories();
                 }
             }
         }
     }
-    
+
     public void closeWatchService() {
         try {
             if (watcher != null) {
@@ -104,127 +138,196 @@ public class RedFileWatcher {
         }
     }
 
+    private void registerTree(final Path root) throws IOException {
+        Files.walkFileTree(root, new SimpleFileVisitor<Path>() {
+
+            @Override
+            public FileVisitResult preVisitDirectory(final Path dir, final BasicFileAttributes attrs)
+                    throws IOException {
+                registerDirectory(dir);
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFileFailed(final Path file, final IOException exc) {
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    private void registerDirectory(final Path dir) throws IOException {
+        if (!watchedDirs.inverse().containsKey(dir)) {
+            final WatchKey key = dir.register(watcher, StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_DELETE, StandardWatchEventKinds.ENTRY_MODIFY);
+            watchedDirs.put(key, dir);
+        }
+    }
+
+    private void cancelUnusedDirectories() {
+        final Iterator<Entry<WatchKey, Path>> iterator = watchedDirs.entrySet().iterator();
+        while (iterator.hasNext()) {
+            final Entry<WatchKey, Path> entry = iterator.next();
+            if (!isWatchingRequired(entry.getValue())) {
+                entry.getKey().cancel();
+                iterator.remove();
+            }
+        }
+    }
+
+    private boolean isWatchingRequired(final Path dir) {
+        for (final Path path : registeredPaths.keySet()) {
+            if (dir.equals(path.getParent()) || dir.startsWith(path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isInsideRegisteredTree(final Path dir) {
+        for (final Path path : registeredPaths.keySet()) {
+            if (!dir.equals(path) && dir.startsWith(path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     private void setupWatcher() {
-        if(watcher == null) {
-            registeredDirs.clear();
-            modifiedFilesQueue.clear();
+        if (watcher == null) {
+            watchedDirs.clear();
+            pendingChanges.clear();
             try {
                 watcher = FileSystems.getDefault().newWatchService();
             } catch (final IOException e) {
                 e.printStackTrace();
             }
         }
-        setupWatchEventProducerThread();
-        setupWatchEventConsumerThread();
+        setupWatchEventsThread();
     }
 
-    private void setupWatchEventProducerThread() {
-        if (!isEventProducerThreadStarted.getAndSet(true)) {
-            new Thread(new Runnable() {
+    private void setupWatchEventsThread() {
+        if (!isEventsThreadStarted.getAndSet(true)) {
+            final Thread thread = new Thread(() -> {
+                while (true) {
+                    final WatchService currentWatcher = watcher;
+                    if (currentWatcher == null) {
+                        break;
+                    }
+                    try {
+                        final WatchKey key = waitForKey(currentWatcher);
+                        if (key != null) {
+                            collectChanges(key);
+                        }
+                        dispatchChangesIfBatchIsComplete();
+                    } catch (InterruptedException | ClosedWatchServiceException e) {
+                        break;
+                    }
+                }
+                isEventsThreadStarted.set(false);
+                closeWatchService();
+                sendWatchServiceInterruptedEvent();
+            }, "RED file watcher");
+            thread.setDaemon(true);
+            thread.start();
+        }
+    }
 
-                @Override
-                public void run() {
+    private WatchKey waitForKey(final WatchService currentWatcher) throws InterruptedException {
+        final long timeToWait;
+        synchronized (this) {
+            if (pendingChanges.isEmpty()) {
+                timeToWait = -1;
+            } else {
+                final long now = System.currentTimeMillis();
+                timeToWait = Math.max(1, Math.min(lastChangeTime + quietPeriodMillis - now,
+                        batchStartTime + maxBatchDelayMillis - now));
+            }
+        }
+        return timeToWait < 0 ? currentWatcher.take() : currentWatcher.poll(timeToWait, TimeUnit.MILLISECONDS);
+    }
 
-                    while (true) {
-                        if (watcher == null) {
-                            break;
-                        }
-                        WatchKey key;
-                        try {
-                            key = watcher.take();
-                        } catch (InterruptedException | ClosedWatchServiceException e) {
-                            break;
-                        }
-                        for (final WatchEvent<?> eventFromKey : key.pollEvents()) {
-                            final WatchEvent.Kind<?> kind = eventFromKey.kind();
-                            final Path eventContext = (Path) eventFromKey.context();
-
-                            if (kind == StandardWatchEventKinds.OVERFLOW) {
-                                continue;
-                            } else if (kind == StandardWatchEventKinds.ENTRY_MODIFY) {
-
-                                final String fileName = eventContext.getFileName().toString();
-                                if (registeredFiles.get(fileName) != null) {
-                                    try {
-                                        if (!modifiedFilesQueue.contains(fileName)) {
-                                            modifiedFilesQueue.put(fileName);
-                                        }
-                                    } catch (final InterruptedException e) {
-                                        break;
-                                    }
-                                }
-                            }
-                        }
-                        final boolean valid = key.reset();
-                        if (!valid) {
-                            break;
-                        }
+    private synchronized void collectChanges(final WatchKey key) {
+        final Path dir = watchedDirs.get(key);
+        for (final WatchEvent<?> event : key.pollEvents()) {
+            if (dir == null) {
+                continue;
+            } else if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                for (final Path path : registeredPaths.keySet()) {
+                    if (path.startsWith(dir) || dir.startsWith(path)) {
+                        addChange(path, path);
                     }
-                    isEventProducerThreadStarted.set(false);
-                    closeWatchService();
-                    sendWatchServiceInterruptedEvent();
                 }
-            }).start();
-        }
-    }
-
-    private void setupWatchEventConsumerThread() {
-        if (!isEventConsumerThreadStarted.getAndSet(true)) {
-            new Thread(new Runnable() {
-
-                @Override
-                public void run() {
-                    while (true) {
-                        try {
-                            final String fileName = modifiedFilesQueue.take();
-                            final Collection<IWatchEventHandler> eventHandlers = registeredFiles.get(fileName);
-                            if (eventHandlers != null && !eventHandlers.isEmpty()) {
-                                for (final IWatchEventHandler watchEventHandler : eventHandlers) {
-                                    watchEventHandler.handleModifyEvent(fileName);
-                                }
-                            }
-                            waitForAndRemovePossibleDuplicatedEvents(fileName);
-                        } catch (final InterruptedException e) {
-                            break;
-                        }
+            } else {
+                final Path changedPath = dir.resolve((Path) event.context());
+                if (event.kind() == StandardWatchEventKinds.ENTRY_CREATE && Files.isDirectory(changedPath)
+                        && isInsideRegisteredTree(changedPath)) {
+                    try {
+                        registerTree(changedPath);
+                    } catch (final IOException e) {
+                        // the directory could have been removed already
+                    }
+                }
+                for (final Path path : registeredPaths.keySet()) {
+                    if (changedPath.startsWith(path)) {
+                        addChange(path, changedPath);
                     }
-                    isEventConsumerThreadStarted.set(false);
-                    closeWatchService();
-                    sendWatchServiceInterruptedEvent();
                 }
-            }).start();
+            }
+        }
+        if (!key.reset()) {
+            // watched directory is no longer accessible
+            watchedDirs.remove(key);
         }
     }
 
-    private void waitForAndRemovePossibleDuplicatedEvents(final String fileName) {
-        try {
-            Thread.sleep(400);
-        } catch (final InterruptedException e) {
-            return;
+    private void addChange(final Path registeredPath, final Path changedPath) {
+        final long now = System.currentTimeMillis();
+        if (pendingChanges.isEmpty()) {
+            batchStartTime = now;
         }
-        String nextFileName = modifiedFilesQueue.peek();
-        if (nextFileName != null && nextFileName.equals(fileName)) {
-            modifiedFilesQueue.remove();
-            try {
-                Thread.sleep(200);
-            } catch (final InterruptedException e) {
-                return;
+        lastChangeTime = now;
+        for (final IWatchEventHandler handler : registeredPaths.get(registeredPath)) {
+            Set<Path> changes = pendingChanges.get(handler);
+            if (changes == null) {
+                changes = new LinkedHashSet<>();
+                pendingChanges.put(handler, changes);
             }
-            nextFileName = modifiedFilesQueue.peek();
-            if (nextFileName != null && nextFileName.equals(fileName)) {
-                modifiedFilesQueue.remove();
+            changes.add(changedPath);
+        }
+    }
+
+    private void dispatchChangesIfBatchIsComplete() {
+        final Map<IWatchEventHandler, Set<Path>> changesToDispatch;
+        synchronized (this) {
+            final long now = System.currentTimeMillis();
+            if (pendingChanges.isEmpty()
+                    || now < lastChangeTime + quietPeriodMillis && now < batchStartTime + maxBatchDelayMillis) {
+                return;
             }
+            changesToDispatch = new LinkedHashMap<>(pendingChanges);
+            pendingChanges.clear();
+        }
+        for (final Entry<IWatchEventHandler, Set<Path>> entry : changesToDispatch.entrySet()) {
+            entry.getKey().handleModifyEvents(entry.getValue());
         }
     }
 
     private void sendWatchServiceInterruptedEvent() {
-        for (final String file : registeredFiles.keySet()) {
-            final Collection<IWatchEventHandler> eventHandlers = registeredFiles.get(file);
-            if (eventHandlers != null && !eventHandlers.isEmpty()) {
-                for (final IWatchEventHandler handler : eventHandlers) {
-                    handler.watchServiceInterrupted();
-                }
+        final Set<IWatchEventHandler> handlers = new LinkedHashSet<>();
+        synchronized (this) {
+            for (final Collection<IWatchEventHandler> pathHandlers : registeredPaths.values()) {
+                handlers.addAll(pathHandlers);
             }
+            // handlers forget their registrations and register the paths again when needed
+            registeredPaths.clear();
         }
+        for (final IWatchEventHandler handler : handlers) {
+            handler.watchServiceInterrupted();
+        }
+    }
+
+    @VisibleForTesting
+    synchronized List<Path> getWatchedDirectories() {
+        return new ArrayList<>(watchedDirs.values());
     }
 }
@@ -5,11 +5,16 @@
  */
 package org.rf.ide.core.jvmutils.process;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.List;
 import java.util.Queue;
 import java.util.concurrent.ConcurrentLinkedQueue;
 
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.ListMultimap;
+
 public abstract class AProcessTreeHandler implements IProcessTreeHandler {
 
     private final OSProcessHelper helper;
@@ -55,6 +60,23 @@ public abstract class AProcessTreeHandler implements IProcessTreeHandler {
         return childPids;
     }
 
+    @Override
+    public ListMultimap<Long, Long> getDescendantPids(final long processPid) {
+        final ListMultimap<Long, Long> descendantPids = ArrayListMultimap.create();
+        final Deque<Long> pidsToVisit = new ArrayDeque<>();
+        pidsToVisit.add(processPid);
+        while (!pidsToVisit.isEmpty()) {
+            final Long pid = pidsToVisit.poll();
+            for (final Long childPid : getChildPids(pid)) {
+                if (!descendantPids.containsValue(childPid)) {
+                    descendantPids.put(pid, childPid);
+                    pidsToVisit.add(childPid);
+                }
+            }
+        }
+        return descendantPids;
+    }
+
     public abstract List<String> getKillProcessCommand(final ProcessInformation procInformation);
 
     @Override
@@ -7,6 +7,8 @@ package org.rf.ide.core.jvmutils.process;
 
 import java.util.List;
 
+import com.google.common.collect.ListMultimap;
+
 public interface IProcessTreeHandler {
 
     boolean isSupported(final Process process);
@@ -17,6 +19,12 @@ public interface IProcessTreeHandler {
 
     List<Long> getChildPids(final long processPid);
 
+    /**
+     * @return pids of children of given process and of all its descendants, grouped by the pid of
+     *         their parent
+     */
+    ListMultimap<Long, Long> getDescendantPids(final long processPid);
+
     void killProcess(final ProcessInformation procInformation) throws ProcessKillException;
 
     void killProcessTree(final ProcessInformation procInformation) throws ProcessKillException;
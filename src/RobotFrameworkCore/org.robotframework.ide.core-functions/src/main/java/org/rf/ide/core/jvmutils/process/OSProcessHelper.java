@@ -19,6 +19,7 @@ import org.rf.ide.core.executor.RobotRuntimeEnvironment;
 import org.rf.ide.core.jvmutils.process.IProcessTreeHandler.ProcessKillException;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.ListMultimap;
 
 public class OSProcessHelper {
 
@@ -110,14 +111,17 @@ public class OSProcessHelper {
 
     @VisibleForTesting
     protected ProcessInformation fillProcessTree(final IProcessTreeHandler provider, final long pid) {
+        return fillProcessTree(provider, pid, provider.getDescendantPids(pid));
+    }
+
+    private ProcessInformation fillProcessTree(final IProcessTreeHandler provider, final long pid,
+            final ListMultimap<Long, Long> descendantPids) {
         final ProcessInformation process = new ProcessInformation(pid);
         process.setHandler(provider);
 
-        final List<Long> childPids = provider.getChildPids(pid);
-        for (final Long childPid : childPids) {
-            process.addChildProcess(fillProcessTree(provider, childPid));
+        for (final Long childPid : descendantPids.get(pid)) {
+            process.addChildProcess(fillProcessTree(provider, childPid, descendantPids));
         }
-
         return process;
     }
 
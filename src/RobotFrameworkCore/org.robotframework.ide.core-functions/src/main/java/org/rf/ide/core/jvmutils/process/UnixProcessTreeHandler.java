@@ -5,16 +5,49 @@
  */
 package org.rf.ide.core.jvmutils.process;
 
+import java.io.IOException;
 import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Deque;
 import java.util.List;
+import java.util.Optional;
 
 import org.rf.ide.core.executor.RedSystemProperties;
 
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.ListMultimap;
+import com.sun.jna.Library;
+import com.sun.jna.Native;
+
+/**
+ * Process tree handler for Unix-like systems. When procfs is available the whole tree is taken
+ * from single snapshot of /proc/[pid]/stat files and processes are killed by sending the signal
+ * directly, so no ps or kill processes are forked. Otherwise those commands are used.
+ */
 public class UnixProcessTreeHandler extends AProcessTreeHandler {
 
+    private static final int SIGKILL = 9;
+
+    private static final int ESRCH = 3;
+
+    private final Path procDirectory;
+
     public UnixProcessTreeHandler(final OSProcessHelper helper) {
+        this(helper, Paths.get("/proc"));
+    }
+
+    @VisibleForTesting
+    UnixProcessTreeHandler(final OSProcessHelper helper, final Path procDirectory) {
         super(helper);
+        this.procDirectory = procDirectory;
     }
 
     @Override
@@ -37,11 +70,124 @@ public class UnixProcessTreeHandler extends AProcessTreeHandler {
         return pid;
     }
 
+    @Override
+    public List<Long> getChildPids(final long processPid) {
+        final Optional<ListMultimap<Long, Long>> childPids = readChildPidsOfAllProcesses();
+        return childPids.isPresent() ? new ArrayList<>(childPids.get().get(processPid))
+                : super.getChildPids(processPid);
+    }
+
+    @Override
+    public ListMultimap<Long, Long> getDescendantPids(final long processPid) {
+        final Optional<ListMultimap<Long, Long>> childPids = readChildPidsOfAllProcesses();
+        if (!childPids.isPresent()) {
+            return super.getDescendantPids(processPid);
+        }
+        final ListMultimap<Long, Long> descendantPids = ArrayListMultimap.create();
+        final Deque<Long> pidsToVisit = new ArrayDeque<>();
+        pidsToVisit.add(processPid);
+        while (!pidsToVisit.isEmpty()) {
+            final Long pid = pidsToVisit.poll();
+            for (final Long childPid : childPids.get().get(pid)) {
+                descendantPids.put(pid, childPid);
+                pidsToVisit.add(childPid);
+            }
+        }
+        return descendantPids;
+    }
+
+    private Optional<ListMultimap<Long, Long>> readChildPidsOfAllProcesses() {
+        if (!Files.isDirectory(procDirectory)) {
+            return Optional.empty();
+        }
+        final ListMultimap<Long, Long> childPids = ArrayListMultimap.create();
+        try (DirectoryStream<Path> processDirs = Files.newDirectoryStream(procDirectory,
+                path -> isNumber(path.getFileName().toString()))) {
+            for (final Path processDir : processDirs) {
+                final long pid = Long.parseLong(processDir.getFileName().toString());
+                final Optional<Long> parentPid = readParentPid(processDir.resolve("stat"));
+                if (parentPid.isPresent() && parentPid.get() != pid) {
+                    childPids.put(parentPid.get(), pid);
+                }
+            }
+        } catch (final IOException | RuntimeException e) {
+            return Optional.empty();
+        }
+        return childPids.isEmpty() ? Optional.empty() : Optional.of(childPids);
+    }
+
+    private static Optional<Long> readParentPid(final Path statFile) {
+        // the format is: pid (comm) state ppid ..., where comm may contain spaces and parentheses
+        try {
+            final String stat = new String(Files.readAllBytes(statFile), StandardCharsets.US_ASCII);
+            final int commEnd = stat.lastIndexOf(')');
+            if (commEnd >= 0) {
+                final String[] fields = stat.substring(commEnd + 1).trim().split(" ");
+                if (fields.length > 1 && isNumber(fields[1])) {
+                    return Optional.of(Long.parseLong(fields[1]));
+                }
+            }
+        } catch (final IOException e) {
+            // the process has already finished
+        }
+        return Optional.empty();
+    }
+
+    private static boolean isNumber(final String value) {
+        if (value.isEmpty() || value.length() > 18) {
+            return false;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            if (!Character.isDigit(value.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     @Override
     public List<String> getChildPidsCommand(final long processPid) {
         return Arrays.asList("ps", "--ppid", "" + processPid, "-o", "%U,%p,%P", "--no-header");
     }
 
+    @Override
+    public void killProcess(final ProcessInformation procInformation) throws ProcessKillException {
+        if (!sendKillSignal(procInformation.pid())) {
+            super.killProcess(procInformation);
+        }
+    }
+
+    @Override
+    public void killProcessTree(final ProcessInformation procInformation) throws ProcessKillException {
+        if (sendKillSignal(procInformation.pid())) {
+            for (final ProcessInformation child : procInformation.childs()) {
+                killProcessTree(child);
+            }
+        } else {
+            super.killProcessTree(procInformation);
+        }
+    }
+
+    /**
+     * @return false when the signal could not be sent directly and kill command has to be used
+     * @throws ProcessKillException
+     *             when the signal was sent, but the system refused to deliver it
+     */
+    private static boolean sendKillSignal(final long pid) throws ProcessKillException {
+        final Optional<CLibrary> library = CLibraryHolder.LIBRARY;
+        if (!library.isPresent() || pid <= 0 || pid > Integer.MAX_VALUE) {
+            return false;
+        }
+        if (library.get().kill((int) pid, SIGKILL) != 0) {
+            final int errno = Native.getLastError();
+            // already finished process does not need to be killed
+            if (errno != ESRCH) {
+                throw new ProcessKillException("Couldn't stop process PID=" + pid + ", errno=" + errno);
+            }
+        }
+        return true;
+    }
+
     @Override
     public List<String> getKillProcessCommand(final ProcessInformation procInformation) {
         return Arrays.asList("kill", "-9", "" + procInformation.pid());
@@ -56,4 +202,25 @@ public class UnixProcessTreeHandler extends AProcessTreeHandler {
     public boolean isSupportedOS() {
         return !RedSystemProperties.isWindowsPlatform();
     }
+
+    private interface CLibrary extends Library {
+
+        int kill(int pid, int signal);
+    }
+
+    private static class CLibraryHolder {
+
+        private static final Optional<CLibrary> LIBRARY = load();
+
+        private static Optional<CLibrary> load() {
+            if (RedSystemProperties.isWindowsPlatform()) {
+                return Optional.empty();
+            }
+            try {
+                return Optional.of((CLibrary) Native.loadLibrary("c", CLibrary.class));
+            } catch (final UnsatisfiedLinkError | RuntimeException e) {
+                return Optional.empty();
+            }
+        }
+    }
 }
@@ -0,0 +1,33 @@
+/*
+ * Copyright 2017 Nokia Solutions and Networks
+ * Licensed under the Apache License, Version 2.0,
+ * see license.txt file for details.
+ */
+package org.rf.ide.core.project;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.JAXBException;
+
+/**
+ * Shared cache of JAXB contexts. Creating the context is by far the most expensive part of
+ * reading or writing xml with JAXB, while the context itself is thread-safe, so single context
+ * is created for each bound class and reused. Marshallers and unmarshallers are not thread-safe
+ * and have to be created from the context each time.
+ */
+public class JAXBContexts {
+
+    private static final Map<Class<?>, JAXBContext> CONTEXTS = new ConcurrentHashMap<>();
+
+    public static JAXBContext get(final Class<?> boundClass) throws JAXBException {
+        final JAXBContext context = CONTEXTS.get(boundClass);
+        if (context != null) {
+            return context;
+        }
+        final JAXBContext newContext = JAXBContext.newInstance(boundClass);
+        final JAXBContext existingContext = CONTEXTS.putIfAbsent(boundClass, newContext);
+        return existingContext == null ? newContext : existingContext;
+    }
+}
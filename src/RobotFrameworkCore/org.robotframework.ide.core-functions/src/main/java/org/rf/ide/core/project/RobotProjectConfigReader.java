@@ -16,7 +16,6 @@ import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.Map;
 
-import javax.xml.bind.JAXBContext;
 import javax.xml.bind.JAXBException;
 import javax.xml.bind.Unmarshaller;
 import javax.xml.bind.Unmarshaller.Listener;
@@ -65,8 +64,8 @@ public class RobotProjectConfigReader {
 
     protected final RobotProjectConfig readConfiguration(final Reader reader) {
         try {
-            final JAXBContext jaxbContext = JAXBContext.newInstance(RobotProjectConfig.class);
-            return (RobotProjectConfig) jaxbContext.createUnmarshaller().unmarshal(reader);
+            return (RobotProjectConfig) JAXBContexts.get(RobotProjectConfig.class).createUnmarshaller()
+                    .unmarshal(reader);
 
         } catch (final JAXBException e) {
             if (e.getLinkedException() != null) {
@@ -80,8 +79,7 @@ public class RobotProjectConfigReader {
     protected final RobotProjectConfigWithLines readConfigurationWithLines(final Reader reader) {
         try {
             final XMLInputFactory xmlFactory = XMLInputFactory.newFactory();
-            final JAXBContext jaxbContext = JAXBContext.newInstance(RobotProjectConfig.class);
-            final Unmarshaller unmarshaller = jaxbContext.createUnmarshaller();
+            final Unmarshaller unmarshaller = JAXBContexts.get(RobotProjectConfig.class).createUnmarshaller();
             final XMLStreamReader xmlReader = xmlFactory.createXMLStreamReader(reader);
             final LocationListener listener = new LocationListener(xmlReader);
             unmarshaller.setListener(listener);
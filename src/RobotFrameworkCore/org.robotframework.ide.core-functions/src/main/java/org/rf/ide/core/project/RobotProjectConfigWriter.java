@@ -15,7 +15,6 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.StandardCopyOption;
 
-import javax.xml.bind.JAXBContext;
 import javax.xml.bind.JAXBException;
 import javax.xml.bind.Marshaller;
 
@@ -37,8 +36,7 @@ public class RobotProjectConfigWriter {
 
     public void writeConfiguration(final RobotProjectConfig configuration, final Writer writer) {
         try {
-            final JAXBContext jaxbContext = JAXBContext.newInstance(RobotProjectConfig.class);
-            final Marshaller marshaller = jaxbContext.createMarshaller();
+            final Marshaller marshaller = JAXBContexts.get(RobotProjectConfig.class).createMarshaller();
             marshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, Boolean.TRUE);
             marshaller.marshal(configuration, writer);
         } catch (final JAXBException e) {
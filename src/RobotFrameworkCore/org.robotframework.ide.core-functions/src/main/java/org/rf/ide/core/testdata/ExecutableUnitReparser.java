@@ -0,0 +1,400 @@
+/*
+ * Copyright 2017 Nokia Solutions and Networks
+ * Licensed under the Apache License, Version 2.0,
+ * see license.txt file for details.
+ */
+package org.rf.ide.core.testdata;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import org.rf.ide.core.testdata.model.AModelElement;
+import org.rf.ide.core.testdata.model.FilePosition;
+import org.rf.ide.core.testdata.model.FileRegionCacher;
+import org.rf.ide.core.testdata.model.IDocumentationHolder;
+import org.rf.ide.core.testdata.model.RobotFile;
+import org.rf.ide.core.testdata.model.RobotFileOutput;
+import org.rf.ide.core.testdata.model.RobotFileOutput.Status;
+import org.rf.ide.core.testdata.model.RobotVersion;
+import org.rf.ide.core.testdata.model.table.KeywordTable;
+import org.rf.ide.core.testdata.model.table.TestCaseTable;
+import org.rf.ide.core.testdata.model.table.keywords.UserKeyword;
+import org.rf.ide.core.testdata.model.table.testcases.TestCase;
+import org.rf.ide.core.testdata.text.read.EndOfLineBuilder.EndOfLineTypes;
+import org.rf.ide.core.testdata.text.read.IRobotLineElement;
+import org.rf.ide.core.testdata.text.read.IRobotTokenType;
+import org.rf.ide.core.testdata.text.read.LineReader.Constant;
+import org.rf.ide.core.testdata.text.read.RobotLine;
+import org.rf.ide.core.testdata.text.read.recognizer.RobotToken;
+import org.rf.ide.core.testdata.text.read.recognizer.RobotTokenType;
+import org.rf.ide.core.testdata.text.read.separators.Separator;
+
+/**
+ * Updates parsed model of editor content after single edit. When the edit is contained inside
+ * single test case or keyword only this element is parsed again and then it is spliced into
+ * existing output together with its lines; positions of all the lines placed after the edit are
+ * shifted. Otherwise nothing is changed and the whole content has to be parsed again.
+ */
+class ExecutableUnitReparser {
+
+    private static final String TEST_CASES_HEADER = "*** Test Cases ***\n";
+
+    private static final String KEYWORDS_HEADER = "*** Keywords ***\n";
+
+    private final IRobotFileParser parser;
+
+    private final RobotVersion robotVersion;
+
+    ExecutableUnitReparser(final IRobotFileParser parser, final RobotVersion robotVersion) {
+        this.parser = parser;
+        this.robotVersion = robotVersion;
+    }
+
+    /**
+     * @param output
+     *            output of previous content parsing which will be updated
+     * @param fileContent
+     *            content after the edit
+     * @param file
+     *            parsed file
+     * @param offset
+     *            offset of the edit
+     * @param length
+     *            length of text replaced by the edit
+     * @param text
+     *            text inserted by the edit
+     * @return true when output was updated, false if whole content has to be parsed
+     */
+    boolean reparse(final RobotFileOutput output, final String fileContent, final File file, final int offset,
+            final int length, final String text) {
+        if (output.getStatus() != Status.PASSED || !output.getBuildingMessages().isEmpty()) {
+            return false;
+        }
+        if (mayChangeCarriageReturnMeaning(fileContent, offset, length, text)) {
+            return false;
+        }
+        final RobotFile model = output.getFileModel();
+        final List<RobotLine> lines = model.getFileContent();
+        final int oldContentLength = fileContent.length() - text.length() + length;
+
+        final Optional<Integer> firstEditedLine = lineIndexOf(model, offset, oldContentLength);
+        final Optional<Integer> lastEditedLine = lineIndexOf(model, offset + length, oldContentLength);
+        if (!firstEditedLine.isPresent() || !lastEditedLine.isPresent()) {
+            return false;
+        }
+        final Optional<Integer> unitStart = findUnitDeclarationLine(lines, firstEditedLine.get());
+        if (!unitStart.isPresent()) {
+            return false;
+        }
+        final int unitEnd = findUnitEndLine(lines, unitStart.get());
+        if (lastEditedLine.get() >= unitEnd) {
+            return false;
+        }
+        final RobotLine lastUnitLine = lines.get(unitEnd - 1);
+        if (unitEnd < lines.size() && offset + length > lastUnitLine.getEndOfLine().getStartOffset()) {
+            // the edit changes line ending which separates this unit from the next lines
+            return false;
+        }
+
+        final RobotToken declaration = findDeclaration(lines.get(unitStart.get()));
+        final ExecutableUnit oldUnit = ExecutableUnit.find(model, declaration);
+        if (oldUnit == null || oldUnit.getLastLineIndex() >= unitEnd) {
+            return false;
+        }
+
+        final int regionStart = lineStartOffset(lines.get(unitStart.get()));
+        final int oldRegionEnd = unitEnd < lines.size() ? lineStartOffset(lines.get(unitEnd)) : oldContentLength;
+        final int offsetShift = text.length() - length;
+        final int newRegionEnd = oldRegionEnd + offsetShift;
+        if (regionStart > 0 && fileContent.charAt(regionStart - 1) == '\r' && regionStart < fileContent.length()
+                && fileContent.charAt(regionStart) == '\n') {
+            return false;
+        }
+
+        final String header = oldUnit.isTestCase() ? TEST_CASES_HEADER : KEYWORDS_HEADER;
+        final RobotFileOutput regionOutput = parseRegion(header + fileContent.substring(regionStart, newRegionEnd),
+                file);
+        final List<RobotLine> regionLines = regionOutput.getFileModel().getFileContent();
+        final ExecutableUnit newUnit = ExecutableUnit.single(regionOutput, oldUnit.isTestCase());
+        if (newUnit == null || !containsOnlyUnitLines(regionLines, unitEnd < lines.size())) {
+            return false;
+        }
+
+        final int regionLinesCount = unitEnd < lines.size() ? regionLines.size() - 2 : regionLines.size() - 1;
+        final int lineShift = regionLinesCount - (unitEnd - unitStart.get());
+
+        final List<RobotLine> newLines = new ArrayList<>();
+        for (int i = 1; i <= regionLinesCount; i++) {
+            final RobotLine regionLine = regionLines.get(i);
+            final RobotLine line = new RobotLine(regionLine.getLineNumber(), model);
+            line.setSeparatorType(regionLine.getSeparatorForLine().orElse(null));
+            line.setLineElements(regionLine.getLineElements());
+            line.setEndOfLine(Constant.get(regionLine.getEndOfLine()), regionLine.getEndOfLine().getStartOffset(),
+                    regionLine.getEndOfLine().getStartColumn());
+            shift(line, unitStart.get() - 1, regionStart - header.length());
+            newLines.add(line);
+        }
+        final List<RobotLine> followingLines = lines.subList(unitEnd, lines.size());
+        for (final RobotLine line : followingLines) {
+            shift(line, lineShift, offsetShift);
+        }
+        // tokens created by post-processing fixes are not a part of any line
+        shiftDetachedTokens(newUnit.unit.getElementTokens(), newLines, unitStart.get() - 1,
+                regionStart - header.length());
+        shiftDetachedTokens(tokensOfUnitsDeclaredIn(model, followingLines), followingLines, lineShift, offsetShift);
+        model.replaceLines(unitStart.get(), unitEnd, newLines);
+
+        oldUnit.replaceWith(newUnit, output.getDocumentationCacher());
+        return true;
+    }
+
+    private static boolean mayChangeCarriageReturnMeaning(final String fileContent, final int offset,
+            final int length, final String text) {
+        final int editEnd = offset + text.length();
+        return offset > 0 && fileContent.charAt(offset - 1) == '\r' || text.endsWith("\r")
+                || length > 0 && editEnd < fileContent.length() && fileContent.charAt(editEnd) == '\n';
+    }
+
+    private RobotFileOutput parseRegion(final String regionContent, final File file) {
+        final RobotFileOutput regionOutput = new RobotFileOutput(robotVersion);
+        parser.parse(regionOutput, new ByteArrayInputStream(regionContent.getBytes(Charset.forName("UTF-8"))), file);
+        return regionOutput;
+    }
+
+    private static Optional<Integer> lineIndexOf(final RobotFile model, final int offset, final int contentLength) {
+        final Optional<Integer> index = model.getRobotLineIndexBy(offset);
+        if (!index.isPresent() && offset == contentLength && !model.getFileContent().isEmpty()) {
+            return Optional.of(model.getFileContent().size() - 1);
+        }
+        return index;
+    }
+
+    private static int lineStartOffset(final RobotLine line) {
+        return line.getLineElements().isEmpty() ? line.getEndOfLine().getStartOffset()
+                : line.getLineElements().get(0).getStartOffset();
+    }
+
+    private static Optional<Integer> findUnitDeclarationLine(final List<RobotLine> lines, final int lineIndex) {
+        for (int i = lineIndex; i >= 0; i--) {
+            final RobotLine line = lines.get(i);
+            if (containsHeader(line)) {
+                return Optional.empty();
+            } else if (findDeclaration(line) != null) {
+                return Optional.of(i);
+            }
+        }
+        return Optional.empty();
+    }
+
+    private static int findUnitEndLine(final List<RobotLine> lines, final int unitStart) {
+        for (int i = unitStart + 1; i < lines.size(); i++) {
+            final RobotLine line = lines.get(i);
+            if (containsHeader(line) || findDeclaration(line) != null) {
+                return i;
+            }
+        }
+        return lines.size();
+    }
+
+    private static boolean containsOnlyUnitLines(final List<RobotLine> regionLines,
+            final boolean shouldEndWithEmptyLine) {
+        final int minimalSize = shouldEndWithEmptyLine ? 3 : 2;
+        if (regionLines.size() < minimalSize) {
+            return false;
+        }
+        for (int i = 1; i < regionLines.size(); i++) {
+            if (containsHeader(regionLines.get(i))) {
+                return false;
+            }
+        }
+        if (shouldEndWithEmptyLine) {
+            final RobotLine lastLine = regionLines.get(regionLines.size() - 1);
+            return lastLine.getLineElements().isEmpty()
+                    && lastLine.getEndOfLine().getTypes().contains(EndOfLineTypes.EOF);
+        }
+        return true;
+    }
+
+    private static boolean containsHeader(final RobotLine line) {
+        for (final IRobotLineElement element : line.getLineElements()) {
+            for (final IRobotTokenType type : element.getTypes()) {
+                if (RobotTokenType.isTableHeader(type)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static RobotToken findDeclaration(final RobotLine line) {
+        for (final RobotToken token : line.getLineTokens()) {
+            final List<IRobotTokenType> types = token.getTypes();
+            if (types.contains(RobotTokenType.TEST_CASE_NAME) || types.contains(RobotTokenType.KEYWORD_NAME)) {
+                return token;
+            }
+        }
+        return null;
+    }
+
+    private static List<RobotToken> tokensOfUnitsDeclaredIn(final RobotFile model, final List<RobotLine> lines) {
+        final Set<RobotToken> lineTokens = tokensOf(lines);
+        final List<RobotToken> tokens = new ArrayList<>();
+        for (final TestCase testCase : model.getTestCaseTable().getTestCases()) {
+            if (lineTokens.contains(testCase.getDeclaration())) {
+                tokens.addAll(testCase.getElementTokens());
+            }
+        }
+        for (final UserKeyword keyword : model.getKeywordTable().getKeywords()) {
+            if (lineTokens.contains(keyword.getDeclaration())) {
+                tokens.addAll(keyword.getElementTokens());
+            }
+        }
+        return tokens;
+    }
+
+    private static Set<RobotToken> tokensOf(final List<RobotLine> lines) {
+        final Set<RobotToken> tokens = Collections.newSetFromMap(new IdentityHashMap<RobotToken, Boolean>());
+        for (final RobotLine line : lines) {
+            tokens.addAll(line.getLineTokens());
+        }
+        return tokens;
+    }
+
+    private static void shiftDetachedTokens(final List<RobotToken> tokens, final List<RobotLine> lines,
+            final int lineShift, final int offsetShift) {
+        if (lineShift == 0 && offsetShift == 0) {
+            return;
+        }
+        final Set<RobotToken> shifted = tokensOf(lines);
+        for (final RobotToken token : tokens) {
+            final FilePosition position = token.getFilePosition();
+            if (!position.isNotSet() && shifted.add(token)) {
+                token.setFilePosition(new FilePosition(position.getLine() + lineShift, position.getColumn(),
+                        position.getOffset() + offsetShift));
+            }
+        }
+    }
+
+    private static void shift(final RobotLine line, final int lineShift, final int offsetShift) {
+        if (lineShift == 0 && offsetShift == 0) {
+            return;
+        }
+        line.setLineNumber(line.getLineNumber() + lineShift);
+        for (final IRobotLineElement element : line.getLineElements()) {
+            final FilePosition position = element.getFilePosition();
+            if (position.isNotSet()) {
+                continue;
+            }
+            if (element instanceof RobotToken) {
+                ((RobotToken) element).setFilePosition(new FilePosition(position.getLine() + lineShift,
+                        position.getColumn(), position.getOffset() + offsetShift));
+            } else if (element instanceof Separator) {
+                ((Separator) element).setLineNumber(position.getLine() + lineShift);
+                ((Separator) element).setStartOffset(position.getOffset() + offsetShift);
+            }
+        }
+        final IRobotLineElement eol = line.getEndOfLine();
+        if (eol.getStartOffset() != IRobotLineElement.NOT_SET) {
+            line.setEndOfLine(Constant.get(eol), eol.getStartOffset() + offsetShift, eol.getStartColumn());
+        }
+    }
+
+    /**
+     * Test case or keyword together with its position in table.
+     */
+    private static class ExecutableUnit {
+
+        private final AModelElement<?> unit;
+
+        private final List<? extends IDocumentationHolder> documentation;
+
+        private ExecutableUnit(final TestCase testCase) {
+            this.unit = testCase;
+            this.documentation = testCase.getDocumentation();
+        }
+
+        private ExecutableUnit(final UserKeyword keyword) {
+            this.unit = keyword;
+            this.documentation = keyword.getDocumentation();
+        }
+
+        static ExecutableUnit find(final RobotFile model, final RobotToken declaration) {
+            if (declaration == null || declaration.getText().isEmpty()) {
+                // unnamed units are placed by the parser at position of previous line
+                return null;
+            }
+            for (final TestCase testCase : model.getTestCaseTable().getTestCases()) {
+                if (testCase.getDeclaration() == declaration) {
+                    return new ExecutableUnit(testCase);
+                }
+            }
+            for (final UserKeyword keyword : model.getKeywordTable().getKeywords()) {
+                if (keyword.getDeclaration() == declaration) {
+                    return new ExecutableUnit(keyword);
+                }
+            }
+            return null;
+        }
+
+        static ExecutableUnit single(final RobotFileOutput output, final boolean isTestCase) {
+            final RobotFile model = output.getFileModel();
+            if (output.getStatus() != Status.PASSED || !output.getBuildingMessages().isEmpty()
+                    || model.getSettingTable().isPresent() || model.getVariableTable().isPresent()) {
+                return null;
+            }
+            final TestCaseTable testCaseTable = model.getTestCaseTable();
+            final KeywordTable keywordTable = model.getKeywordTable();
+            if (isTestCase && !keywordTable.isPresent() && testCaseTable.getTestCases().size() == 1) {
+                return new ExecutableUnit(testCaseTable.getTestCases().get(0)).declaredInFirstLine();
+            } else if (!isTestCase && !testCaseTable.isPresent() && keywordTable.getKeywords().size() == 1) {
+                return new ExecutableUnit(keywordTable.getKeywords().get(0)).declaredInFirstLine();
+            }
+            return null;
+        }
+
+        private ExecutableUnit declaredInFirstLine() {
+            // first line contains the table header
+            final RobotToken declaration = unit.getDeclaration();
+            return declaration.getLineNumber() == 2 && !declaration.getText().isEmpty() ? this : null;
+        }
+
+        boolean isTestCase() {
+            return unit instanceof TestCase;
+        }
+
+        int getLastLineIndex() {
+            int lastLine = FilePosition.NOT_SET;
+            for (final RobotToken token : unit.getElementTokens()) {
+                lastLine = Math.max(lastLine, token.getLineNumber());
+            }
+            return lastLine - 1;
+        }
+
+        void replaceWith(final ExecutableUnit newUnit, final FileRegionCacher<IDocumentationHolder> docCacher) {
+            if (isTestCase()) {
+                final TestCaseTable table = ((TestCase) unit).getParent();
+                final int index = table.getTestCases().indexOf(unit);
+                table.removeTest((TestCase) unit);
+                table.addTest((TestCase) newUnit.unit, index);
+            } else {
+                final KeywordTable table = ((UserKeyword) unit).getParent();
+                final int index = table.getKeywords().indexOf(unit);
+                table.removeKeyword((UserKeyword) unit);
+                table.addKeyword((UserKeyword) newUnit.unit, index);
+            }
+            for (final IDocumentationHolder doc : documentation) {
+                docCacher.unregister(doc);
+            }
+            for (final IDocumentationHolder doc : newUnit.documentation) {
+                docCacher.register(doc);
+            }
+        }
+    }
+}
@@ -5,8 +5,10 @@
  */
 package org.rf.ide.core.testdata;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 
 import org.rf.ide.core.testdata.model.RobotFileOutput;
 
@@ -24,4 +26,8 @@ public interface IRobotFileParser {
 
     void parse(final RobotFileOutput output, final InputStream inputStream,
             final File robotFile);
+
+    default void parse(final RobotFileOutput output, final String content, final File robotFile) {
+        parse(output, new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)), robotFile);
+    }
 }
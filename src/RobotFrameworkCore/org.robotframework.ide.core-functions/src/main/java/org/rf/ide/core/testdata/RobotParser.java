@@ -5,9 +5,7 @@
  */
 package org.rf.ide.core.testdata;
 
-import java.io.ByteArrayInputStream;
 import java.io.File;
-import java.nio.charset.Charset;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -109,12 +107,7 @@ public class RobotParser {
         final IRobotFileParser parserToUse = getParser(fileOrDir, true);
 
         if (parserToUse != null) {
-            ByteArrayInputStream bais = new ByteArrayInputStream(new byte[0]);
-            if (fileContent != null && fileContent.length() > 0) {
-                bais = new ByteArrayInputStream(fileContent.getBytes(Charset.forName("UTF-8")));
-            }
-
-            parserToUse.parse(robotFile, bais, fileOrDir);
+            parserToUse.parse(robotFile, fileContent == null ? "" : fileContent, fileOrDir);
 
             final RobotFile fileModel = robotFile.getFileModel();
             if (fileModel.containsAnyRobotSection()) {
@@ -135,6 +128,36 @@ public class RobotParser {
         return robotFile;
     }
 
+    /**
+     * Should be used for unsaved editor content after single edit. When the edit is placed inside
+     * single test case or keyword, only this element is parsed again and given output is updated
+     * in place. Otherwise whole content is parsed as in {@link #parseEditorContent(String, File)}.
+     * 
+     * @param previousOutput
+     *            output of content parsed before the edit, may be null
+     * @param fileContent
+     *            content after the edit
+     * @param fileOrDir
+     * @param offset
+     *            offset of the edit
+     * @param length
+     *            length of replaced text
+     * @param text
+     *            inserted text
+     * @return
+     */
+    public RobotFileOutput reparseEditorContent(final RobotFileOutput previousOutput, final String fileContent,
+            final File fileOrDir, final int offset, final int length, final String text) {
+        if (previousOutput != null) {
+            final IRobotFileParser parserToUse = getParser(fileOrDir, true);
+            if (parserToUse != null && new ExecutableUnitReparser(parserToUse, robotVersion).reparse(previousOutput,
+                    fileContent, fileOrDir, offset, length, text)) {
+                return previousOutput;
+            }
+        }
+        return parseEditorContent(fileContent, fileOrDir);
+    }
+
     public List<RobotFileOutput> parse(final File fileOrDir) {
         final List<RobotFileOutput> output = new ArrayList<>();
         parse(fileOrDir, output);
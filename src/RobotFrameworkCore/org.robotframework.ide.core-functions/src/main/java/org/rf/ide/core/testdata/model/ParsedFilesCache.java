@@ -0,0 +1,142 @@
+/*
+ * Copyright 2017 Nokia Solutions and Networks
+ * Licensed under the Apache License, Version 2.0,
+ * see license.txt file for details.
+ */
+package org.rf.ide.core.testdata.model;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+
+/**
+ * Parsed files keyed by normalized absolute path of the file. Each entry remembers the size of the
+ * file at the moment it was added, so together with modification time kept in {@link RobotFileOutput}
+ * it is possible to tell if the file has to be parsed again. The cache is bounded by total size of
+ * cached files; least recently used files are evicted first, except files marked as opened.
+ */
+class ParsedFilesCache {
+
+    private static final int MIN_WEIGHT = 1024;
+
+    private final long maxWeight;
+
+    private long currentWeight = 0;
+
+    private final LinkedHashMap<String, CachedFile> files = new LinkedHashMap<>(16, 0.75f, true);
+
+    private final Set<String> openedFiles = new HashSet<>();
+
+    ParsedFilesCache(final long maxWeight) {
+        this.maxWeight = maxWeight;
+    }
+
+    static String createKey(final File file) {
+        return file.getAbsoluteFile().toPath().normalize().toString();
+    }
+
+    synchronized RobotFileOutput get(final File file) {
+        final CachedFile cached = files.get(createKey(file));
+        return cached == null ? null : cached.output;
+    }
+
+    synchronized boolean isUpToDate(final File file) {
+        final CachedFile cached = files.get(createKey(file));
+        return cached != null && cached.output.getLastModificationEpochTime() == file.lastModified()
+                && cached.size == file.length();
+    }
+
+    synchronized void put(final RobotFileOutput output) {
+        final File file = output.getProcessedFile();
+        if (file == null) {
+            return;
+        }
+        final CachedFile newFile = new CachedFile(output, file.length());
+        final CachedFile previous = files.put(createKey(file), newFile);
+        if (previous != null) {
+            currentWeight -= previous.weight();
+        }
+        currentWeight += newFile.weight();
+        evictIfNeeded();
+    }
+
+    synchronized void remove(final RobotFileOutput output) {
+        final File file = output.getProcessedFile();
+        if (file != null) {
+            final String key = createKey(file);
+            final CachedFile cached = files.get(key);
+            if (cached != null && cached.output == output) {
+                files.remove(key);
+                currentWeight -= cached.weight();
+            }
+        } else {
+            final Iterator<CachedFile> iterator = files.values().iterator();
+            while (iterator.hasNext()) {
+                final CachedFile cached = iterator.next();
+                if (cached.output == output) {
+                    iterator.remove();
+                    currentWeight -= cached.weight();
+                }
+            }
+        }
+    }
+
+    synchronized void clear() {
+        files.clear();
+        currentWeight = 0;
+    }
+
+    synchronized List<RobotFileOutput> getAll() {
+        final List<RobotFileOutput> outputs = new ArrayList<>(files.size());
+        for (final CachedFile cached : files.values()) {
+            outputs.add(cached.output);
+        }
+        return outputs;
+    }
+
+    synchronized void markAsOpened(final File file) {
+        openedFiles.add(createKey(file));
+    }
+
+    synchronized void markAsClosed(final File file) {
+        openedFiles.remove(createKey(file));
+        evictIfNeeded();
+    }
+
+    synchronized int size() {
+        return files.size();
+    }
+
+    private void evictIfNeeded() {
+        final Iterator<Entry<String, CachedFile>> iterator = files.entrySet().iterator();
+        while (currentWeight > maxWeight && iterator.hasNext()) {
+            final Map.Entry<String, CachedFile> eldest = iterator.next();
+            if (!openedFiles.contains(eldest.getKey())) {
+                iterator.remove();
+                currentWeight -= eldest.getValue().weight();
+            }
+        }
+    }
+
+    private static final class CachedFile {
+
+        private final RobotFileOutput output;
+
+        private final long size;
+
+        CachedFile(final RobotFileOutput output, final long size) {
+            this.output = output;
+            this.size = size;
+        }
+
+        long weight() {
+            return Math.max(size, MIN_WEIGHT);
+        }
+    }
+}
@@ -66,6 +66,12 @@ public class RobotFile implements IChildElement<RobotFileOutput> {
         this.fileContent.add(line);
     }
 
+    public void replaceLines(final int fromIndex, final int toIndex, final List<RobotLine> lines) {
+        final List<RobotLine> replaced = fileContent.subList(fromIndex, toIndex);
+        replaced.clear();
+        replaced.addAll(lines);
+    }
+
     public Optional<Integer> getRobotLineIndexBy(final int offset) {
         Optional<Integer> foundLine = Optional.empty();
         if (offset >= 0) {
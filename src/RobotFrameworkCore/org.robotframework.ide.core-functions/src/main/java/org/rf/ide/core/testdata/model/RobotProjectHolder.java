@@ -11,9 +11,11 @@ import java.io.File;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.rf.ide.core.executor.RobotRuntimeEnvironment;
 import org.rf.ide.core.project.ImportSearchPaths.PathsProvider;
@@ -31,11 +33,14 @@ import com.google.common.annotations.VisibleForTesting;
 
 public class RobotProjectHolder {
 
+    // total size of source files which parsed models are kept
+    private static final long MAX_PARSED_FILES_WEIGHT = 64 * 1024 * 1024;
+
     private final RobotRuntimeEnvironment robotRuntime;
 
     private RobotProjectConfig currentConfiguration;
 
-    private final List<RobotFileOutput> readableProjectFiles = new ArrayList<>();
+    private final ParsedFilesCache readableProjectFiles = new ParsedFilesCache(MAX_PARSED_FILES_WEIGHT);
 
     private final List<ARobotInternalVariable<?>> globalVariables = new ArrayList<>();
 
@@ -142,13 +147,7 @@ public class RobotProjectHolder {
 
     public void addModelFile(final RobotFileOutput robotOutput) {
         if (robotOutput != null) {
-            final File processedFile = robotOutput.getProcessedFile();
-            if (processedFile != null) {
-                final RobotFileOutput file = findFileByName(processedFile);
-                removeModelFile(file);
-            }
-
-            readableProjectFiles.add(robotOutput);
+            readableProjectFiles.put(robotOutput);
         }
     }
 
@@ -157,7 +156,21 @@ public class RobotProjectHolder {
     }
 
     public void removeModelFile(final RobotFileOutput robotOutput) {
-        readableProjectFiles.remove(robotOutput);
+        if (robotOutput != null) {
+            readableProjectFiles.remove(robotOutput);
+        }
+    }
+
+    /**
+     * Parsed model of opened file is never evicted from the files kept by this holder until the file
+     * is closed.
+     */
+    public void markFileAsOpened(final File file) {
+        readableProjectFiles.markAsOpened(file);
+    }
+
+    public void markFileAsClosed(final File file) {
+        readableProjectFiles.markAsClosed(file);
     }
 
     public void addImportedResources(final List<ResourceImportReference> referenced) {
@@ -167,7 +180,7 @@ public class RobotProjectHolder {
     }
 
     public void addImportedResource(final ResourceImportReference referenced) {
-        readableProjectFiles.add(referenced.getReference());
+        addModelFile(referenced.getReference());
     }
 
     public boolean shouldBeLoaded(final RobotFileOutput robotOutput) {
@@ -175,8 +188,38 @@ public class RobotProjectHolder {
     }
 
     public boolean shouldBeLoaded(final File file) {
-        final RobotFileOutput foundFile = findFileByName(file);
-        return (foundFile == null) || (file.lastModified() != foundFile.getLastModificationEpochTime());
+        return !readableProjectFiles.isUpToDate(file);
+    }
+
+    /**
+     * Removes given file and the resource files it imports, directly or not, from this holder if
+     * they have changed, were parsed again or import such files. Parser reuses up-to-date files
+     * kept here, so files importing outdated resources would otherwise be reused with stale
+     * references.
+     */
+    public void removeFilesWithOutdatedImports(final File file) {
+        final RobotFileOutput output = findFileByName(file);
+        if (output != null) {
+            removeOutdatedFiles(output, new HashSet<>(), new HashSet<>());
+        }
+    }
+
+    private boolean removeOutdatedFiles(final RobotFileOutput output, final Set<File> visitedFiles,
+            final Set<File> outdatedFiles) {
+        final File file = output.getProcessedFile();
+        if (!visitedFiles.add(file)) {
+            return outdatedFiles.contains(file);
+        }
+        boolean isOutdated = findFileByName(file) != output || shouldBeLoaded(file);
+        for (final ResourceImportReference reference : output.getResourceImportReferences()) {
+            isOutdated |= removeOutdatedFiles(reference.getReference(), visitedFiles, outdatedFiles);
+        }
+        if (isOutdated) {
+            outdatedFiles.add(file);
+            // only this model is removed, the one parsed again meanwhile stays in the holder
+            removeModelFile(output);
+        }
+        return isOutdated;
     }
 
     public RobotFileOutput findFileWithImportedVariableFile(final PathsProvider pathsProvider,
@@ -217,31 +260,11 @@ public class RobotProjectHolder {
     }
 
     public RobotFileOutput findFileByName(final File file) {
-        return findFile(new SearchByName(file));
-    }
-
-    private class SearchByName implements ISearchCriteria {
-
-        private final File toFound;
-
-        public SearchByName(final File toFound) {
-            this.toFound = toFound;
-        }
-
-        @Override
-        public boolean matchCriteria(final RobotFileOutput robotFile) {
-            boolean result = false;
-            if (robotFile != null && robotFile.getProcessedFile() != null) {
-                result = robotFile.getProcessedFile().getAbsolutePath().equals(toFound.getAbsolutePath());
-            }
-
-            return result;
-        }
+        return readableProjectFiles.get(file);
     }
 
     protected RobotFileOutput findFile(final ISearchCriteria criteria) {
-        for (int i = 0; i < readableProjectFiles.size(); i++) {
-            final RobotFileOutput robotFile = readableProjectFiles.get(i);
+        for (final RobotFileOutput robotFile : readableProjectFiles.getAll()) {
             if (criteria.matchCriteria(robotFile)) {
                 return robotFile;
             }
@@ -0,0 +1,174 @@
+/*
+ * Copyright 2017 Nokia Solutions and Networks
+ * Licensed under the Apache License, Version 2.0,
+ * see license.txt file for details.
+ */
+package org.rf.ide.core.testdata.model.search.keyword;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.rf.ide.core.testdata.model.search.keyword.KeywordSearcher.Extractor;
+import org.rf.ide.core.testdata.model.table.keywords.names.EmbeddedKeywordNamesSupport;
+import org.rf.ide.core.testdata.model.table.keywords.names.EmbeddedKeywordNamesSupport.EmbeddedKeywordMatcher;
+import org.rf.ide.core.testdata.model.table.keywords.names.QualifiedKeywordName;
+
+import com.google.common.io.Files;
+
+/**
+ * Index of keywords used by {@link KeywordSearcher} to find keywords matching given usage name.
+ * Names under which keyword can be used (plain or prefixed with alias, source name or file name)
+ * are kept in hash maps, while names with embedded arguments are kept as precompiled matchers
+ * grouped by literal text starting them, so only few of them have to be checked for each usage.
+ * <p>
+ * The index should be created once for given collection of keywords and reused for all usages.
+ */
+public class KeywordSearchIndex<T> {
+
+    private final List<T> keywords;
+
+    private final BitSet embeddedKeywords = new BitSet();
+
+    private final Lane unifiedNamesLane = new Lane();
+
+    private final Lane embeddedNamesLane = new Lane();
+
+    public KeywordSearchIndex(final Collection<T> keywords, final Extractor<T> extractor) {
+        this.keywords = new ArrayList<>(keywords);
+
+        for (int i = 0; i < this.keywords.size(); i++) {
+            final T keyword = this.keywords.get(i);
+
+            final String alias = extractor.alias(keyword).toLowerCase();
+            final String sourceName = extractor.sourceName(keyword).toLowerCase();
+            final String fileNameWithoutExtension = Files
+                    .getNameWithoutExtension(extractor.path(keyword).getFileName().toString());
+
+            final String keywordName = QualifiedKeywordName.unifyDefinition(extractor.keywordName(keyword))
+                    .toLowerCase();
+            final boolean isEmbeddedKeywordName = EmbeddedKeywordNamesSupport.hasEmbeddedArguments(keywordName);
+            if (isEmbeddedKeywordName) {
+                embeddedKeywords.set(i);
+            }
+
+            final Lane lane = isEmbeddedKeywordName ? embeddedNamesLane : unifiedNamesLane;
+            lane.add(createUsageName(keywordName, null, isEmbeddedKeywordName), i);
+
+            final KeywordScope scope = extractor.scope(keyword);
+            final boolean isLibraryWithAlias = (scope == KeywordScope.REF_LIBRARY
+                    || scope == KeywordScope.STD_LIBRARY) && !alias.isEmpty();
+            if (!alias.isEmpty()) {
+                lane.add(createUsageName(keywordName, alias, isEmbeddedKeywordName), i);
+            }
+            if (!isLibraryWithAlias && !sourceName.isEmpty()) {
+                lane.add(createUsageName(keywordName, sourceName, isEmbeddedKeywordName), i);
+            }
+            if (!fileNameWithoutExtension.isEmpty() && !sourceName.equals(fileNameWithoutExtension)
+                    && !alias.equals(fileNameWithoutExtension)) {
+                lane.add(createUsageName(keywordName, fileNameWithoutExtension, isEmbeddedKeywordName), i);
+            }
+        }
+    }
+
+    private static String createUsageName(final String keywordName, final String prefixName,
+            final boolean isEmbeddedKeywordName) {
+        final String prefixedKeywordName = prefixName != null ? prefixName + "." + keywordName : keywordName;
+        return isEmbeddedKeywordName ? prefixedKeywordName : QualifiedKeywordName.unifyDefinition(prefixedKeywordName);
+    }
+
+    int size() {
+        return keywords.size();
+    }
+
+    T get(final int index) {
+        return keywords.get(index);
+    }
+
+    boolean isEmbedded(final int index) {
+        return embeddedKeywords.get(index);
+    }
+
+    /**
+     * Finds keywords which can be called using given name. Names of keywords with embedded
+     * arguments are matched against the name as it is, while all the other names are matched
+     * against unified name.
+     *
+     * @return indexes of matching keywords
+     */
+    BitSet findMatching(final String nameCombination) {
+        final BitSet matching = new BitSet();
+        unifiedNamesLane.findMatching(QualifiedKeywordName.unifyDefinition(nameCombination), matching);
+        embeddedNamesLane.findMatching(nameCombination, matching);
+        return matching;
+    }
+
+    private static final class Lane {
+
+        private final Map<String, List<Integer>> exactNames = new HashMap<>();
+
+        private final Map<String, List<MatcherEntry>> matchersByLiteralPrefix = new HashMap<>();
+
+        private int longestLiteralPrefix = 0;
+
+        private void add(final String usageName, final int keywordIndex) {
+            put(exactNames, usageName.toLowerCase(), keywordIndex);
+
+            if (usageName.indexOf('$') != -1) {
+                final EmbeddedKeywordMatcher matcher = EmbeddedKeywordNamesSupport.getMatcher(usageName);
+                final String literalPrefix = matcher.getLiteralPrefix();
+                put(matchersByLiteralPrefix, literalPrefix, new MatcherEntry(matcher, keywordIndex));
+                longestLiteralPrefix = Math.max(longestLiteralPrefix, literalPrefix.length());
+            }
+        }
+
+        private static <V> void put(final Map<String, List<V>> map, final String key, final V value) {
+            List<V> values = map.get(key);
+            if (values == null) {
+                values = new ArrayList<>(1);
+                map.put(key, values);
+            }
+            values.add(value);
+        }
+
+        private void findMatching(final String name, final BitSet matching) {
+            final String lowerCasedName = name.toLowerCase();
+            final List<Integer> exactlyMatching = exactNames.get(lowerCasedName);
+            if (exactlyMatching != null) {
+                for (final Integer keywordIndex : exactlyMatching) {
+                    matching.set(keywordIndex);
+                }
+            }
+
+            if (matchersByLiteralPrefix.isEmpty()) {
+                return;
+            }
+            final int maxPrefixLength = Math.min(longestLiteralPrefix, lowerCasedName.length());
+            for (int length = 0; length <= maxPrefixLength; length++) {
+                final List<MatcherEntry> entries = matchersByLiteralPrefix.get(lowerCasedName.substring(0, length));
+                if (entries != null) {
+                    for (final MatcherEntry entry : entries) {
+                        if (!matching.get(entry.keywordIndex) && entry.matcher.matches(name)) {
+                            matching.set(entry.keywordIndex);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private static final class MatcherEntry {
+
+        private final EmbeddedKeywordMatcher matcher;
+
+        private final int keywordIndex;
+
+        private MatcherEntry(final EmbeddedKeywordMatcher matcher, final int keywordIndex) {
+            this.matcher = matcher;
+            this.keywordIndex = keywordIndex;
+        }
+    }
+}
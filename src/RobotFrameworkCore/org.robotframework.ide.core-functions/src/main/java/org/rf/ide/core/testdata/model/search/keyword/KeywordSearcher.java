@@ -8,6 +8,7 @@ package org.rf.ide.core.testdata.model.search.keyword;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
@@ -18,14 +19,12 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
-import org.rf.ide.core.testdata.model.table.keywords.names.EmbeddedKeywordNamesSupport;
 import org.rf.ide.core.testdata.model.table.keywords.names.GherkinStyleSupport;
 import org.rf.ide.core.testdata.model.table.keywords.names.QualifiedKeywordName;
 
 import com.google.common.base.Joiner;
 import com.google.common.collect.ArrayListMultimap;
 import com.google.common.collect.ListMultimap;
-import com.google.common.io.Files;
 
 /**
  * @author wypych
@@ -67,6 +66,12 @@ public class KeywordSearcher {
     public <T> ListMultimap<String, T> findKeywords(final Map<String, Collection<T>> accessibleKeywords,
             final Collection<T> keywords, final Extractor<T> extractor, final String usageName,
             final boolean stopIfOneWasMatching) {
+        return findKeywords(accessibleKeywords, new KeywordSearchIndex<>(keywords, extractor), usageName,
+                stopIfOneWasMatching);
+    }
+
+    public <T> ListMultimap<String, T> findKeywords(final Map<String, Collection<T>> accessibleKeywords,
+            final KeywordSearchIndex<T> keywordsIndex, final String usageName, final boolean stopIfOneWasMatching) {
         final ListMultimap<String, T> foundByMatch = ArrayListMultimap.create();
 
         if (stopIfOneWasMatching) {
@@ -79,62 +84,25 @@ public class KeywordSearcher {
         }
 
         final List<String> possibleNameCombination = getNamesToCheck(usageName);
-        for (final T keyword : keywords) {
-            final String alias = extractor.alias(keyword).toLowerCase();
-            final String sourceName = extractor.sourceName(keyword).toLowerCase();
-            final String fileNameWithoutExtension = getFileNameWithoutExtension(extractor, keyword);
-
-            final String keywordName = QualifiedKeywordName.unifyDefinition(extractor.keywordName(keyword))
-                    .toLowerCase();
-            final boolean isEmbeddedKeywordName = EmbeddedKeywordNamesSupport.hasEmbeddedArguments(keywordName);
-            for (String nameCombination : possibleNameCombination) {
-                if (!isEmbeddedKeywordName) {
-                    nameCombination = QualifiedKeywordName.unifyDefinition(nameCombination);
-                }
+        final List<BitSet> matchingPerName = new ArrayList<>(possibleNameCombination.size());
+        final BitSet allMatching = new BitSet();
+        for (final String nameCombination : possibleNameCombination) {
+            final BitSet matching = keywordsIndex.findMatching(nameCombination);
+            matchingPerName.add(matching);
+            allMatching.or(matching);
+        }
 
-                if (matchNameDirectlyOrAsEmbeddedName(foundByMatch, keyword, keywordName, null, isEmbeddedKeywordName,
-                        nameCombination)) {
+        // keywords are reported in the order they were given, under the first (longest) matching name
+        // or under all of them, depending on stop flag
+        for (int i = allMatching.nextSetBit(0); i >= 0; i = allMatching.nextSetBit(i + 1)) {
+            final T keyword = keywordsIndex.get(i);
+            for (int j = 0; j < possibleNameCombination.size(); j++) {
+                if (matchingPerName.get(j).get(i)) {
+                    final String nameCombination = possibleNameCombination.get(j);
+                    foundByMatch.put(keywordsIndex.isEmbedded(i) ? nameCombination
+                            : QualifiedKeywordName.unifyDefinition(nameCombination), keyword);
                     if (stopIfOneWasMatching) {
                         break;
-                    } else {
-                        continue;
-                    }
-                }
-
-                final KeywordScope scope = extractor.scope(keyword);
-                final boolean isLibraryWithAlias = (scope == KeywordScope.REF_LIBRARY || scope == KeywordScope.STD_LIBRARY)
-                        && !alias.isEmpty();
-                if (!alias.isEmpty()) {
-                    if (matchNameDirectlyOrAsEmbeddedName(foundByMatch, keyword, keywordName, alias,
-                            isEmbeddedKeywordName, nameCombination)) {
-                        if (stopIfOneWasMatching) {
-                            break;
-                        } else {
-                            continue;
-                        }
-                    }
-                }
-
-                if (!isLibraryWithAlias && !sourceName.isEmpty()) {
-                    if (matchNameDirectlyOrAsEmbeddedName(foundByMatch, keyword, keywordName, sourceName,
-                            isEmbeddedKeywordName, nameCombination)) {
-                        if (stopIfOneWasMatching) {
-                            break;
-                        } else {
-                            continue;
-                        }
-                    }
-                }
-
-                if (!fileNameWithoutExtension.isEmpty() && !sourceName.equals(fileNameWithoutExtension)
-                        && !alias.equals(fileNameWithoutExtension)) {
-                    if (matchNameDirectlyOrAsEmbeddedName(foundByMatch, keyword, keywordName, fileNameWithoutExtension,
-                            isEmbeddedKeywordName, nameCombination)) {
-                        if (stopIfOneWasMatching) {
-                            break;
-                        } else {
-                            continue;
-                        }
                     }
                 }
             }
@@ -143,27 +111,6 @@ public class KeywordSearcher {
         return foundByMatch;
     }
 
-    private <T> boolean matchNameDirectlyOrAsEmbeddedName(final ListMultimap<String, T> foundByMatch, final T keyword,
-            final String keywordName, final String prefixName, final boolean isEmbeddedKeywordName,
-            final String nameCombination) {
-
-        String prefixedKeywordName = prefixName != null ? prefixName + "." + keywordName : keywordName;
-        if (!isEmbeddedKeywordName) {
-            prefixedKeywordName = QualifiedKeywordName.unifyDefinition(prefixedKeywordName);
-        }
-
-        if (EmbeddedKeywordNamesSupport.matchesIgnoreCase(prefixedKeywordName, nameCombination)) {
-            foundByMatch.put(nameCombination, keyword);
-            return true;
-        }
-        return false;
-    }
-
-    private <T> String getFileNameWithoutExtension(final Extractor<T> extractor, final T keyword) {
-        final String fullFileName = extractor.path(keyword).getFileName().toString();
-        return Files.getNameWithoutExtension(fullFileName);
-    }
-
     private List<String> getNamesToCheck(final String usageName) {
         final List<String> possibleNameCombination = new ArrayList<>(possibleNameCombination(usageName));
         Collections.sort(possibleNameCombination, new FromLongestLengthComparator());
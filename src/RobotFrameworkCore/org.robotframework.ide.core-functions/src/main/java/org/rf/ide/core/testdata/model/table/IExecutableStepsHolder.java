@@ -16,6 +16,24 @@ public interface IExecutableStepsHolder<T extends AModelElement<? extends ARobot
 
     List<RobotExecutableRow<T>> getExecutionContext();
 
+    /**
+     * Returns the number which changes whenever elements are added, removed, moved or replaced or
+     * the tokens of contained steps are added or removed. Modifications of tokens themselves are
+     * tracked by {@link RobotToken#getModificationStamp()}.
+     */
+    int getModificationStamp();
+
+    void markAsModified();
+
+    /**
+     * Returns the data about local variables of this holder which was stored by
+     * {@link #setLocalVariablesScope(Object)}. It is neither serialized nor validated, so the
+     * clients have to check if it is still valid, e.g. using {@link #getModificationStamp()}.
+     */
+    Object getLocalVariablesScope();
+
+    void setLocalVariablesScope(Object scope);
+
     boolean removeElement(final AModelElement<T> element);
 
     T getHolder();
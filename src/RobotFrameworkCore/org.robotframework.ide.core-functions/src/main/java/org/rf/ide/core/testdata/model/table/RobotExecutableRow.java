@@ -17,6 +17,8 @@ import org.rf.ide.core.testdata.model.ICommentHolder;
 import org.rf.ide.core.testdata.model.ModelType;
 import org.rf.ide.core.testdata.model.table.exec.descs.ExecutableRowDescriptorBuilder;
 import org.rf.ide.core.testdata.model.table.exec.descs.IExecutableRowDescriptor;
+import org.rf.ide.core.testdata.model.table.exec.descs.IExecutableRowDescriptor.ERowType;
+import org.rf.ide.core.testdata.model.table.exec.descs.impl.ForLoopContinueRowDescriptorBuilder;
 import org.rf.ide.core.testdata.model.table.keywords.UserKeyword;
 import org.rf.ide.core.testdata.model.table.testcases.TestCase;
 import org.rf.ide.core.testdata.text.read.IRobotTokenType;
@@ -36,6 +38,11 @@ public class RobotExecutableRow<T> extends AModelElement<T> implements ICommentH
 
     private final List<RobotToken> comments = new ArrayList<>();
 
+    private transient volatile CachedDescriptor<T> cachedDescriptor;
+
+    // probable index of this row inside elements of test/keyword
+    private transient int indexHint = -1;
+
     public RobotExecutableRow() {
         this.action = new RobotToken();
     }
@@ -51,6 +58,7 @@ public class RobotExecutableRow<T> extends AModelElement<T> implements ICommentH
             actType = RobotTokenType.UNKNOWN;
         }
         this.action = updateOrCreate(this.action, action, actType);
+        markParentAsModified();
 
         fixMissingTypes();
     }
@@ -86,6 +94,7 @@ public class RobotExecutableRow<T> extends AModelElement<T> implements ICommentH
 
     public void setArgument(final int index, final RobotToken argument) {
         updateOrCreateTokenInside(arguments, index, argument, getArgumentType());
+        markParentAsModified();
 
         fixMissingTypes();
     }
@@ -96,6 +105,7 @@ public class RobotExecutableRow<T> extends AModelElement<T> implements ICommentH
             fixForTheType(argument, argType, true);
         }
         arguments.add(index, argument);
+        markParentAsModified();
 
         fixMissingTypes();
     }
@@ -106,12 +116,14 @@ public class RobotExecutableRow<T> extends AModelElement<T> implements ICommentH
             fixForTheType(argument, argType, true);
         }
         arguments.add(argument);
+        markParentAsModified();
 
         fixMissingTypes();
     }
 
     public void removeArgument(final int index) {
         arguments.remove(index);
+        markParentAsModified();
     }
 
     private IRobotTokenType getArgumentType() {
@@ -132,6 +144,7 @@ public class RobotExecutableRow<T> extends AModelElement<T> implements ICommentH
     public void addCommentPart(final RobotToken rt) {
         fixComment(getComment(), rt);
         this.comments.add(rt);
+        markParentAsModified();
     }
 
     @Override
@@ -155,11 +168,13 @@ public class RobotExecutableRow<T> extends AModelElement<T> implements ICommentH
     @Override
     public void removeCommentPart(final int index) {
         this.comments.remove(index);
+        markParentAsModified();
     }
 
     @Override
     public void clearComment() {
         this.comments.clear();
+        markParentAsModified();
     }
 
     @Override
@@ -232,6 +247,7 @@ public class RobotExecutableRow<T> extends AModelElement<T> implements ICommentH
             final RobotToken t = elementsSingleType.get(i);
             if (t.getText() == null || t.getText().isEmpty()) {
                 elementsSingleType.remove(i);
+                markParentAsModified();
             } else {
                 break;
             }
@@ -281,13 +297,68 @@ public class RobotExecutableRow<T> extends AModelElement<T> implements ICommentH
         return (format == FileFormat.TSV && TSV_COMMENT.matcher(raw).matches());
     }
 
+    /**
+     * Returns the descriptor of this row. The descriptor is built once and reused as long as the
+     * tokens of this row are not modified (see {@link RobotToken#getModificationStamp()}). For rows
+     * which may continue for loop the rows preceding this one are checked too. Returned descriptor
+     * is shared, so it should not be modified.
+     */
     public IExecutableRowDescriptor<T> buildLineDescription() {
-        return new ExecutableRowDescriptorBuilder().buildLineDescriptor(this);
+        final CachedDescriptor<T> cached = cachedDescriptor;
+        if (cached != null && cached.isValidFor(this)) {
+            return cached.descriptor;
+        }
+        final int holderStamp = getHolderStamp(this);
+        final int tokensStamp = RobotToken.getObservedModificationsCount();
+        final IExecutableRowDescriptor<T> descriptor = new ExecutableRowDescriptorBuilder().buildLineDescriptor(this);
+        cachedDescriptor = new CachedDescriptor<>(this, descriptor, holderStamp, tokensStamp);
+        return descriptor;
+    }
+
+    private static int getHolderStamp(final RobotExecutableRow<?> row) {
+        final Object parent = row.getParent();
+        return parent instanceof IExecutableStepsHolder<?>
+                ? ((IExecutableStepsHolder<?>) parent).getModificationStamp()
+                : 0;
     }
 
     @Override
     public boolean removeElementToken(final int index) {
-        return super.removeElementFromList(arguments, index);
+        final boolean removed = super.removeElementFromList(arguments, index);
+        if (removed) {
+            markParentAsModified();
+        }
+        return removed;
+    }
+
+    private void markParentAsModified() {
+        final T parent = getParent();
+        if (parent instanceof IExecutableStepsHolder<?>) {
+            ((IExecutableStepsHolder<?>) parent).markAsModified();
+        }
+    }
+
+    /**
+     * Returns the index of this row in given elements of test case or keyword or -1 if there is no
+     * such row. The indexes of all the rows are remembered, so that subsequent lookups do not have
+     * to search through the elements as long as those are not changed.
+     */
+    public int getIndexIn(final List<? extends AModelElement<?>> elements) {
+        final int hint = indexHint;
+        if (0 <= hint && hint < elements.size() && elements.get(hint) == this) {
+            return hint;
+        }
+        int index = -1;
+        for (int i = 0; i < elements.size(); i++) {
+            final AModelElement<?> element = elements.get(i);
+            if (element instanceof RobotExecutableRow<?>) {
+                ((RobotExecutableRow<?>) element).indexHint = i;
+            }
+            if (element == this) {
+                index = i;
+            }
+        }
+        return index;
     }
 
     public <P> RobotExecutableRow<P> copy() {
@@ -318,4 +389,158 @@ public class RobotExecutableRow<T> extends AModelElement<T> implements ICommentH
             }
         }
     }
+
+    private static final class CachedDescriptor<T> {
+
+        private final IExecutableRowDescriptor<T> descriptor;
+
+        private final TokensSnapshot rowSnapshot;
+
+        // elements of the test/keyword preceding this row up to the row at which search for loop
+        // start stops, with descriptors of rows among them; only for rows which may continue for loop
+        private final int rowIndex;
+
+        private final AModelElement<?>[] contextElements;
+
+        private final IExecutableRowDescriptor<?>[] contextDescriptors;
+
+        // stamps of holder and of all observed tokens for which the descriptor is known to be valid,
+        // so that no rows have to be checked until anything is modified
+        private volatile int holderStamp;
+
+        private volatile int tokensStamp;
+
+        CachedDescriptor(final RobotExecutableRow<T> row, final IExecutableRowDescriptor<T> descriptor,
+                final int holderStamp, final int tokensStamp) {
+            this.descriptor = descriptor;
+            this.rowSnapshot = new TokensSnapshot(row);
+            if (ForLoopContinueRowDescriptorBuilder.isForContinueCandidate(row)) {
+                final List<? extends AModelElement<?>> elements = ((IExecutableStepsHolder<?>) row.getParent())
+                        .getElements();
+                this.rowIndex = row.getIndexIn(elements);
+                final int contextStart = findContextStart(elements, rowIndex, row.getModelType());
+                this.contextElements = new AModelElement<?>[rowIndex - contextStart];
+                this.contextDescriptors = new IExecutableRowDescriptor<?>[contextElements.length];
+                for (int i = 0; i < contextElements.length; i++) {
+                    contextElements[i] = elements.get(contextStart + i);
+                    if (contextElements[i] instanceof RobotExecutableRow<?>) {
+                        contextDescriptors[i] = ((RobotExecutableRow<?>) contextElements[i]).buildLineDescription();
+                    }
+                }
+            } else {
+                this.rowIndex = -1;
+                this.contextElements = null;
+                this.contextDescriptors = null;
+            }
+            this.holderStamp = holderStamp;
+            this.tokensStamp = tokensStamp;
+        }
+
+        private static int findContextStart(final List<? extends AModelElement<?>> elements, final int rowIndex,
+                final ModelType rowType) {
+            for (int i = rowIndex - 1; i >= 0; i--) {
+                final AModelElement<?> element = elements.get(i);
+                if (element.getModelType() == rowType) {
+                    final RobotExecutableRow<?> row = (RobotExecutableRow<?>) element;
+                    if (row.isExecutable() && row.buildLineDescription().getRowType() != ERowType.COMMENTED_HASH) {
+                        return i;
+                    }
+                }
+            }
+            return Math.max(rowIndex, 0);
+        }
+
+        boolean isValidFor(final RobotExecutableRow<T> row) {
+            final int currentHolderStamp = getHolderStamp(row);
+            final int currentTokensStamp = RobotToken.getObservedModificationsCount();
+            if (rowSnapshot.parent == row.getParent() && holderStamp == currentHolderStamp
+                    && tokensStamp == currentTokensStamp) {
+                return true;
+            }
+            if (!rowSnapshot.isValidFor(row) || !isContextValidFor(row)) {
+                return false;
+            }
+            holderStamp = currentHolderStamp;
+            tokensStamp = currentTokensStamp;
+            return true;
+        }
+
+        private boolean isContextValidFor(final RobotExecutableRow<T> row) {
+            final boolean isCandidate = ForLoopContinueRowDescriptorBuilder.isForContinueCandidate(row);
+            if (!isCandidate) {
+                return contextElements == null;
+            } else if (contextElements == null) {
+                return false;
+            }
+            final List<? extends AModelElement<?>> elements = ((IExecutableStepsHolder<?>) row.getParent())
+                    .getElements();
+            if (row.getIndexIn(elements) != rowIndex) {
+                return false;
+            }
+            final int contextStart = rowIndex - contextElements.length;
+            for (int i = 0; i < contextElements.length; i++) {
+                if (elements.get(contextStart + i) != contextElements[i]) {
+                    return false;
+                }
+            }
+            for (int i = 0; i < contextElements.length; i++) {
+                if (contextDescriptors[i] != null
+                        && ((RobotExecutableRow<?>) contextElements[i]).buildLineDescription() != contextDescriptors[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    private static final class TokensSnapshot {
+
+        private final Object parent;
+
+        private final RobotToken[] tokens;
+
+        private final int[] stamps;
+
+        TokensSnapshot(final RobotExecutableRow<?> row) {
+            this.parent = row.getParent();
+            this.tokens = new RobotToken[1 + row.arguments.size() + row.comments.size()];
+            this.stamps = new int[tokens.length];
+            int i = 0;
+            tokens[i++] = row.action;
+            for (final RobotToken argument : row.arguments) {
+                tokens[i++] = argument;
+            }
+            for (final RobotToken comment : row.comments) {
+                tokens[i++] = comment;
+            }
+            for (i = 0; i < tokens.length; i++) {
+                stamps[i] = tokens[i].getModificationStamp();
+            }
+        }
+
+        boolean isValidFor(final RobotExecutableRow<?> row) {
+            if (parent != row.getParent() || tokens.length != 1 + row.arguments.size() + row.comments.size()) {
+                return false;
+            }
+            int i = 0;
+            if (!matches(i++, row.action)) {
+                return false;
+            }
+            for (final RobotToken argument : row.arguments) {
+                if (!matches(i++, argument)) {
+                    return false;
+                }
+            }
+            for (final RobotToken comment : row.comments) {
+                if (!matches(i++, comment)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private boolean matches(final int index, final RobotToken token) {
+            return tokens[index] == token && stamps[index] == token.getModificationStamp();
+        }
+    }
 }
@@ -14,6 +14,7 @@ import org.rf.ide.core.testdata.model.FilePosition;
 import org.rf.ide.core.testdata.model.table.ARobotSectionTable;
 import org.rf.ide.core.testdata.model.table.IExecutableStepsHolder;
 import org.rf.ide.core.testdata.model.table.RobotExecutableRow;
+import org.rf.ide.core.testdata.model.table.exec.descs.ExecutableRowDescriptorBuilder;
 import org.rf.ide.core.testdata.model.table.exec.descs.IExecutableRowDescriptor;
 import org.rf.ide.core.testdata.model.table.exec.descs.IExecutableRowDescriptor.ERowType;
 import org.rf.ide.core.testdata.model.table.exec.descs.IExecutableRowDescriptor.IRowType;
@@ -125,7 +126,9 @@ public class ExecutableUnitsFixer {
                 continue;
             }
             final RobotExecutableRow<T> execLine = (RobotExecutableRow<T>) newRows.get(i);
-            final IExecutableRowDescriptor<T> lineDescription = execLine.buildLineDescription();
+            // rows are fixed once while parsing, so their descriptors are not kept in the model
+            final IExecutableRowDescriptor<T> lineDescription = new ExecutableRowDescriptorBuilder()
+                    .buildLineDescriptor(execLine);
             final IRowType rowType = lineDescription.getRowType();
             if (rowType == ERowType.FOR_CONTINUE) {
                 if (execLine.getAction().getText().isEmpty()) {
@@ -321,7 +324,7 @@ public class ExecutableUnitsFixer {
 
         for (final AModelElement<T> p : executionContext) {
             if (p instanceof RobotExecutableRow) {
-                descs.add(((RobotExecutableRow<T>) p).buildLineDescription());
+                descs.add(new ExecutableRowDescriptorBuilder().buildLineDescriptor((RobotExecutableRow<T>) p));
             } else {
                 descs.add(new SettingDescriptor<T>(p));
             }
@@ -8,6 +8,7 @@ package org.rf.ide.core.testdata.model.table.exec.descs.impl;
 import java.util.List;
 
 import org.rf.ide.core.testdata.model.AModelElement;
+import org.rf.ide.core.testdata.model.ModelType;
 import org.rf.ide.core.testdata.model.RobotFile;
 import org.rf.ide.core.testdata.model.RobotFileOutput;
 import org.rf.ide.core.testdata.model.table.ARobotSectionTable;
@@ -29,22 +30,31 @@ public class ForLoopContinueRowDescriptorBuilder implements IRowDescriptorBuilde
     @Override
     public <T> AcceptResult acceptable(final RobotExecutableRow<T> execRowLine) {
         AcceptResult result = new AcceptResult(false);
-        RobotToken action = execRowLine.getAction();
-        final String text = action.getText().toString();
+        if (isForContinueCandidate(execRowLine)) {
+            final int forLoopDeclarationLine = getForLoopDeclarationLine(execRowLine);
+            result = new AcceptResultWithParameters(forLoopDeclarationLine >= 0, forLoopDeclarationLine);
+        }
+
+        return result;
+    }
+
+    /**
+     * Checks if given row looks like for loop continuation. Whether it really is one depends on the
+     * rows preceding it in the test case or keyword.
+     */
+    public static <T> boolean isForContinueCandidate(final RobotExecutableRow<T> execRowLine) {
+        final RobotToken action = execRowLine.getAction();
+        final String text = action.getText();
         if (text != null && execRowLine.getParent() instanceof IExecutableStepsHolder<?>) {
             final String trimmed = text.trim();
-            if (RobotTokenType.FOR_CONTINUE_TOKEN.getRepresentation().get(0).equalsIgnoreCase(trimmed)
+            return RobotTokenType.FOR_CONTINUE_TOKEN.getRepresentation().get(0).equalsIgnoreCase(trimmed)
                     || (trimmed.isEmpty() && isTsv(execRowLine))
-                    || action.getTypes().contains(RobotTokenType.FOR_CONTINUE_ARTIFICIAL_TOKEN)) {
-                final int forLoopDeclarationLine = getForLoopDeclarationLine(execRowLine);
-                result = new AcceptResultWithParameters(forLoopDeclarationLine >= 0, forLoopDeclarationLine);
-            }
+                    || action.getTypes().contains(RobotTokenType.FOR_CONTINUE_ARTIFICIAL_TOKEN);
         }
-
-        return result;
+        return false;
     }
 
-    private <T> boolean isTsv(final RobotExecutableRow<T> execRowLine) {
+    private static <T> boolean isTsv(final RobotExecutableRow<T> execRowLine) {
         @SuppressWarnings("unchecked")
         final IExecutableStepsHolder<AModelElement<? extends ARobotSectionTable>> keywordOrTest = (IExecutableStepsHolder<AModelElement<? extends ARobotSectionTable>>) execRowLine
                 .getParent();
@@ -113,7 +123,6 @@ public class ForLoopContinueRowDescriptorBuilder implements IRowDescriptorBuilde
         } else {
             rowWithoutLoopContinue.setAction(robotToken.copy());
         }
-        rowWithoutLoopContinue.setParent(execRowLine.getParent());
         final int size = lineElements.size();
         for (int index = startIndex + 1; index < size; index++) {
             RobotToken lineElement = lineElements.get(index);
@@ -127,6 +136,9 @@ public class ForLoopContinueRowDescriptorBuilder implements IRowDescriptorBuilde
                 rowWithoutLoopContinue.addArgument(lineElement);
             }
         }
+        // parent is set at the end, so that the holder is not marked as modified by building this
+        // helper row; types of its tokens are fixed when accessed anyway
+        rowWithoutLoopContinue.setParent(execRowLine.getParent());
         final IExecutableRowDescriptor<T> buildDescription = new SimpleRowDescriptorBuilder()
                 .buildDescription(rowWithoutLoopContinue, new AcceptResult(true));
         forContinueDesc.setKeywordAction(buildDescription.getAction());
@@ -142,20 +154,22 @@ public class ForLoopContinueRowDescriptorBuilder implements IRowDescriptorBuilde
     private <T> int getForLoopDeclarationLine(final RobotExecutableRow<T> execRowLine) {
         int forLine = -1;
 
-        final IExecutableStepsHolder<AModelElement<? extends ARobotSectionTable>> keywordOrTest = (IExecutableStepsHolder<AModelElement<? extends ARobotSectionTable>>) execRowLine
-                .getParent();
-        final List<RobotExecutableRow<AModelElement<? extends ARobotSectionTable>>> executionContext = keywordOrTest
-                .getExecutionContext();
-        final int myLineNumber = getMyLineIndex(executionContext, execRowLine);
-        if (myLineNumber >= 0) {
-            for (int lineNumber = myLineNumber - 1; lineNumber >= 0; lineNumber--) {
-                final RobotExecutableRow<AModelElement<? extends ARobotSectionTable>> row = executionContext
-                        .get(lineNumber);
-                final IExecutableRowDescriptor<AModelElement<? extends ARobotSectionTable>> lineDescription = row
-                        .buildLineDescription();
+        final IExecutableStepsHolder<?> keywordOrTest = (IExecutableStepsHolder<?>) execRowLine.getParent();
+        final List<? extends AModelElement<?>> elements = keywordOrTest.getElements();
+        final ModelType execRowType = execRowLine.getModelType();
+        final int myElementIndex = isExecutionContextType(execRowType) ? execRowLine.getIndexIn(elements) : -1;
+        if (myElementIndex >= 0) {
+            for (int elementIndex = myElementIndex - 1; elementIndex >= 0; elementIndex--) {
+                final AModelElement<?> element = elements.get(elementIndex);
+                if (element.getModelType() != execRowType) {
+                    // settings placed between steps are not part of execution context
+                    continue;
+                }
+                final RobotExecutableRow<?> row = (RobotExecutableRow<?>) element;
+                final IExecutableRowDescriptor<?> lineDescription = row.buildLineDescription();
                 final IRowType rowType = lineDescription.getRowType();
                 if (rowType == ERowType.FOR) {
-                    forLine = lineNumber;
+                    forLine = elementIndex;
                     break;
                 } else if (rowType == ERowType.FOR_CONTINUE) {
                     forLine = ((ForLoopContinueRowDescriptor<T>) lineDescription).getForLoopStartRowIndex();
@@ -172,18 +186,7 @@ public class ForLoopContinueRowDescriptorBuilder implements IRowDescriptorBuilde
         return forLine;
     }
 
-    private <T> int getMyLineIndex(
-            final List<RobotExecutableRow<AModelElement<? extends ARobotSectionTable>>> executionContext,
-            final RobotExecutableRow<T> execRowLineToFind) {
-        int index = -1;
-        final int size = executionContext.size();
-        for (int i = 0; i < size; i++) {
-            if (executionContext.get(i) == execRowLineToFind) {
-                index = i;
-                break;
-            }
-        }
-
-        return index;
+    private static boolean isExecutionContextType(final ModelType type) {
+        return type == ModelType.TEST_CASE_EXECUTABLE_ROW || type == ModelType.USER_KEYWORD_EXECUTABLE_ROW;
     }
 }
@@ -49,10 +49,18 @@ public class KeywordArguments extends AModelElement<UserKeyword> implements ICom
     public void addArgument(final RobotToken argument) {
         fixForTheType(argument, RobotTokenType.KEYWORD_SETTING_ARGUMENT);
         arguments.add(argument);
+        markParentAsModified();
     }
     
     public void addArgument(final int index, final String arg) {
         updateOrCreateTokenInside(arguments, index, arg, RobotTokenType.KEYWORD_SETTING_ARGUMENT);
+        markParentAsModified();
+    }
+
+    private void markParentAsModified() {
+        if (getParent() != null) {
+            getParent().markAsModified();
+        }
     }
 
     @Override
@@ -113,7 +121,11 @@ public class KeywordArguments extends AModelElement<UserKeyword> implements ICom
 
     @Override
     public boolean removeElementToken(final int index) {
-        return super.removeElementFromList(arguments, index);
+        final boolean removed = super.removeElementFromList(arguments, index);
+        if (removed) {
+            markParentAsModified();
+        }
+        return removed;
     }
     
     public KeywordArguments copy() {
@@ -32,6 +32,10 @@ public class UserKeyword extends AModelElement<KeywordTable>
 
     private final List<AModelElement<UserKeyword>> allElements = new ArrayList<>();
 
+    private transient int modificationStamp;
+
+    private transient volatile Object localVariablesScope;
+
     public UserKeyword(final RobotToken keywordName) {
         this.keywordName = keywordName;
         fixForTheType(keywordName, RobotTokenType.KEYWORD_NAME);
@@ -44,32 +48,40 @@ public class UserKeyword extends AModelElement<KeywordTable>
     public void setKeywordName(final RobotToken keywordName) {
         fixForTheType(keywordName, RobotTokenType.KEYWORD_NAME, true);
         this.keywordName = keywordName;
+        markAsModified();
     }
 
     public void addElement(final AModelElement<UserKeyword> element) {
         element.setParent(this);
         allElements.add(element);
+        markAsModified();
     }
 
     public void addElement(final AModelElement<UserKeyword> element, final int index) {
         element.setParent(this);
         allElements.add(index, element);
+        markAsModified();
     }
 
     @Override
     public boolean removeElement(final AModelElement<UserKeyword> element) {
-        return allElements.remove(element);
+        final boolean removed = allElements.remove(element);
+        markAsModified();
+        return removed;
     }
 
     public void removeElementAt(final int index) {
         allElements.remove(index);
+        markAsModified();
     }
 
     public boolean moveElementUp(final AModelElement<UserKeyword> element) {
+        markAsModified();
         return MoveElementHelper.moveUp(allElements, element);
     }
 
     public boolean moveElementDown(final AModelElement<UserKeyword> element) {
+        markAsModified();
         return MoveElementHelper.moveDown(allElements, element);
     }
 
@@ -77,10 +89,12 @@ public class UserKeyword extends AModelElement<KeywordTable>
             final AModelElement<UserKeyword> newElement) {
         newElement.setParent(this);
         allElements.set(allElements.indexOf(oldElement), newElement);
+        markAsModified();
     }
 
     public void removeAllElements() {
         allElements.clear();
+        markAsModified();
     }
 
     public List<AModelElement<UserKeyword>> getAllElements() {
@@ -92,6 +106,26 @@ public class UserKeyword extends AModelElement<KeywordTable>
         return getAllElements();
     }
 
+    @Override
+    public int getModificationStamp() {
+        return modificationStamp;
+    }
+
+    @Override
+    public void markAsModified() {
+        modificationStamp++;
+    }
+
+    @Override
+    public Object getLocalVariablesScope() {
+        return localVariablesScope;
+    }
+
+    @Override
+    public void setLocalVariablesScope(final Object scope) {
+        this.localVariablesScope = scope;
+    }
+
     @Override
     public List<RobotExecutableRow<UserKeyword>> getExecutionContext() {
         return getElements().stream()
@@ -121,6 +155,7 @@ public class UserKeyword extends AModelElement<KeywordTable>
     public void addDocumentation(final int index, final KeywordDocumentation doc) {
         doc.setParent(this);
         allElements.add(index, doc);
+        markAsModified();
         getParent().getParent().getParent().getDocumentationCacher().register(doc);
     }
 
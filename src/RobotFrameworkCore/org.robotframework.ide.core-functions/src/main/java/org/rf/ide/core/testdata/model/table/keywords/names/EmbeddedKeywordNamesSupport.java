@@ -10,6 +10,9 @@ import java.util.regex.PatternSyntaxException;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Function;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
 import com.google.common.collect.Range;
 import com.google.common.collect.RangeSet;
 import com.google.common.collect.TreeRangeSet;
@@ -19,6 +22,10 @@ import com.google.common.collect.TreeRangeSet;
  */
 public class EmbeddedKeywordNamesSupport {
 
+    private static final LoadingCache<String, EmbeddedKeywordMatcher> MATCHERS = CacheBuilder.newBuilder()
+            .maximumSize(10_000)
+            .build(CacheLoader.from(EmbeddedKeywordMatcher::new));
+
     public static boolean hasEmbeddedArguments(final String definitionName) {
         return !findEmbeddedArgumentsRanges(definitionName).isEmpty();
     }
@@ -63,12 +70,15 @@ public class EmbeddedKeywordNamesSupport {
             return false;
         }
 
-        final String regex = "^" + substituteVariablesWithRegex(definitionName, true) + "$";
-        try {
-            return Pattern.matches(regex, occurrenceName.toLowerCase());
-        } catch (final PatternSyntaxException e) {
-            return false;
-        }
+        return getMatcher(definitionName).matches(occurrenceName);
+    }
+
+    /**
+     * @return precompiled matcher for given definition name; matchers are cached, so the
+     *         regular expression for each definition is created only once
+     */
+    public static EmbeddedKeywordMatcher getMatcher(final String definitionName) {
+        return MATCHERS.getUnchecked(definitionName);
     }
 
     private static String substituteVariablesWithRegex(final String definitionName, final boolean ignoreCase) {
@@ -190,6 +200,66 @@ public class EmbeddedKeywordNamesSupport {
         return variable.indexOf(':') != -1 ? variable.substring(0, variable.indexOf(':')) + "}" : variable;
     }
 
+    public static final class EmbeddedKeywordMatcher {
+
+        private final String definitionName;
+
+        private final Pattern pattern;
+
+        private final String literalPrefix;
+
+        private final String literalSuffix;
+
+        private EmbeddedKeywordMatcher(final String definitionName) {
+            this.definitionName = definitionName;
+            this.pattern = compile(definitionName);
+
+            final RangeSet<Integer> varRanges = findEmbeddedArgumentsRanges(definitionName);
+            if (varRanges.isEmpty()) {
+                this.literalPrefix = definitionName.toLowerCase();
+                this.literalSuffix = "";
+            } else {
+                final Range<Integer> span = varRanges.span();
+                this.literalPrefix = definitionName.substring(0, span.lowerEndpoint()).toLowerCase();
+                this.literalSuffix = definitionName.substring(span.upperEndpoint() + 1).toLowerCase();
+            }
+        }
+
+        private static Pattern compile(final String definitionName) {
+            try {
+                return Pattern.compile("^" + substituteVariablesWithRegex(definitionName, true) + "$");
+            } catch (final PatternSyntaxException e) {
+                return null;
+            }
+        }
+
+        /**
+         * @return lower-cased text which has to start every occurrence matching the definition
+         */
+        public String getLiteralPrefix() {
+            return literalPrefix;
+        }
+
+        /**
+         * @return lower-cased text which has to end every occurrence matching the definition
+         */
+        public String getLiteralSuffix() {
+            return literalSuffix;
+        }
+
+        public boolean matches(final String occurrenceName) {
+            if (definitionName.equalsIgnoreCase(occurrenceName)) {
+                return true;
+            } else if (pattern == null) {
+                return false;
+            }
+            final String occurrence = occurrenceName.toLowerCase();
+            return occurrence.length() >= literalPrefix.length() + literalSuffix.length()
+                    && occurrence.startsWith(literalPrefix) && occurrence.endsWith(literalSuffix)
+                    && pattern.matcher(occurrence).matches();
+        }
+    }
+
     private interface KeywordDfaState {
 
         static final int START_STATE = 0;
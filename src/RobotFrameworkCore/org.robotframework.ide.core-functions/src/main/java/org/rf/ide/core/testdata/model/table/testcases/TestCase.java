@@ -34,6 +34,10 @@ public class TestCase extends AModelElement<TestCaseTable> implements IExecutabl
 
     private final List<AModelElement<TestCase>> allElements = new ArrayList<>();
 
+    private transient int modificationStamp;
+
+    private transient volatile Object localVariablesScope;
+
     public TestCase(final RobotToken testName) {
         this.testName = testName;
         fixForTheType(testName, RobotTokenType.TEST_CASE_NAME, true);
@@ -46,6 +50,7 @@ public class TestCase extends AModelElement<TestCaseTable> implements IExecutabl
     public void setTestName(final RobotToken testName) {
         fixForTheType(testName, RobotTokenType.TEST_CASE_NAME, true);
         this.testName = testName;
+        markAsModified();
     }
 
     @Override
@@ -56,37 +61,46 @@ public class TestCase extends AModelElement<TestCaseTable> implements IExecutabl
     public void addElement(final AModelElement<TestCase> element) {
         element.setParent(this);
         allElements.add(element);
+        markAsModified();
     }
 
     public void addElement(final AModelElement<TestCase> element, final int index) {
         element.setParent(this);
         allElements.add(index, element);
+        markAsModified();
     }
 
     @Override
     public boolean removeElement(final AModelElement<TestCase> element) {
-        return allElements.remove(element);
+        final boolean removed = allElements.remove(element);
+        markAsModified();
+        return removed;
     }
 
     public void removeElementAt(final int index) {
         allElements.remove(index);
+        markAsModified();
     }
 
     public boolean moveElementUp(final AModelElement<TestCase> element) {
+        markAsModified();
         return MoveElementHelper.moveUp(allElements, element);
     }
 
     public boolean moveElementDown(final AModelElement<TestCase> element) {
+        markAsModified();
         return MoveElementHelper.moveDown(allElements, element);
     }
 
     public void replaceElement(final AModelElement<TestCase> oldElement, final AModelElement<TestCase> newElement) {
         newElement.setParent(this);
         allElements.set(allElements.indexOf(oldElement), newElement);
+        markAsModified();
     }
 
     public void removeAllElements() {
         allElements.clear();
+        markAsModified();
     }
 
     public TestCaseUnknownSettings newUnknownSettings(final int index) {
@@ -108,6 +122,26 @@ public class TestCase extends AModelElement<TestCaseTable> implements IExecutabl
         return getAllElements();
     }
 
+    @Override
+    public int getModificationStamp() {
+        return modificationStamp;
+    }
+
+    @Override
+    public void markAsModified() {
+        modificationStamp++;
+    }
+
+    @Override
+    public Object getLocalVariablesScope() {
+        return localVariablesScope;
+    }
+
+    @Override
+    public void setLocalVariablesScope(final Object scope) {
+        this.localVariablesScope = scope;
+    }
+
     @Override
     public List<RobotExecutableRow<TestCase>> getExecutionContext() {
         return getElements().stream()
@@ -137,6 +171,7 @@ public class TestCase extends AModelElement<TestCaseTable> implements IExecutabl
     public void addDocumentation(final int index, final TestDocumentation doc) {
         doc.setParent(this);
         allElements.add(index, doc);
+        markAsModified();
         getParent().getParent().getParent().getDocumentationCacher().register(doc);
     }
 
@@ -7,15 +7,11 @@ package org.rf.ide.core.testdata.text.read;
 
 import static com.google.common.collect.Lists.newArrayList;
 
-import java.io.BufferedReader;
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
-import java.io.Reader;
-import java.nio.charset.Charset;
+import java.nio.file.NoSuchFileException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Stack;
@@ -58,6 +54,7 @@ import org.rf.ide.core.testdata.text.read.recognizer.RobotToken;
 import org.rf.ide.core.testdata.text.read.recognizer.RobotTokenType;
 import org.rf.ide.core.testdata.text.read.recognizer.SettingsRecognizersProvider;
 import org.rf.ide.core.testdata.text.read.recognizer.TestCaseRecognizersProvider;
+import org.rf.ide.core.testdata.text.read.recognizer.TokenRecognizersIndex;
 import org.rf.ide.core.testdata.text.read.recognizer.UserKeywordRecognizersProvider;
 import org.rf.ide.core.testdata.text.read.recognizer.VariablesDeclarationRecognizersProvider;
 import org.rf.ide.core.testdata.text.read.separators.ALineSeparator;
@@ -69,7 +66,7 @@ import com.google.common.annotations.VisibleForTesting;
 @SuppressWarnings("PMD.GodClass")
 public abstract class ATextualRobotFileParser implements IRobotFileParser {
 
-    private final List<ATokenRecognizer> recognized = new ArrayList<>();
+    private final TokenRecognizersIndex recognized;
 
     private final List<IParsingMapper> mappers = new ArrayList<>();
 
@@ -107,10 +104,12 @@ public abstract class ATextualRobotFileParser implements IRobotFileParser {
         this.positionResolvers = new ElementPositionResolver();
         this.postFixerActions = new PostProcessingFixActions();
 
-        recognized.addAll(new SettingsRecognizersProvider().getRecognizers());
-        recognized.addAll(new VariablesDeclarationRecognizersProvider().getRecognizers());
-        recognized.addAll(new TestCaseRecognizersProvider().getRecognizers());
-        recognized.addAll(new UserKeywordRecognizersProvider().getRecognizers());
+        final List<ATokenRecognizer> recognizers = new ArrayList<>();
+        recognizers.addAll(new SettingsRecognizersProvider().getRecognizers());
+        recognizers.addAll(new VariablesDeclarationRecognizersProvider().getRecognizers());
+        recognizers.addAll(new TestCaseRecognizersProvider().getRecognizers());
+        recognizers.addAll(new UserKeywordRecognizersProvider().getRecognizers());
+        this.recognized = new TokenRecognizersIndex(recognizers);
 
         mappers.addAll(new SettingsMapperProvider().getMappers());
         mappers.addAll(new VariablesDeclarationMapperProvider().getMappers());
@@ -130,34 +129,25 @@ public abstract class ATextualRobotFileParser implements IRobotFileParser {
 
     @Override
     public void parse(final RobotFileOutput parsingOutput, final InputStream inputStream, final File robotFile) {
-        boolean wasProcessingError = false;
-        try {
-            parse(parsingOutput, robotFile, new InputStreamReader(inputStream, Charset.forName("UTF-8")));
-        } catch (final Exception e) {
-            parsingOutput.addBuildMessage(BuildMessage.createErrorMessage(
-                    "Unknown problem during reading file " + robotFile + ".\nStack:" + e, "File " + robotFile));
-            // FIXME: stack trace adding
-            System.err.println("File: " + robotFile);
-            e.printStackTrace();
-            wasProcessingError = true;
-        }
-
-        if (wasProcessingError || parsingOutput.getStatus() == Status.FAILED) {
-            parsingOutput.setStatus(Status.FAILED);
-        } else {
-            parsingOutput.setStatus(Status.PASSED);
-        }
+        readAndParse(parsingOutput, robotFile, () -> IndexedLineReader.of(inputStream));
+    }
 
-        parsingOutput.setProcessedFile(robotFile);
+    @Override
+    public void parse(final RobotFileOutput parsingOutput, final String content, final File robotFile) {
+        readAndParse(parsingOutput, robotFile, () -> new IndexedLineReader(content));
     }
 
     @Override
     public void parse(final RobotFileOutput parsingOutput, final File robotFile) {
+        readAndParse(parsingOutput, robotFile, () -> IndexedLineReader.of(robotFile));
+    }
+
+    private void readAndParse(final RobotFileOutput parsingOutput, final File robotFile,
+            final LinesSource linesSource) {
         boolean wasProcessingError = false;
         try {
-            final FileInputStream fis = new FileInputStream(robotFile);
-            parse(parsingOutput, fis, robotFile);
-        } catch (final FileNotFoundException e) {
+            parse(parsingOutput, robotFile, linesSource.read());
+        } catch (final FileNotFoundException | NoSuchFileException e) {
             parsingOutput.addBuildMessage(BuildMessage
                     .createErrorMessage("File " + robotFile + " was not found.\nStack:" + e, "File " + robotFile));
             wasProcessingError = true;
@@ -180,13 +170,12 @@ public abstract class ATextualRobotFileParser implements IRobotFileParser {
         parsingOutput.setProcessedFile(robotFile);
     }
 
-    private RobotFileOutput parse(final RobotFileOutput parsingOutput, final File robotFile, final Reader reader) {
+    private RobotFileOutput parse(final RobotFileOutput parsingOutput, final File robotFile,
+            final IndexedLineReader lineHolder) {
         boolean wasProcessingError = false;
         previousLineHandler.clear();
 
         parsingOutput.setProcessedFile(robotFile);
-        final LineReader lineHolder = new LineReader(reader);
-        final BufferedReader lineReader = new BufferedReader(lineHolder);
         int lineNumber = 1;
         int currentOffset = 0;
         String currentLineText = null;
@@ -194,12 +183,11 @@ public abstract class ATextualRobotFileParser implements IRobotFileParser {
         boolean isNewLine = false;
         try {
             final RobotFile fileModel = parsingOutput.getFileModel();
-            while ((currentLineText = lineReader.readLine()) != null) {
+            for (int lineIndex = 0; lineIndex < lineHolder.getNumberOfLines(); lineIndex++) {
+                currentLineText = lineHolder.getLine(lineIndex).toString();
                 final RobotLine line = new RobotLine(lineNumber, fileModel);
-                currentOffset = handleCRLFcaseSplittedBetweenBuffers(parsingOutput, lineHolder, lineNumber,
-                        currentOffset);
                 // removing BOM
-                if (currentLineText.toCharArray().length > 0) {
+                if (!currentLineText.isEmpty()) {
                     if (currentLineText.charAt(0) == 0xFEFF) {
                         currentOffset++;
                     }
@@ -322,10 +310,8 @@ public abstract class ATextualRobotFileParser implements IRobotFileParser {
                 isNewLine = true;
             }
 
-            boolean isEOL = false;
             final List<Constant> endOfLine = lineHolder.getLineEnd(currentOffset);
             if (endOfLine.contains(Constant.EOF)) {
-                isEOL = true;
                 final List<RobotLine> fileContent = fileModel.getFileContent();
                 if (fileContent.size() > 1) {
                     final RobotLine robotLine = fileContent.get(fileContent.size() - 1);
@@ -342,20 +328,6 @@ public abstract class ATextualRobotFileParser implements IRobotFileParser {
                     }
                 }
             }
-            if (!isEOL) {
-                currentOffset = handleCRLFcaseSplittedBetweenBuffers(parsingOutput, lineHolder, lineNumber,
-                        currentOffset);
-            }
-        } catch (final FileNotFoundException e) {
-            parsingOutput.addBuildMessage(BuildMessage
-                    .createErrorMessage("File " + robotFile + " was not found.\nStack:" + e, "File " + robotFile));
-            wasProcessingError = true;
-            // FIXME: position should be more descriptive
-        } catch (final IOException e) {
-            parsingOutput.addBuildMessage(BuildMessage.createErrorMessage(
-                    "Problem during file " + robotFile + " reading.\nStack:" + e.getLocalizedMessage(),
-                    "File " + robotFile));
-            wasProcessingError = true;
         } catch (final Exception e) {
             parsingOutput.addBuildMessage(BuildMessage.createErrorMessage(
                     "Unknown problem during reading file " + robotFile + ".\nStack:" + e, "File " + robotFile));
@@ -363,13 +335,6 @@ public abstract class ATextualRobotFileParser implements IRobotFileParser {
             System.err.println("File: " + robotFile + " line " + lineNumber);
             e.printStackTrace();
             wasProcessingError = true;
-        } finally {
-            try {
-                lineReader.close();
-            } catch (final IOException e) {
-                parsingOutput.addBuildMessage(BuildMessage.createErrorMessage(
-                        "Error occurred, when file was closing. Stack trace\n\t" + e, robotFile.getAbsolutePath()));
-            }
         }
 
         postFixerActions.applyFixes(parsingOutput);
@@ -378,15 +343,16 @@ public abstract class ATextualRobotFileParser implements IRobotFileParser {
             parsingOutput.setStatus(Status.FAILED);
         } else {
             parsingOutput.setStatus(Status.PASSED);
-            clearDirtyFlags(parsingOutput);
+            clearDirtyFlagsAndCompactLines(parsingOutput);
         }
 
         return parsingOutput;
     }
 
-    private void clearDirtyFlags(final RobotFileOutput parsingOutput) {
+    private void clearDirtyFlagsAndCompactLines(final RobotFileOutput parsingOutput) {
         final List<RobotLine> fileContent = parsingOutput.getFileModel().getFileContent();
         for (final RobotLine line : fileContent) {
+            line.compact();
             for (final IRobotLineElement rle : line.getLineElements()) {
                 if (rle instanceof RobotToken) {
                     ((RobotToken) rle).clearDirtyFlag();
@@ -397,29 +363,6 @@ public abstract class ATextualRobotFileParser implements IRobotFileParser {
 
     public abstract boolean isPrettyAlignLineOnly(final String currentLineText);
 
-    @VisibleForTesting
-    int handleCRLFcaseSplittedBetweenBuffers(final RobotFileOutput parsingOutput, final LineReader lineHolder,
-            final int lineNumber, final int currentOffset) {
-        int newOffset = currentOffset;
-        if (lineNumber > 1) {
-            final RobotLine prevLine = parsingOutput.getFileModel().getFileContent().get(lineNumber - 2);
-            final IRobotLineElement prevEOL = prevLine.getEndOfLine();
-            final List<Constant> lineEnd = lineHolder.getLineEnd(prevEOL.getStartOffset());
-            final IRobotLineElement buildEOL = EndOfLineBuilder.newInstance()
-                    .setEndOfLines(lineEnd)
-                    .setStartColumn(prevEOL.getStartColumn())
-                    .setStartOffset(prevEOL.getStartOffset())
-                    .setLineNumber(prevEOL.getLineNumber())
-                    .buildEOL();
-            if (prevEOL.getTypes().get(0) != buildEOL.getTypes().get(0)) {
-                prevLine.setEndOfLine(lineEnd, prevEOL.getStartOffset(), prevEOL.getStartColumn());
-                newOffset++;
-            }
-        }
-
-        return newOffset;
-    }
-
     @VisibleForTesting
     protected RobotToken processLineElement(final RobotLine currentLine, final Stack<ParsingState> processingState,
             final RobotFileOutput robotFileOutput, final FilePosition fp, final String text, final String fileName,
@@ -589,9 +532,9 @@ public abstract class ATextualRobotFileParser implements IRobotFileParser {
     @VisibleForTesting
     protected List<RobotToken> recognize(final FilePosition fp, final String text) {
         final List<RobotToken> possibleRobotTokens = new ArrayList<>();
-        final StringBuilder sb = new StringBuilder(text);
-        for (final ATokenRecognizer rec : recognized) {
-            if (rec.hasNext(sb, fp.getLine(), fp.getColumn())) {
+        for (final ATokenRecognizer rec : recognized.getCandidates(text)) {
+            rec.reset();
+            if (rec.hasNext(text, fp.getLine(), fp.getColumn())) {
                 final RobotToken t = rec.next();
                 t.setStartColumn(t.getStartColumn() + fp.getColumn());
                 possibleRobotTokens.add(t);
@@ -611,4 +554,9 @@ public abstract class ATextualRobotFileParser implements IRobotFileParser {
         return possibleRobotTokens;
     }
 
+    @FunctionalInterface
+    private interface LinesSource {
+
+        IndexedLineReader read() throws IOException;
+    }
 }
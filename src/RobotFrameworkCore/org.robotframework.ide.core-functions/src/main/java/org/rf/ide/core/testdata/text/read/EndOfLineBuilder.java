@@ -6,6 +6,7 @@
 package org.rf.ide.core.testdata.text.read;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import org.rf.ide.core.testdata.model.FilePosition;
@@ -149,15 +150,14 @@ public class EndOfLineBuilder {
 
         private final int startOffset;
 
-        private final List<IRobotTokenType> types;
+        private final EndOfLineTypes type;
 
         public AEndOfLine(final EndOfLineTypes type, final int startOffset, final int lineNumber,
                 final int startColumn) {
             this.lineNumber = lineNumber;
             this.startColumn = startColumn;
             this.startOffset = startOffset;
-            this.types = new ArrayList<>(0);
-            this.types.add(type);
+            this.type = type;
         }
 
         @Override
@@ -199,7 +199,7 @@ public class EndOfLineBuilder {
 
         @Override
         public List<IRobotTokenType> getTypes() {
-            return types;
+            return Collections.singletonList(type);
         }
 
         @Override
@@ -210,17 +210,12 @@ public class EndOfLineBuilder {
         @Override
         public String toString() {
             return String.format("%s [lineNumber=%s, startColumn=%s, startOffset=%s, types=%s]", this.getClass(),
-                    lineNumber, startColumn, startOffset, types);
+                    lineNumber, startColumn, startOffset, getTypes());
         }
 
         @Override
         public VersionAvailabilityInfo getVersionInformation() {
-            VersionAvailabilityInfo var = null;
-            if (!types.isEmpty()) {
-                var = types.get(0).findVersionAvailablilityInfo(getRaw());
-            }
-
-            return var;
+            return type.findVersionAvailablilityInfo(getRaw());
         }
 
         @Override
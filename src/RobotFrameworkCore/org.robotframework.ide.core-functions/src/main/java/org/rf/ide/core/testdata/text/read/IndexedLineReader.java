@@ -0,0 +1,149 @@
+/*
+ * Copyright 2017 Nokia Solutions and Networks
+ * Licensed under the Apache License, Version 2.0,
+ * see license.txt file for details.
+ */
+package org.rf.ide.core.testdata.text.read;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.rf.ide.core.testdata.text.read.LineReader.Constant;
+
+import com.google.common.io.CharStreams;
+
+/**
+ * Splits text into lines in single pass over its characters. Lines are indexed by offsets of their
+ * starts and ends kept in primitive arrays, so the text is neither copied nor scanned again: it can
+ * be editor content or characters decoded at once from the bytes of file. Lines are ended by LF,
+ * CR, CRLF or LFCR, the same as they are recognized by {@link EndOfLineBuilder}.
+ */
+public class IndexedLineReader {
+
+    private final CharSequence text;
+
+    private int[] lineStarts;
+
+    private int[] lineEnds;
+
+    private int numberOfLines;
+
+    public static IndexedLineReader of(final File file) throws IOException {
+        if (Files.size(file.toPath()) > Integer.MAX_VALUE) {
+            throw new IOException("File " + file + " is too big to be parsed");
+        }
+        final byte[] bytes = Files.readAllBytes(file.toPath());
+        return new IndexedLineReader(StandardCharsets.UTF_8.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE)
+                .decode(ByteBuffer.wrap(bytes)));
+    }
+
+    public static IndexedLineReader of(final InputStream stream) throws IOException {
+        return new IndexedLineReader(CharStreams.toString(new InputStreamReader(stream, StandardCharsets.UTF_8)));
+    }
+
+    public IndexedLineReader(final CharSequence text) {
+        this.text = text == null ? "" : text;
+        indexLines();
+    }
+
+    private void indexLines() {
+        final int length = text.length();
+        final int expectedLines = Math.max(16, length / 32);
+        lineStarts = new int[expectedLines];
+        lineEnds = new int[expectedLines];
+
+        int lineStart = 0;
+        int i = 0;
+        while (i < length) {
+            final char c = text.charAt(i);
+            if (c == '\n' || c == '\r') {
+                addLine(lineStart, i);
+                i += isTwoCharsEndOfLine(i) ? 2 : 1;
+                lineStart = i;
+            } else {
+                i++;
+            }
+        }
+        if (lineStart < length) {
+            addLine(lineStart, length);
+        }
+    }
+
+    private boolean isTwoCharsEndOfLine(final int offset) {
+        if (offset + 1 >= text.length()) {
+            return false;
+        }
+        final char first = text.charAt(offset);
+        final char second = text.charAt(offset + 1);
+        return first == '\r' && second == '\n' || first == '\n' && second == '\r';
+    }
+
+    private void addLine(final int start, final int end) {
+        if (numberOfLines == lineStarts.length) {
+            lineStarts = Arrays.copyOf(lineStarts, numberOfLines * 2);
+            lineEnds = Arrays.copyOf(lineEnds, numberOfLines * 2);
+        }
+        lineStarts[numberOfLines] = start;
+        lineEnds[numberOfLines] = end;
+        numberOfLines++;
+    }
+
+    public int getNumberOfLines() {
+        return numberOfLines;
+    }
+
+    /**
+     * Returns text of given line without end of line characters.
+     *
+     * @param lineIndex
+     *            zero-based index of line
+     */
+    public CharSequence getLine(final int lineIndex) {
+        return text.subSequence(lineStarts[lineIndex], lineEnds[lineIndex]);
+    }
+
+    public int getLineStartOffset(final int lineIndex) {
+        return lineStarts[lineIndex];
+    }
+
+    public int getLineEndOffset(final int lineIndex) {
+        return lineEnds[lineIndex];
+    }
+
+    public int getLength() {
+        return text.length();
+    }
+
+    /**
+     * Returns characters ending the line which content ends at given offset. At the end of text
+     * {@link Constant#EOF} is returned, while empty list is returned when there is no line ending
+     * at given offset.
+     */
+    public List<Constant> getLineEnd(final int offset) {
+        final List<Constant> endOfLine = new ArrayList<>(2);
+        if (offset == text.length()) {
+            endOfLine.add(Constant.EOF);
+
+        } else if (Arrays.binarySearch(lineEnds, 0, numberOfLines, offset) >= 0) {
+            final Constant first = Constant.get(text.charAt(offset));
+            if (first != null) {
+                endOfLine.add(first);
+                if (isTwoCharsEndOfLine(offset)) {
+                    endOfLine.add(Constant.get(text.charAt(offset + 1)));
+                }
+            }
+        }
+        return endOfLine;
+    }
+}
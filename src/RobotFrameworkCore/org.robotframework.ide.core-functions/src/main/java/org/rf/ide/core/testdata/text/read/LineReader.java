@@ -128,16 +128,16 @@ public class LineReader extends Reader {
         }
 
         public static Constant get(final char c) {
-            Constant me = null;
-            final Constant[] values = Constant.values();
-            for (final Constant constant : values) {
-                if (constant.getChar() == c) {
-                    me = constant;
-                    break;
-                }
+            switch (c) {
+                case '\r':
+                    return CR;
+                case '\n':
+                    return LF;
+                case (char) -1:
+                    return EOF;
+                default:
+                    return null;
             }
-
-            return me;
         }
 
         public static List<Constant> get(final IRobotLineElement rle) {
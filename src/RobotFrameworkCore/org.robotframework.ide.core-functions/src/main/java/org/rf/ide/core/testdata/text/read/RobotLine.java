@@ -29,13 +29,16 @@ public class RobotLine implements IChildElement<RobotFile> {
 
     private Optional<SeparatorType> separatorForLine = Optional.empty();
 
-    private IRobotLineElement eol = EndOfLineBuilder.newInstance()
+    // end of line elements are immutable, so the not set one can be shared by all the lines
+    private static final IRobotLineElement NOT_SET_EOL = EndOfLineBuilder.newInstance()
             .setEndOfLines(null)
             .setLineNumber(IRobotLineElement.NOT_SET)
             .setStartColumn(IRobotLineElement.NOT_SET)
             .setStartOffset(IRobotLineElement.NOT_SET)
             .buildEOL();
 
+    private IRobotLineElement eol = NOT_SET_EOL;
+
     public RobotLine(final int lineNumber, final RobotFile parent) {
         this.lineNumber = lineNumber;
         this.parent = parent;
@@ -78,6 +81,16 @@ public class RobotLine implements IChildElement<RobotFile> {
         this.lineElements.set(position, lineElement);
     }
 
+    /**
+     * Releases the unused capacity of line elements list. Should be called when the line is not
+     * going to grow anymore, e.g. at the end of parsing.
+     */
+    public void compact() {
+        if (lineElements instanceof ArrayList) {
+            ((ArrayList<IRobotLineElement>) lineElements).trimToSize();
+        }
+    }
+
     public Optional<Integer> getElementPositionInLine(final int offset, final PositionCheck posCheckStrategy) {
         Optional<Integer> pos = Optional.empty();
         final int size = lineElements.size();
@@ -138,6 +151,10 @@ public class RobotLine implements IChildElement<RobotFile> {
         return lineNumber;
     }
 
+    public void setLineNumber(final int lineNumber) {
+        this.lineNumber = lineNumber;
+    }
+
     public IRobotLineElement getEndOfLine() {
         return this.eol;
     }
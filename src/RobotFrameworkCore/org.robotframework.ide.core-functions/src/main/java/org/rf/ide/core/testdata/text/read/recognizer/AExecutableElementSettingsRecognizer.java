@@ -21,7 +21,7 @@ public abstract class AExecutableElementSettingsRecognizer extends
 
 
     protected AExecutableElementSettingsRecognizer(final RobotTokenType type) {
-        super(build(buildVariants(type)), type);
+        super(build(buildVariants(type)), type, "[");
     }
 
 
@@ -24,9 +24,21 @@ public abstract class ATokenRecognizer {
 
     private String text;
 
+    private final String requiredText;
+
     protected ATokenRecognizer(final Pattern p, final RobotTokenType type) {
+        this(p, type, null);
+    }
+
+    /**
+     * @param requiredText
+     *            lower-case text which is contained (ignoring case) in every text matched by given
+     *            pattern or null if there is no such text
+     */
+    protected ATokenRecognizer(final Pattern p, final RobotTokenType type, final String requiredText) {
         this.pattern = p;
         this.type = type;
+        this.requiredText = requiredText;
     }
 
     public abstract ATokenRecognizer newInstance();
@@ -48,6 +60,10 @@ public abstract class ATokenRecognizer {
         return m.find();
     }
 
+    public void reset() {
+        m = null;
+    }
+
     public RobotToken next() {
         final RobotToken t = new RobotToken();
         t.setLineNumber(lineNumber);
@@ -106,4 +122,8 @@ public abstract class ATokenRecognizer {
     public Pattern getPattern() {
         return this.pattern;
     }
+
+    public String getRequiredText() {
+        return this.requiredText;
+    }
 }
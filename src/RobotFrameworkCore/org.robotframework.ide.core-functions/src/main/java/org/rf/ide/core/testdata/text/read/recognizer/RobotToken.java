@@ -5,32 +5,76 @@
  */
 package org.rf.ide.core.testdata.text.read.recognizer;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
+import java.util.AbstractList;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 
 import org.rf.ide.core.testdata.model.FilePosition;
 import org.rf.ide.core.testdata.text.read.IRobotLineElement;
 import org.rf.ide.core.testdata.text.read.IRobotTokenType;
 import org.rf.ide.core.testdata.text.read.VersionAvailabilityInfo;
 
+/**
+ * Token of parsed file. As all the tokens of all the files in the project are kept in memory, the
+ * token is stored compactly: position is kept in primitive fields instead of {@link FilePosition}
+ * object, raw and text share the same string when they are equal and types are kept in array which
+ * is shared between tokens until it is modified. {@link #getTypes()} returns modifiable view of the
+ * types. Dirty flags are packed together with modification stamp which is increased each time the
+ * token is marked as dirty or its raw, text, types or position are changed, so that the data
+ * computed from token can be cached and validated against the stamp. The stamps are read by
+ * threads other than the one modifying the token, so the state is always updated atomically.
+ */
 public class RobotToken implements IRobotLineElement, Serializable {
 
     private static final long serialVersionUID = -7333635148571215189L;
 
-    private FilePosition fp = new FilePosition(NOT_SET, NOT_SET, NOT_SET);
+    private static final IRobotTokenType[] NO_TYPES = new IRobotTokenType[0];
+
+    private static final int DIRTY = 1;
+
+    private static final int FIRST_INIT = 2;
+
+    private static final int OBSERVED = 4;
+
+    private static final int MODIFICATION = 8;
+
+    private static final AtomicInteger OBSERVED_MODIFICATIONS = new AtomicInteger();
+
+    private static final AtomicIntegerFieldUpdater<RobotToken> STATE = AtomicIntegerFieldUpdater
+            .newUpdater(RobotToken.class, "state");
+
+    private static final IRobotTokenType[][] SINGLE_TYPES = new IRobotTokenType[RobotTokenType.values().length][];
+
+    static {
+        for (final RobotTokenType type : RobotTokenType.values()) {
+            SINGLE_TYPES[type.ordinal()] = new IRobotTokenType[] { type };
+        }
+    }
+
+    private transient int lineNumber = NOT_SET;
+
+    private transient int startColumn = NOT_SET;
+
+    private transient int startOffset = NOT_SET;
 
     private String raw = "";
 
     private String text = "";
 
-    private final List<IRobotTokenType> types = new ArrayList<>(0);
+    // never modified in place, as it may be shared with other tokens
+    private IRobotTokenType[] types = singleType(RobotTokenType.UNKNOWN);
 
-    private boolean isDirty = false;
-
-    private boolean wasFirstInit = false;
+    // dirty and observed flags in lowest bits, modification stamp in the rest; updated with STATE
+    private volatile int state = 0;
 
     public static RobotToken create(final String rawAndText) {
         return create(rawAndText, new ArrayList<IRobotTokenType>());
@@ -47,34 +91,41 @@ public class RobotToken implements IRobotLineElement, Serializable {
         return token;
     }
 
-    public RobotToken() {
-        types.add(RobotTokenType.UNKNOWN);
+    private static IRobotTokenType[] singleType(final IRobotTokenType type) {
+        return type instanceof RobotTokenType ? SINGLE_TYPES[((RobotTokenType) type).ordinal()]
+                : new IRobotTokenType[] { type };
     }
 
     @Override
     public int getLineNumber() {
-        return fp.getLine();
+        return lineNumber;
     }
 
     public void setLineNumber(final int lineNumber) {
-        fp = new FilePosition(lineNumber, fp.getColumn(), fp.getOffset());
+        if (this.lineNumber != lineNumber) {
+            modified();
+        }
+        this.lineNumber = lineNumber;
     }
 
     @Override
     public int getStartColumn() {
-        return fp.getColumn();
+        return startColumn;
     }
 
     public void setStartColumn(final int startColumn) {
-        fp = new FilePosition(fp.getLine(), startColumn, fp.getOffset());
+        if (this.startColumn != startColumn) {
+            modified();
+        }
+        this.startColumn = startColumn;
     }
 
     @Override
     public int getEndColumn() {
         int endColumn = NOT_SET;
 
-        if (fp.getColumn() != NOT_SET) {
-            endColumn = fp.getColumn() + text.length();
+        if (startColumn != NOT_SET) {
+            endColumn = startColumn + text.length();
         }
 
         return endColumn;
@@ -85,12 +136,15 @@ public class RobotToken implements IRobotLineElement, Serializable {
     }
 
     public void setStartOffset(final int startOffset) {
-        fp = new FilePosition(fp.getLine(), fp.getColumn(), startOffset);
+        if (this.startOffset != startOffset) {
+            modified();
+        }
+        this.startOffset = startOffset;
     }
 
     @Override
     public int getStartOffset() {
-        return fp.getOffset();
+        return startOffset;
     }
 
     @Override
@@ -99,21 +153,76 @@ public class RobotToken implements IRobotLineElement, Serializable {
     }
 
     public void setText(final String text) {
-        if (wasFirstInit) {
-            if (!Objects.equals(this.text, text)) {
+        if (!Objects.equals(this.text, text)) {
+            if ((state & FIRST_INIT) != 0) {
                 markAsDirty();
+            } else {
+                modified();
             }
         }
-        wasFirstInit = true;
-        this.text = (text != null) ? text.intern() : null;
+        setFlags(FIRST_INIT);
+        this.text = shareOrIntern(text, raw);
+    }
+
+    private static String shareOrIntern(final String value, final String otherValue) {
+        if (value == null) {
+            return null;
+        }
+        return value.equals(otherValue) ? otherValue : value.intern();
     }
 
     public void markAsDirty() {
-        isDirty = true;
+        setFlags(DIRTY);
+        modified();
+    }
+
+    private void modified() {
+        if ((STATE.addAndGet(this, MODIFICATION) & OBSERVED) != 0) {
+            OBSERVED_MODIFICATIONS.incrementAndGet();
+        }
+    }
+
+    private void setFlags(final int flags) {
+        if ((state & flags) != flags) {
+            STATE.accumulateAndGet(this, flags, (current, toSet) -> current | toSet);
+        }
+    }
+
+    private void clearFlags(final int flags) {
+        if ((state & flags) != 0) {
+            STATE.accumulateAndGet(this, flags, (current, toClear) -> current & ~toClear);
+        }
     }
 
     public void clearDirtyFlag() {
-        isDirty = false;
+        clearFlags(DIRTY);
+    }
+
+    /**
+     * Returns the number which changes whenever the token is marked as dirty or its raw, text, types
+     * or position are modified. Clearing the dirty flag does not change the stamp.
+     */
+    public int getModificationStamp() {
+        final int current = state;
+        if ((current & OBSERVED) != 0) {
+            return current >>> 3;
+        }
+        // modifications made after the flag is set are counted as observed ones
+        return STATE.accumulateAndGet(this, OBSERVED, (value, observed) -> value | observed) >>> 3;
+    }
+
+    /**
+     * Returns the number of modifications made to all the tokens which modification stamps were
+     * read before. Data validated against stamps of many tokens can be reused without checking
+     * each token again as long as this number does not change.
+     */
+    public static int getObservedModificationsCount() {
+        return OBSERVED_MODIFICATIONS.get();
+    }
+
+    private void setTypes(final IRobotTokenType[] types) {
+        this.types = types;
+        modified();
     }
 
     public boolean isNotEmpty() {
@@ -127,36 +236,41 @@ public class RobotToken implements IRobotLineElement, Serializable {
     }
 
     public void setRaw(final String raw) {
-        this.raw = raw.intern();
+        if (!Objects.equals(this.raw, raw)) {
+            modified();
+        }
+        this.raw = shareOrIntern(raw, text);
     }
 
     @Override
     public List<IRobotTokenType> getTypes() {
-        return types;
+        return new TypesView();
     }
 
     public void setType(final IRobotTokenType type) {
-        types.clear();
-        types.add(type);
+        setTypes(singleType(type));
     }
 
     @Override
     public String toString() {
-        return String.format("RobotToken [filePosition=%s, text=%s, types=%s, isDirty=%s]", fp, text, types, isDirty);
+        return String.format("RobotToken [filePosition=%s, text=%s, types=%s, isDirty=%s]", getFilePosition(), text,
+                getTypes(), isDirty());
     }
 
     @Override
     public FilePosition getFilePosition() {
-        return fp;
+        return new FilePosition(lineNumber, startColumn, startOffset);
     }
 
     public void setFilePosition(final FilePosition fp) {
-        this.fp = fp;
+        setLineNumber(fp.getLine());
+        setStartColumn(fp.getColumn());
+        setStartOffset(fp.getOffset());
     }
 
     @Override
     public boolean isDirty() {
-        return isDirty;
+        return (state & DIRTY) != 0;
     }
 
     public boolean isVariableDeclaration() {
@@ -181,8 +295,8 @@ public class RobotToken implements IRobotLineElement, Serializable {
     @Override
     public VersionAvailabilityInfo getVersionInformation() {
         VersionAvailabilityInfo vai = null;
-        if (types != null && !types.isEmpty()) {
-            vai = types.get(0).findVersionAvailablilityInfo(getRaw());
+        if (types.length > 0) {
+            vai = types[0].findVersionAvailablilityInfo(getRaw());
         }
         return vai;
     }
@@ -201,12 +315,11 @@ public class RobotToken implements IRobotLineElement, Serializable {
         final RobotToken t = new RobotToken();
         t.setText(getText());
         t.setRaw(getRaw());
-        t.types.clear();
-        t.types.addAll(getTypes());
+        t.types = this.types;
         if (posInclude) {
-            t.fp = this.fp.copy();
-        } else {
-            t.fp = FilePosition.createNotSet();
+            t.lineNumber = this.lineNumber;
+            t.startColumn = this.startColumn;
+            t.startOffset = this.startOffset;
         }
         t.clearDirtyFlag();
 
@@ -222,4 +335,95 @@ public class RobotToken implements IRobotLineElement, Serializable {
     public final boolean equals(final Object obj) {
         return super.equals(obj);
     }
+
+    private void readObject(final ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        // the same as for file position object, the position is NOT_SET when deserializing
+        lineNumber = NOT_SET;
+        startColumn = NOT_SET;
+        startOffset = NOT_SET;
+        clearFlags(OBSERVED);
+    }
+
+    private class TypesView extends AbstractList<IRobotTokenType> implements RandomAccess {
+
+        @Override
+        public IRobotTokenType get(final int index) {
+            if (index < 0 || index >= types.length) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + types.length);
+            }
+            return types[index];
+        }
+
+        @Override
+        public int size() {
+            return types.length;
+        }
+
+        @Override
+        public IRobotTokenType set(final int index, final IRobotTokenType type) {
+            final IRobotTokenType previous = get(index);
+            if (types.length == 1) {
+                setTypes(singleType(type));
+            } else {
+                final IRobotTokenType[] newTypes = types.clone();
+                newTypes[index] = type;
+                setTypes(newTypes);
+            }
+            return previous;
+        }
+
+        @Override
+        public void add(final int index, final IRobotTokenType type) {
+            if (index < 0 || index > types.length) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + types.length);
+            }
+            if (types.length == 0) {
+                setTypes(singleType(type));
+            } else {
+                final IRobotTokenType[] newTypes = new IRobotTokenType[types.length + 1];
+                System.arraycopy(types, 0, newTypes, 0, index);
+                newTypes[index] = type;
+                System.arraycopy(types, index, newTypes, index + 1, types.length - index);
+                setTypes(newTypes);
+            }
+            modCount++;
+        }
+
+        @Override
+        public IRobotTokenType remove(final int index) {
+            final IRobotTokenType previous = get(index);
+            if (types.length == 1) {
+                setTypes(NO_TYPES);
+            } else {
+                final IRobotTokenType[] newTypes = new IRobotTokenType[types.length - 1];
+                System.arraycopy(types, 0, newTypes, 0, index);
+                System.arraycopy(types, index + 1, newTypes, index, types.length - index - 1);
+                setTypes(newTypes.length == 1 ? singleType(newTypes[0]) : newTypes);
+            }
+            modCount++;
+            return previous;
+        }
+
+        @Override
+        public void clear() {
+            setTypes(NO_TYPES);
+            modCount++;
+        }
+
+        @Override
+        public boolean addAll(final Collection<? extends IRobotTokenType> typesToAdd) {
+            if (typesToAdd.isEmpty()) {
+                return false;
+            }
+            final IRobotTokenType[] newTypes = Arrays.copyOf(types, types.length + typesToAdd.size());
+            int i = types.length;
+            for (final IRobotTokenType type : typesToAdd) {
+                newTypes[i++] = type;
+            }
+            setTypes(newTypes.length == 1 ? singleType(newTypes[0]) : newTypes);
+            modCount++;
+            return true;
+        }
+    }
 }
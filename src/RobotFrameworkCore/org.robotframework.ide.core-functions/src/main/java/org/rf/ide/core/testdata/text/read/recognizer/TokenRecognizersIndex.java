@@ -0,0 +1,125 @@
+/*
+ * Copyright 2017 Nokia Solutions and Networks
+ * Licensed under the Apache License, Version 2.0,
+ * see license.txt file for details.
+ */
+package org.rf.ide.core.testdata.text.read.recognizer;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+
+/**
+ * Selects recognizers which are able to match given text. Required texts of all recognizers are
+ * compiled into single case insensitive automaton (Aho-Corasick), so the text is scanned only once
+ * and pattern matching is done only for recognizers which required text occurs in it. Recognizers
+ * without required text are always selected.
+ */
+public class TokenRecognizersIndex {
+
+    /**
+     * Character classes created with {@link ATokenRecognizer#createUpperLowerCaseWord(String)}
+     * accept also this character in place of any letter.
+     */
+    private static final char LETTER_SUBSTITUTE = '|';
+
+    private final List<ATokenRecognizer> recognizers;
+
+    private final BitSet alwaysSelected = new BitSet();
+
+    private final List<Map<Character, Integer>> transitions = new ArrayList<>();
+
+    private final List<BitSet> outputs = new ArrayList<>();
+
+    private int[] failures;
+
+    public TokenRecognizersIndex(final List<ATokenRecognizer> recognizers) {
+        this.recognizers = Collections.unmodifiableList(new ArrayList<>(recognizers));
+        newState();
+        for (int i = 0; i < recognizers.size(); i++) {
+            final String requiredText = recognizers.get(i).getRequiredText();
+            if (requiredText == null || requiredText.isEmpty()) {
+                alwaysSelected.set(i);
+            } else {
+                addText(requiredText, i);
+            }
+        }
+        computeFailures();
+    }
+
+    private int newState() {
+        transitions.add(new HashMap<Character, Integer>());
+        outputs.add(new BitSet());
+        return transitions.size() - 1;
+    }
+
+    private void addText(final String text, final int recognizerIndex) {
+        int state = 0;
+        for (int i = 0; i < text.length(); i++) {
+            final Character c = Character.toLowerCase(text.charAt(i));
+            Integer next = transitions.get(state).get(c);
+            if (next == null) {
+                next = newState();
+                transitions.get(state).put(c, next);
+            }
+            state = next;
+        }
+        outputs.get(state).set(recognizerIndex);
+    }
+
+    private void computeFailures() {
+        failures = new int[transitions.size()];
+        final Queue<Integer> toVisit = new ArrayDeque<>(transitions.get(0).values());
+        while (!toVisit.isEmpty()) {
+            final int state = toVisit.poll();
+            for (final Map.Entry<Character, Integer> transition : transitions.get(state).entrySet()) {
+                final int child = transition.getValue();
+                int failure = failures[state];
+                while (failure != 0 && !transitions.get(failure).containsKey(transition.getKey())) {
+                    failure = failures[failure];
+                }
+                final Integer failureTarget = transitions.get(failure).get(transition.getKey());
+                failures[child] = failureTarget == null ? 0 : failureTarget;
+                outputs.get(child).or(outputs.get(failures[child]));
+                toVisit.add(child);
+            }
+        }
+    }
+
+    public List<ATokenRecognizer> getRecognizers() {
+        return recognizers;
+    }
+
+    /**
+     * Returns recognizers which may match given text in the same order as they were provided.
+     */
+    public List<ATokenRecognizer> getCandidates(final String text) {
+        final BitSet selected = (BitSet) alwaysSelected.clone();
+        int state = 0;
+        for (int i = 0; i < text.length(); i++) {
+            final char c = text.charAt(i);
+            if (c == LETTER_SUBSTITUTE) {
+                return recognizers;
+            }
+            final Character lowerCased = Character.toLowerCase(c);
+            Integer next = transitions.get(state).get(lowerCased);
+            while (next == null && state != 0) {
+                state = failures[state];
+                next = transitions.get(state).get(lowerCased);
+            }
+            state = next == null ? 0 : next;
+            selected.or(outputs.get(state));
+        }
+
+        final List<ATokenRecognizer> candidates = new ArrayList<>(selected.cardinality());
+        for (int i = selected.nextSetBit(0); i >= 0; i = selected.nextSetBit(i + 1)) {
+            candidates.add(recognizers.get(i));
+        }
+        return candidates;
+    }
+}
@@ -18,7 +18,7 @@ public class KeywordsTableHeaderRecognizer extends ATokenRecognizer {
                     + createUpperLowerCaseWordWithSpacesInside("Keyword") + ")([\\s]*[*])*");
 
     public KeywordsTableHeaderRecognizer() {
-        super(EXPECTED, RobotTokenType.KEYWORDS_TABLE_HEADER);
+        super(EXPECTED, RobotTokenType.KEYWORDS_TABLE_HEADER, "*");
     }
 
     @Override
@@ -18,7 +18,7 @@ public class SettingsTableHeaderRecognizer extends ATokenRecognizer {
                     + createUpperLowerCaseWordWithSpacesInside("Metadata") + ")([\\s]*[*])*");
 
     public SettingsTableHeaderRecognizer() {
-        super(EXPECTED, RobotTokenType.SETTINGS_TABLE_HEADER);
+        super(EXPECTED, RobotTokenType.SETTINGS_TABLE_HEADER, "*");
     }
 
     @Override
@@ -18,7 +18,7 @@ public class TestCasesTableHeaderRecognizer extends ATokenRecognizer {
                     + createUpperLowerCaseWordWithSpacesInside("Case") + ")([\\s]*[*])*");
 
     public TestCasesTableHeaderRecognizer() {
-        super(EXPECTED, RobotTokenType.TEST_CASES_TABLE_HEADER);
+        super(EXPECTED, RobotTokenType.TEST_CASES_TABLE_HEADER, "*");
     }
 
     @Override
@@ -17,7 +17,7 @@ public class VariablesTableHeaderRecognizer extends ATokenRecognizer {
                     + createUpperLowerCaseWordWithSpacesInside("Variable") + ")([\\s]*[*])*");
 
     public VariablesTableHeaderRecognizer() {
-        super(EXPECTED, RobotTokenType.VARIABLES_TABLE_HEADER);
+        super(EXPECTED, RobotTokenType.VARIABLES_TABLE_HEADER, "*");
     }
 
     @Override
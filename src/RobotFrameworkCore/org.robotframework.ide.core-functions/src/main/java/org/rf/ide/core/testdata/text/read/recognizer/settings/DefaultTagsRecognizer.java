@@ -21,7 +21,7 @@ public class DefaultTagsRecognizer extends ATokenRecognizer {
 
 
     public DefaultTagsRecognizer() {
-        super(EXPECTED, RobotTokenType.SETTING_DEFAULT_TAGS_DECLARATION);
+        super(EXPECTED, RobotTokenType.SETTING_DEFAULT_TAGS_DECLARATION, "default");
     }
 
 
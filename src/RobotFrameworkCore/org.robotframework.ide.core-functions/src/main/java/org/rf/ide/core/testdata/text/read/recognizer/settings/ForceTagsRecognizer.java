@@ -21,7 +21,7 @@ public class ForceTagsRecognizer extends ATokenRecognizer {
 
 
     public ForceTagsRecognizer() {
-        super(EXPECTED, RobotTokenType.SETTING_FORCE_TAGS_DECLARATION);
+        super(EXPECTED, RobotTokenType.SETTING_FORCE_TAGS_DECLARATION, "force");
     }
 
 
@@ -19,7 +19,7 @@ public class LibraryAliasRecognizer extends ATokenRecognizer {
 
 
     public LibraryAliasRecognizer() {
-        super(EXPECTED, RobotTokenType.SETTING_LIBRARY_ALIAS);
+        super(EXPECTED, RobotTokenType.SETTING_LIBRARY_ALIAS, "with");
     }
 
 
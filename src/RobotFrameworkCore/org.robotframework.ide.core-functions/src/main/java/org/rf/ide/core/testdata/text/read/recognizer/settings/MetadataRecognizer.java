@@ -17,7 +17,7 @@ public class MetadataRecognizer extends ATokenRecognizer {
             + createUpperLowerCaseWord("Meta") + ")");
 
     public MetadataRecognizer() {
-        super(EXPECTED, RobotTokenType.SETTING_METADATA_DECLARATION);
+        super(EXPECTED, RobotTokenType.SETTING_METADATA_DECLARATION, "meta");
     }
 
     @Override
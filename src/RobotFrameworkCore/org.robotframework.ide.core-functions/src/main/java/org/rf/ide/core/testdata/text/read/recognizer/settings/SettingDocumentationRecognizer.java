@@ -19,7 +19,7 @@ public class SettingDocumentationRecognizer extends ATokenRecognizer {
             + createUpperLowerCaseWord("Document") + "[\\s]*:" + "|" + createUpperLowerCaseWord("Document") + ")");
 
     public SettingDocumentationRecognizer() {
-        super(EXPECTED, RobotTokenType.SETTING_DOCUMENTATION_DECLARATION);
+        super(EXPECTED, RobotTokenType.SETTING_DOCUMENTATION_DECLARATION, "document");
     }
 
     @Override
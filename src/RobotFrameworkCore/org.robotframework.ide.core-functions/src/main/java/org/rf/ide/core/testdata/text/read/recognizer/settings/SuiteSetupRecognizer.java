@@ -25,7 +25,7 @@ public class SuiteSetupRecognizer extends ATokenRecognizer {
 
 
     public SuiteSetupRecognizer() {
-        super(EXPECTED, RobotTokenType.SETTING_SUITE_SETUP_DECLARATION);
+        super(EXPECTED, RobotTokenType.SETTING_SUITE_SETUP_DECLARATION, "suite");
     }
 
 
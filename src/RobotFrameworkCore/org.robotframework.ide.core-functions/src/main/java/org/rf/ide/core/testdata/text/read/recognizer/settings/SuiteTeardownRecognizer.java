@@ -25,7 +25,7 @@ public class SuiteTeardownRecognizer extends ATokenRecognizer {
 
 
     public SuiteTeardownRecognizer() {
-        super(EXPECTED, RobotTokenType.SETTING_SUITE_TEARDOWN_DECLARATION);
+        super(EXPECTED, RobotTokenType.SETTING_SUITE_TEARDOWN_DECLARATION, "suite");
     }
 
 
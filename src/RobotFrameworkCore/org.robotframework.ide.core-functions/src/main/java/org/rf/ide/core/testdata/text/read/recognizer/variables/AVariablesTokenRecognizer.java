@@ -20,7 +20,7 @@ public abstract class AVariablesTokenRecognizer extends ATokenRecognizer {
 
 
     protected AVariablesTokenRecognizer(final VariableType varType) {
-        super(createVariablePattern(varType), varType.getType());
+        super(createVariablePattern(varType), varType.getType(), "{");
     }
 
 
@@ -17,7 +17,11 @@ import org.rf.ide.core.testdata.text.read.VersionAvailabilityInfo.VersionAvailab
 
 public class Separator implements IRobotLineElement {
 
-    private FilePosition fp = new FilePosition(NOT_SET, NOT_SET, NOT_SET);
+    private int lineNumber = NOT_SET;
+
+    private int startColumn = NOT_SET;
+
+    private int startOffset = NOT_SET;
 
     private String raw = "";
 
@@ -82,40 +86,40 @@ public class Separator implements IRobotLineElement {
 
     @Override
     public int getLineNumber() {
-        return fp.getLine();
+        return lineNumber;
     }
 
     public void setLineNumber(final int lineNumber) {
-        fp = new FilePosition(lineNumber, fp.getColumn(), fp.getOffset());
+        this.lineNumber = lineNumber;
     }
 
     @Override
     public int getStartColumn() {
-        return fp.getColumn();
+        return startColumn;
     }
 
     public void setStartColumn(final int startColumn) {
-        fp = new FilePosition(fp.getLine(), startColumn, fp.getOffset());
+        this.startColumn = startColumn;
     }
 
     @Override
     public int getEndColumn() {
         int endColumn = NOT_SET;
 
-        if (fp.getColumn() != NOT_SET) {
-            endColumn = fp.getColumn() + text.length();
+        if (startColumn != NOT_SET) {
+            endColumn = startColumn + text.length();
         }
 
         return endColumn;
     }
 
     public void setStartOffset(final int startOffset) {
-        fp = new FilePosition(fp.getLine(), fp.getColumn(), startOffset);
+        this.startOffset = startOffset;
     }
 
     @Override
     public int getStartOffset() {
-        return fp.getOffset();
+        return startOffset;
     }
 
     @Override
@@ -130,7 +134,7 @@ public class Separator implements IRobotLineElement {
             }
         }
         wasFirstInit = true;
-        this.text = text.intern();
+        this.text = text.equals(raw) ? raw : text.intern();
     }
 
     @Override
@@ -139,7 +143,7 @@ public class Separator implements IRobotLineElement {
     }
 
     public void setRaw(final String raw) {
-        this.raw = raw.intern();
+        this.raw = raw.equals(text) ? text : raw.intern();
     }
 
     @Override
@@ -155,12 +159,12 @@ public class Separator implements IRobotLineElement {
 
     @Override
     public String toString() {
-        return String.format("Separator [filePos=%s, text=%s, type=%s]", fp, text, type);
+        return String.format("Separator [filePos=%s, text=%s, type=%s]", getFilePosition(), text, type);
     }
 
     @Override
     public FilePosition getFilePosition() {
-        return fp;
+        return new FilePosition(lineNumber, startColumn, startOffset);
     }
 
     @Override
@@ -229,9 +233,9 @@ public class Separator implements IRobotLineElement {
         t.setRaw(getRaw());
         t.type = this.type;
         if (posInclude) {
-            t.fp = this.fp.copy();
-        } else {
-            t.fp = FilePosition.createNotSet();
+            t.lineNumber = this.lineNumber;
+            t.startColumn = this.startColumn;
+            t.startOffset = this.startOffset;
         }
         t.clearDirtyFlag();
 
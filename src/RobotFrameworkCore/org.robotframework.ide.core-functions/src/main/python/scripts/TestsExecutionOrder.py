@@ -0,0 +1,49 @@
+#
+# Copyright 2017 Nokia Solutions and Networks
+# Licensed under the Apache License, Version 2.0,
+# see license.txt file for details.
+#
+
+import io
+import os
+
+from robot.api import SuiteVisitor
+
+
+class TestsExecutionOrder(SuiteVisitor):
+    """ Pre-run modifier which reorders suites and tests as listed in given file. Every line of
+    the file contains suite source and test name separated with tab; tests which are not listed
+    are run at the place of '*' line. Every suite is run at the place of its first test. """
+
+    UNKNOWN_TESTS_MARKER = u'*'
+
+    def __init__(self, order_file):
+        self._ranks = {}
+        self._unknown_rank = 0
+        with io.open(order_file, encoding='utf-8') as lines:
+            for rank, line in enumerate(lines):
+                line = line.rstrip(u'\r\n')
+                if line == self.UNKNOWN_TESTS_MARKER:
+                    self._unknown_rank = rank
+                elif u'\t' in line:
+                    source, name = line.split(u'\t', 1)
+                    self._ranks[(_normalize_path(source), name)] = rank
+
+    def visit_suite(self, suite):
+        self._reorder(suite)
+
+    def _reorder(self, suite):
+        source = _normalize_path(suite.source) if suite.source else None
+        ranked_tests = [(self._ranks.get((source, test.name), self._unknown_rank), index, test)
+                        for index, test in enumerate(suite.tests)]
+        ranked_suites = [(self._reorder(child), index, child) for index, child in enumerate(suite.suites)]
+        ranked_tests.sort(key=lambda ranked: ranked[:2])
+        ranked_suites.sort(key=lambda ranked: ranked[:2])
+        suite.tests = [test for _, _, test in ranked_tests]
+        suite.suites = [child for _, _, child in ranked_suites]
+        ranks = [rank for rank, _, _ in ranked_tests + ranked_suites]
+        return min(ranks) if ranks else self._unknown_rank
+
+
+def _normalize_path(path):
+    return os.path.normcase(os.path.abspath(path))
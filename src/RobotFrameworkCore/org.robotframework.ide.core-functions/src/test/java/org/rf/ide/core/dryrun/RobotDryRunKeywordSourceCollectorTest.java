@@ -52,6 +52,25 @@ public class RobotDryRunKeywordSourceCollectorTest {
         assertCollectedKeywordSource(kwSourceCollector.getKeywordSources().get(2), kw3);
     }
 
+    @Test
+    public void keywordSourcesCollectedByOtherCollectorsAreMerged() throws Exception {
+        final RobotDryRunKeywordSourceCollector kwSourceCollector = new RobotDryRunKeywordSourceCollector();
+        final RobotDryRunKeywordSourceCollector otherCollector1 = new RobotDryRunKeywordSourceCollector();
+        final RobotDryRunKeywordSourceCollector otherCollector2 = new RobotDryRunKeywordSourceCollector();
+
+        otherCollector1.collectFromMessageEvent(createKeywordMessage("kw1", "lib1", "lib1.py", 3, 5, 7));
+        otherCollector2.collectFromMessageEvent(createKeywordMessage("kw2", "lib2", "lib2.py", 5, 6, 4));
+
+        kwSourceCollector.merge(otherCollector1);
+        kwSourceCollector.merge(otherCollector2);
+
+        assertThat(kwSourceCollector.getKeywordSources()).hasSize(2);
+        assertCollectedKeywordSource(kwSourceCollector.getKeywordSources().get(0),
+                otherCollector1.getKeywordSources().get(0));
+        assertCollectedKeywordSource(kwSourceCollector.getKeywordSources().get(1),
+                otherCollector2.getKeywordSources().get(0));
+    }
+
     private static String createKeywordMessage(final String name, final String libraryName, final String path,
             final int line, final int offset, final int length) throws Exception {
         final Object kwAttributes = ImmutableMap.builder()
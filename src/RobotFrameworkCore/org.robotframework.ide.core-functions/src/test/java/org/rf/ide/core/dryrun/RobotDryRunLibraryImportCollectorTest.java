@@ -153,6 +153,84 @@ public class RobotDryRunLibraryImportCollectorTest {
         assertCollectedLibraryImport(libImportCollector.getImportedLibraries().get(5), lib6, DryRunLibraryType.PYTHON);
     }
 
+    @Test
+    public void importsCollectedByOtherCollectorsAreMerged() throws Exception {
+        final RobotDryRunLibraryImportCollector libImportCollector = new RobotDryRunLibraryImportCollector(
+                ImmutableSet.of());
+        final RobotDryRunLibraryImportCollector otherCollector1 = new RobotDryRunLibraryImportCollector(
+                ImmutableSet.of());
+        final RobotDryRunLibraryImportCollector otherCollector2 = new RobotDryRunLibraryImportCollector(
+                ImmutableSet.of());
+
+        otherCollector1.collectFromLibraryImportEvent(new LibraryImportEvent("lib1", new URI("file:///suite1.robot"),
+                new URI("file:///lib1.py"), Arrays.asList()));
+        otherCollector1.collectFromLibraryImportEvent(new LibraryImportEvent("lib2", new URI("file:///suite1.robot"),
+                new URI("file:///lib2.py"), Arrays.asList()));
+        otherCollector2.collectFromLibraryImportEvent(new LibraryImportEvent("lib1", new URI("file:///suite2.robot"),
+                new URI("file:///lib1.py"), Arrays.asList()));
+        otherCollector2.collectFromErrorMessageEvent(createErrorMessage("lib3", "/suite2.robot"));
+
+        libImportCollector.merge(otherCollector1);
+        libImportCollector.merge(otherCollector2);
+
+        final RobotDryRunLibraryImport lib1 = new RobotDryRunLibraryImport("lib1", new URI("file:///lib1.py"),
+                new URI("file:///suite1.robot"), Arrays.asList());
+        lib1.addImporterPath(new URI("file:///suite2.robot"));
+
+        final RobotDryRunLibraryImport lib2 = new RobotDryRunLibraryImport("lib2", new URI("file:///lib2.py"),
+                new URI("file:///suite1.robot"), Arrays.asList());
+
+        final RobotDryRunLibraryImport lib3 = new RobotDryRunLibraryImport("lib3", null,
+                new URI("file:///suite2.robot"), Arrays.asList());
+        lib3.setStatus(DryRunLibraryImportStatus.NOT_ADDED);
+        lib3.setAdditionalInfo("Error in file '/suite2.robot': Test library 'lib3' does not exist.");
+
+        assertThat(libImportCollector.getImportedLibraries()).hasSize(3);
+        assertCollectedLibraryImport(libImportCollector.getImportedLibraries().get(0), lib1, DryRunLibraryType.PYTHON);
+        assertCollectedLibraryImport(libImportCollector.getImportedLibraries().get(1), lib2, DryRunLibraryType.PYTHON);
+        assertCollectedLibraryImport(libImportCollector.getImportedLibraries().get(2), lib3, DryRunLibraryType.UNKNOWN);
+    }
+
+    @Test
+    public void mergedImportsAreCopied_soTheyCanBeChangedIndependently() throws Exception {
+        final RobotDryRunLibraryImportCollector libImportCollector = new RobotDryRunLibraryImportCollector(
+                ImmutableSet.of());
+        final RobotDryRunLibraryImportCollector otherCollector = new RobotDryRunLibraryImportCollector(
+                ImmutableSet.of());
+
+        otherCollector.collectFromLibraryImportEvent(new LibraryImportEvent("lib", new URI("file:///suite.robot"),
+                new URI("file:///lib.py"), Arrays.asList()));
+
+        libImportCollector.merge(otherCollector);
+        libImportCollector.getImportedLibraries().get(0).setStatus(DryRunLibraryImportStatus.ALREADY_EXISTING);
+
+        assertThat(otherCollector.getImportedLibraries().get(0).getStatus())
+                .isEqualTo(DryRunLibraryImportStatus.ADDED);
+    }
+
+    @Test
+    public void failedImportRemainsFailed_whenMergedWithSuccessfulOne() throws Exception {
+        final RobotDryRunLibraryImportCollector libImportCollector = new RobotDryRunLibraryImportCollector(
+                ImmutableSet.of());
+        final RobotDryRunLibraryImportCollector otherCollector = new RobotDryRunLibraryImportCollector(
+                ImmutableSet.of());
+
+        libImportCollector.collectFromErrorMessageEvent(createErrorMessage("lib", "/suite1.robot"));
+        otherCollector.collectFromLibraryImportEvent(new LibraryImportEvent("lib", new URI("file:///suite2.robot"),
+                null, Arrays.asList()));
+
+        libImportCollector.merge(otherCollector);
+
+        final RobotDryRunLibraryImport lib = new RobotDryRunLibraryImport("lib", null,
+                new URI("file:///suite1.robot"), Arrays.asList());
+        lib.addImporterPath(new URI("file:///suite2.robot"));
+        lib.setStatus(DryRunLibraryImportStatus.NOT_ADDED);
+        lib.setAdditionalInfo("Error in file '/suite1.robot': Test library 'lib' does not exist.");
+
+        assertThat(libImportCollector.getImportedLibraries()).hasSize(1);
+        assertCollectedLibraryImport(libImportCollector.getImportedLibraries().get(0), lib, DryRunLibraryType.UNKNOWN);
+    }
+
     private static String createFailMessage(final String libName) {
         return "{LIB_ERROR: " + libName + ", value: VALUE_START((Importing test library " + libName
                 + " failed))VALUE_END, lib_file_import:None}";
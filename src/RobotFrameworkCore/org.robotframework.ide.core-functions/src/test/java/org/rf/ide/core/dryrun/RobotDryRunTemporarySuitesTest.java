@@ -33,4 +33,28 @@ public class RobotDryRunTemporarySuitesTest {
         assertThat(lines).containsExactly("*** Test Cases ***", "T1", "*** Settings ***", "Library  lib_1",
                 "Library  lib_2", "Library  lib_3");
     }
+
+    @Test
+    public void suitesOfDifferentOwnersAreCreatedInSeparateDirectories() throws Exception {
+        final File resourceFile = RobotDryRunTemporarySuites.createResourceFile("owner_1", Arrays.asList("res"));
+        final File libraryFile = RobotDryRunTemporarySuites.createLibraryFile("owner_2", Arrays.asList("lib"));
+
+        assertThat(resourceFile.getParentFile().getName()).isEqualTo("owner_1");
+        assertThat(libraryFile.getParentFile().getName()).isEqualTo("owner_2");
+        assertThat(resourceFile.getName()).isEqualTo(libraryFile.getName());
+        assertThat(Files.readLines(resourceFile, StandardCharsets.UTF_8)).containsExactly("*** Test Cases ***", "T1",
+                "*** Settings ***", "Resource  res");
+        assertThat(Files.readLines(libraryFile, StandardCharsets.UTF_8)).containsExactly("*** Test Cases ***", "T1",
+                "*** Settings ***", "Library  lib");
+    }
+
+    @Test
+    public void suiteOfSameOwnerIsCreatedAtSameLocation_soThatItsDryRunResultsCanBeCached() throws Exception {
+        final File firstFile = RobotDryRunTemporarySuites.createLibraryFile("owner", Arrays.asList("lib_1"));
+        final File secondFile = RobotDryRunTemporarySuites.createLibraryFile("owner", Arrays.asList("lib_2"));
+
+        assertThat(secondFile).isEqualTo(firstFile);
+        assertThat(Files.readLines(secondFile, StandardCharsets.UTF_8)).containsExactly("*** Test Cases ***", "T1",
+                "*** Settings ***", "Library  lib_2");
+    }
 }
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2017 Nokia Solutions and Networks
+ * Licensed under the Apache License, Version 2.0,
+ * see license.txt file for details.
+ */
+package org.rf.ide.core.execution.history;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.rf.ide.core.execution.agent.Status;
+import org.rf.ide.core.execution.history.TestsExecutionHistory.TestExecution;
+
+public class TestsExecutionHistoryTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void lastExecutionsAreAvailable_afterHistoryIsOpenedAgain() throws Exception {
+        final File file = new File(folder.getRoot(), "history.bin");
+        final TestsExecutionHistory history = TestsExecutionHistory.open(file);
+        history.testExecuted("/project/suite.robot", "test 1", Status.FAIL, 100);
+        history.testExecuted("/project/suite.robot", "test 2", Status.PASS, 200);
+        history.testExecuted("/project/suite.robot", "test 1", Status.PASS, 300);
+        history.close();
+
+        final TestsExecutionHistory reopenedHistory = TestsExecutionHistory.open(file);
+        final TestExecution execution = reopenedHistory.getLastExecution("/project/suite.robot", "test 1").get();
+        assertThat(execution.getStatus()).isEqualTo(Status.PASS);
+        assertThat(execution.getElapsedTime()).isEqualTo(300);
+        assertThat(reopenedHistory.getLastExecution("/project/suite.robot", "test 2").get().getElapsedTime())
+                .isEqualTo(200);
+        assertThat(reopenedHistory.getLastExecution("/project/other.robot", "test 1").isPresent()).isFalse();
+        assertThat(reopenedHistory.getNumberOfRecords()).isEqualTo(4);
+        reopenedHistory.close();
+    }
+
+    @Test
+    public void incompleteRecordIsDropped_whenHistoryIsOpened() throws Exception {
+        final File file = new File(folder.getRoot(), "history.bin");
+        final TestsExecutionHistory history = TestsExecutionHistory.open(file);
+        history.testExecuted("/project/suite.robot", "test 1", Status.FAIL, 100);
+        history.testExecuted("/project/suite.robot", "test 2", Status.PASS, 200);
+        history.close();
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.setLength(raf.length() - 2);
+        }
+
+        final TestsExecutionHistory reopenedHistory = TestsExecutionHistory.open(file);
+        reopenedHistory.testExecuted("/project/suite.robot", "test 3", Status.PASS, 300);
+        reopenedHistory.close();
+
+        final TestsExecutionHistory finalHistory = TestsExecutionHistory.open(file);
+        assertThat(finalHistory.getLastExecution("/project/suite.robot", "test 1").isPresent()).isTrue();
+        assertThat(finalHistory.getLastExecution("/project/suite.robot", "test 2").isPresent()).isFalse();
+        assertThat(finalHistory.getLastExecution("/project/suite.robot", "test 3").isPresent()).isTrue();
+        finalHistory.close();
+    }
+
+    @Test
+    public void outdatedRecordsAreRemoved_whenThereAreTooManyOfThem() throws Exception {
+        final File file = new File(folder.getRoot(), "history.bin");
+        final TestsExecutionHistory history = TestsExecutionHistory.open(file);
+        for (int i = 0; i < 2000; i++) {
+            history.testExecuted("/project/suite.robot", "test", Status.PASS, i);
+        }
+        history.close();
+
+        final TestsExecutionHistory reopenedHistory = TestsExecutionHistory.open(file);
+        assertThat(reopenedHistory.getNumberOfRecords()).isEqualTo(2);
+        assertThat(reopenedHistory.getLastExecution("/project/suite.robot", "test").get().getElapsedTime())
+                .isEqualTo(1999);
+        reopenedHistory.close();
+    }
+
+    @Test
+    public void onlyExecutionsOfTestsFromGivenLocationAreReturned() throws Exception {
+        final TestsExecutionHistory history = TestsExecutionHistory.open(new File(folder.getRoot(), "history.bin"));
+        final File project = new File(folder.getRoot(), "project");
+        history.testExecuted(new File(project, "suite.robot").getAbsolutePath(), "test 1", Status.PASS, 1);
+        history.testExecuted(new File(project, "dir/suite.robot").getAbsolutePath(), "test 2", Status.PASS, 1);
+        history.testExecuted(new File(folder.getRoot(), "project2/suite.robot").getAbsolutePath(), "test 3",
+                Status.PASS, 1);
+
+        assertThat(history.getLastExecutions(project)).extracting(TestExecution::getTestName)
+                .containsOnly("test 1", "test 2");
+        assertThat(history.getLastExecutions(new File(project, "suite.robot"))).extracting(TestExecution::getTestName)
+                .containsOnly("test 1");
+        history.close();
+    }
+}
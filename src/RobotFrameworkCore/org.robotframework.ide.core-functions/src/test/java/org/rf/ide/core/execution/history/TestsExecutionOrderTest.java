@@ -0,0 +1,34 @@
+/*
+ * Copyright 2017 Nokia Solutions and Networks
+ * Licensed under the Apache License, Version 2.0,
+ * see license.txt file for details.
+ */
+package org.rf.ide.core.execution.history;
+
+import static com.google.common.collect.Lists.newArrayList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.Test;
+import org.rf.ide.core.execution.agent.Status;
+import org.rf.ide.core.execution.history.TestsExecutionHistory.TestExecution;
+
+public class TestsExecutionOrderTest {
+
+    @Test
+    public void failedTestsAreFirst_andRestOfTestsAreOrderedFromTheSlowest() throws Exception {
+        final TestsExecutionOrder order = TestsExecutionOrder.failedFirstThenSlowest(newArrayList(
+                new TestExecution("/a.robot", "fast", Status.PASS, 10),
+                new TestExecution("/a.robot", "failed fast", Status.FAIL, 20),
+                new TestExecution("/b.robot", "slow", Status.PASS, 300),
+                new TestExecution("/b.robot", "failed slow", Status.FAIL, 400)));
+
+        assertThat(order.isEmpty()).isFalse();
+        assertThat(order.generateLines()).containsExactly("/b.robot\tfailed slow", "/a.robot\tfailed fast",
+                TestsExecutionOrder.UNKNOWN_TESTS_MARKER, "/b.robot\tslow", "/a.robot\tfast");
+    }
+
+    @Test
+    public void orderIsEmpty_whenThereAreNoKnownExecutions() throws Exception {
+        assertThat(TestsExecutionOrder.failedFirstThenSlowest(newArrayList()).isEmpty()).isTrue();
+    }
+}
@@ -5,10 +5,13 @@
  */
 package org.rf.ide.core.execution.server;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockingDetails;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.verifyZeroInteractions;
@@ -21,6 +24,9 @@ import java.net.BindException;
 import java.net.ServerSocket;
 import java.net.Socket;
 import java.net.SocketTimeoutException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 
 import org.codehaus.jackson.map.ObjectMapper;
@@ -29,6 +35,7 @@ import org.rf.ide.core.execution.agent.RobotAgentEventListener;
 import org.rf.ide.core.execution.agent.RobotAgentEventListener.RobotAgentEventsListenerException;
 
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
 
 public class AgentConnectionServerTest {
 
@@ -224,6 +231,142 @@ public class AgentConnectionServerTest {
         verifyZeroInteractions(serverStatusListener);
     }
 
+    @Test
+    public void connectionTimeoutErrorIsHandledByListener_whenNoneOfMultipleClientsConnects() throws Exception {
+        final String host = "127.0.0.1";
+        final int port = findFreePort();
+
+        final AgentServerStatusListener serverStatusListener = mock(AgentServerStatusListener.class);
+
+        final AgentConnectionServer server = new AgentConnectionServer(host, port, 100, TimeUnit.MILLISECONDS);
+        server.addStatusListener(serverStatusListener);
+        server.start(3, () -> new ArrayList<>());
+
+        verify(serverStatusListener).serverEstablished(host, port);
+        verify(serverStatusListener).clientConnectionTimedOut(any(SocketTimeoutException.class));
+        verifyNoMoreInteractions(serverStatusListener);
+    }
+
+    @Test(timeout = 10_000)
+    public void eventsOfEveryClientAreHandledByListenersSuppliedForThisClient_whenMultipleClientsConnect()
+            throws Exception {
+        final String host = "127.0.0.1";
+        final int port = findFreePort();
+
+        final AgentServerStatusListener serverStatusListener = mock(AgentServerStatusListener.class);
+        final List<RobotAgentEventListener> robotEventListeners = Collections.synchronizedList(new ArrayList<>());
+
+        final AgentConnectionServer server = new AgentConnectionServer(host, port);
+        server.addStatusListener(serverStatusListener);
+
+        final Thread serverThread = new Thread(() -> {
+            try {
+                server.start(3, () -> {
+                    final RobotAgentEventListener listener = mock(RobotAgentEventListener.class);
+                    when(listener.isHandlingEvents()).thenReturn(true);
+                    robotEventListeners.add(listener);
+                    return Lists.newArrayList(listener);
+                });
+            } catch (final IOException e1) {
+            }
+        });
+        serverThread.start();
+        server.waitForServerToSetup();
+
+        final List<Thread> clientThreads = new ArrayList<>();
+        for (int i = 1; i <= 3; i++) {
+            final int numberOfEvents = 100 * i;
+            final Thread clientThread = new Thread(() -> {
+                try (final Socket clientSocket = connect(host, port);) {
+                    try (BufferedWriter writer = new BufferedWriter(
+                            new OutputStreamWriter(clientSocket.getOutputStream()))) {
+                        final Object msgObject = ImmutableMap.of("paused", 0);
+                        for (int j = 0; j < numberOfEvents; j++) {
+                            writer.write(new ObjectMapper().writeValueAsString(msgObject) + "\n");
+                        }
+                        writer.write(new ObjectMapper().writeValueAsString(ImmutableMap.of("close", 0)));
+                    }
+                } catch (final Exception e) {
+                }
+            });
+            clientThread.start();
+            clientThreads.add(clientThread);
+        }
+        for (final Thread clientThread : clientThreads) {
+            clientThread.join();
+        }
+        serverThread.join();
+
+        verify(serverStatusListener).serverEstablished(host, port);
+        verify(serverStatusListener, times(3)).clientConnected(anyInt());
+        verify(serverStatusListener, times(3)).clientConnectionClosed(anyInt());
+        verifyNoMoreInteractions(serverStatusListener);
+
+        assertThat(robotEventListeners).hasSize(3);
+        final List<Long> handledEvents = new ArrayList<>();
+        for (final RobotAgentEventListener listener : robotEventListeners) {
+            verify(listener).setClient(any(AgentClient.class));
+            verify(listener).handleClosed();
+            handledEvents.add(mockingDetails(listener).getInvocations()
+                    .stream()
+                    .filter(invocation -> invocation.getMethod().getName().equals("handlePaused"))
+                    .count());
+        }
+        assertThat(handledEvents).containsOnly(100L, 200L, 300L).doesNotHaveDuplicates();
+    }
+
+    @Test(timeout = 10_000)
+    public void eventHandlingErrorIsHandledByListener_whenEventsListenerOfOneOfMultipleClientsCannotHandleEvent()
+            throws Exception {
+        final String host = "127.0.0.1";
+        final int port = findFreePort();
+
+        final AgentServerStatusListener serverStatusListener = mock(AgentServerStatusListener.class);
+
+        final AgentConnectionServer server = new AgentConnectionServer(host, port);
+        server.addStatusListener(serverStatusListener);
+
+        final Thread serverThread = new Thread(() -> {
+            try {
+                server.start(1, () -> {
+                    final RobotAgentEventListener listener = mock(RobotAgentEventListener.class);
+                    when(listener.isHandlingEvents()).thenReturn(true);
+                    doThrow(RobotAgentEventsListenerException.class).when(listener).handleAgentIsReadyToStart();
+                    return Lists.newArrayList(listener);
+                });
+            } catch (final IOException e1) {
+            }
+        });
+        serverThread.start();
+        server.waitForServerToSetup();
+
+        try (final Socket clientSocket = connect(host, port);) {
+            try (BufferedWriter writer = new BufferedWriter(
+                    new OutputStreamWriter(clientSocket.getOutputStream()))) {
+                final Object msgObject = ImmutableMap.of("ready_to_start", 0);
+                writer.write(new ObjectMapper().writeValueAsString(msgObject));
+            }
+        }
+        serverThread.join();
+
+        verify(serverStatusListener).serverEstablished(host, port);
+        verify(serverStatusListener).clientConnected(anyInt());
+        verify(serverStatusListener).clientEventHandlingError(any(RobotAgentEventsListenerException.class));
+        verifyNoMoreInteractions(serverStatusListener);
+    }
+
+    private static Socket connect(final String host, final int port) throws Exception {
+        // server channel is bound after setup semaphore is released, so few attempts may be needed
+        for (int i = 0; i < 50; i++) {
+            try {
+                return new Socket(host, port);
+            } catch (final IOException e) {
+                Thread.sleep(20);
+            }
+        }
+        return new Socket(host, port);
+    }
+
     private static int findFreePort() throws IOException {
         try (ServerSocket socket = new ServerSocket(0)) {
             return socket.getLocalPort();
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2017 Nokia Solutions and Networks
+ * Licensed under the Apache License, Version 2.0,
+ * see license.txt file for details.
+ */
+package org.rf.ide.core.execution.server;
+
+import static com.google.common.collect.Lists.newArrayList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.codehaus.jackson.JsonParseException;
+import org.codehaus.jackson.JsonParser;
+import org.junit.Test;
+import org.rf.ide.core.execution.agent.LogLevel;
+import org.rf.ide.core.execution.agent.Status;
+import org.rf.ide.core.execution.agent.event.KeywordEndedEvent;
+import org.rf.ide.core.execution.agent.event.KeywordStartedEvent;
+import org.rf.ide.core.execution.agent.event.TestEndedEvent;
+import org.rf.ide.core.execution.agent.event.TestStartedEvent;
+import org.rf.ide.core.execution.server.AgentEventsDecoder.LogMessage;
+
+import com.google.common.collect.ImmutableMap;
+
+public class AgentEventsDecoderTest {
+
+    private final AgentEventsDecoder decoder = new AgentEventsDecoder();
+
+    @Test
+    public void eventTypeIsNotRead_whenJsonIsNotAnEvent() throws Exception {
+        assertThat(decoder.readEventType(decoder.createParser("{}"))).isNull();
+        assertThat(decoder.readEventType(decoder.createParser("[1, 2]"))).isNull();
+        assertThat(decoder.readEventType(decoder.createParser("\"text\""))).isNull();
+    }
+
+    @Test
+    public void keywordStartedEventIsDecoded_skippingUnusedAttributes() throws Exception {
+        final JsonParser parser = decoder.createParser("{\"start_keyword\": [\"kw\", {\"args\": [\"1\", {\"a\": []}], "
+                + "\"type\": \"Keyword\", \"doc\": \"\", \"libname\": \"lib\"}]}");
+
+        assertThat(decoder.readEventType(parser)).isEqualTo("start_keyword");
+        assertThat(decoder.readKeywordStarted(parser)).isEqualTo(new KeywordStartedEvent("kw", "Keyword", "lib"));
+    }
+
+    @Test
+    public void keywordEndedEventIsDecoded() throws Exception {
+        final JsonParser parser = decoder
+                .createParser("{\"end_keyword\": [\"kw\", {\"status\": \"PASS\", \"type\": \"Teardown\"}]}");
+
+        assertThat(decoder.readEventType(parser)).isEqualTo("end_keyword");
+        assertThat(decoder.readKeywordEnded(parser)).isEqualTo(new KeywordEndedEvent("kw", "Teardown"));
+    }
+
+    @Test
+    public void testStartedAndEndedEventsAreDecoded() throws Exception {
+        final JsonParser startParser = decoder
+                .createParser("{\"start_test\": [\"test\", {\"longname\": \"s.test\", \"tags\": [\"t1\"]}]}");
+        final JsonParser endParser = decoder.createParser("{\"end_test\": [\"test\", {\"longname\": \"s.test\", "
+                + "\"elapsedtime\": 42, \"message\": \"error\", \"status\": \"FAIL\", \"critical\": \"yes\"}]}");
+
+        assertThat(decoder.readEventType(startParser)).isEqualTo("start_test");
+        assertThat(decoder.readTestStarted(startParser)).isEqualTo(new TestStartedEvent("test", "s.test"));
+        assertThat(decoder.readEventType(endParser)).isEqualTo("end_test");
+        assertThat(decoder.readTestEnded(endParser))
+                .isEqualTo(new TestEndedEvent("test", "s.test", 42, Status.FAIL, "error"));
+    }
+
+    @Test
+    public void logMessageIsDecoded() throws Exception {
+        final JsonParser parser = decoder.createParser(
+                "{\"log_message\": [{\"message\": \"msg\", \"timestamp\": \"time\", \"level\": \"warn\"}]}");
+
+        assertThat(decoder.readEventType(parser)).isEqualTo("log_message");
+        final LogMessage message = decoder.readLogMessage(parser);
+        assertThat(message.message).isEqualTo("msg");
+        assertThat(message.timestamp).isEqualTo("time");
+        assertThat(message.level).isEqualTo(LogLevel.WARN);
+    }
+
+    @Test
+    public void nullAttributesAreDecodedAsNulls() throws Exception {
+        final JsonParser parser = decoder
+                .createParser("{\"start_keyword\": [\"kw\", {\"type\": \"Keyword\", \"libname\": null}]}");
+
+        decoder.readEventType(parser);
+        assertThat(decoder.readKeywordStarted(parser).getLibraryName()).isNull();
+    }
+
+    @Test
+    public void repeatedNamesArePooled() throws Exception {
+        final JsonParser parser1 = decoder.createParser("{\"start_keyword\": [\"kw\", {\"type\": \"Keyword\"}]}");
+        final JsonParser parser2 = decoder.createParser("{\"end_keyword\": [\"kw\", {\"type\": \"Keyword\"}]}");
+
+        decoder.readEventType(parser1);
+        final KeywordStartedEvent started = decoder.readKeywordStarted(parser1);
+        decoder.readEventType(parser2);
+        final KeywordEndedEvent ended = decoder.readKeywordEnded(parser2);
+
+        assertThat(ended.getName()).isSameAs(started.getName());
+        assertThat(ended.getKeywordType()).isSameAs(started.getKeywordType());
+    }
+
+    @Test
+    public void otherEventsAreReadAsMaps() throws Exception {
+        final JsonParser parser = decoder.createParser("{\"vars\": [\"vars\", {\"a\": \"1\", \"b\": [\"2\"]}]}");
+
+        final String eventType = decoder.readEventType(parser);
+
+        assertThat(decoder.readEventMap(eventType, parser)).isEqualTo(ImmutableMap.of("vars",
+                newArrayList("vars", ImmutableMap.of("a", "1", "b", newArrayList("2")))));
+    }
+
+    @Test(expected = JsonParseException.class)
+    public void exceptionIsThrown_whenEventArgumentsHaveUnexpectedStructure() throws Exception {
+        final JsonParser parser = decoder.createParser("{\"start_keyword\": {\"type\": \"Keyword\"}}");
+
+        decoder.readEventType(parser);
+        decoder.readKeywordStarted(parser);
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2017 Nokia Solutions and Networks
+ * Licensed under the Apache License, Version 2.0,
+ * see license.txt file for details.
+ */
+package org.rf.ide.core.execution.server;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.rf.ide.core.execution.agent.LogLevel;
+import org.rf.ide.core.execution.agent.RobotDefaultAgentEventListener;
+import org.rf.ide.core.execution.agent.event.KeywordEndedEvent;
+import org.rf.ide.core.execution.agent.event.KeywordStartedEvent;
+import org.rf.ide.core.execution.agent.event.TestEndedEvent;
+import org.rf.ide.core.execution.agent.event.TestStartedEvent;
+
+import com.google.common.io.Resources;
+
+/**
+ * Measures throughput of agent events dispatching by replaying recorded events stream of single
+ * suite many times, as if it was read from the agent connection. It is not run together with
+ * the tests; run its main method passing optionally the number of stream repetitions and the
+ * number of measured rounds.
+ */
+public class AgentEventsDecodingBenchmark {
+
+    private static final String RECORDED_EVENTS = "agent_events_stream.txt";
+
+    public static void main(final String[] args) throws Exception {
+        final int repetitions = args.length > 0 ? Integer.parseInt(args[0]) : 5_000;
+        final int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+
+        final List<String> recordedEvents = readRecordedEvents();
+        final byte[] stream = replay(recordedEvents, repetitions);
+        final int eventsCount = recordedEvents.size() * repetitions;
+        System.out.println(String.format("Replaying %d events, %d MB", eventsCount, stream.length >> 20));
+
+        // first round warms up
+        for (int round = 0; round <= rounds; round++) {
+            final CountingListener listener = new CountingListener();
+            final long start = System.nanoTime();
+            dispatch(stream, listener);
+            final long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+            System.out.println(String.format("%s: %d ms, %d events/s, %d keywords",
+                    round == 0 ? "warm-up" : "round " + round, elapsedMillis,
+                    eventsCount * 1000L / Math.max(elapsedMillis, 1), listener.keywordsStarted));
+        }
+    }
+
+    static List<String> readRecordedEvents() throws IOException {
+        return Resources.readLines(AgentEventsDecodingBenchmark.class.getResource(RECORDED_EVENTS),
+                StandardCharsets.UTF_8);
+    }
+
+    private static byte[] replay(final List<String> events, final int repetitions) throws IOException {
+        final ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        final byte[] recordedStream = (String.join("\n", events) + "\n").getBytes(StandardCharsets.UTF_8);
+        for (int i = 0; i < repetitions; i++) {
+            stream.write(recordedStream);
+        }
+        return stream.toByteArray();
+    }
+
+    static void dispatch(final byte[] stream, final RobotDefaultAgentEventListener listener) throws IOException {
+        final RobotAgentEventDispatcher dispatcher = new RobotAgentEventDispatcher(null, listener);
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(new ByteArrayInputStream(stream), StandardCharsets.UTF_8))) {
+            dispatcher.runEventsLoop(reader);
+        }
+    }
+
+    static class CountingListener extends RobotDefaultAgentEventListener {
+
+        int testsStarted;
+
+        int testsEnded;
+
+        int keywordsStarted;
+
+        int keywordsEnded;
+
+        int logMessages;
+
+        int closings;
+
+        @Override
+        public boolean isHandlingEvents() {
+            return true;
+        }
+
+        @Override
+        public void handleTestStarted(final TestStartedEvent event) {
+            testsStarted++;
+        }
+
+        @Override
+        public void handleTestEnded(final TestEndedEvent event) {
+            testsEnded++;
+        }
+
+        @Override
+        public void handleKeywordStarted(final KeywordStartedEvent event) {
+            keywordsStarted++;
+        }
+
+        @Override
+        public void handleKeywordEnded(final KeywordEndedEvent event) {
+            keywordsEnded++;
+        }
+
+        @Override
+        public void handleLogMessage(final String msg, final LogLevel level, final String timestamp) {
+            logMessages++;
+        }
+
+        @Override
+        public void handleClosed() {
+            closings++;
+        }
+    }
+}
@@ -6,6 +6,7 @@
 package org.rf.ide.core.execution.server;
 
 import static com.google.common.collect.Lists.newArrayList;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.nullable;
 import static org.mockito.Mockito.atLeast;
 import static org.mockito.Mockito.mock;
@@ -17,6 +18,7 @@ import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.StringReader;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
 import java.util.Map;
 
 import org.codehaus.jackson.map.ObjectMapper;
@@ -33,6 +35,7 @@ import org.rf.ide.core.execution.agent.event.SuiteEndedEvent;
 import org.rf.ide.core.execution.agent.event.SuiteStartedEvent;
 import org.rf.ide.core.execution.agent.event.TestEndedEvent;
 import org.rf.ide.core.execution.agent.event.TestStartedEvent;
+import org.rf.ide.core.execution.server.AgentEventsDecodingBenchmark.CountingListener;
 
 import com.google.common.collect.ImmutableMap;
 
@@ -74,6 +77,22 @@ public class RobotAgentEventDispatcherTest {
         verifyNoMoreInteractions(listener);
     }
 
+    @Test
+    public void eventsFollowingEmptyJsonObjectAreHandled() throws Exception {
+        final RobotAgentEventListener listener = mock(RobotAgentEventListener.class);
+        when(listener.isHandlingEvents()).thenReturn(true);
+
+        final RobotAgentEventDispatcher dispatcher = new RobotAgentEventDispatcher(null, listener);
+
+        final String json = "{}\n" + toJson(ImmutableMap.of("close", 0));
+        dispatcher.runEventsLoop(readerFor(json));
+
+        verify(listener).setClient(nullable(AgentClient.class));
+        verify(listener, atLeast(1)).isHandlingEvents();
+        verify(listener).handleClosed();
+        verifyNoMoreInteractions(listener);
+    }
+
     @Test
     public void listenerIsNotNotified_whenValidEventComesButListenerDoesNotHandleEventsAnymore() throws Exception {
         final RobotAgentEventListener listener = mock(RobotAgentEventListener.class);
@@ -512,6 +531,21 @@ public class RobotAgentEventDispatcherTest {
         verifyNoMoreInteractions(listener);
     }
 
+    @Test
+    public void allEventsOfRecordedStreamAreDispatched() throws Exception {
+        final CountingListener listener = new CountingListener();
+
+        final String stream = String.join("\n", AgentEventsDecodingBenchmark.readRecordedEvents());
+        AgentEventsDecodingBenchmark.dispatch(stream.getBytes(StandardCharsets.UTF_8), listener);
+
+        assertThat(listener.testsStarted).isEqualTo(3);
+        assertThat(listener.testsEnded).isEqualTo(3);
+        assertThat(listener.keywordsStarted).isEqualTo(60);
+        assertThat(listener.keywordsEnded).isEqualTo(60);
+        assertThat(listener.logMessages).isEqualTo(45);
+        assertThat(listener.closings).isEqualTo(1);
+    }
+
     private static String toJson(final Object object) throws Exception {
         return new ObjectMapper().writeValueAsString(object);
     }
@@ -0,0 +1,143 @@
+/*
+ * Copyright 2017 Nokia Solutions and Networks
+ * Licensed under the Apache License, Version 2.0,
+ * see license.txt file for details.
+ */
+package org.rf.ide.core.executor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.File;
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.rf.ide.core.executor.RobotRuntimeEnvironment.PythonInstallationDirectory;
+
+public class PythonInterpretersCommandExecutorsTest {
+
+    private PythonInterpretersCommandExecutors executors;
+
+    private PythonInstallationDirectory interpreterPath;
+
+    @Before
+    public void beforeTest() {
+        executors = new PythonInterpretersCommandExecutors(new File("robot_session_server.py"));
+
+        interpreterPath = mock(PythonInstallationDirectory.class);
+        when(interpreterPath.toPath()).thenReturn(Paths.get("/x/y/z"));
+        when(interpreterPath.getInterpreter()).thenReturn(SuiteExecutor.Python);
+    }
+
+    @Test
+    public void startedIdleSessionsAreReservedFirst_andThenTheLowestFreeSessions() {
+        putExecutor(0, 0, 0);
+        putExecutor(1, 0, 0);
+        putExecutor(2, 0, 0);
+
+        assertThat(executors.reserveSession(interpreterPath)).isEqualTo(1);
+        assertThat(executors.reserveSession(interpreterPath)).isEqualTo(2);
+        assertThat(executors.reserveSession(interpreterPath)).isEqualTo(3);
+        assertThat(executors.reserveSession(interpreterPath)).isEqualTo(4);
+    }
+
+    @Test
+    public void sessionsOfBusyOrDeadServersAreNotReserved_whenIdleServerIsStarted() {
+        putExecutor(0, 0, 0);
+        putExecutor(1, 2, 0);
+        putDeadExecutor(2);
+        putExecutor(3, 0, 0);
+
+        assertThat(executors.reserveSession(interpreterPath)).isEqualTo(3);
+        assertThat(executors.reserveSession(interpreterPath)).isEqualTo(2);
+    }
+
+    @Test
+    public void releasedSessionIsReservedAgain() {
+        putExecutor(0, 0, 0);
+        putExecutor(1, 0, 0);
+
+        final int sessionIndex = executors.reserveSession(interpreterPath);
+        executors.releaseSession(interpreterPath, sessionIndex);
+
+        assertThat(executors.reserveSession(interpreterPath)).isEqualTo(sessionIndex);
+    }
+
+    @Test
+    public void sessionLessCommandsAreNeverSentToReservedSessions() {
+        final RobotCommandRpcExecutor defaultExecutor = putExecutor(0, 3, 0);
+        final RobotCommandRpcExecutor sessionExecutor = putExecutor(1, 0, 0);
+
+        assertThat(executors.getRobotCommandExecutor(interpreterPath)).isSameAs(sessionExecutor);
+
+        final int sessionIndex = executors.reserveSession(interpreterPath);
+        assertThat(executors.getRobotCommandExecutor(interpreterPath)).isSameAs(defaultExecutor);
+        assertThat(executors.getRobotCommandExecutor(interpreterPath, sessionIndex)).isSameAs(sessionExecutor);
+
+        executors.releaseSession(interpreterPath, sessionIndex);
+        assertThat(executors.getRobotCommandExecutor(interpreterPath)).isSameAs(sessionExecutor);
+    }
+
+    @Test
+    public void serverOfReservedSessionIsKilledOnRelease_whenResetWasRequestedWhileReserved() {
+        final RobotCommandRpcExecutor defaultExecutor = putExecutor(0, 0, 0);
+        final RobotCommandRpcExecutor reservedExecutor = putExecutor(1, 0, 0);
+        final RobotCommandRpcExecutor otherExecutor = putExecutor(2, 0, 0);
+
+        final int sessionIndex = executors.reserveSession(interpreterPath);
+        executors.resetExecutorFor(interpreterPath);
+
+        verify(defaultExecutor).kill();
+        verify(otherExecutor).kill();
+        verify(reservedExecutor, never()).kill();
+
+        executors.releaseSession(interpreterPath, sessionIndex);
+
+        verify(reservedExecutor).kill();
+    }
+
+    @Test
+    public void idleServersOfNotReservedSessionsAndDeadServersAreReaped() {
+        final long longIdleTime = TimeUnit.SECONDS.toMillis(RedSystemProperties.getSessionIdleTimeout()) + 1;
+        final RobotCommandRpcExecutor defaultExecutor = putExecutor(0, 0, longIdleTime);
+        final RobotCommandRpcExecutor reservedExecutor = putExecutor(1, 0, longIdleTime);
+        final RobotCommandRpcExecutor idleExecutor = putExecutor(2, 0, longIdleTime);
+        final RobotCommandRpcExecutor busyExecutor = putExecutor(3, 1, longIdleTime);
+        final RobotCommandRpcExecutor recentlyUsedExecutor = putExecutor(4, 0, 0);
+        putDeadExecutor(5);
+
+        assertThat(executors.reserveSession(interpreterPath)).isEqualTo(1);
+        executors.maintainExecutors();
+
+        verify(idleExecutor).kill();
+        verify(defaultExecutor, never()).kill();
+        verify(reservedExecutor, never()).kill();
+        verify(busyExecutor, never()).kill();
+        verify(recentlyUsedExecutor, never()).kill();
+
+        // sessions of reaped servers are free to be reserved again, after the idle started ones
+        assertThat(executors.reserveSession(interpreterPath)).isEqualTo(4);
+        assertThat(executors.reserveSession(interpreterPath)).isEqualTo(2);
+        assertThat(executors.reserveSession(interpreterPath)).isEqualTo(5);
+    }
+
+    private RobotCommandRpcExecutor putExecutor(final int sessionIndex, final int activeCalls, final long idleTime) {
+        final RobotCommandRpcExecutor executor = mock(RobotCommandRpcExecutor.class);
+        when(executor.isAlive()).thenReturn(true);
+        when(executor.getActiveCalls()).thenReturn(activeCalls);
+        when(executor.getIdleTime()).thenReturn(idleTime);
+        executors.putExecutor(interpreterPath, sessionIndex, executor);
+        return executor;
+    }
+
+    private void putDeadExecutor(final int sessionIndex) {
+        final RobotCommandRpcExecutor executor = mock(RobotCommandRpcExecutor.class);
+        when(executor.isAlive()).thenReturn(false);
+        executors.putExecutor(interpreterPath, sessionIndex, executor);
+    }
+}
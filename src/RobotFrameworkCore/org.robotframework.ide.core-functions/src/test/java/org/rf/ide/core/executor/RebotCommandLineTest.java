@@ -0,0 +1,46 @@
+/*
+ * Copyright 2017 Nokia Solutions and Networks
+ * Licensed under the Apache License, Version 2.0,
+ * see license.txt file for details.
+ */
+package org.rf.ide.core.executor;
+
+import static com.google.common.collect.Lists.newArrayList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.util.ArrayList;
+
+import org.junit.Test;
+import org.rf.ide.core.executor.RunCommandLineCallBuilder.RunCommandLine;
+
+public class RebotCommandLineTest {
+
+    @Test
+    public void outputsAreCombinedIntoGivenDirectory() {
+        final File dir = new File("out");
+        final File output1 = new File("w1", "output.xml");
+        final File output2 = new File("w2", "output.xml");
+
+        final RunCommandLine cmdLine = RebotCommandLine.combineOutputs("python", "Project", dir,
+                new ArrayList<>(), newArrayList(output1, output2));
+
+        assertThat(cmdLine.getCommandLine()).containsExactly("python", "-m", "robot.rebot", "--name", "Project",
+                "--outputdir", dir.getAbsolutePath(), "--output", "output.xml", output1.getAbsolutePath(),
+                output2.getAbsolutePath());
+        assertThat(cmdLine.getArgumentFile().isPresent()).isFalse();
+    }
+
+    @Test
+    public void givenOutputsNamesAreUsedForCombinedOutputs() {
+        final File dir = new File("out");
+        final File output = new File("w1", "output.xml");
+
+        final RunCommandLine cmdLine = RebotCommandLine.combineOutputs("python", "Project", dir,
+                newArrayList("--output", "combined.xml", "--log", "NONE"), newArrayList(output));
+
+        assertThat(cmdLine.getCommandLine()).containsExactly("python", "-m", "robot.rebot", "--name", "Project",
+                "--outputdir", dir.getAbsolutePath(), "--output", "output.xml", "--output", "combined.xml", "--log",
+                "NONE", output.getAbsolutePath());
+    }
+}
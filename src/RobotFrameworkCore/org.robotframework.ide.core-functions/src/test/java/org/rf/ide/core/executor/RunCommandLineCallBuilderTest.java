@@ -14,6 +14,9 @@ import java.io.File;
 import java.io.IOException;
 
 import org.junit.Test;
+import org.rf.ide.core.execution.agent.Status;
+import org.rf.ide.core.execution.history.TestsExecutionHistory.TestExecution;
+import org.rf.ide.core.execution.history.TestsExecutionOrder;
 import org.rf.ide.core.executor.RunCommandLineCallBuilder.RunCommandLine;
 
 public class RunCommandLineCallBuilderTest {
@@ -378,6 +381,43 @@ public class RunCommandLineCallBuilderTest {
                 "t1", "-t", "t2");
     }
 
+    @Test
+    public void testCallWithTestsExecutionOrderInArgumentFile_withRuntimeEnvironment_argsFile() throws IOException {
+        final RobotRuntimeEnvironment env = prepareEnvironment(SuiteExecutor.Python, "/x/y/z/python");
+
+        final RunCommandLine cmdLine = RunCommandLineCallBuilder.forEnvironment(env, 12345)
+                .useArgumentFile(true)
+                .testsExecutionOrder(TestsExecutionOrder
+                        .failedFirstThenSlowest(newArrayList(new TestExecution("/suite.robot", "t", Status.FAIL, 1))))
+                .build();
+        assertThat(cmdLine.getArgumentFile().get().generateContent()).containsPattern(
+                "--prerunmodifier .*TestsExecutionOrder\\.py;.*tests_order_.*\\.txt");
+    }
+
+    @Test
+    public void testCallWithTestsExecutionOrder_withRuntimeEnvironment_argsInline() throws IOException {
+        final RobotRuntimeEnvironment env = prepareEnvironment(SuiteExecutor.Python, "/x/y/z/python");
+
+        final RunCommandLine cmdLine = RunCommandLineCallBuilder.forEnvironment(env, 12345)
+                .useArgumentFile(false)
+                .testsExecutionOrder(TestsExecutionOrder
+                        .failedFirstThenSlowest(newArrayList(new TestExecution("/suite.robot", "t", Status.PASS, 1))))
+                .build();
+        assertThat(cmdLine.getCommandLine()).hasSize(7).containsSubsequence("/x/y/z/python", "-m", "robot.run",
+                "--listener", "--prerunmodifier");
+    }
+
+    @Test
+    public void testCallWithoutTestsExecutionOrder_whenThereAreNoKnownTests() throws IOException {
+        final RobotRuntimeEnvironment env = prepareEnvironment(SuiteExecutor.Python, "/x/y/z/python");
+
+        final RunCommandLine cmdLine = RunCommandLineCallBuilder.forEnvironment(env, 12345)
+                .useArgumentFile(false)
+                .testsExecutionOrder(TestsExecutionOrder.failedFirstThenSlowest(newArrayList()))
+                .build();
+        assertThat(cmdLine.getCommandLine()).hasSize(5).doesNotContain("--prerunmodifier");
+    }
+
     @Test
     public void testCallWithIncludedTagsInArgumentFile_withRuntimeEnvironment_argsFile() throws IOException {
         final RobotRuntimeEnvironment env = prepareEnvironment(SuiteExecutor.Python, "/x/y/z/python");
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2017 Nokia Solutions and Networks
+ * Licensed under the Apache License, Version 2.0,
+ * see license.txt file for details.
+ */
+package org.rf.ide.core.executor;
+
+import static com.google.common.collect.Lists.newArrayList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableMap;
+
+public class TestsShardingTest {
+
+    @Test(expected = IllegalArgumentException.class)
+    public void exceptionIsThrown_whenNumberOfShardsIsNotPositive() {
+        TestsSharding.split(newArrayList("a"), item -> 1, 0);
+    }
+
+    @Test
+    public void noShardsAreCreated_whenThereAreNoItems() {
+        assertThat(TestsSharding.split(newArrayList(), item -> 1, 4)).isEmpty();
+    }
+
+    @Test
+    public void everyItemIsInSeparateShard_whenThereAreLessItemsThanShards() {
+        final List<List<String>> shards = TestsSharding.split(newArrayList("a", "b"), item -> 1, 4);
+
+        assertThat(shards).containsExactly(newArrayList("a"), newArrayList("b"));
+    }
+
+    @Test
+    public void itemsAreDistributedEvenly_whenDurationsAreEqual() {
+        final List<List<String>> shards = TestsSharding.split(newArrayList("a", "b", "c", "d", "e"), item -> 1, 2);
+
+        assertThat(shards).containsExactly(newArrayList("a", "c", "e"), newArrayList("b", "d"));
+    }
+
+    @Test
+    public void shardsAreBalancedByDuration() {
+        final Map<String, Integer> durations = ImmutableMap.<String, Integer> builder()
+                .put("a", 10)
+                .put("b", 70)
+                .put("c", 20)
+                .put("d", 30)
+                .put("e", 40)
+                .build();
+
+        final List<List<String>> shards = TestsSharding.split(newArrayList("a", "b", "c", "d", "e"),
+                durations::get, 2);
+
+        assertThat(shards).containsExactly(newArrayList("b", "c"), newArrayList("e", "d", "a"));
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright 2017 Nokia Solutions and Networks
+ * Licensed under the Apache License, Version 2.0,
+ * see license.txt file for details.
+ */
+package org.rf.ide.core.fileWatcher;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class RedFileWatcherTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final RedFileWatcher watcher = new RedFileWatcher(300, 5000);
+
+    @After
+    public void afterTest() {
+        watcher.closeWatchService();
+    }
+
+    @Test
+    public void filesWithSameNameInDifferentDirectoriesAreDistinguished() throws Exception {
+        final File utils1 = createFile("lib1/utils.py");
+        final File utils2 = createFile("lib2/utils.py");
+        final BatchesCollector handler1 = new BatchesCollector();
+        final BatchesCollector handler2 = new BatchesCollector();
+        watcher.registerPath(utils1.toPath(), handler1);
+        watcher.registerPath(utils2.toPath(), handler2);
+
+        write(utils1, "changed");
+
+        assertThat(handler1.nextBatch()).containsOnly(utils1.toPath());
+        assertThat(handler2.nextBatch()).isNull();
+    }
+
+    @Test
+    public void burstOfChangesIsReportedAsSingleBatch() throws Exception {
+        final File dir = folder.newFolder("lib");
+        final File init = createFile("lib/__init__.py");
+        final BatchesCollector handler = new BatchesCollector();
+        watcher.registerPath(dir.toPath(), handler);
+
+        write(init, "changed");
+        final File added = createFile("lib/added.py");
+        Files.delete(init.toPath());
+
+        assertThat(handler.nextBatch()).contains(init.toPath(), added.toPath());
+        assertThat(handler.nextBatch()).isNull();
+    }
+
+    @Test
+    public void directoriesCreatedInsideRegisteredTreeAreWatched() throws Exception {
+        final File dir = folder.newFolder("lib");
+        final BatchesCollector handler = new BatchesCollector();
+        watcher.registerPath(dir.toPath(), handler);
+
+        final File subdir = new File(dir, "sub");
+        subdir.mkdir();
+        assertThat(handler.nextBatch()).containsOnly(subdir.toPath());
+
+        final File nested = new File(subdir, "nested.py");
+        write(nested, "content");
+        assertThat(handler.nextBatch()).contains(nested.toPath());
+    }
+
+    @Test
+    public void directoriesAreNoLongerWatched_whenPathsAreUnregistered() throws Exception {
+        final File dir = folder.newFolder("lib");
+        folder.newFolder("lib", "sub");
+        final File file = createFile("other/file.py");
+        final BatchesCollector handler = new BatchesCollector();
+        watcher.registerPath(dir.toPath(), handler);
+        watcher.registerPath(file.toPath(), handler);
+
+        assertThat(watcher.getWatchedDirectories()).hasSize(3);
+
+        watcher.unregisterPath(dir.toPath(), handler);
+
+        assertThat(watcher.getWatchedDirectories()).containsOnly(file.getParentFile().toPath());
+    }
+
+    private File createFile(final String path) throws Exception {
+        final File file = new File(folder.getRoot(), path);
+        file.getParentFile().mkdirs();
+        write(file, "");
+        return file;
+    }
+
+    private static void write(final File file, final String content) throws Exception {
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static class BatchesCollector implements IWatchEventHandler {
+
+        private final BlockingQueue<List<Path>> batches = new LinkedBlockingQueue<>();
+
+        List<Path> nextBatch() throws InterruptedException {
+            return batches.poll(3, TimeUnit.SECONDS);
+        }
+
+        @Override
+        public void registerPath(final Path path, final IWatchEventHandler handler) {
+            // not needed
+        }
+
+        @Override
+        public void unregisterPath(final Path path, final IWatchEventHandler handler) {
+            // not needed
+        }
+
+        @Override
+        public void watchServiceInterrupted() {
+            // not needed
+        }
+
+        @Override
+        public void handleModifyEvents(final Set<Path> changedPaths) {
+            batches.add(new ArrayList<>(changedPaths));
+        }
+    }
+}
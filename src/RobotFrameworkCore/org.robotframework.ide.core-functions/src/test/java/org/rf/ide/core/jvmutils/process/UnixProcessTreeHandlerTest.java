@@ -0,0 +1,69 @@
+/*
+ * Copyright 2017 Nokia Solutions and Networks
+ * Licensed under the Apache License, Version 2.0,
+ * see license.txt file for details.
+ */
+package org.rf.ide.core.jvmutils.process;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.google.common.collect.ListMultimap;
+
+public class UnixProcessTreeHandlerTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void descendantsAreReadFromProcDirectory_evenWhenCommandNamesContainSpacesAndParentheses()
+            throws Exception {
+        createStat(1, "1 (init) S 0 1 1");
+        createStat(100, "100 (python) S 1 100 100");
+        createStat(101, "101 (my (strange) name) S 100 100 100");
+        createStat(102, "102 (a) b) R 100 100 100");
+        createStat(103, "103 (sleep) S 101 100 100");
+        createStat(200, "200 (other) S 1 200 200");
+        folder.newFolder("proc", "self");
+
+        final UnixProcessTreeHandler handler = new UnixProcessTreeHandler(new OSProcessHelper(),
+                folder.getRoot().toPath().resolve("proc"));
+        final ListMultimap<Long, Long> descendants = handler.getDescendantPids(100);
+
+        assertThat(descendants.keySet()).containsOnly(100L, 101L);
+        assertThat(descendants.get(100L)).containsOnly(101L, 102L);
+        assertThat(descendants.get(101L)).containsOnly(103L);
+        assertThat(handler.getChildPids(1)).containsOnly(100L, 200L);
+        assertThat(handler.getChildPids(103)).isEmpty();
+    }
+
+    @Test
+    public void processTreeIsBuiltFromDescendants() throws Exception {
+        createStat(10, "10 (robot) S 1 10 10");
+        createStat(11, "11 (python) S 10 10 10");
+        createStat(12, "12 (chrome) S 11 10 10");
+
+        final UnixProcessTreeHandler handler = new UnixProcessTreeHandler(new OSProcessHelper(),
+                folder.getRoot().toPath().resolve("proc"));
+        final ProcessInformation tree = new OSProcessHelper().fillProcessTree(handler, 10);
+
+        assertThat(tree.pid()).isEqualTo(10);
+        assertThat(tree.childs()).hasSize(1);
+        assertThat(tree.childs().get(0).pid()).isEqualTo(11);
+        assertThat(tree.childs().get(0).childs()).hasSize(1);
+        assertThat(tree.childs().get(0).childs().get(0).pid()).isEqualTo(12);
+        assertThat(tree.childs().get(0).childs().get(0).childs()).isEmpty();
+    }
+
+    private void createStat(final long pid, final String content) throws Exception {
+        final File dir = folder.newFolder("proc", String.valueOf(pid));
+        Files.write(new File(dir, "stat").toPath(), content.getBytes(StandardCharsets.US_ASCII));
+    }
+}
@@ -0,0 +1,185 @@
+/*
+ * Copyright 2017 Nokia Solutions and Networks
+ * Licensed under the Apache License, Version 2.0,
+ * see license.txt file for details.
+ */
+package org.rf.ide.core.testdata;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.when;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.rf.ide.core.executor.RobotRuntimeEnvironment;
+import org.rf.ide.core.testdata.RobotParser.RobotParserConfig;
+import org.rf.ide.core.testdata.model.RobotFileOutput;
+import org.rf.ide.core.testdata.model.RobotProjectHolder;
+import org.rf.ide.core.testdata.model.table.keywords.UserKeyword;
+import org.rf.ide.core.testdata.model.table.testcases.TestCase;
+import org.rf.ide.core.testdata.text.read.IRobotLineElement;
+import org.rf.ide.core.testdata.text.read.RobotLine;
+import org.rf.ide.core.testdata.text.read.recognizer.RobotToken;
+
+public class ExecutableUnitReparserTest {
+
+    private static final String CONTENT = "*** Settings ***\n" + "Library  Collections\n"
+            + "*** Test Cases ***\n" + "case 1\n" + "  Log  1\n" + "  kw\n" + "case 2\n" + "  [Tags]  tag\n"
+            + "  Log  2\n" + "*** Keywords ***\n" + "kw\n" + "  [Documentation]  doc\n" + "  Log  3\n" + "kw 2\n"
+            + "  Log  4";
+
+    private final File file = new File("f.robot");
+
+    private RobotParser parser;
+
+    @Before
+    public void beforeTest() {
+        final RobotRuntimeEnvironment runtime = mock(RobotRuntimeEnvironment.class);
+        when(runtime.getVersion()).thenReturn("3.0");
+        final RobotProjectHolder projectHolder = spy(RobotProjectHolder.class);
+        when(projectHolder.getRobotRuntime()).thenReturn(runtime);
+
+        parser = RobotParser.create(projectHolder, RobotParserConfig.allImportsLazy());
+    }
+
+    @Test
+    public void testCaseIsReparsedInPlace_whenEditIsInsideTestCase() {
+        final RobotFileOutput output = parser.parseEditorContent(CONTENT, file);
+        final TestCase secondCase = output.getFileModel().getTestCaseTable().getTestCases().get(1);
+
+        final int offset = CONTENT.indexOf("  Log  1") + "  Log  1".length();
+        final String newContent = edit(CONTENT, offset, 0, "\n  Log  inserted");
+        final RobotFileOutput newOutput = parser.reparseEditorContent(output, newContent, file, offset, 0,
+                "\n  Log  inserted");
+
+        assertThat(newOutput).isSameAs(output);
+        assertThat(newOutput.getFileModel().getTestCaseTable().getTestCases()).hasSize(2);
+        assertThat(newOutput.getFileModel().getTestCaseTable().getTestCases().get(1)).isSameAs(secondCase);
+        assertSameAsFullyParsed(newOutput, newContent);
+    }
+
+    @Test
+    public void keywordIsReparsedInPlace_whenEditIsInsideLastKeyword() {
+        final RobotFileOutput output = parser.parseEditorContent(CONTENT, file);
+
+        final int offset = CONTENT.indexOf("Log  4") + "Log  ".length();
+        final String newContent = edit(CONTENT, offset, 1, "${var}");
+        final RobotFileOutput newOutput = parser.reparseEditorContent(output, newContent, file, offset, 1, "${var}");
+
+        assertThat(newOutput).isSameAs(output);
+        assertSameAsFullyParsed(newOutput, newContent);
+    }
+
+    @Test
+    public void keywordDocumentationIsUpdated_whenItIsEdited() {
+        final RobotFileOutput output = parser.parseEditorContent(CONTENT, file);
+
+        final int offset = CONTENT.indexOf("doc\n") + "doc".length();
+        final String newContent = edit(CONTENT, offset, 0, " changed");
+        final RobotFileOutput newOutput = parser.reparseEditorContent(output, newContent, file, offset, 0,
+                " changed");
+
+        assertThat(newOutput).isSameAs(output);
+        final UserKeyword keyword = newOutput.getFileModel().getKeywordTable().getKeywords().get(0);
+        assertThat(newOutput.findDocumentationForLine(12).get()).isSameAs(keyword.getDocumentation().get(0));
+        assertSameAsFullyParsed(newOutput, newContent);
+    }
+
+    @Test
+    public void wholeContentIsParsed_whenSettingIsEdited() {
+        final RobotFileOutput output = parser.parseEditorContent(CONTENT, file);
+
+        final int offset = CONTENT.indexOf("Collections");
+        final String newContent = edit(CONTENT, offset, 0, "x");
+        final RobotFileOutput newOutput = parser.reparseEditorContent(output, newContent, file, offset, 0, "x");
+
+        assertThat(newOutput).isNotSameAs(output);
+        assertSameAsFullyParsed(newOutput, newContent);
+    }
+
+    @Test
+    public void wholeContentIsParsed_whenNewTestCaseIsDeclared() {
+        final RobotFileOutput output = parser.parseEditorContent(CONTENT, file);
+
+        final int offset = CONTENT.indexOf("  kw\n") + "  kw\n".length();
+        final String newContent = edit(CONTENT, offset, 0, "case 3\n");
+        final RobotFileOutput newOutput = parser.reparseEditorContent(output, newContent, file, offset, 0,
+                "case 3\n");
+
+        assertThat(newOutput).isNotSameAs(output);
+        assertThat(newOutput.getFileModel().getTestCaseTable().getTestCases()).hasSize(3);
+    }
+
+    @Test
+    public void wholeContentIsParsed_whenTableHeaderIsInserted() {
+        final RobotFileOutput output = parser.parseEditorContent(CONTENT, file);
+
+        final int offset = CONTENT.indexOf("  Log  2");
+        final String newContent = edit(CONTENT, offset, 0, "*** Variables ***\n");
+        final RobotFileOutput newOutput = parser.reparseEditorContent(output, newContent, file, offset, 0,
+                "*** Variables ***\n");
+
+        assertThat(newOutput).isNotSameAs(output);
+        assertSameAsFullyParsed(newOutput, newContent);
+    }
+
+    @Test
+    public void wholeContentIsParsed_whenThereIsNoPreviousOutput() {
+        final RobotFileOutput newOutput = parser.reparseEditorContent(null, CONTENT, file, 0, 0, "");
+
+        assertSameAsFullyParsed(newOutput, CONTENT);
+    }
+
+    private static String edit(final String content, final int offset, final int length, final String text) {
+        return content.substring(0, offset) + text + content.substring(offset + length);
+    }
+
+    private void assertSameAsFullyParsed(final RobotFileOutput output, final String content) {
+        final RobotFileOutput expected = parser.parseEditorContent(content, file);
+        assertThat(describeLines(output)).containsExactlyElementsOf(describeLines(expected));
+        assertThat(describeUnits(output)).containsExactlyElementsOf(describeUnits(expected));
+    }
+
+    private static List<String> describeLines(final RobotFileOutput output) {
+        final List<String> descriptions = new ArrayList<>();
+        for (final RobotLine line : output.getFileModel().getFileContent()) {
+            final StringBuilder description = new StringBuilder();
+            description.append(line.getLineNumber());
+            for (final IRobotLineElement element : line.getLineElements()) {
+                description.append(describe(element));
+            }
+            description.append(describe(line.getEndOfLine()));
+            descriptions.add(description.toString());
+        }
+        return descriptions;
+    }
+
+    private static List<String> describeUnits(final RobotFileOutput output) {
+        final List<String> descriptions = new ArrayList<>();
+        for (final TestCase testCase : output.getFileModel().getTestCaseTable().getTestCases()) {
+            descriptions.add(describeTokens(testCase.getElementTokens()));
+        }
+        for (final UserKeyword keyword : output.getFileModel().getKeywordTable().getKeywords()) {
+            descriptions.add(describeTokens(keyword.getElementTokens()));
+        }
+        return descriptions;
+    }
+
+    private static String describeTokens(final List<RobotToken> tokens) {
+        final StringBuilder description = new StringBuilder();
+        for (final RobotToken token : tokens) {
+            description.append(describe(token));
+        }
+        return description.toString();
+    }
+
+    private static String describe(final IRobotLineElement element) {
+        return " [" + element.getText() + " " + element.getTypes() + " " + element.getLineNumber() + ":"
+                + element.getStartColumn() + ":" + element.getStartOffset() + "]";
+    }
+}
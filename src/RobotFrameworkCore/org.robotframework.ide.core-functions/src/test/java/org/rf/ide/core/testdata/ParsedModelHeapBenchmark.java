@@ -0,0 +1,136 @@
+/*
+ * Copyright 2017 Nokia Solutions and Networks
+ * Licensed under the Apache License, Version 2.0,
+ * see license.txt file for details.
+ */
+package org.rf.ide.core.testdata;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.rf.ide.core.testdata.RobotParser.RobotParserConfig;
+import org.rf.ide.core.testdata.model.RobotFileOutput;
+import org.rf.ide.core.testdata.model.RobotProjectHolder;
+import org.rf.ide.core.testdata.text.read.RobotLine;
+
+/**
+ * Measures heap retained by models of parsed project, as all the models of the project are kept
+ * in memory. Suites are generated into temporary directory, each with given number of test cases
+ * and keywords, then all of them are parsed and the heap used while the models are reachable is
+ * compared with the heap used before parsing. It is not run together with the tests; run its main
+ * method passing optionally the number of suites and the number of test cases and keywords in
+ * each suite.
+ */
+public class ParsedModelHeapBenchmark {
+
+    public static void main(final String[] args) throws Exception {
+        final int suitesCount = args.length > 0 ? Integer.parseInt(args[0]) : 500;
+        final int casesCount = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+
+        final File directory = Files.createTempDirectory("robot_project").toFile();
+        try {
+            final List<File> suites = generateSuites(directory, suitesCount, casesCount);
+
+            // parsing once warms up, so that only the models are measured afterwards
+            parse(suites);
+
+            final long heapBefore = usedHeap();
+            final long start = System.nanoTime();
+            final List<RobotFileOutput> outputs = parse(suites);
+            final long parsingMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            final long retainedHeap = usedHeap() - heapBefore;
+
+            long linesCount = 0;
+            long elementsCount = 0;
+            for (final RobotFileOutput output : outputs) {
+                for (final RobotLine line : output.getFileModel().getFileContent()) {
+                    linesCount++;
+                    elementsCount += line.getLineElements().size();
+                }
+            }
+            System.out.println(String.format("Parsed %d suites, %d lines, %d line elements in %d ms", outputs.size(),
+                    linesCount, elementsCount, parsingMillis));
+            System.out.println(String.format("Retained heap: %d MB, %d bytes per line element", retainedHeap >> 20,
+                    retainedHeap / Math.max(elementsCount, 1)));
+        } finally {
+            for (final File suite : directory.listFiles()) {
+                suite.delete();
+            }
+            directory.delete();
+        }
+    }
+
+    private static List<RobotFileOutput> parse(final List<File> suites) {
+        final RobotParser parser = RobotParser.create(new RobotProjectHolder(), RobotParserConfig.allImportsLazy());
+        final List<RobotFileOutput> outputs = new ArrayList<>();
+        for (final File suite : suites) {
+            outputs.addAll(parser.parse(suite));
+        }
+        return outputs;
+    }
+
+    private static long usedHeap() throws InterruptedException {
+        for (int i = 0; i < 5; i++) {
+            System.gc();
+            Thread.sleep(100);
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    private static List<File> generateSuites(final File directory, final int suitesCount, final int casesCount)
+            throws IOException {
+        final List<File> suites = new ArrayList<>();
+        for (int i = 0; i < suitesCount; i++) {
+            final File suite = new File(directory, "suite_" + i + ".robot");
+            Files.write(suite.toPath(), suite(i, casesCount), StandardCharsets.UTF_8);
+            suites.add(suite);
+        }
+        return suites;
+    }
+
+    private static List<String> suite(final int index, final int casesCount) {
+        final List<String> lines = new ArrayList<>();
+        lines.add("*** Settings ***");
+        lines.add("Documentation    Suite " + index + " of generated project");
+        lines.add("Library    Collections");
+        lines.add("Library    OperatingSystem");
+        lines.add("Resource    common.robot");
+        lines.add("Suite Setup    Prepare Suite    " + index);
+        lines.add("");
+        lines.add("*** Variables ***");
+        for (int i = 0; i < casesCount; i++) {
+            lines.add("${VARIABLE_" + i + "}    value " + i);
+            lines.add("@{LIST_" + i + "}    first    second    third");
+        }
+        lines.add("");
+        lines.add("*** Test Cases ***");
+        for (int i = 0; i < casesCount; i++) {
+            lines.add("Test Case " + i);
+            lines.add("    [Documentation]    Checks keyword " + i + " with all its arguments");
+            lines.add("    [Tags]    generated    case_" + i);
+            lines.add("    ${result}=    Keyword " + i + "    ${VARIABLE_" + i + "}    argument    @{LIST_" + i + "}");
+            lines.add("    Should Be Equal    ${result}    expected " + i);
+            lines.add("    :FOR    ${item}    IN    @{LIST_" + i + "}");
+            lines.add("    \\    Log    ${item}");
+            lines.add("    # verifies the result once more");
+            lines.add("    Should Not Be Empty    ${result}");
+            lines.add("");
+        }
+        lines.add("*** Keywords ***");
+        for (int i = 0; i < casesCount; i++) {
+            lines.add("Keyword " + i);
+            lines.add("    [Arguments]    ${first}    ${second}    @{rest}");
+            lines.add("    Log Many    ${first}    ${second}    @{rest}");
+            lines.add("    ${joined}=    Catenate    SEPARATOR=,    ${first}    ${second}");
+            lines.add("    [Return]    ${joined}");
+            lines.add("");
+        }
+        return lines;
+    }
+}
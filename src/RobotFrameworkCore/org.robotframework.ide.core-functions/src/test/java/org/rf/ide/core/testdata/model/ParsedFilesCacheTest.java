@@ -0,0 +1,139 @@
+/*
+ * Copyright 2017 Nokia Solutions and Networks
+ * Licensed under the Apache License, Version 2.0,
+ * see license.txt file for details.
+ */
+package org.rf.ide.core.testdata.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.google.common.base.Charsets;
+import com.google.common.io.Files;
+
+public class ParsedFilesCacheTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void fileIsFoundByNormalizedPath() throws IOException {
+        final File file = createFile("suite.robot", 10);
+        final RobotFileOutput output = createOutput(file);
+
+        final ParsedFilesCache cache = new ParsedFilesCache(Long.MAX_VALUE);
+        cache.put(output);
+
+        final File notNormalized = new File(new File(file.getParentFile(), "dir/.."), "suite.robot");
+        assertThat(cache.get(file)).isSameAs(output);
+        assertThat(cache.get(notNormalized)).isSameAs(output);
+        assertThat(cache.get(new File(folder.getRoot(), "other.robot"))).isNull();
+    }
+
+    @Test
+    public void fileIsReplaced_whenOutputForSameFileIsPut() throws IOException {
+        final File file = createFile("suite.robot", 10);
+        final RobotFileOutput output1 = createOutput(file);
+        final RobotFileOutput output2 = createOutput(file);
+
+        final ParsedFilesCache cache = new ParsedFilesCache(Long.MAX_VALUE);
+        cache.put(output1);
+        cache.put(output2);
+
+        assertThat(cache.size()).isEqualTo(1);
+        assertThat(cache.get(file)).isSameAs(output2);
+
+        cache.remove(output1);
+        assertThat(cache.get(file)).isSameAs(output2);
+
+        cache.remove(output2);
+        assertThat(cache.get(file)).isNull();
+    }
+
+    @Test
+    public void fileIsNotUpToDate_whenModificationTimeOrSizeChanges() throws IOException {
+        final File file = createFile("suite.robot", 10);
+        final ParsedFilesCache cache = new ParsedFilesCache(Long.MAX_VALUE);
+
+        assertThat(cache.isUpToDate(file)).isFalse();
+
+        cache.put(createOutput(file));
+        assertThat(cache.isUpToDate(file)).isTrue();
+
+        final long lastModified = file.lastModified();
+        file.setLastModified(lastModified - 10_000);
+        assertThat(cache.isUpToDate(file)).isFalse();
+
+        writeContent(file, 20);
+        file.setLastModified(lastModified);
+        assertThat(cache.isUpToDate(file)).isFalse();
+    }
+
+    @Test
+    public void leastRecentlyUsedFilesAreEvicted_whenCachedFilesAreTooBig() throws IOException {
+        final File file1 = createFile("suite1.robot", 2000);
+        final File file2 = createFile("suite2.robot", 2000);
+        final File file3 = createFile("suite3.robot", 2000);
+
+        final ParsedFilesCache cache = new ParsedFilesCache(4500);
+        cache.put(createOutput(file1));
+        cache.put(createOutput(file2));
+        cache.get(file1);
+        cache.put(createOutput(file3));
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.get(file1)).isNotNull();
+        assertThat(cache.get(file2)).isNull();
+        assertThat(cache.get(file3)).isNotNull();
+    }
+
+    @Test
+    public void openedFilesAreNotEvicted_untilTheyAreClosed() throws IOException {
+        final File file1 = createFile("suite1.robot", 2000);
+        final File file2 = createFile("suite2.robot", 2000);
+        final File file3 = createFile("suite3.robot", 2000);
+
+        final ParsedFilesCache cache = new ParsedFilesCache(3000);
+        cache.markAsOpened(file1);
+        cache.markAsOpened(file2);
+        cache.put(createOutput(file1));
+        cache.put(createOutput(file2));
+        cache.put(createOutput(file3));
+
+        assertThat(cache.get(file1)).isNotNull();
+        assertThat(cache.get(file2)).isNotNull();
+        assertThat(cache.get(file3)).isNull();
+
+        cache.markAsClosed(file1);
+
+        assertThat(cache.get(file1)).isNull();
+        assertThat(cache.get(file2)).isNotNull();
+    }
+
+    private File createFile(final String name, final int size) throws IOException {
+        final File file = folder.newFile(name);
+        writeContent(file, size);
+        return file;
+    }
+
+    private static void writeContent(final File file, final int size) throws IOException {
+        final StringBuilder content = new StringBuilder();
+        for (int i = 0; i < size; i++) {
+            content.append('x');
+        }
+        Files.write(content, file, Charsets.UTF_8);
+    }
+
+    private static RobotFileOutput createOutput(final File file) {
+        final RobotFileOutput output = new RobotFileOutput(RobotVersion.from("3.0"));
+        output.setProcessedFile(file);
+        output.setLastModificationEpochTime(file.lastModified());
+        return output;
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2017 Nokia Solutions and Networks
+ * Licensed under the Apache License, Version 2.0,
+ * see license.txt file for details.
+ */
+package org.rf.ide.core.testdata.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.rf.ide.core.testdata.importer.ResourceImportReference;
+
+import com.google.common.base.Charsets;
+import com.google.common.io.Files;
+
+public class RobotProjectHolderTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void filesAreKept_whenNoImportedResourceIsOutdated() throws IOException {
+        final RobotProjectHolder holder = new RobotProjectHolder();
+        final RobotFileOutput resource = createOutput(createFile("res.robot", "res"));
+        final RobotFileOutput suite = createOutput(createFile("suite.robot", "suite"), resource);
+        holder.addModelFile(resource);
+        holder.addModelFile(suite);
+
+        holder.removeFilesWithOutdatedImports(suite.getProcessedFile());
+
+        assertThat(holder.findFileByName(suite.getProcessedFile())).isSameAs(suite);
+        assertThat(holder.findFileByName(resource.getProcessedFile())).isSameAs(resource);
+    }
+
+    @Test
+    public void importingFilesAreRemoved_whenImportedResourceHasChanged() throws IOException {
+        final RobotProjectHolder holder = new RobotProjectHolder();
+        final File resourceFile = createFile("res.robot", "res");
+        final RobotFileOutput resource = createOutput(resourceFile);
+        final RobotFileOutput otherResource = createOutput(createFile("other.robot", "other"));
+        final RobotFileOutput nestedResource = createOutput(createFile("nested.robot", "nested"), resource);
+        final RobotFileOutput suite = createOutput(createFile("suite.robot", "suite"), nestedResource,
+                otherResource);
+        holder.addModelFile(resource);
+        holder.addModelFile(otherResource);
+        holder.addModelFile(nestedResource);
+        holder.addModelFile(suite);
+
+        Files.write("changed res", resourceFile, Charsets.UTF_8);
+        holder.removeFilesWithOutdatedImports(suite.getProcessedFile());
+
+        assertThat(holder.findFileByName(suite.getProcessedFile())).isNull();
+        assertThat(holder.findFileByName(nestedResource.getProcessedFile())).isNull();
+        assertThat(holder.findFileByName(resourceFile)).isNull();
+        assertThat(holder.findFileByName(otherResource.getProcessedFile())).isSameAs(otherResource);
+    }
+
+    @Test
+    public void importingFilesAreRemoved_whenImportedResourceWasParsedAgain() throws IOException {
+        final RobotProjectHolder holder = new RobotProjectHolder();
+        final File resourceFile = createFile("res.robot", "res");
+        final RobotFileOutput resource = createOutput(resourceFile);
+        final RobotFileOutput suite = createOutput(createFile("suite.robot", "suite"), resource);
+        holder.addModelFile(resource);
+        holder.addModelFile(suite);
+
+        final RobotFileOutput reparsedResource = createOutput(resourceFile);
+        holder.addModelFile(reparsedResource);
+        holder.removeFilesWithOutdatedImports(suite.getProcessedFile());
+
+        assertThat(holder.findFileByName(suite.getProcessedFile())).isNull();
+        assertThat(holder.findFileByName(resourceFile)).isSameAs(reparsedResource);
+    }
+
+    private File createFile(final String name, final String content) throws IOException {
+        final File file = folder.newFile(name);
+        Files.write(content, file, Charsets.UTF_8);
+        return file;
+    }
+
+    private static RobotFileOutput createOutput(final File file, final RobotFileOutput... importedResources) {
+        final RobotFileOutput output = new RobotFileOutput(RobotVersion.from("3.0"));
+        output.setProcessedFile(file);
+        output.setLastModificationEpochTime(file.lastModified());
+        for (final RobotFileOutput resource : importedResources) {
+            output.addResourceReference(new ResourceImportReference(null, resource));
+        }
+        return output;
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2017 Nokia Solutions and Networks
+ * Licensed under the Apache License, Version 2.0,
+ * see license.txt file for details.
+ */
+package org.rf.ide.core.testdata.model.search.keyword;
+
+import static com.google.common.collect.Lists.newArrayList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+import org.rf.ide.core.testdata.model.search.keyword.KeywordSearcher.Extractor;
+
+import com.google.common.collect.ListMultimap;
+
+public class KeywordSearcherTest {
+
+    private final Map<String, Collection<Keyword>> noAccessibleKeywords = new HashMap<>();
+
+    @Test
+    public void keywordIsFound_byUnifiedNameWithGherkinPrefixAndSourceName() {
+        final Keyword keyword = new Keyword(KeywordScope.RESOURCE, "res", "", "My_Keyword");
+        final List<Keyword> keywords = newArrayList(keyword, new Keyword(KeywordScope.RESOURCE, "res", "", "Other"));
+
+        final ListMultimap<String, Keyword> found = new KeywordSearcher().findKeywords(noAccessibleKeywords,
+                keywords, new KeywordExtractor(), "Given res.my keyword", false);
+
+        assertThat(found.keySet()).containsOnly("res.mykeyword", "mykeyword");
+        assertThat(found.get("res.mykeyword")).containsExactly(keyword);
+        assertThat(found.get("mykeyword")).containsExactly(keyword);
+    }
+
+    @Test
+    public void keywordIsFoundOnlyUnderLongestName_whenSearchStopsAfterFirstMatch() {
+        final Keyword keyword = new Keyword(KeywordScope.RESOURCE, "res", "", "My_Keyword");
+
+        final ListMultimap<String, Keyword> found = new KeywordSearcher().findKeywords(noAccessibleKeywords,
+                newArrayList(keyword), new KeywordExtractor(), "Given res.my keyword", true);
+
+        assertThat(found.keySet()).containsOnly("res.mykeyword");
+    }
+
+    @Test
+    public void embeddedKeywordsAreFound_inOrderOfGivenKeywords() {
+        final Keyword first = new Keyword(KeywordScope.LOCAL, "suite", "", "Open ${page} page");
+        final Keyword notMatching = new Keyword(KeywordScope.LOCAL, "suite", "", "Close ${page} page");
+        final Keyword second = new Keyword(KeywordScope.STD_LIBRARY, "Lib", "", "open ${x}");
+        final Keyword withRegex = new Keyword(KeywordScope.LOCAL, "suite", "", "Open ${id:\\d+} page");
+
+        final KeywordSearchIndex<Keyword> index = new KeywordSearchIndex<>(
+                newArrayList(first, notMatching, second, withRegex), new KeywordExtractor());
+        final KeywordSearcher searcher = new KeywordSearcher();
+
+        final ListMultimap<String, Keyword> found = searcher.findKeywords(noAccessibleKeywords, index,
+                "Open Home page", false);
+        assertThat(found.get("Open Home page")).containsExactly(first, second);
+
+        final ListMultimap<String, Keyword> foundWithNumber = searcher.findKeywords(noAccessibleKeywords, index,
+                "lib.open 42 page", false);
+        assertThat(foundWithNumber.get("lib.open 42 page")).containsExactly(second);
+        assertThat(foundWithNumber.get("open 42 page")).containsExactly(first, second, withRegex);
+    }
+
+    @Test
+    public void keywordIsFoundByAliasOnly_whenLibraryHasAlias() {
+        final Keyword keyword = new Keyword(KeywordScope.REF_LIBRARY, "Lib", "Alias", "kw");
+
+        final KeywordSearchIndex<Keyword> index = new KeywordSearchIndex<>(newArrayList(keyword),
+                new KeywordExtractor());
+        final KeywordSearcher searcher = new KeywordSearcher();
+
+        assertThat(searcher.findKeywords(noAccessibleKeywords, index, "Alias.kw", false).get("alias.kw"))
+                .containsExactly(keyword);
+        assertThat(searcher.findKeywords(noAccessibleKeywords, index, "Lib.kw", false).get("lib.kw")).isEmpty();
+    }
+
+    private static final class Keyword {
+
+        private final KeywordScope scope;
+
+        private final String source;
+
+        private final String alias;
+
+        private final String name;
+
+        private Keyword(final KeywordScope scope, final String source, final String alias, final String name) {
+            this.scope = scope;
+            this.source = source;
+            this.alias = alias;
+            this.name = name;
+        }
+    }
+
+    private static final class KeywordExtractor implements Extractor<Keyword> {
+
+        @Override
+        public KeywordScope scope(final Keyword keyword) {
+            return keyword.scope;
+        }
+
+        @Override
+        public Path path(final Keyword keyword) {
+            return Paths.get("/project", "suite.robot");
+        }
+
+        @Override
+        public String alias(final Keyword keyword) {
+            return keyword.alias;
+        }
+
+        @Override
+        public String keywordName(final Keyword keyword) {
+            return keyword.name;
+        }
+
+        @Override
+        public String sourceName(final Keyword keyword) {
+            return keyword.source;
+        }
+    }
+}
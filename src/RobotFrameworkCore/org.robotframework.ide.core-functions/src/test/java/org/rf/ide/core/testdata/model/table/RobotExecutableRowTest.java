@@ -7,9 +7,17 @@ package org.rf.ide.core.testdata.model.table;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.io.File;
 import java.util.List;
 
 import org.junit.Test;
+import org.rf.ide.core.testdata.model.FilePosition;
+import org.rf.ide.core.testdata.model.RobotFile;
+import org.rf.ide.core.testdata.model.RobotFileOutput;
+import org.rf.ide.core.testdata.model.RobotVersion;
+import org.rf.ide.core.testdata.model.table.exec.descs.IExecutableRowDescriptor;
+import org.rf.ide.core.testdata.model.table.exec.descs.IExecutableRowDescriptor.ERowType;
+import org.rf.ide.core.testdata.model.table.exec.descs.impl.ForLoopContinueRowDescriptor;
 import org.rf.ide.core.testdata.model.table.keywords.UserKeyword;
 import org.rf.ide.core.testdata.text.read.recognizer.RobotToken;
 
@@ -65,4 +73,117 @@ public class RobotExecutableRowTest {
         // verify
         assertThat(allElements).containsExactly(action, arg1, arg2, arg3, arg4);
     }
+
+    @Test
+    public void lineDescriptionIsReused_whenRowIsNotModified() {
+        final RobotExecutableRow<UserKeyword> row = createRowInKeyword("Log", "${var}");
+
+        final IExecutableRowDescriptor<UserKeyword> desc1 = row.buildLineDescription();
+        final IExecutableRowDescriptor<UserKeyword> desc2 = row.buildLineDescription();
+
+        assertThat(desc2).isSameAs(desc1);
+        assertThat(desc2.getUsedVariables()).hasSize(1);
+    }
+
+    @Test
+    public void lineDescriptionIsRebuilt_whenArgumentTextIsChanged() {
+        final RobotExecutableRow<UserKeyword> row = createRowInKeyword("Log", "${var}");
+
+        final IExecutableRowDescriptor<UserKeyword> desc1 = row.buildLineDescription();
+        row.getArguments().get(0).setText("text");
+        final IExecutableRowDescriptor<UserKeyword> desc2 = row.buildLineDescription();
+
+        assertThat(desc2).isNotSameAs(desc1);
+        assertThat(desc1.getUsedVariables()).hasSize(1);
+        assertThat(desc2.getUsedVariables()).isEmpty();
+    }
+
+    @Test
+    public void lineDescriptionIsRebuilt_whenArgumentIsAddedOrRemoved() {
+        final RobotExecutableRow<UserKeyword> row = createRowInKeyword("Log", "${var}");
+
+        final IExecutableRowDescriptor<UserKeyword> desc1 = row.buildLineDescription();
+        row.addArgument(RobotToken.create("@{list}"));
+        final IExecutableRowDescriptor<UserKeyword> desc2 = row.buildLineDescription();
+        row.removeArgument(0);
+        final IExecutableRowDescriptor<UserKeyword> desc3 = row.buildLineDescription();
+
+        assertThat(desc1.getUsedVariables()).hasSize(1);
+        assertThat(desc2.getUsedVariables()).hasSize(2);
+        assertThat(desc3.getUsedVariables()).hasSize(1);
+        assertThat(desc3.getUsedVariables().get(0).asToken().getText()).isEqualTo("@{list}");
+    }
+
+    @Test
+    public void lineDescriptionIsRebuilt_whenActionIsReplaced() {
+        final RobotExecutableRow<UserKeyword> row = createRowInKeyword("Log", "${var}");
+
+        final IExecutableRowDescriptor<UserKeyword> desc1 = row.buildLineDescription();
+        row.setAction(RobotToken.create("Log Many"));
+        final IExecutableRowDescriptor<UserKeyword> desc2 = row.buildLineDescription();
+
+        assertThat(desc1.getAction().getToken().getText()).isEqualTo("Log");
+        assertThat(desc2.getAction().getToken().getText()).isEqualTo("Log Many");
+    }
+
+    @Test
+    public void lineDescriptionIsRebuilt_whenActionPositionIsChanged() {
+        final RobotExecutableRow<UserKeyword> row = createRowInKeyword("Log", "${var}");
+        row.getAction().setFilePosition(new FilePosition(2, 4, 10));
+
+        final IExecutableRowDescriptor<UserKeyword> desc1 = row.buildLineDescription();
+        row.getAction().setFilePosition(new FilePosition(3, 4, 20));
+        final IExecutableRowDescriptor<UserKeyword> desc2 = row.buildLineDescription();
+
+        assertThat(desc2).isNotSameAs(desc1);
+        assertThat(desc1.getAction().getToken().getStartOffset()).isEqualTo(10);
+        assertThat(desc2.getAction().getToken().getStartOffset()).isEqualTo(20);
+    }
+
+    @Test
+    public void forContinueLineDescriptionPointsToForLoopElement_andIsRebuiltWhenElementIsInsertedBefore() {
+        final UserKeyword userKeyword = createKeyword();
+        userKeyword.addElement(createRow(":FOR", "${x}", "IN", "1", "2"));
+        final RobotExecutableRow<UserKeyword> continueRow1 = createRow("\\", "Log", "${x}");
+        final RobotExecutableRow<UserKeyword> continueRow2 = createRow("\\", "Log", "${x}");
+        userKeyword.addElement(continueRow1);
+        userKeyword.addElement(continueRow2);
+
+        final IExecutableRowDescriptor<UserKeyword> desc1 = continueRow2.buildLineDescription();
+        assertThat(continueRow2.buildLineDescription()).isSameAs(desc1);
+        assertThat(desc1.getRowType()).isEqualTo(ERowType.FOR_CONTINUE);
+        assertThat(((ForLoopContinueRowDescriptor<UserKeyword>) desc1).getForLoopStartRowIndex()).isEqualTo(0);
+
+        userKeyword.addElement(createRow("Log", "start"), 0);
+        final IExecutableRowDescriptor<UserKeyword> desc2 = continueRow2.buildLineDescription();
+        assertThat(desc2).isNotSameAs(desc1);
+        assertThat(((ForLoopContinueRowDescriptor<UserKeyword>) desc2).getForLoopStartRowIndex()).isEqualTo(1);
+
+        userKeyword.removeElement(continueRow1);
+        userKeyword.addElement(createRow("Log", "end"), 2);
+        assertThat(continueRow2.buildLineDescription().getRowType()).isNotEqualTo(ERowType.FOR_CONTINUE);
+    }
+
+    private static RobotExecutableRow<UserKeyword> createRowInKeyword(final String action, final String argument) {
+        final RobotExecutableRow<UserKeyword> row = createRow(action, argument);
+        createKeyword().addElement(row);
+        return row;
+    }
+
+    private static RobotExecutableRow<UserKeyword> createRow(final String action, final String... arguments) {
+        final RobotExecutableRow<UserKeyword> row = new RobotExecutableRow<>();
+        row.setAction(RobotToken.create(action));
+        for (final String argument : arguments) {
+            row.addArgument(RobotToken.create(argument));
+        }
+        return row;
+    }
+
+    private static UserKeyword createKeyword() {
+        final RobotFileOutput out = new RobotFileOutput(RobotVersion.from("3.0"));
+        out.setProcessedFile(new File("robot.robot"));
+        final RobotFile model = new RobotFile(out);
+        model.includeKeywordTableSection();
+        return model.getKeywordTable().createUserKeyword("kw");
+    }
 }
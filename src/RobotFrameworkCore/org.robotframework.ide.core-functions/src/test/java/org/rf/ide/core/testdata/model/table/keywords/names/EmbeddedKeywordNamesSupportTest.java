@@ -66,6 +66,28 @@ public class EmbeddedKeywordNamesSupportTest {
                 "today is 2016-12-20")).isTrue();
     }
 
+    @Test
+    public void matcherLiteralPrefixAndSuffixAreFoundProperly() {
+        assertThat(EmbeddedKeywordNamesSupport.getMatcher("Abc${x}g${y}Hi").getLiteralPrefix()).isEqualTo("abc");
+        assertThat(EmbeddedKeywordNamesSupport.getMatcher("Abc${x}g${y}Hi").getLiteralSuffix()).isEqualTo("hi");
+        assertThat(EmbeddedKeywordNamesSupport.getMatcher("${x}").getLiteralPrefix()).isEmpty();
+        assertThat(EmbeddedKeywordNamesSupport.getMatcher("${x}").getLiteralSuffix()).isEmpty();
+        assertThat(EmbeddedKeywordNamesSupport.getMatcher("a$B").getLiteralPrefix()).isEqualTo("a$b");
+        assertThat(EmbeddedKeywordNamesSupport.getMatcher("a$B").getLiteralSuffix()).isEmpty();
+    }
+
+    @Test
+    public void matcherIsReused_forSameDefinitionName() {
+        assertThat(EmbeddedKeywordNamesSupport.getMatcher("a${x}c"))
+                .isSameAs(EmbeddedKeywordNamesSupport.getMatcher("a${x}c"));
+    }
+
+    @Test
+    public void matcherDoesNotMatchAnything_whenEmbeddedRegexIsInvalid() {
+        assertThat(EmbeddedKeywordNamesSupport.getMatcher("a${x:(}c").matches("abc")).isFalse();
+        assertThat(EmbeddedKeywordNamesSupport.getMatcher("a${x:(}c").matches("A${x:(}C")).isTrue();
+    }
+
     @Test
     public void variableRangesAreFoundProperly() {
         assertThat(EmbeddedKeywordNamesSupport.findEmbeddedArgumentsRanges("")).is(empty());
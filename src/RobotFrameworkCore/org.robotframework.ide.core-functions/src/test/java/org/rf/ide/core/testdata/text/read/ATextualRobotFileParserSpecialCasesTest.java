@@ -6,25 +6,19 @@
 package org.rf.ide.core.testdata.text.read;
 
 import static org.assertj.core.api.Assertions.assertThat;
-import static org.mockito.Mockito.mock;
-import static org.mockito.Mockito.when;
 
 import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
-import java.util.Arrays;
 import java.util.List;
 
 import org.junit.Test;
-import org.rf.ide.core.testdata.IRobotFileParser;
 import org.rf.ide.core.testdata.model.FilePosition;
-import org.rf.ide.core.testdata.model.RobotFile;
 import org.rf.ide.core.testdata.model.RobotFileOutput;
 import org.rf.ide.core.testdata.model.RobotFileOutput.Status;
 import org.rf.ide.core.testdata.model.RobotVersion;
 import org.rf.ide.core.testdata.text.read.EndOfLineBuilder.EndOfLineTypes;
-import org.rf.ide.core.testdata.text.read.LineReader.Constant;
 import org.rf.ide.core.testdata.text.read.recognizer.RobotTokenType;
 
 public class ATextualRobotFileParserSpecialCasesTest {
@@ -57,52 +51,26 @@ public class ATextualRobotFileParserSpecialCasesTest {
     }
 
     @Test
-    public void test_handleCRLFcaseSplittedBetweenBuffers_CR_LF_splittedBetweenBuffers() {
+    public void test_endOfLinesAreRecognized_whenParsingEditorContent() {
         // prepare
-        final int currentOffset = 0;
-        final LineReader lineHolder = mock(LineReader.class);
-        when(lineHolder.getLineEnd(currentOffset)).thenReturn(Arrays.asList(Constant.CR, Constant.LF));
-        final RobotFileOutput parsingOutput = new RobotFileOutput(RobotVersion.from("1.0.0"));
-
-        final RobotFile fileModel = parsingOutput.getFileModel();
-        final RobotLine line = new RobotLine(2, fileModel);
-        line.setEndOfLine(Arrays.asList(Constant.CR), currentOffset, 0);
-        assertThat(line.getEndOfLine().getTypes()).containsExactly(EndOfLineTypes.CR);
-
-        fileModel.addNewLine(null);
-        fileModel.addNewLine(line);
+        final String text = "*** Test Cases ***\r\ncase\n\r  Log  1\rcase 2\n";
+        final TxtRobotFileParser parser = new TxtRobotFileParser();
+        final File robotFile = new File("OK.txt");
+        final RobotFileOutput output = new RobotFileOutput(RobotVersion.from("1.0.0"));
 
         // execute
-        final ATextualRobotFileParser fileParser = new DummyATextualRobotFileParser();
-
-        final int newOffset = fileParser.handleCRLFcaseSplittedBetweenBuffers(parsingOutput, lineHolder, 3,
-                currentOffset + 1);
+        parser.parse(output, text, robotFile);
 
         // verify
-        assertThat(newOffset).isEqualTo(2);
-        assertThat(line.getEndOfLine().getStartOffset()).isEqualTo(0);
-        assertThat(line.getEndOfLine().getTypes()).containsExactly(EndOfLineTypes.CRLF);
-    }
-
-    private static class DummyATextualRobotFileParser extends ATextualRobotFileParser {
-
-        public DummyATextualRobotFileParser() {
-            super(null);
-        }
-
-        @Override
-        public boolean canParseFile(final File file, final boolean isFromStringContent) {
-            return false;
-        }
-
-        @Override
-        public IRobotFileParser newInstance() {
-            return new DummyATextualRobotFileParser();
-        }
-
-        @Override
-        public boolean isPrettyAlignLineOnly(final String currentLineText) {
-            return false;
-        }
+        assertThat(output.getStatus()).isEqualTo(Status.PASSED);
+        final List<RobotLine> fileContent = output.getFileModel().getFileContent();
+        assertThat(fileContent).hasSize(5);
+        assertThat(fileContent.get(0).getEndOfLine().getTypes()).containsExactly(EndOfLineTypes.CRLF);
+        assertThat(fileContent.get(0).getEndOfLine().getStartOffset()).isEqualTo(18);
+        assertThat(fileContent.get(1).getEndOfLine().getTypes()).containsExactly(EndOfLineTypes.LFCR);
+        assertThat(fileContent.get(2).getEndOfLine().getTypes()).containsExactly(EndOfLineTypes.CR);
+        assertThat(fileContent.get(3).getLineElements().get(0).getStartOffset()).isEqualTo(35);
+        assertThat(fileContent.get(3).getEndOfLine().getTypes()).containsExactly(EndOfLineTypes.LF);
+        assertThat(fileContent.get(4).getEndOfLine().getTypes()).containsExactly(EndOfLineTypes.EOF);
     }
 }
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2017 Nokia Solutions and Networks
+ * Licensed under the Apache License, Version 2.0,
+ * see license.txt file for details.
+ */
+package org.rf.ide.core.testdata.text.read;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.rf.ide.core.testdata.text.read.LineReader.Constant;
+
+public class IndexedLineReaderTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void emptyTextHasNoLines() {
+        final IndexedLineReader reader = new IndexedLineReader("");
+
+        assertThat(reader.getNumberOfLines()).isZero();
+        assertThat(reader.getLineEnd(0)).containsExactly(Constant.EOF);
+    }
+
+    @Test
+    public void linesAreSplitByAllKindsOfEndOfLines() {
+        final IndexedLineReader reader = new IndexedLineReader("a\nb\rc\r\nd\n\re");
+
+        assertThat(linesOf(reader)).containsExactly("a", "b", "c", "d", "e");
+        assertThat(reader.getLineEnd(1)).containsExactly(Constant.LF);
+        assertThat(reader.getLineEnd(3)).containsExactly(Constant.CR);
+        assertThat(reader.getLineEnd(5)).containsExactly(Constant.CR, Constant.LF);
+        assertThat(reader.getLineEnd(8)).containsExactly(Constant.LF, Constant.CR);
+        assertThat(reader.getLineEnd(11)).containsExactly(Constant.EOF);
+    }
+
+    @Test
+    public void emptyLinesAreIndexed_butThereIsNoLineAfterLastEndOfLine() {
+        final IndexedLineReader reader = new IndexedLineReader("a\n\n\r\nb\n");
+
+        assertThat(linesOf(reader)).containsExactly("a", "", "", "b");
+        assertThat(reader.getLineStartOffset(3)).isEqualTo(5);
+        assertThat(reader.getLineEndOffset(3)).isEqualTo(6);
+        assertThat(reader.getLineEnd(7)).containsExactly(Constant.EOF);
+    }
+
+    @Test
+    public void noEndOfLineIsReturned_forOffsetsInsideLines() {
+        final IndexedLineReader reader = new IndexedLineReader("abc\r\ndef");
+
+        assertThat(reader.getLineEnd(0)).isEmpty();
+        assertThat(reader.getLineEnd(2)).isEmpty();
+        assertThat(reader.getLineEnd(4)).isEmpty();
+    }
+
+    @Test
+    public void fileAndStreamContentsAreDecodedAsUtf8() throws Exception {
+        final String content = "*** Test Cases ***\r\nzażółć\n";
+        final File file = folder.newFile("suite.robot");
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+
+        assertThat(linesOf(IndexedLineReader.of(file))).containsExactly("*** Test Cases ***", "zażółć");
+        assertThat(linesOf(IndexedLineReader.of(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)))))
+                .containsExactly("*** Test Cases ***", "zażółć");
+    }
+
+    @Test
+    public void bigFilesAreReadTheSameWay() throws Exception {
+        final StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 20_000; i++) {
+            content.append("line ").append(i).append(i % 2 == 0 ? "\n" : "\r\n");
+        }
+        final File file = folder.newFile("big.robot");
+        Files.write(file.toPath(), content.toString().getBytes(StandardCharsets.UTF_8));
+
+        final IndexedLineReader reader = IndexedLineReader.of(file);
+
+        assertThat(reader.getNumberOfLines()).isEqualTo(20_000);
+        assertThat(reader.getLine(19_999).toString()).isEqualTo("line 19999");
+        assertThat(reader.getLength()).isEqualTo(content.length());
+    }
+
+    private static List<String> linesOf(final IndexedLineReader reader) {
+        final List<String> lines = new ArrayList<>();
+        for (int i = 0; i < reader.getNumberOfLines(); i++) {
+            lines.add(reader.getLine(i).toString());
+        }
+        return lines;
+    }
+}
@@ -0,0 +1,195 @@
+/*
+ * Copyright 2017 Nokia Solutions and Networks
+ * Licensed under the Apache License, Version 2.0,
+ * see license.txt file for details.
+ */
+package org.rf.ide.core.testdata.text.read.recognizer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+import org.rf.ide.core.testdata.model.FilePosition;
+import org.rf.ide.core.testdata.text.read.IRobotTokenType;
+
+public class RobotTokenTest {
+
+    @Test
+    public void newTokenHasUnknownTypeAndNoPosition() {
+        final RobotToken token = new RobotToken();
+
+        assertThat(token.getTypes()).containsExactly(RobotTokenType.UNKNOWN);
+        assertThat(token.getFilePosition().isNotSet()).isTrue();
+        assertThat(token.getEndColumn()).isEqualTo(FilePosition.NOT_SET);
+    }
+
+    @Test
+    public void positionIsUpdated_whenSettingItsParts() {
+        final RobotToken token = RobotToken.create("text");
+        token.setLineNumber(3);
+        token.setStartColumn(4);
+        token.setStartOffset(20);
+
+        assertThat(token.getFilePosition()).isEqualTo(new FilePosition(3, 4, 20));
+        assertThat(token.getEndColumn()).isEqualTo(8);
+        assertThat(token.getEndOffset()).isEqualTo(24);
+
+        token.setFilePosition(new FilePosition(1, 2, 3));
+
+        assertThat(token.getLineNumber()).isEqualTo(1);
+        assertThat(token.getStartColumn()).isEqualTo(2);
+        assertThat(token.getStartOffset()).isEqualTo(3);
+    }
+
+    @Test
+    public void typesCanBeModifiedThroughTypesList() {
+        final RobotToken token = RobotToken.create("kw", Arrays.asList(RobotTokenType.KEYWORD_ACTION_NAME));
+        final List<IRobotTokenType> types = token.getTypes();
+
+        types.add(0, RobotTokenType.VARIABLE_USAGE);
+        types.add(RobotTokenType.UNKNOWN);
+        assertThat(token.getTypes()).containsExactly(RobotTokenType.VARIABLE_USAGE,
+                RobotTokenType.KEYWORD_ACTION_NAME, RobotTokenType.UNKNOWN);
+
+        types.remove(RobotTokenType.KEYWORD_ACTION_NAME);
+        types.set(1, RobotTokenType.ASSIGNMENT);
+        assertThat(token.getTypes()).containsExactly(RobotTokenType.VARIABLE_USAGE, RobotTokenType.ASSIGNMENT);
+
+        types.clear();
+        assertThat(token.getTypes()).isEmpty();
+
+        token.setType(RobotTokenType.START_HASH_COMMENT);
+        assertThat(types).containsExactly(RobotTokenType.START_HASH_COMMENT);
+    }
+
+    @Test
+    public void typesModificationDoesNotAffectOtherTokens() {
+        final RobotToken token1 = RobotToken.create("a", Arrays.asList(RobotTokenType.KEYWORD_ACTION_NAME));
+        final RobotToken token2 = RobotToken.create("b", Arrays.asList(RobotTokenType.KEYWORD_ACTION_NAME));
+        final RobotToken copy = token1.copy();
+
+        token1.getTypes().add(RobotTokenType.UNKNOWN);
+        token2.getTypes().set(0, RobotTokenType.VARIABLE_USAGE);
+
+        assertThat(token1.getTypes()).containsExactly(RobotTokenType.KEYWORD_ACTION_NAME, RobotTokenType.UNKNOWN);
+        assertThat(token2.getTypes()).containsExactly(RobotTokenType.VARIABLE_USAGE);
+        assertThat(copy.getTypes()).containsExactly(RobotTokenType.KEYWORD_ACTION_NAME);
+    }
+
+    @Test
+    public void rawAndTextShareTheSameString_whenEqual() {
+        final RobotToken token = new RobotToken();
+        token.setRaw(new String("value"));
+        token.setText(new String("value"));
+
+        assertThat(token.getText()).isSameAs(token.getRaw());
+
+        token.setText("other");
+        assertThat(token.getText()).isEqualTo("other");
+        assertThat(token.getRaw()).isEqualTo("value");
+        assertThat(token.isDirty()).isTrue();
+    }
+
+    @Test
+    public void positionIsNotSet_whenTokenIsDeserialized() throws Exception {
+        final RobotToken token = RobotToken.create("kw", Arrays.asList(RobotTokenType.KEYWORD_ACTION_NAME));
+        token.setFilePosition(new FilePosition(1, 2, 3));
+
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(token);
+        }
+        final RobotToken deserialized;
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            deserialized = (RobotToken) in.readObject();
+        }
+
+        assertThat(deserialized.getText()).isEqualTo("kw");
+        assertThat(deserialized.getTypes()).containsExactly(RobotTokenType.KEYWORD_ACTION_NAME);
+        assertThat(deserialized.getFilePosition().isNotSet()).isTrue();
+    }
+
+    @Test
+    public void modificationStampIsChanged_whenTokenContentIsModified() {
+        final RobotToken token = RobotToken.create("kw", Arrays.asList(RobotTokenType.KEYWORD_ACTION_NAME));
+        token.clearDirtyFlag();
+
+        token.setFilePosition(new FilePosition(1, 2, 3));
+
+        int stamp = token.getModificationStamp();
+        token.setText("kw");
+        token.setFilePosition(new FilePosition(1, 2, 3));
+        assertThat(token.getModificationStamp()).isEqualTo(stamp);
+
+        token.setText("other");
+        assertThat(token.getModificationStamp()).isNotEqualTo(stamp);
+        assertThat(token.isDirty()).isTrue();
+
+        stamp = token.getModificationStamp();
+        token.clearDirtyFlag();
+        assertThat(token.isDirty()).isFalse();
+        assertThat(token.getModificationStamp()).isEqualTo(stamp);
+
+        token.getTypes().add(RobotTokenType.UNKNOWN);
+        assertThat(token.getModificationStamp()).isNotEqualTo(stamp);
+
+        stamp = token.getModificationStamp();
+        token.setRaw("raw");
+        assertThat(token.getModificationStamp()).isNotEqualTo(stamp);
+
+        stamp = token.getModificationStamp();
+        token.markAsDirty();
+        assertThat(token.getModificationStamp()).isNotEqualTo(stamp);
+    }
+
+    @Test
+    public void modificationStampIsChanged_whenTokenPositionIsModified() {
+        final RobotToken token = RobotToken.create("kw");
+        token.setFilePosition(new FilePosition(1, 2, 3));
+
+        int stamp = token.getModificationStamp();
+        token.setLineNumber(4);
+        assertThat(token.getModificationStamp()).isNotEqualTo(stamp);
+
+        stamp = token.getModificationStamp();
+        token.setStartColumn(5);
+        assertThat(token.getModificationStamp()).isNotEqualTo(stamp);
+
+        stamp = token.getModificationStamp();
+        token.setStartOffset(6);
+        assertThat(token.getModificationStamp()).isNotEqualTo(stamp);
+
+        stamp = token.getModificationStamp();
+        token.setFilePosition(new FilePosition(4, 5, 16));
+        assertThat(token.getModificationStamp()).isNotEqualTo(stamp);
+        assertThat(token.getFilePosition()).isEqualTo(new FilePosition(4, 5, 16));
+    }
+
+    @Test
+    public void noModificationIsLost_whenStampIsReadAndDirtyFlagIsClearedConcurrently() throws Exception {
+        final RobotToken token = RobotToken.create("kw");
+        final int initialStamp = token.getModificationStamp();
+        token.clearDirtyFlag();
+
+        final int modifications = 1_000_000;
+        final Thread modifyingThread = new Thread(() -> {
+            for (int i = 1; i <= modifications; i++) {
+                token.setStartOffset(i);
+            }
+        });
+        modifyingThread.start();
+        while (modifyingThread.isAlive()) {
+            token.getModificationStamp();
+            token.clearDirtyFlag();
+        }
+        modifyingThread.join();
+
+        assertThat(token.getModificationStamp() - initialStamp).isEqualTo(modifications);
+    }
+}
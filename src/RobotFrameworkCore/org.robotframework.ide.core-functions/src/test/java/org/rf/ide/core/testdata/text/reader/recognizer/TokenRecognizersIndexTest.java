@@ -0,0 +1,112 @@
+/*
+ * Copyright 2017 Nokia Solutions and Networks
+ * Licensed under the Apache License, Version 2.0,
+ * see license.txt file for details.
+ */
+package org.rf.ide.core.testdata.text.reader.recognizer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+import org.rf.ide.core.testdata.text.read.recognizer.ATokenRecognizer;
+import org.rf.ide.core.testdata.text.read.recognizer.SettingsRecognizersProvider;
+import org.rf.ide.core.testdata.text.read.recognizer.TestCaseRecognizersProvider;
+import org.rf.ide.core.testdata.text.read.recognizer.TokenRecognizersIndex;
+import org.rf.ide.core.testdata.text.read.recognizer.UserKeywordRecognizersProvider;
+import org.rf.ide.core.testdata.text.read.recognizer.VariablesDeclarationRecognizersProvider;
+import org.rf.ide.core.testdata.text.read.recognizer.header.TestCasesTableHeaderRecognizer;
+import org.rf.ide.core.testdata.text.read.recognizer.settings.LibraryDeclarationRecognizer;
+import org.rf.ide.core.testdata.text.read.recognizer.settings.MetadataRecognizer;
+import org.rf.ide.core.testdata.text.read.recognizer.settings.SuiteSetupRecognizer;
+import org.rf.ide.core.testdata.text.read.recognizer.settings.SuiteTeardownRecognizer;
+
+public class TokenRecognizersIndexTest {
+
+    @Test
+    public void noCandidatesAreReturned_forTextWithoutAnyRequiredText() {
+        final TokenRecognizersIndex index = new TokenRecognizersIndex(allRecognizers());
+
+        assertThat(index.getCandidates("")).isEmpty();
+        assertThat(index.getCandidates("Log")).isEmpty();
+        assertThat(index.getCandidates("Should Be Equal")).isEmpty();
+    }
+
+    @Test
+    public void candidatesAreSelectedIgnoringCase() {
+        final TokenRecognizersIndex index = new TokenRecognizersIndex(allRecognizers());
+
+        assertThat(classesOf(index.getCandidates("LiBrArY"))).containsExactly(LibraryDeclarationRecognizer.class);
+        assertThat(classesOf(index.getCandidates("suite setup"))).containsExactly(SuiteSetupRecognizer.class,
+                SuiteTeardownRecognizer.class);
+    }
+
+    @Test
+    public void candidatesAreSelected_whenRequiredTextIsPrefixedOrOverlapping() {
+        final TokenRecognizersIndex index = new TokenRecognizersIndex(allRecognizers());
+
+        assertThat(classesOf(index.getCandidates("mmetadata"))).containsExactly(MetadataRecognizer.class);
+        assertThat(classesOf(index.getCandidates("*** Test Cases ***")))
+                .contains(TestCasesTableHeaderRecognizer.class);
+    }
+
+    @Test
+    public void allRecognizersAreSelected_whenTextContainsLetterSubstitute() {
+        final List<ATokenRecognizer> recognizers = allRecognizers();
+        final TokenRecognizersIndex index = new TokenRecognizersIndex(recognizers);
+
+        assertThat(index.getCandidates("L|brary")).containsExactlyElementsOf(recognizers);
+    }
+
+    @Test
+    public void candidatesAreReturnedInProvidedOrder() {
+        final List<ATokenRecognizer> recognizers = allRecognizers();
+        final TokenRecognizersIndex index = new TokenRecognizersIndex(recognizers);
+
+        final List<ATokenRecognizer> candidates = index.getCandidates("*** Settings *** [Tags] ${var}");
+        final List<ATokenRecognizer> expected = new ArrayList<>(recognizers);
+        expected.retainAll(candidates);
+        assertThat(candidates).containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    public void everyRecognizerMatchingText_isSelectedAsCandidate() {
+        final List<ATokenRecognizer> recognizers = allRecognizers();
+        final TokenRecognizersIndex index = new TokenRecognizersIndex(recognizers);
+
+        final String[] texts = new String[] { "*** Settings ***", "*Variable", "***Keywords", "*** Test Case ***",
+                "Library", "Resource:", "Variables", "Documentation", "Metadata", "Suite Precondition",
+                "Suite Postcondition", "Test Setup", "test   teardown", "Test Template", "Test Timeout",
+                "Force Tags", "Default Tags", "WITH NAME", "[Documentation]", "[ Tags ]", "[Arguments]",
+                "[Return]", "[Setup]", "[Teardown]", "[Template]", "[Timeout]", "${scalar}", "@{list}", "&{dict}",
+                "# comment", "...", "  ...  continued", "Log  ${var}" };
+        for (final String text : texts) {
+            final List<ATokenRecognizer> candidates = index.getCandidates(text);
+            for (final ATokenRecognizer recognizer : recognizers) {
+                recognizer.reset();
+                if (recognizer.hasNext(text, 1, 0)) {
+                    assertThat(candidates).contains(recognizer);
+                }
+            }
+        }
+    }
+
+    private static List<Class<?>> classesOf(final List<ATokenRecognizer> recognizers) {
+        final List<Class<?>> classes = new ArrayList<>();
+        for (final ATokenRecognizer recognizer : recognizers) {
+            classes.add(recognizer.getClass());
+        }
+        return classes;
+    }
+
+    private static List<ATokenRecognizer> allRecognizers() {
+        final List<ATokenRecognizer> recognizers = new ArrayList<>();
+        recognizers.addAll(new SettingsRecognizersProvider().getRecognizers());
+        recognizers.addAll(new VariablesDeclarationRecognizersProvider().getRecognizers());
+        recognizers.addAll(new TestCaseRecognizersProvider().getRecognizers());
+        recognizers.addAll(new UserKeywordRecognizersProvider().getRecognizers());
+        return recognizers;
+    }
+}